@@ -69,12 +69,20 @@ public class UGA_Model_TSP extends Model {
 
   protected ConfigDB.Section cfg_sec;
 
-  protected double[][]  weight = null;
+  /** Distance provider shared by every thread ( [TSP] distance=matrix|float|euclid ) */
+  protected UGA_TSP_Distance dist = null;
+
   protected double[]    xco    = null;
   protected double[]    yco    = null;
   protected int         num    = 0;
 
   protected PMXEncoding temp   = null;
+
+  /** Update the parent tour length from the recorded swaps when possible */
+  protected boolean     delta  = true;
+
+  /** 2-opt / Or-opt improvement used when the UGA local= fraction is set */
+  protected UGA_TSP_LocalSearch local = null;
   protected ConfigDB config = null;
 
   // =====================================================================================
@@ -126,17 +134,45 @@ public class UGA_Model_TSP extends Model {
 
       fspc = cfg_sec.get( "tspfile" );
 
+      if ( cfg_sec.hasKey( "delta" ) ) {
+        delta = Boolean.parseBoolean( cfg_sec.get( "delta" ).trim() );
+      }
+
       Scanner input = new Scanner( new File(fspc) );
 
       num = input.nextInt();
 
       System.err.printf( "Number of nodes: %d\n", num );
 
-      weight = new double[num][num];
-      for ( int r=0; r<num; r++ ) {
-        for ( int c=0; c<num; c++ ) {
-          weight[r][c] = input.nextDouble();
+      String mode = "matrix";
+      if ( cfg_sec.hasKey( "distance" ) ) {
+        mode = cfg_sec.get( "distance" ).trim().toLowerCase();
+      }
+
+      if ( mode.equals( "matrix" ) ) {
+        double[][] w = new double[num][num];
+        for ( int r=0; r<num; r++ ) {
+          for ( int c=0; c<num; c++ ) {
+            w[r][c] = input.nextDouble();
+          }
+        }
+        dist = new UGA_TSP_Distance.Matrix( w );
+      } else if ( mode.equals( "float" ) ) {
+        float[][] w = new float[num][num];
+        for ( int r=0; r<num; r++ ) {
+          for ( int c=0; c<num; c++ ) {
+            w[r][c] = ( float ) input.nextDouble();
+          }
+        }
+        dist = new UGA_TSP_Distance.FloatMatrix( w );
+      } else if ( mode.equals( "euclid" ) ) {
+        long skip = ( long ) num * ( long ) num;
+        for ( long i=0; i<skip; i++ ) {
+          input.next();
         }
+      } else {
+        logger.error( "distance="+mode+" ; must be matrix, float or euclid" );
+        System.exit(1);
       }
 
       xco = new double[ num ];
@@ -157,6 +193,23 @@ public class UGA_Model_TSP extends Model {
 	
       input.close();
 
+      if ( null == dist ) {
+        dist = new UGA_TSP_Distance.Euclid( xco, yco );
+      }
+
+      int k      = 8;
+      int passes = 10;
+      if ( cfg_sec.hasKey( "neighbors" ) ) {
+        k = Integer.parseInt( cfg_sec.get( "neighbors" ).trim() );
+      }
+      if ( cfg_sec.hasKey( "ls_passes" ) ) {
+        passes = Integer.parseInt( cfg_sec.get( "ls_passes" ).trim() );
+      }
+      dist.setNeighbors( k );
+      local = new UGA_TSP_LocalSearch( dist, passes );
+
+      logger.info( String.format( "TSP: %s distances, %d bytes", mode, dist.bytes() ) );
+
       return false;
     } catch( FileNotFoundException e1 ) {
       logger.error( "Cannot find "+fspc+" - "+e1.toString() );
@@ -206,23 +259,104 @@ public class UGA_Model_TSP extends Model {
    *  Optimization is important this function fill be called once for each population
    *  member every generation. pop=500 gen=1000, this function will execute half a million
    *  times. Try not to do any disk IO.
+   *
+   *  If the encoding recorded the swaps made by mutation, M still holds the length of
+   *  the parent tour and only the edges next to each swap are visited.
    */
   // -------------------------------------------------------------------------------------
   public void execute( Metric M, Encoding E ) {
     // -----------------------------------------------------------------------------------
     PMXEncoding param = (PMXEncoding)E;
 
+    if ( delta && ( 0 <= param.edits() ) ) {
+      M.set( 0, M.get(0) + delta_length( param ) );
+      return;
+    }
+
     double sum = Math2.N_ZERO;
 
     for ( int i=1; i<num; i++ ) {
-      sum += weight[param.get(i-1)][param.get(i)];
+      sum += dist.get( param.get(i-1), param.get(i) );
     }
-    sum += weight[param.get(num-1)][param.get(0)];
+    sum += dist.get( param.get(num-1), param.get(0) );
 
     M.set( 0, sum );
   }
 
   
+  // =====================================================================================
+  /** @brief Improve.
+   *  @param M pointer to a uga::Metric ( not used ).
+   *  @param E pointer to a uga::Encoding.
+   *  @return true if the tour was changed.
+   *
+   *  Apply 2-opt and Or-opt moves over the nearest neighbor lists.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean improve( Metric M, Encoding E ) {
+    // -----------------------------------------------------------------------------------
+    return local.improve( (PMXEncoding)E );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Local Length.
+   *  @param P pointer to a tour.
+   *  @param a first  swapped position.
+   *  @param b second swapped position.
+   *  @return length of the ( at most four ) edges that touch positions a and b.
+   */
+  // -------------------------------------------------------------------------------------
+  protected double local_length( PMXEncoding P, int a, int b ) {
+    // -----------------------------------------------------------------------------------
+    int ap = ( a + num - 1 ) % num;
+    int bp = ( b + num - 1 ) % num;
+
+    double sum = dist.get( P.get(ap), P.get(a) ) + dist.get( P.get(a), P.get((a+1)%num) );
+
+    if ( ( bp != ap ) && ( bp != a ) ) {
+      sum += dist.get( P.get(bp), P.get(b) );
+    }
+    if ( ( b != ap ) && ( b != a ) ) {
+      sum += dist.get( P.get(b), P.get((b+1)%num) );
+    }
+
+    return sum;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Delta Length.
+   *  @param P pointer to a tour with a valid swap log.
+   *  @return change in tour length caused by the recorded swaps.
+   *
+   *  Undo the swaps last to first, summing the change in length of the edges each one
+   *  touches, then redo them. O(edits) instead of O(n).
+   */
+  // -------------------------------------------------------------------------------------
+  protected double delta_length( PMXEncoding P ) {
+    // -----------------------------------------------------------------------------------
+    int    n   = P.edits();
+    double sum = Math2.N_ZERO;
+
+    for ( int k=n-1; k>=0; k-- ) {
+      int a = P.swapA(k);
+      int b = P.swapB(k);
+      if ( a != b ) {
+        sum += local_length( P, a, b );
+        P.exchange( a, b );
+        sum -= local_length( P, a, b );
+      }
+    }
+
+    for ( int k=0; k<n; k++ ) {
+      P.exchange( P.swapA(k), P.swapB(k) );
+    }
+
+    return sum;
+  }
+
+  
   // =====================================================================================
   /** @brief Example TSP Metric.
    *  @param lhs pointer to a uga::Metric object.
@@ -262,49 +396,20 @@ public class UGA_Model_TSP extends Model {
   }
 
   
-  // =====================================================================================
-  /** @brief Find.
-   *  @param dst pointer to a destination encoding.
-   *  @param src pointer to a encoding.
-   *  @param t value to test for.
-   *  @return index where t was found.
-   *
-   *  Copy every element from src into dst, and return the index that holds t.
-   */
-  // -------------------------------------------------------------------------------------
-  protected static int copy_find( PMXEncoding dst, PMXEncoding src, int t ) {
-    // -----------------------------------------------------------------------------------
-    int m = src.size();
-    int r = 0;
-    for ( int j=0; j<m; j++ ) {
-      int s = src.get( j );
-      if ( t == s ) { r = j; }
-      dst.set( j, s );
-    } 
-    return r;
-  }
-
-  
   // =====================================================================================
   /** @brief Pre-process.
    *  @param A pointer to an array of encodings.
    *  @param n number of encodings in the array.
    *
    *  Apply this algorithm to every member of the population.
+   *  Rotates in place, islands may call this concurrently.
+   *  Rotation keeps the swap log used by execute.
    */
   // -------------------------------------------------------------------------------------
   public void pre_process( Encoding[] A, int n ) {
     // -----------------------------------------------------------------------------------
-    if ( null == temp ) { temp = (PMXEncoding)alloc_encoding(); }
-
-    int m = temp.size();
-
     for ( int i=0; i<n; i++ ) {
-      int z = copy_find( temp, (PMXEncoding)(A[i]), 0 );
-    
-      for ( int j=0; j<m; j++ ) {
-        ((PMXEncoding)(A[i])).set( j, temp.get( (j + z) % m ) );
-      }
+      ((PMXEncoding)(A[i])).normalize();
     }
   }
 
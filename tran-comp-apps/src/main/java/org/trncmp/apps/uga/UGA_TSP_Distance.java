@@ -0,0 +1,278 @@
+// ====================================================================== BEGIN FILE =====
+// **                          U G A _ T S P _ D I S T A N C E                          **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file UGA_TSP_Distance.java
+ * <p>
+ * Provides TSP distance lookups and nearest neighbor lists.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.apps.uga;
+
+import org.trncmp.lib.KD_Tree;
+
+// =======================================================================================
+/** @class UGA_TSP_Distance
+ *
+ *  Distance between two cities, plus a list of the nearest neighbors of each city.
+ *  One instance is shared by every thread, it is not modified after construction.
+ *
+ *  Providers:
+ *    - Matrix      -- dense double matrix read from the TSP file ( 8 n^2 bytes ).
+ *    - FloatMatrix -- dense float  matrix read from the TSP file ( 4 n^2 bytes ).
+ *    - Euclid      -- computed on demand from the coordinates ( 16 n bytes ),
+ *                     neighbor lists are found with a KD_Tree.
+ *
+ *  Both matrix providers are O(n^2) in memory and neighbor search; FloatMatrix only
+ *  halves the constant. Only Euclid scales to large instances.
+ */
+// ---------------------------------------------------------------------------------------
+public abstract class UGA_TSP_Distance {
+  // -------------------------------------------------------------------------------------
+
+  protected final int num;
+
+  /** k nearest neighbors of each city, nearest first ( null until setNeighbors ) */
+  protected int[][] neighbor = null;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param n number of cities.
+   */
+  // -------------------------------------------------------------------------------------
+  protected UGA_TSP_Distance( int n ) {
+    // -----------------------------------------------------------------------------------
+    num = n;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Size.
+   *  @return number of cities.
+   */
+  // -------------------------------------------------------------------------------------
+  public int size( ) {
+    // -----------------------------------------------------------------------------------
+    return num;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get.
+   *  @param a first  city.
+   *  @param b second city.
+   *  @return distance from a to b.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract double get( int a, int b );
+
+  
+  // =====================================================================================
+  /** @brief Bytes.
+   *  @return approximate memory held by the distance data.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract long bytes( );
+
+  
+  // =====================================================================================
+  /** @brief Nearest.
+   *  @param k number of neighbors.
+   *  @return for each city, the k other cities with the smallest distance, nearest first.
+   *
+   *  The default scans every pair, O(k n^2).
+   */
+  // -------------------------------------------------------------------------------------
+  protected int[][] nearest( int k ) {
+    // -----------------------------------------------------------------------------------
+    int[][]  nbr = new int[num][k];
+    double[] dst = new double[k];
+
+    for ( int a=0; a<num; a++ ) {
+      int m = 0;
+      for ( int c=0; c<num; c++ ) {
+        if ( c == a ) { continue; }
+        double d = get( a, c );
+        if ( ( m == k ) && ( d >= dst[k-1] ) ) { continue; }
+        int j = ( m < k ) ? m++ : k-1;
+        while ( ( 0 < j ) && ( dst[j-1] > d ) ) {
+          dst[j]    = dst[j-1];
+          nbr[a][j] = nbr[a][j-1];
+          j--;
+        }
+        dst[j]    = d;
+        nbr[a][j] = c;
+      }
+    }
+
+    return nbr;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Set Neighbors.
+   *  @param k number of neighbors kept for each city.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setNeighbors( int k ) {
+    // -----------------------------------------------------------------------------------
+    neighbor = nearest( Math.max( 1, Math.min( k, num - 1 ) ) );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Neighbors.
+   *  @param a city.
+   *  @return nearest neighbors of a, nearest first.
+   */
+  // -------------------------------------------------------------------------------------
+  public int[] neighbors( int a ) {
+    // -----------------------------------------------------------------------------------
+    return neighbor[a];
+  }
+
+  
+  // =====================================================================================
+  /** @class Matrix
+   *
+   *  Dense double precision distance matrix.
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Matrix extends UGA_TSP_Distance {
+    // -----------------------------------------------------------------------------------
+    protected final double[][] weight;
+
+    public Matrix( double[][] w ) {
+      super( w.length );
+      weight = w;
+    }
+
+    public double get( int a, int b ) {
+      return weight[a][b];
+    }
+
+    public long bytes( ) {
+      return 8L * ( long ) num * ( long ) num;
+    }
+
+  } // end class UGA_TSP_Distance.Matrix
+
+  
+  // =====================================================================================
+  /** @class FloatMatrix
+   *
+   *  Dense single precision distance matrix, half the memory of Matrix. Still O(n^2),
+   *  the TSP file holds a full matrix, so there is nothing to compute on demand from.
+   */
+  // -------------------------------------------------------------------------------------
+  public static class FloatMatrix extends UGA_TSP_Distance {
+    // -----------------------------------------------------------------------------------
+    protected final float[][] weight;
+
+    public FloatMatrix( float[][] w ) {
+      super( w.length );
+      weight = w;
+    }
+
+    public double get( int a, int b ) {
+      return ( double ) weight[a][b];
+    }
+
+    public long bytes( ) {
+      return 4L * ( long ) num * ( long ) num;
+    }
+
+  } // end class UGA_TSP_Distance.FloatMatrix
+
+  
+  // =====================================================================================
+  /** @class Euclid
+   *
+   *  Euclidean distance computed on demand from the city coordinates.
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Euclid extends UGA_TSP_Distance {
+    // -----------------------------------------------------------------------------------
+    protected final double[] xco;
+    protected final double[] yco;
+
+    public Euclid( double[] x, double[] y ) {
+      super( x.length );
+      xco = x;
+      yco = y;
+    }
+
+    public double get( int a, int b ) {
+      double dx = xco[a] - xco[b];
+      double dy = yco[a] - yco[b];
+      return Math.sqrt( dx*dx + dy*dy );
+    }
+
+    public long bytes( ) {
+      return 16L * ( long ) num;
+    }
+
+    // ===================================================================================
+    /** @brief Nearest.
+     *  @param k number of neighbors.
+     *  @return k nearest neighbors of each city from a KD_Tree, O(n log n).
+     */
+    // -----------------------------------------------------------------------------------
+    protected int[][] nearest( int k ) {
+      // ---------------------------------------------------------------------------------
+      KD_Tree.node[] list = new KD_Tree.node[ num ];
+      for ( int i=0; i<num; i++ ) {
+        list[i] = new KD_Tree.node( new double[] { xco[i], yco[i] }, i );
+      }
+
+      KD_Tree tree = new KD_Tree();
+      tree.build( list );
+
+      int[][]        nbr   = new int[num][k];
+      KD_Tree.node[] found = new KD_Tree.node[ k+1 ];
+      double[]       d2    = new double[ k+1 ];
+
+      for ( int a=0; a<num; a++ ) {
+        int n = tree.search( new KD_Tree.node( new double[] { xco[a], yco[a] } ), found, d2 );
+        int m = 0;
+        for ( int j=0; ( j<n ) && ( m<k ); j++ ) {
+          if ( found[j].id != a ) {
+            nbr[a][m++] = found[j].id;
+          }
+        }
+      }
+
+      return nbr;
+    }
+
+  } // end class UGA_TSP_Distance.Euclid
+
+} // end class UGA_TSP_Distance
+
+// =======================================================================================
+// **                          U G A _ T S P _ D I S T A N C E                          **
+// ======================================================================== END FILE =====
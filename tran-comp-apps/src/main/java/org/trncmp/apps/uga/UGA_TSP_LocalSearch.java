@@ -0,0 +1,352 @@
+// ====================================================================== BEGIN FILE =====
+// **                       U G A _ T S P _ L O C A L S E A R C H                       **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file UGA_TSP_LocalSearch.java
+ * <p>
+ * Provides 2-opt and Or-opt local improvement of TSP tours.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.apps.uga;
+
+import org.trncmp.mllib.ea.PMXEncoding;
+
+// =======================================================================================
+/** @class UGA_TSP_LocalSearch
+ *
+ *  First improvement 2-opt and Or-opt ( segments of 1 to 3 cities ) over neighbor lists.
+ *  Only moves that add an edge to one of the k nearest neighbors of a city are tried.
+ *  The search works on per thread scratch copies of the tour, so improve may be called
+ *  concurrently.
+ */
+// ---------------------------------------------------------------------------------------
+public class UGA_TSP_LocalSearch {
+  // -------------------------------------------------------------------------------------
+
+  /** Smallest gain accepted as an improvement. */
+  public static final double EPS = 1.0e-10;
+
+  /** Longest segment moved by Or-opt. */
+  public static final int OR_MAX = 3;
+
+  protected final UGA_TSP_Distance dist;
+  protected final int              num;
+  protected final int              max_pass;
+
+  
+  // =====================================================================================
+  /** @class Scratch
+   *
+   *  Tour, position of each city in the tour, and rebuild buffer.
+   */
+  // -------------------------------------------------------------------------------------
+  static class Scratch {
+    // -----------------------------------------------------------------------------------
+    final int[] tour;
+    final int[] pos;
+    final int[] tmp;
+
+    Scratch( int n ) {
+      tour = new int[n];
+      pos  = new int[n];
+      tmp  = new int[n];
+    }
+
+  } // end class UGA_TSP_LocalSearch.Scratch
+
+  protected final ThreadLocal< Scratch > scratch;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param D      shared distance provider, with neighbor lists set.
+   *  @param passes maximum number of improvement passes per call.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGA_TSP_LocalSearch( UGA_TSP_Distance D, int passes ) {
+    // -----------------------------------------------------------------------------------
+    dist     = D;
+    num      = D.size();
+    max_pass = passes;
+
+    final int n = num;
+    scratch = ThreadLocal.withInitial( () -> new Scratch( n ) );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Improve.
+   *  @param E pointer to a tour.
+   *  @return true if the tour was changed.
+   *
+   *  Alternate 2-opt and Or-opt passes until neither improves the tour, or max_pass
+   *  passes have been made.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean improve( PMXEncoding E ) {
+    // -----------------------------------------------------------------------------------
+    Scratch S = scratch.get();
+
+    for ( int i=0; i<num; i++ ) {
+      int c = E.get(i);
+      S.tour[i] = c;
+      S.pos[c]  = i;
+    }
+
+    boolean changed = false;
+    for ( int pass=0; pass<max_pass; pass++ ) {
+      boolean a = two_opt( S );
+      boolean b = or_opt( S );
+      if ( ! ( a || b ) ) {
+        break;
+      }
+      changed = true;
+    }
+
+    if ( changed ) {
+      for ( int i=0; i<num; i++ ) {
+        E.set( i, S.tour[i] );
+      }
+    }
+
+    return changed;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Reverse.
+   *  @param S    scratch holding the tour.
+   *  @param from first position of the segment.
+   *  @param to   last  position of the segment ( cyclic ).
+   *
+   *  Reverse the shorter of the segment and its complement, either gives the same tour.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void reverse( Scratch S, int from, int to ) {
+    // -----------------------------------------------------------------------------------
+    int len = ( ( to - from + num ) % num ) + 1;
+    if ( len > num / 2 ) {
+      int f = ( to + 1 ) % num;
+      to    = ( from - 1 + num ) % num;
+      from  = f;
+      len   = num - len;
+    }
+
+    for ( int k=0; k<len/2; k++ ) {
+      int x = ( from + k ) % num;
+      int y = ( to - k + num ) % num;
+      int t = S.tour[x];
+      S.tour[x] = S.tour[y];
+      S.tour[y] = t;
+      S.pos[ S.tour[x] ] = x;
+      S.pos[ S.tour[y] ] = y;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief 2-opt.
+   *  @param S scratch holding the tour.
+   *  @return true if an improving move was made.
+   *
+   *  Replace edges (a,b) and (c,d) by (a,c) and (b,d), where c is a neighbor of a.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean two_opt( Scratch S ) {
+    // -----------------------------------------------------------------------------------
+    boolean improved = false;
+
+    for ( int i=0; i<num; i++ ) {
+      int    a   = S.tour[i];
+      int    b   = S.tour[ (i+1) % num ];
+      double dab = dist.get( a, b );
+
+      for ( int c : dist.neighbors( a ) ) {
+        double dac = dist.get( a, c );
+        if ( dac >= dab ) { break; }
+
+        int j = S.pos[c];
+        int d = S.tour[ (j+1) % num ];
+        if ( ( c == b ) || ( d == a ) ) { continue; }
+
+        double gain = dab + dist.get( c, d ) - dac - dist.get( b, d );
+        if ( gain > EPS ) {
+          reverse( S, (i+1) % num, j );
+          improved = true;
+          break;
+        }
+      }
+    }
+
+    return improved;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Or-opt.
+   *  @param S scratch holding the tour.
+   *  @return true if an improving move was made.
+   *
+   *  Move a segment of 1 to OR_MAX cities, either way round, next to a neighbor of one
+   *  of its end cities.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean or_opt( Scratch S ) {
+    // -----------------------------------------------------------------------------------
+    boolean improved = false;
+
+    for ( int i=0; i<num; i++ ) {
+      for ( int L=1; ( L<=OR_MAX ) && ( L+3 <= num ); L++ ) {
+        int s1 = S.tour[i];
+        int sk = S.tour[ (i+L-1) % num ];
+        int p  = S.tour[ (i-1+num) % num ];
+        int nx = S.tour[ (i+L) % num ];
+
+        double remove = dist.get( p, s1 ) + dist.get( sk, nx ) - dist.get( p, nx );
+        if ( remove <= EPS ) { continue; }
+
+        if ( or_move( S, i, L, s1, sk, s1, remove ) ||
+             ( ( 1 < L ) && or_move( S, i, L, s1, sk, sk, remove ) ) ) {
+          improved = true;
+          break;
+        }
+      }
+    }
+
+    return improved;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Or-opt move.
+   *  @param S      scratch holding the tour.
+   *  @param i      position of the first city in the segment.
+   *  @param L      length of the segment.
+   *  @param s1     first city in the segment.
+   *  @param sk     last  city in the segment.
+   *  @param end    s1 or sk, the city placed next to a neighbor.
+   *  @param remove length saved by taking the segment out.
+   *  @return true if the segment was moved.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean or_move( Scratch S, int i, int L, int s1, int sk, int end,
+                             double remove ) {
+    // -----------------------------------------------------------------------------------
+    int other = ( end == s1 ) ? sk : s1;
+
+    for ( int c : dist.neighbors( end ) ) {
+      double dec = dist.get( end, c );
+      if ( dec >= remove ) { break; }
+      if ( inSegment( S, c, i, L ) ) { continue; }
+
+      int j  = S.pos[c];
+      int e  = S.tour[ (j+1) % num ];
+      int pc = S.tour[ (j-1+num) % num ];
+
+      // ----- c, end .. other, e ---------------------------------------------------------
+      if ( ! inSegment( S, e, i, L ) ) {
+        double add = dec + dist.get( other, e ) - dist.get( c, e );
+        if ( remove - add > EPS ) {
+          move( S, i, L, c, true, ( end == s1 ) );
+          return true;
+        }
+      }
+
+      // ----- pc, other .. end, c --------------------------------------------------------
+      if ( ! inSegment( S, pc, i, L ) ) {
+        double add = dist.get( pc, other ) + dec - dist.get( pc, c );
+        if ( remove - add > EPS ) {
+          move( S, i, L, c, false, ( end == sk ) );
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief In Segment.
+   *  @return true if city x is one of the L cities starting at position i.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean inSegment( Scratch S, int x, int i, int L ) {
+    // -----------------------------------------------------------------------------------
+    return ( ( S.pos[x] - i + num ) % num ) < L;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Move.
+   *  @param S       scratch holding the tour.
+   *  @param i       position of the first city in the segment.
+   *  @param L       length of the segment.
+   *  @param c       city next to the new location.
+   *  @param after   true to insert after c, false before c.
+   *  @param forward true to keep the segment order, false to reverse it.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void move( Scratch S, int i, int L, int c, boolean after, boolean forward ) {
+    // -----------------------------------------------------------------------------------
+    int k = 0;
+    for ( int step=0; step<num-L; step++ ) {
+      int x = S.tour[ (i + L + step) % num ];
+      if ( ! after && ( x == c ) ) {
+        k = segment( S, i, L, forward, k );
+      }
+      S.tmp[k++] = x;
+      if ( after && ( x == c ) ) {
+        k = segment( S, i, L, forward, k );
+      }
+    }
+
+    for ( int j=0; j<num; j++ ) {
+      S.tour[j] = S.tmp[j];
+      S.pos[ S.tour[j] ] = j;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Segment.
+   *  @return next free position in S.tmp after copying the segment.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int segment( Scratch S, int i, int L, boolean forward, int k ) {
+    // -----------------------------------------------------------------------------------
+    for ( int m=0; m<L; m++ ) {
+      int q = forward ? m : ( L - 1 - m );
+      S.tmp[k++] = S.tour[ (i + q) % num ];
+    }
+    return k;
+  }
+
+} // end class UGA_TSP_LocalSearch
+
+// =======================================================================================
+// **                       U G A _ T S P _ L O C A L S E A R C H                       **
+// ======================================================================== END FILE =====
@@ -0,0 +1,168 @@
+// ====================================================================== BEGIN FILE =====
+// **                                 J T E S T _ P M X                                 **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file jtest_pmx.java
+ * <p>
+ * Compare the reference PMX crossover and tour rotation with the int[] kernels.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.test;
+
+import org.trncmp.lib.StopWatch;
+import org.trncmp.mllib.Entropy;
+import org.trncmp.mllib.ea.PMXEncoding;
+
+// =======================================================================================
+public class jtest_pmx {
+  // -------------------------------------------------------------------------------------
+
+  static final int WARMUP = 3;
+
+  
+  // =====================================================================================
+  /** Reference rotation: copy, then a modulo gather ( former UGA_Model_TSP.pre_process ). */
+  // -------------------------------------------------------------------------------------
+  static void copy_rotate( PMXEncoding P, PMXEncoding work ) {
+    // -----------------------------------------------------------------------------------
+    int m = P.size();
+    int z = 0;
+    for ( int j=0; j<m; j++ ) {
+      int s = P.get( j );
+      if ( 0 == s ) { z = j; }
+      work.set( j, s );
+    }
+    for ( int j=0; j<m; j++ ) {
+      P.set( j, work.get( (j + z) % m ) );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** Time one crossover implementation, return nanoseconds per child. */
+  // -------------------------------------------------------------------------------------
+  static double time_cross( boolean kernel, int n, int reps, Entropy ent ) {
+    // -----------------------------------------------------------------------------------
+    PMXEncoding p1 = new PMXEncoding( n );
+    PMXEncoding p2 = new PMXEncoding( n );
+    PMXEncoding c1 = new PMXEncoding( n );
+
+    int[] P1 = new int[n];
+    int[] P2 = new int[n];
+    int[] C1 = new int[n];
+    int[] mk = new int[n];
+    for ( int i=0; i<n; i++ ) {
+      P1[i] = p1.get(i);
+      P2[i] = p2.get(i);
+    }
+
+    int a = n / 20;
+    int b = n - a - a;
+
+    double elapsed = 0.0e0;
+    for ( int w=0; w<=WARMUP; w++ ) {
+      StopWatch SW = new StopWatch();
+      SW.reset();
+      for ( int r=0; r<reps; r++ ) {
+        int cut = a + ent.index( b );
+        if ( kernel ) {
+          if ( 0 == ( r & 1 ) ) {
+            PMXEncoding.frontCross( C1, P1, P2, n, cut, mk, r+1 );
+          } else {
+            PMXEncoding.rearCross(  C1, P1, P2, n, cut, mk, r+1 );
+          }
+        } else {
+          if ( 0 == ( r & 1 ) ) {
+            PMXEncoding.FrontCross( c1, p1, p2, cut );
+          } else {
+            PMXEncoding.RearCross(  c1, p1, p2, cut );
+          }
+        }
+      }
+      elapsed = SW.seconds();
+    }
+
+    return 1.0e9 * elapsed / ( double ) reps;
+  }
+
+  
+  // =====================================================================================
+  /** Time one rotation implementation, return nanoseconds per tour. */
+  // -------------------------------------------------------------------------------------
+  static double time_rotate( boolean kernel, int n, int reps ) {
+    // -----------------------------------------------------------------------------------
+    PMXEncoding P    = new PMXEncoding( n );
+    PMXEncoding work = new PMXEncoding( n );
+
+    double elapsed = 0.0e0;
+    for ( int w=0; w<=WARMUP; w++ ) {
+      StopWatch SW = new StopWatch();
+      SW.reset();
+      for ( int r=0; r<reps; r++ ) {
+        P.rotate( 1 + ( r % ( n - 1 ) ) );   // move zero away from the front
+        if ( kernel ) {
+          P.normalize();
+        } else {
+          copy_rotate( P, work );
+        }
+      }
+      elapsed = SW.seconds();
+    }
+
+    return 1.0e9 * elapsed / ( double ) reps;
+  }
+
+  
+  // =====================================================================================
+  public static void main( String[] args ) {
+    // -----------------------------------------------------------------------------------
+    int[] sizes = { 52, 500, 5000 };
+
+    Entropy ent = Entropy.getInstance();
+
+    System.out.format( "%8s %16s %16s %16s %16s\n", "n",
+                       "cross ref ns", "cross kern ns", "rotate ref ns", "rotate kern ns" );
+
+    for ( int n : sizes ) {
+      int reps = Math.max( 20, 20000000 / ( n * n ) );
+      double cr = time_cross( false, n, reps, ent );
+      double ck = time_cross( true,  n, reps, ent );
+
+      int rr = Math.max( 100, 50000000 / n );
+      double rr0 = time_rotate( false, n, rr );
+      double rk  = time_rotate( true,  n, rr );
+
+      System.out.format( "%8d %16.1f %16.1f %16.1f %16.1f\n", n, cr, ck, rr0, rk );
+    }
+
+    System.exit(0);
+  }
+
+} // end class jtest_pmx
+
+// =======================================================================================
+// **                                 J T E S T _ P M X                                 **
+// ======================================================================== END FILE =====
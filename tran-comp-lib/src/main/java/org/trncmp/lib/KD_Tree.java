@@ -55,6 +55,9 @@ public class KD_Tree {
     /** right branch of the tree from this node. */
     public node right = null;
 
+    /** user supplied identifier ( e.g. index of the point in a list ). */
+    public int id = -1;
+
     // ===================================================================================
     public node( double[] _x ) {
       // ---------------------------------------------------------------------------------
@@ -65,6 +68,13 @@ public class KD_Tree {
       }
     }
 
+    // ===================================================================================
+    public node( double[] _x, int _id ) {
+      // ---------------------------------------------------------------------------------
+      this( _x );
+      id = _id;
+    }
+
     // ===================================================================================
     public void destroy() {
       // ---------------------------------------------------------------------------------
@@ -105,14 +115,11 @@ public class KD_Tree {
         recursive_insert( root_node.left, leaf_node, (dim+1)%max_dim );
       }
     } else {
-      if ( leaf_node.x[dim] > root_node.x[dim] ) {
-        if ( null == root_node.right ) {
-          root_node.right = leaf_node;
-        } else {
-          recursive_insert( root_node.right, leaf_node, (dim+1)%max_dim );
-        }
+      // ----- equal coordinates go right, points that share one axis are kept ----------
+      if ( null == root_node.right ) {
+        root_node.right = leaf_node;
       } else {
-        //System.err.println( "Duplicate node" );
+        recursive_insert( root_node.right, leaf_node, (dim+1)%max_dim );
       }
     }
 
@@ -137,6 +144,104 @@ public class KD_Tree {
     root = null;
   }
 
+
+  // =====================================================================================
+  /** @brief Build.
+   *  @param list nodes to insert ( reordered in place ).
+   *
+   *  Insert every node, median first along each splitting axis, so that the tree is
+   *  balanced even when the list is sorted. Each median is found by selection, not by
+   *  sorting, so the build is O(n log n).
+   */
+  // -------------------------------------------------------------------------------------
+  public void build( KD_Tree.node[] list ) {
+    // -----------------------------------------------------------------------------------
+    if ( 0 < list.length ) {
+      recursive_build( list, 0, list.length, 0, list[0].x.length );
+    }
+  }
+
+
+  // =====================================================================================
+  protected static void swap( KD_Tree.node[] list, int i, int j ) {
+    // -----------------------------------------------------------------------------------
+    KD_Tree.node t = list[i];
+    list[i] = list[j];
+    list[j] = t;
+  }
+
+
+  // =====================================================================================
+  /** @brief Select.
+   *  @param list nodes ( reordered in place ).
+   *  @param lo   first index (inclusive).
+   *  @param hi   last  index (exclusive).
+   *  @param k    index to fill, lo <= k < hi.
+   *  @param dim  coordinate to order by.
+   *
+   *  Place in list[k] the node a sort on x[dim] would put there, with no larger
+   *  coordinate before it and no smaller one after it ( nth_element ). Quickselect with
+   *  a median of three pivot, expected O(hi-lo).
+   */
+  // -------------------------------------------------------------------------------------
+  protected static void select( KD_Tree.node[] list, int lo, int hi, int k, int dim ) {
+    // -----------------------------------------------------------------------------------
+    hi -= 1;
+    while ( lo < hi ) {
+      int    m = ( lo + hi ) >>> 1;
+      double a = list[lo].x[dim];
+      double b = list[m].x[dim];
+      double c = list[hi].x[dim];
+      double p = Math.max( Math.min( a, b ), Math.min( Math.max( a, b ), c ) );
+
+      int i = lo;
+      int j = hi;
+      while ( i <= j ) {
+        while ( list[i].x[dim] < p ) { i++; }
+        while ( list[j].x[dim] > p ) { j--; }
+        if ( i <= j ) {
+          swap( list, i++, j-- );
+        }
+      }
+
+      // ----- [lo,j] <= p, (j,i) == p, [i,hi] >= p ------------------------------------
+      if ( k <= j ) {
+        hi = j;
+      } else if ( k >= i ) {
+        lo = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+
+  // =====================================================================================
+  protected void recursive_build( final KD_Tree.node[] list, int lo, int hi,
+                                  final int dim, int max_dim ) {
+    // -----------------------------------------------------------------------------------
+    if ( lo >= hi ) {
+      return;
+    }
+
+    int mid = ( lo + hi ) >>> 1;
+    select( list, lo, hi, mid, dim );
+
+    // ----- first of a run of equal coordinates, so the rest go right -------------------
+    double v = list[mid].x[dim];
+    for ( int i=mid-1; i>=lo; i-- ) {
+      if ( v == list[i].x[dim] ) {
+        swap( list, i, --mid );
+      }
+    }
+
+    insert( list[mid] );
+
+    int next = ( dim + 1 ) % max_dim;
+    recursive_build( list, lo,    mid, next, max_dim );
+    recursive_build( list, mid+1, hi,  next, max_dim );
+  }
+
   // =====================================================================================
   protected static class holder {
     // -----------------------------------------------------------------------------------
@@ -184,6 +289,89 @@ public class KD_Tree {
   }
 
   
+  // =====================================================================================
+  /** @brief Nearest list.
+   *
+   *  Up to k nodes sorted by increasing squared distance.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static class nearest {
+    // -----------------------------------------------------------------------------------
+    public final KD_Tree.node[] knode;
+    public final double[]       dist;
+    public       int            count = 0;
+
+    public nearest( KD_Tree.node[] found, double[] d2 ) {
+      knode = found;
+      dist  = d2;
+    }
+
+    /** squared distance a node must beat to enter the list. */
+    public double bound() {
+      return ( count < knode.length ) ? Double.MAX_VALUE : dist[ count - 1 ];
+    }
+
+    public void add( KD_Tree.node nd, double d ) {
+      int k = knode.length;
+      if ( ( count == k ) && ( d >= dist[k-1] ) ) {
+        return;
+      }
+      int j = ( count < k ) ? count++ : k-1;
+      while ( ( 0 < j ) && ( dist[j-1] > d ) ) {
+        dist[j]  = dist[j-1];
+        knode[j] = knode[j-1];
+        j--;
+      }
+      dist[j]  = d;
+      knode[j] = nd;
+    }
+  } // end class nearest
+
+
+  // =====================================================================================
+  protected static void recursive_search( nearest best,
+                                          KD_Tree.node root, KD_Tree.node nd,
+                                          int dim, int max_dim ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != root ) {
+      double dx  = root.x[dim] - nd.x[dim];
+      int    nxt = (dim + 1) % max_dim;
+
+      best.add( root, Math2.dist2( root.x, nd.x ) );
+
+      if ( 0.0e0 < dx ) {
+        recursive_search( best, root.left,  nd, nxt, max_dim );
+        if ( dx*dx < best.bound() ) {
+          recursive_search( best, root.right, nd, nxt, max_dim );
+        }
+      } else {
+        recursive_search( best, root.right, nd, nxt, max_dim );
+        if ( dx*dx < best.bound() ) {
+          recursive_search( best, root.left,  nd, nxt, max_dim );
+        }
+      }
+    }
+  }
+
+
+  // =====================================================================================
+  /** @brief Search k nearest.
+   *  @param test_node point to search for.
+   *  @param found     receives the nearest nodes, k = found.length, nearest first.
+   *  @param dist2     receives the squared distance to each found node.
+   *  @return number of nodes found ( less than k if the tree is smaller ).
+   *
+   *  Does not modify the tree, several threads may search concurrently.
+   */
+  // -------------------------------------------------------------------------------------
+  public int search( KD_Tree.node test_node, KD_Tree.node[] found, double[] dist2 ) {
+    // -----------------------------------------------------------------------------------
+    nearest best = new nearest( found, dist2 );
+    recursive_search( best, this.root, test_node, 0, test_node.x.length );
+    return best.count;
+  }
+
+
   // =====================================================================================
   public KD_Tree.node  search( KD_Tree.node test_node ) {
     // -----------------------------------------------------------------------------------
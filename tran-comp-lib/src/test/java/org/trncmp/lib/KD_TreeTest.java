@@ -0,0 +1,110 @@
+// ====================================================================== BEGIN FILE =====
+// **                               K D _ T R E E T E S T                               **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file KD_TreeTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.lib.KD_Tree class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.lib;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// =======================================================================================
+public class KD_TreeTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int K = 6;
+
+  
+  // =====================================================================================
+  /** Check every k nearest distance against an exhaustive search. */
+  // -------------------------------------------------------------------------------------
+  static void check( double[][] pts ) {
+    // -----------------------------------------------------------------------------------
+    int n = pts.length;
+
+    KD_Tree.node[] list = new KD_Tree.node[n];
+    for ( int i=0; i<n; i++ ) {
+      list[i] = new KD_Tree.node( pts[i], i );
+    }
+
+    KD_Tree tree = new KD_Tree();
+    tree.build( list );
+    assertEquals( n, tree.inTree() );
+
+    KD_Tree.node[] found = new KD_Tree.node[K];
+    double[]       d2    = new double[K];
+
+    for ( int i=0; i<n; i++ ) {
+      double[] all = new double[n];
+      for ( int j=0; j<n; j++ ) {
+        all[j] = Math2.dist2( pts[i], pts[j] );
+      }
+      java.util.Arrays.sort( all );
+
+      assertEquals( K, tree.search( new KD_Tree.node( pts[i] ), found, d2 ) );
+      for ( int k=0; k<K; k++ ) {
+        assertEquals( all[k], d2[k], 1.0e-12 );
+        assertEquals( d2[k], Math2.dist2( pts[i], pts[ found[k].id ] ), 1.0e-12 );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  @Test
+  public void testRandom() {
+    // -----------------------------------------------------------------------------------
+    java.util.Random R = new java.util.Random( 17 );
+    double[][] pts = new double[500][2];
+    for ( int i=0; i<pts.length; i++ ) {
+      pts[i][0] = 100.0 * R.nextDouble();
+      pts[i][1] = 100.0 * R.nextDouble();
+    }
+    check( pts );
+  }
+
+  
+  // =====================================================================================
+  @Test
+  public void testGrid() {
+    // -----------------------------------------------------------------------------------
+    double[][] pts = new double[400][2];
+    for ( int i=0; i<pts.length; i++ ) {
+      pts[i][0] = ( double ) ( i / 20 );
+      pts[i][1] = ( double ) ( i % 20 );
+    }
+    check( pts );
+  }
+
+}
+
+// =======================================================================================
+// **                               K D _ T R E E T E S T                               **
+// ======================================================================== END FILE =====
@@ -40,6 +40,13 @@
 
 package org.trncmp.mllib;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Random;
 
 import org.trncmp.lib.FileTools;
@@ -82,6 +89,35 @@ public class Entropy {
     seed_set();
   }
 
+  
+  // =====================================================================================
+  /** @brief Private Constructor.
+   *  @param sm pointer to a SeedMatter class.
+   */
+  // -------------------------------------------------------------------------------------
+  private Entropy( SeedMatter sm ) {
+    // -----------------------------------------------------------------------------------
+    builtin = new Random();
+    seed_set( sm );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Spawn.
+   *  @return pointer to a new, independent Entropy instance.
+   *
+   *  Create an independent random stream seeded from this one. A spawned stream is meant
+   *  to be owned by a single worker thread. Spawning from an identically seeded parent
+   *  reproduces the same sequence of streams.
+   */
+  // -------------------------------------------------------------------------------------
+  public Entropy spawn() {
+    // -----------------------------------------------------------------------------------
+    byte[] sdat = new byte[ seed_size() ];
+    builtin.nextBytes( sdat );
+    return new Entropy( new SeedMatter( sdat ) );
+  }
+
 
   // =====================================================================================
   /** @brief Seed Size.
@@ -118,6 +154,7 @@ public class Entropy {
     // -----------------------------------------------------------------------------------
     builtin.setSeed( java.nio.ByteBuffer.wrap(
         sm.get_bytes(seed_size())).getLong() );
+    have_spare = false;
   }
 
 
@@ -131,6 +168,56 @@ public class Entropy {
     seed_set( new SeedMatter( sdat ) );
   }
 
+
+  // =====================================================================================
+  /** @brief Write State.
+   *  @param out binary output.
+   *
+   *  Write the complete generator state, so that readState continues the same sequence.
+   */
+  // -------------------------------------------------------------------------------------
+  public void writeState( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    ObjectOutputStream    oos = new ObjectOutputStream( bos );
+    oos.writeObject( builtin );
+    oos.close();
+
+    byte[] buf = bos.toByteArray();
+    out.writeInt( buf.length );
+    out.write( buf );
+    out.writeBoolean( have_spare );
+    out.writeDouble( rand1 );
+    out.writeDouble( rand2 );
+  }
+
+
+  // =====================================================================================
+  /** @brief Read State.
+   *  @param in binary input.
+   *
+   *  Restore a generator state written by writeState.
+   */
+  // -------------------------------------------------------------------------------------
+  public void readState( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    byte[] buf = new byte[ in.readInt() ];
+    in.readFully( buf );
+
+    ObjectInputStream ois = new ObjectInputStream( new ByteArrayInputStream( buf ) );
+    try {
+      builtin = (Random) ois.readObject();
+    } catch ( ClassNotFoundException e ) {
+      throw new IOException( "Entropy state: "+e.toString() );
+    } finally {
+      ois.close();
+    }
+
+    have_spare = in.readBoolean();
+    rand1      = in.readDouble();
+    rand2      = in.readDouble();
+  }
+
   
 
 
@@ -251,6 +338,63 @@ public class Entropy {
     return x;
   }
 
+  // =====================================================================================
+  /** @brief Bulk Uniform.
+   *  @param buf pointer to the destination array.
+   *  @param off index of the first element to fill.
+   *  @param n   number of elements to fill.
+   *
+   *  Fill n elements with uniformly distributed reals in the range [0,1). Produces the
+   *  same values as n calls to uniform().
+   */
+  // -------------------------------------------------------------------------------------
+  public void uniform( double[] buf, int off, int n ) {
+    // -----------------------------------------------------------------------------------
+    final Random R = builtin;
+    final int    m = off + n;
+    for ( int i=off; i<m; i++ ) {
+      buf[i] = R.nextDouble();
+    }
+  }
+
+
+  // =====================================================================================
+  /** @brief Bulk Normal.
+   *  @param buf pointer to the destination array.
+   *  @param off index of the first element to fill.
+   *  @param n   number of elements to fill.
+   *
+   *  Fill n elements with normally distributed reals ( mean 0, standard deviation 1 ).
+   *  Both halves of each Box-Muller pair are stored in one pass, producing the same
+   *  values as n calls to box_muller().
+   */
+  // -------------------------------------------------------------------------------------
+  public void normal( double[] buf, int off, int n ) {
+    // -----------------------------------------------------------------------------------
+    final Random R = builtin;
+    int i = off;
+    int m = off + n;
+
+    if ( ( have_spare ) && ( i < m ) ) {
+      have_spare = false;
+      buf[i++] = Math.sqrt(rand1) * Math.sin(rand2);
+    }
+
+    for ( ; i+1<m; i+=2 ) {
+      double r1 = R.nextDouble();
+      if ( r1 < 1e-100 ) { r1 = 1e-100; }
+      double r = Math.sqrt( -Math2.N_TWO * Math.log(r1) );
+      double a = Math2.N_2PI * R.nextDouble();
+      buf[i]   = r * Math.cos(a);
+      buf[i+1] = r * Math.sin(a);
+    }
+
+    if ( i < m ) {
+      buf[i] = box_muller();
+    }
+  }
+
+
   // =====================================================================================
   /** @brief Scramble Array.
    *  @param ary pointer to an array.
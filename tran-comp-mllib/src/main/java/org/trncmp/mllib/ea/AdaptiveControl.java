@@ -0,0 +1,310 @@
+// ====================================================================== BEGIN FILE =====
+// **                           A D A P T I V E C O N T R O L                           **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file AdaptiveControl.java
+ * <p>
+ * Provides success based control of the UGA crossover and mutation parameters.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// =======================================================================================
+/** @class AdaptiveControl
+ *
+ *  Replaces the fixed pcross, pmutate and smutate schedules of UGA.run. Every child is
+ *  compared with its better parent ( a clone with its own parent ) after scoring, and
+ *  the parameters are adjusted once per generation:
+ *
+ *    - smutate and pmutate follow the 1/5th success rule. If more than one fifth of the
+ *      mutated children improve on their parent both grow by 1/FACTOR, if fewer both
+ *      shrink by FACTOR.
+ *    - pcross grows by 1/FACTOR when crossed children succeed more often than children
+ *      that were only mutated, and shrinks by FACTOR when they succeed less often.
+ *
+ *  Each parameter starts at its configured start value and stays within the configured
+ *  [start,final] range. A parameter with start = final is fixed. Children changed by
+ *  local improvement count with the operator that produced them.
+ */
+// ---------------------------------------------------------------------------------------
+class AdaptiveControl {
+  // -------------------------------------------------------------------------------------
+
+  /** Target fraction of successful mutations. */
+  static final double TARGET = 0.2e0;
+
+  /** Step factor per generation, Schwefel's 0.817 rounded up for noisy fitness. */
+  static final double FACTOR = 0.85e0;
+
+  protected final Model    model;
+  protected final Metric[] ref;
+  protected final boolean[] crossed;
+  protected final boolean[] mutated;
+
+  protected final double pc_lo, pc_hi;
+  protected final double pm_lo, pm_hi;
+  protected final double sm_lo, sm_hi;
+
+  protected double pCross;
+  protected double pMutate;
+  protected double scale;
+
+  /** Success ratios of the last update ( crossed, mutated only, all mutated ). */
+  protected double succ_cross  = 0.0e0;
+  protected double succ_clone  = 0.0e0;
+  protected double succ_mutate = 0.0e0;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param cfg pointer to a configuration object.
+   *  @param mod pointer to the fitness model.
+   *  @param n   number of population members.
+   */
+  // -------------------------------------------------------------------------------------
+  AdaptiveControl( UGAConfiguration cfg, Model mod, int n ) {
+    // -----------------------------------------------------------------------------------
+    model   = mod;
+    ref     = new Metric[n];
+    crossed = new boolean[n];
+    mutated = new boolean[n];
+    for ( int i=0; i<n; i++ ) {
+      ref[i] = mod.alloc_metric();
+    }
+
+    pc_lo = Math.min( cfg.pCrossStart(),  cfg.pCrossFinal()  );
+    pc_hi = Math.max( cfg.pCrossStart(),  cfg.pCrossFinal()  );
+    pm_lo = Math.min( cfg.pMutateStart(), cfg.pMutateFinal() );
+    pm_hi = Math.max( cfg.pMutateStart(), cfg.pMutateFinal() );
+    sm_lo = Math.min( cfg.sMutateStart(), cfg.sMutateFinal() );
+    sm_hi = Math.max( cfg.sMutateStart(), cfg.sMutateFinal() );
+
+    pCross  = cfg.pCrossStart();
+    pMutate = cfg.pMutateStart();
+    scale   = cfg.sMutateStart();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Crossover probability.
+   *  @return probability of crossover vs. clone for the next generation.
+   */
+  // -------------------------------------------------------------------------------------
+  double pCross( ) {
+    // -----------------------------------------------------------------------------------
+    return pCross;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Mutation probability.
+   *  @return probability that an allele is mutated in the next generation.
+   */
+  // -------------------------------------------------------------------------------------
+  double pMutate( ) {
+    // -----------------------------------------------------------------------------------
+    return pMutate;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Mutation scale.
+   *  @return scale of the mutation for the next generation.
+   */
+  // -------------------------------------------------------------------------------------
+  double scale( ) {
+    // -----------------------------------------------------------------------------------
+    return scale;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Success.
+   *  @return fraction of the mutated children that improved on their parent.
+   */
+  // -------------------------------------------------------------------------------------
+  double success( ) {
+    // -----------------------------------------------------------------------------------
+    return succ_mutate;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Parents.
+   *  @param i  index of the first child of the pair ( i+1 is the second ).
+   *  @param x  true if the pair was crossed, false if cloned.
+   *  @param m1 pointer to the metric of the first  parent.
+   *  @param m2 pointer to the metric of the second parent.
+   *
+   *  Record the reference metrics of a pair of children. Pairs are disjoint, so blocks
+   *  may call this concurrently.
+   */
+  // -------------------------------------------------------------------------------------
+  void parents( int i, boolean x, Metric m1, Metric m2 ) {
+    // -----------------------------------------------------------------------------------
+    crossed[i]   = x;
+    crossed[i+1] = x;
+    if ( x ) {
+      Metric b = model.isLeftBetter( m2, m1 ) ? m2 : m1;
+      ref[i].copy( b );
+      ref[i+1].copy( b );
+    } else {
+      ref[i].copy( m1 );
+      ref[i+1].copy( m2 );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Mutated.
+   *  @param i index of a child.
+   *  @param n number of elements mutated.
+   */
+  // -------------------------------------------------------------------------------------
+  void mutated( int i, int n ) {
+    // -----------------------------------------------------------------------------------
+    mutated[i] = ( 0 < n );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Update.
+   *  @param P pointer to the scored children.
+   *
+   *  Count the successes of this generation and adjust the parameters for the next.
+   */
+  // -------------------------------------------------------------------------------------
+  void update( Population P ) {
+    // -----------------------------------------------------------------------------------
+    int nx = 0, sx = 0;
+    int nc = 0, sc = 0;
+    int nm = 0, sm = 0;
+
+    int n = P.size();
+    for ( int i=0; i<n; i++ ) {
+      boolean win = better( P.get(i).metric, ref[i] );
+      if ( crossed[i] ) {
+        nx++;
+        if ( win ) { sx++; }
+      } else if ( mutated[i] ) {
+        nc++;
+        if ( win ) { sc++; }
+      }
+      if ( mutated[i] ) {
+        nm++;
+        if ( win ) { sm++; }
+      }
+    }
+
+    succ_cross  = ratio( sx, nx );
+    succ_clone  = ratio( sc, nc );
+    succ_mutate = ratio( sm, nm );
+
+    // ----- 1/5th success rule ----------------------------------------------------------
+
+    if ( 0 < nm ) {
+      if ( TARGET < succ_mutate ) {
+        scale   = clip( scale   / FACTOR, sm_lo, sm_hi );
+        pMutate = clip( pMutate / FACTOR, pm_lo, pm_hi );
+      } else if ( TARGET > succ_mutate ) {
+        scale   = clip( scale   * FACTOR, sm_lo, sm_hi );
+        pMutate = clip( pMutate * FACTOR, pm_lo, pm_hi );
+      }
+    }
+
+    // ----- crossover against mutation alone --------------------------------------------
+
+    if ( ( 0 < nx ) && ( 0 < nc ) ) {
+      if ( succ_cross > succ_clone ) {
+        pCross = clip( pCross / FACTOR, pc_lo, pc_hi );
+      } else if ( succ_cross < succ_clone ) {
+        pCross = clip( pCross * FACTOR, pc_lo, pc_hi );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Better.
+   *  @return true if lhs is strictly better than rhs.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean better( Metric lhs, Metric rhs ) {
+    // -----------------------------------------------------------------------------------
+    return model.isLeftBetter( lhs, rhs ) && ! model.isLeftBetter( rhs, lhs );
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  static double ratio( int s, int n ) {
+    // -----------------------------------------------------------------------------------
+    return ( 0 < n ) ? ( ( double ) s ) / ( ( double ) n ) : 0.0e0;
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  static double clip( double x, double lo, double hi ) {
+    // -----------------------------------------------------------------------------------
+    return ( x < lo ) ? lo : ( ( x > hi ) ? hi : x );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Write State.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  void writeState( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeDouble( pCross );
+    out.writeDouble( pMutate );
+    out.writeDouble( scale );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read State.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  void readState( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    pCross  = in.readDouble();
+    pMutate = in.readDouble();
+    scale   = in.readDouble();
+  }
+
+} // end class AdaptiveControl
+
+// =======================================================================================
+// **                           A D A P T I V E C O N T R O L                           **
+// ======================================================================== END FILE =====
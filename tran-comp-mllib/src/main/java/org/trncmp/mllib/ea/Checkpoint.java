@@ -0,0 +1,228 @@
+// ====================================================================== BEGIN FILE =====
+// **                                C H E C K P O I N T                                **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file Checkpoint.java
+ * <p>
+ * Provides asynchronous binary checkpoint files for UGA.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class Checkpoint
+ *
+ *  Writes checkpoint files off the evolution thread. The caller serializes the state
+ *  into memory ( begin / DataOutputStream / commit ), which only copies the population.
+ *  A background thread then writes the bytes to a temporary file and renames it over
+ *  the checkpoint, so a crash during the write leaves the previous checkpoint intact.
+ *  At most one write is outstanding; commit waits for the previous one.
+ *
+ *  File layout ( big endian, java.io.DataOutput ):
+ *    int MAGIC, int VERSION, followed by the body written by the caller.
+ */
+// ---------------------------------------------------------------------------------------
+class Checkpoint {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  static final int MAGIC   = 0x55474143; // "UGAC"
+  static final int VERSION = 1;
+
+  protected final File            path;
+  protected final ExecutorService writer;
+  protected       Future< ? >     pending = null;
+  protected       ByteArrayOutputStream buffer = new ByteArrayOutputStream( 1 << 16 );
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param fspc path to the checkpoint file.
+   */
+  // -------------------------------------------------------------------------------------
+  Checkpoint( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    path   = new File( fspc );
+    writer = Executors.newSingleThreadExecutor( new ThreadFactory() {
+        public Thread newThread( Runnable r ) {
+          Thread t = new Thread( r, "uga-checkpoint" );
+          t.setDaemon( true );
+          return t;
+        }
+      } );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Begin.
+   *  @return stream to receive the body of the next checkpoint.
+   */
+  // -------------------------------------------------------------------------------------
+  DataOutputStream begin( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    buffer.reset();
+    DataOutputStream out = new DataOutputStream( buffer );
+    out.writeInt( MAGIC );
+    out.writeInt( VERSION );
+    return out;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Commit.
+   *  @param out stream returned by begin.
+   *
+   *  Hand the serialized state to the background writer.
+   */
+  // -------------------------------------------------------------------------------------
+  void commit( DataOutputStream out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.flush();
+    final byte[] data = buffer.toByteArray();
+
+    await();
+
+    pending = writer.submit( new Runnable() {
+        public void run() {
+          store( data );
+        }
+      } );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Store.
+   *  @param data complete checkpoint image.
+   *
+   *  Write data to a temporary file, then move it over the checkpoint.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void store( byte[] data ) {
+    // -----------------------------------------------------------------------------------
+    File tmp = new File( path.getPath() + ".tmp" );
+    try {
+      FileOutputStream fos = new FileOutputStream( tmp );
+      try {
+        fos.write( data );
+        fos.getFD().sync();
+      } finally {
+        fos.close();
+      }
+      try {
+        Files.move( tmp.toPath(), path.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+      } catch ( java.nio.file.AtomicMoveNotSupportedException e ) {
+        Files.move( tmp.toPath(), path.toPath(), StandardCopyOption.REPLACE_EXISTING );
+      }
+    } catch ( IOException e ) {
+      logger.error( "Checkpoint: cannot write "+path.getPath()+" - "+e.toString() );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Await.
+   *
+   *  Block until the outstanding write, if any, is on disk.
+   */
+  // -------------------------------------------------------------------------------------
+  void await( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != pending ) {
+      try {
+        pending.get();
+      } catch ( InterruptedException e ) {
+        logger.error( "Checkpoint: interrupted" );
+      } catch ( ExecutionException e ) {
+        logger.error( "Checkpoint: write failed - "+e.getCause().toString() );
+      }
+      pending = null;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Close.
+   *
+   *  Finish the outstanding write and release the writer thread.
+   */
+  // -------------------------------------------------------------------------------------
+  void close( ) {
+    // -----------------------------------------------------------------------------------
+    await();
+    writer.shutdown();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Open.
+   *  @param fspc path to a checkpoint file.
+   *  @return stream positioned at the body of the checkpoint.
+   */
+  // -------------------------------------------------------------------------------------
+  static DataInputStream open( String fspc ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    DataInputStream in = new DataInputStream(
+        new BufferedInputStream( new FileInputStream( fspc ) ) );
+
+    if ( MAGIC != in.readInt() ) {
+      in.close();
+      throw new IOException( fspc+" is not a UGA checkpoint" );
+    }
+
+    int ver = in.readInt();
+    if ( VERSION != ver ) {
+      in.close();
+      throw new IOException( fspc+" checkpoint version "+ver+" is not supported" );
+    }
+
+    return in;
+  }
+
+} // end class Checkpoint
+
+// =======================================================================================
+// **                                C H E C K P O I N T                                **
+// ======================================================================== END FILE =====
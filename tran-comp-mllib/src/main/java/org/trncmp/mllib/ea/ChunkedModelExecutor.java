@@ -0,0 +1,176 @@
+// ====================================================================== BEGIN FILE =====
+// **                      C H U N K E D M O D E L E X E C U T O R                      **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file ChunkedModelExecutor.java
+ * <p>
+ * Provides a work stealing, chunked task queue, for concurrent model evaluation.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// =======================================================================================
+/** @class ChunkedModelExecutor
+ *
+ *  Evaluate the population on a ForkJoinPool. The index range of the population is
+ *  split once, at construction, into a binary tree of chunks. Each generation the same
+ *  tree is reinitialized and invoked, idle workers steal unfinished chunks from busy
+ *  ones. No tasks or synchronization objects are allocated after construction.
+ */
+// ---------------------------------------------------------------------------------------
+public class ChunkedModelExecutor extends ModelExecutor {
+  // -------------------------------------------------------------------------------------
+
+  /** Target number of leaf chunks per processor. Extra chunks give the work stealing
+   *  scheduler room to balance uneven model run times. */
+  public static final int CHUNKS_PER_PROC = 8;
+
+  protected final ForkJoinPool fj_pool;
+  protected final Chunk        root;
+  protected       Population   current = null;
+  protected       int          grain   = 1;
+
+  // =====================================================================================
+  /** @class Chunk
+   *
+   *  Contiguous range [lo,hi) of population members. Interior chunks fork their two
+   *  halves, leaf chunks evaluate the members serially.
+   */
+  // -------------------------------------------------------------------------------------
+  class Chunk extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected final int   lo;
+    protected final int   hi;
+    protected final Chunk left;
+    protected final Chunk right;
+    protected final Batch batch;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param a first index (inclusive).
+     *  @param b last  index (exclusive).
+     *
+     *  Recursively build the chunk tree down to the grain size.
+     */
+    // -----------------------------------------------------------------------------------
+    Chunk( int a, int b ) {
+      // ---------------------------------------------------------------------------------
+      lo = a;
+      hi = b;
+      if ( ( b - a ) > grain ) {
+        int mid = ( a + b ) >>> 1;
+        left  = new Chunk( a, mid );
+        right = new Chunk( mid, b );
+      } else {
+        left  = null;
+        right = null;
+      }
+      batch = ( null == left ) ? Batch.create( model ) : null;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    protected void compute() {
+      // ---------------------------------------------------------------------------------
+      if ( null != batch ) {
+        batch.evaluate( model, cache, current, lo, hi );
+      } else if ( null == left ) {
+        for ( int i=lo; i<hi; i++ ) {
+          ModelExecutor.evaluate( model, cache, current.get(i) );
+        }
+      } else {
+        left.reinitialize();
+        right.reinitialize();
+        invokeAll( left, right );
+      }
+    }
+
+  } // end class ChunkedModelExecutor.Chunk
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param mod pointer to a fitness model.
+   *  @param np  number of processors
+   *  @param nt  number of population members.
+   */
+  // -------------------------------------------------------------------------------------
+  public ChunkedModelExecutor( Model mod, int np, int nt ) {
+    // -----------------------------------------------------------------------------------
+    super( mod, np );
+    num_tasks = nt;
+    grain     = Math.max( 1, nt / ( np * CHUNKS_PER_PROC ) );
+
+    // ----- batching models get leaves of up to one batch, keeping one per processor ----
+    int bs = mod.batchSize();
+    if ( 0 < bs ) {
+      grain = Math.max( grain, Math.min( bs, ( nt + np - 1 ) / np ) );
+    }
+
+    fj_pool   = new ForkJoinPool( np );
+    root      = new Chunk( 0, nt );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute.
+   *  @param pop reference to a population.
+   *
+   *  Blocks until all chunks are complete.
+   */
+  // -------------------------------------------------------------------------------------
+  public void execute( Population pop ) {
+    // -----------------------------------------------------------------------------------
+    current = pop;
+    root.reinitialize();
+    fj_pool.invoke( root );
+    current = null;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads. This executor may not be used afterwards.
+   */
+  // -------------------------------------------------------------------------------------
+  public void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    fj_pool.shutdown();
+  }
+
+} // end class ChunkedModelExecutor
+
+// =======================================================================================
+// **                      C H U N K E D M O D E L E X E C U T O R                      **
+// ======================================================================== END FILE =====
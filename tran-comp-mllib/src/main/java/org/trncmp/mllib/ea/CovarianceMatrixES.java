@@ -0,0 +1,438 @@
+// ====================================================================== BEGIN FILE =====
+// **                        C O V A R I A N C E M A T R I X E S                        **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file CovarianceMatrixES.java
+ * <p>
+ * Provides the CMA-ES driver for models with a RealEncoding.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import org.trncmp.mllib.Entropy;
+
+import org.trncmp.lib.StopWatch;
+import org.trncmp.lib.linear.Matrix;
+import org.trncmp.lib.linear.linalg;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class CovarianceMatrixES
+ *
+ *  ( mu/mu_w, lambda ) CMA-ES ( evolve = cmaes ) for models with a RealEncoding,
+ *  following Hansen, "The CMA Evolution Strategy: A Tutorial" (2016). lambda = nPop
+ *  offspring are sampled each generation and scored by the ModelExecutor. The best
+ *  half, ranked by Model.isLeftBetter, moves the mean and updates the covariance.
+ *
+ *  The covariance C is factored by linalg.cholesky, C = L L', instead of an eigen
+ *  decomposition. Offspring are x = m + sigma L z, and the step size path uses z, so
+ *  only L and its triangular solve are needed. The factor is refreshed every few
+ *  generations, as the learning rates allow.
+ *
+ *  The search starts from the best member of the randomized population with
+ *  sigma = smutate start. Offspring are clipped to the [-1,1] range of the encoding,
+ *  and the clipped point is used in the update. Storage is O(n^2) in the length n of
+ *  the encoding and each generation costs O(lambda n^2), so this suits smooth
+ *  problems of up to a few hundred genes. 4 + 3 ln(n) is the usual choice of nPop.
+ */
+// ---------------------------------------------------------------------------------------
+class CovarianceMatrixES {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  /** Stop when sigma times the largest standard deviation falls below this. */
+  static final double TOL_X = 1.0e-12;
+
+  protected final UGAConfiguration config;
+  protected final Model            model;
+  protected final Population       primary;
+  protected final Entropy          ent;
+
+  protected final int    n;
+  protected final int    lambda;
+  protected final int    mu;
+  protected final double[] w;
+
+  /** indices of the best mu offspring, best first. */
+  protected final int[]  sel;
+
+  protected final double mueff, cs, ds, cc, c1, cmu, chiN;
+
+  /** Generations between refreshes of the Cholesky factor. */
+  protected final int    lazy;
+
+  protected final Matrix C;
+  protected       Matrix L;
+
+  protected final double[] mean;
+  protected final double[] ps;
+  protected final double[] pc;
+  protected final double[] yw;
+  protected final double[] zw;
+
+  /** offspring steps, row k = member k. */
+  protected final double[][] y;
+  protected final double[][] z;
+
+  protected double sigma;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param cfg pointer to a configuration object.
+   *  @param mod pointer to a user defined model.
+   *  @param pop pointer to the population of lambda offspring.
+   */
+  // -------------------------------------------------------------------------------------
+  CovarianceMatrixES( UGAConfiguration cfg, Model mod, Population pop ) {
+    // -----------------------------------------------------------------------------------
+    config  = cfg;
+    model   = mod;
+    primary = pop;
+    ent     = Entropy.getInstance();
+
+    n      = ( ( RealEncoding ) primary.get(0).param ).size();
+    lambda = primary.size();
+    mu     = lambda / 2;
+
+    // ----- recombination weights -------------------------------------------------------
+
+    w   = new double[ mu ];
+    sel = new int[ mu ];
+    double sw = 0.0e0;
+    for ( int i=0; i<mu; i++ ) {
+      w[i] = Math.log( 0.5e0 * ( double ) ( lambda + 1 ) ) - Math.log( ( double ) ( i + 1 ) );
+      sw  += w[i];
+    }
+    double sw2 = 0.0e0;
+    for ( int i=0; i<mu; i++ ) {
+      w[i] /= sw;
+      sw2  += w[i] * w[i];
+    }
+    mueff = 1.0e0 / sw2;
+
+    // ----- learning rates --------------------------------------------------------------
+
+    double N = ( double ) n;
+    cs   = ( mueff + 2.0e0 ) / ( N + mueff + 5.0e0 );
+    ds   = 1.0e0 + 2.0e0 * Math.max( 0.0e0, Math.sqrt( ( mueff - 1.0e0 ) / ( N + 1.0e0 ) ) - 1.0e0 ) + cs;
+    cc   = ( 4.0e0 + mueff / N ) / ( N + 4.0e0 + 2.0e0 * mueff / N );
+    c1   = 2.0e0 / ( ( N + 1.3e0 ) * ( N + 1.3e0 ) + mueff );
+    cmu  = Math.min( 1.0e0 - c1,
+                     2.0e0 * ( mueff - 2.0e0 + 1.0e0 / mueff ) / ( ( N + 2.0e0 ) * ( N + 2.0e0 ) + mueff ) );
+    chiN = Math.sqrt( N ) * ( 1.0e0 - 1.0e0 / ( 4.0e0 * N ) + 1.0e0 / ( 21.0e0 * N * N ) );
+    lazy = Math.max( 1, ( int ) Math.floor( 1.0e0 / ( 10.0e0 * N * ( c1 + cmu ) ) ) );
+
+    C = new Matrix( n, n );
+    C.ident();
+    L = new Matrix( n, n );
+    L.ident();
+
+    mean = new double[ n ];
+    ps   = new double[ n ];
+    pc   = new double[ n ];
+    yw   = new double[ n ];
+    zw   = new double[ n ];
+    y    = new double[ lambda ][ n ];
+    z    = new double[ lambda ][ n ];
+
+    sigma = config.sMutateStart();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Sample.
+   *
+   *  Fill every member with x = clip( m + sigma L z ) and record y = ( x - m ) / sigma
+   *  and z = L^-1 y of the clipped point.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void sample( ) {
+    // -----------------------------------------------------------------------------------
+    double[][] A = L.A;
+    for ( int k=0; k<lambda; k++ ) {
+      double[]     zk = z[k];
+      double[]     yk = y[k];
+      RealEncoding E  = ( RealEncoding ) primary.get(k).param;
+
+      ent.normal( zk, 0, n );
+
+      boolean clipped = false;
+      for ( int i=0; i<n; i++ ) {
+        double[] Ai  = A[i];
+        double   sum = 0.0e0;
+        for ( int j=0; j<=i; j++ ) {
+          sum += Ai[j] * zk[j];
+        }
+        double x = mean[i] + sigma * sum;
+        if ( 1.0e0 < x ) {
+          x = 1.0e0;
+          clipped = true;
+        } else if ( -1.0e0 > x ) {
+          x = -1.0e0;
+          clipped = true;
+        }
+        yk[i] = ( x - mean[i] ) / sigma;
+        E.set( i, x );
+      }
+
+      if ( clipped ) {
+        solve( zk, yk );
+      }
+
+      primary.get(k).dirty = true;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Solve.
+   *  @param x solution of L x = b.
+   *  @param b right hand side.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void solve( double[] x, double[] b ) {
+    // -----------------------------------------------------------------------------------
+    double[][] A = L.A;
+    for ( int i=0; i<n; i++ ) {
+      double[] Ai  = A[i];
+      double   sum = b[i];
+      for ( int j=0; j<i; j++ ) {
+        sum -= Ai[j] * x[j];
+      }
+      x[i] = sum / Ai[i];
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Update.
+   *  @param gen generation number ( from 0 ).
+   *
+   *  Move the mean, the evolution paths, the covariance and the step size, using the
+   *  members ranked by primary.prepare.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void update( int gen ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<n; i++ ) {
+      yw[i] = 0.0e0;
+      zw[i] = 0.0e0;
+    }
+    for ( int r=0; r<mu; r++ ) {
+      int k = primary.ranked(r);
+      sel[r] = k;
+      for ( int i=0; i<n; i++ ) {
+        yw[i] += w[r] * y[k][i];
+        zw[i] += w[r] * z[k][i];
+      }
+    }
+
+    // ----- mean and evolution paths ----------------------------------------------------
+
+    double fs  = Math.sqrt( cs * ( 2.0e0 - cs ) * mueff );
+    double nps = 0.0e0;
+    for ( int i=0; i<n; i++ ) {
+      mean[i] += sigma * yw[i];
+      ps[i]    = ( 1.0e0 - cs ) * ps[i] + fs * zw[i];
+      nps     += ps[i] * ps[i];
+    }
+    nps = Math.sqrt( nps );
+
+    double  decay = 1.0e0 - Math.pow( 1.0e0 - cs, 2.0e0 * ( double ) ( gen + 1 ) );
+    boolean hs    = ( nps / Math.sqrt( decay ) ) <
+        ( ( 1.4e0 + 2.0e0 / ( ( double ) n + 1.0e0 ) ) * chiN );
+
+    double fc = hs ? Math.sqrt( cc * ( 2.0e0 - cc ) * mueff ) : 0.0e0;
+    for ( int i=0; i<n; i++ ) {
+      pc[i] = ( 1.0e0 - cc ) * pc[i] + fc * yw[i];
+    }
+
+    // ----- covariance, rank one and rank mu --------------------------------------------
+
+    double keep = 1.0e0 - c1 - cmu + ( hs ? 0.0e0 : c1 * cc * ( 2.0e0 - cc ) );
+    double[][] A = C.A;
+    for ( int i=0; i<n; i++ ) {
+      double[] Ai = A[i];
+      for ( int j=0; j<=i; j++ ) {
+        double rmu = 0.0e0;
+        for ( int r=0; r<mu; r++ ) {
+          double[] yk = y[ sel[r] ];
+          rmu += w[r] * yk[i] * yk[j];
+        }
+        Ai[j] = keep * Ai[j] + c1 * pc[i] * pc[j] + cmu * rmu;
+        A[j][i] = Ai[j];
+      }
+    }
+
+    // ----- step size -------------------------------------------------------------------
+
+    sigma *= Math.exp( ( cs / ds ) * ( nps / chiN - 1.0e0 ) );
+
+    if ( 0 == ( ( gen + 1 ) % lazy ) ) {
+      factor();
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Factor.
+   *
+   *  Refresh L from C. If C has lost positive definiteness to round off, the previous
+   *  factor is kept and C is rebuilt from it.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void factor( ) {
+    // -----------------------------------------------------------------------------------
+    Matrix F = linalg.cholesky( C, 0.0e0 );
+    for ( int i=0; i<n; i++ ) {
+      double d = F.A[i][i];
+      if ( ( ! ( 0.0e0 < d ) ) || Double.isInfinite( d ) ) {
+        logger.warn( "CovarianceMatrixES: covariance is not positive definite, keeping L" );
+        linalg.dot( C, L, transpose( L ) );
+        return;
+      }
+    }
+    L = F;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Transpose.
+   *  @param M pointer to a matrix.
+   *  @return new matrix M'.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static Matrix transpose( Matrix M ) {
+    // -----------------------------------------------------------------------------------
+    Matrix T = new Matrix( M.nc, M.nr );
+    T.transpose( M );
+    return T;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Spread.
+   *  @return sigma times the largest standard deviation of the search distribution.
+   */
+  // -------------------------------------------------------------------------------------
+  protected double spread( ) {
+    // -----------------------------------------------------------------------------------
+    double d = 0.0e0;
+    for ( int i=0; i<n; i++ ) {
+      d = Math.max( d, C.A[i][i] );
+    }
+    return sigma * Math.sqrt( d );
+  }
+
+  
+  // =====================================================================================
+  /** @brief main loop.
+   *  @param exec pointer to an executor for scoring a population of nPop members.
+   */
+  // -------------------------------------------------------------------------------------
+  void run( ModelExecutor exec ) {
+    // -----------------------------------------------------------------------------------
+    int maxgen = config.maxgen();
+
+    Encoding[] encode_array = new Encoding[ lambda ];
+    for ( int i=0; i<lambda; i++ ) {
+      encode_array[i] = primary.get(i).param;
+    }
+
+    model.pre_process( encode_array, lambda );
+    exec.execute( primary );
+    primary.genStats( true );
+    primary.selection( UGA.RANK, 2.0e0 );
+
+    RealEncoding start = ( RealEncoding ) primary.best().param;
+    for ( int i=0; i<n; i++ ) {
+      mean[i] = start.get(i);
+    }
+
+    model.run_before( primary.best().metric,  primary.best().param,
+                      primary.worst().metric, primary.worst().param );
+
+    logger.debug( "CovarianceMatrixES: Begin Evolution" );
+
+    StopWatch swatch = new StopWatch();
+
+    int iGen;
+    for ( iGen=0; iGen<maxgen; iGen++ ) {
+
+      sample();
+
+      model.pre_process( encode_array, lambda );
+      exec.execute( primary );
+
+      primary.prepare( ent );
+      update( iGen );
+
+      primary.genStats( false );
+
+      // ----- report results ------------------------------------------------------------
+
+      if ( 0 == ( iGen % config.report() ) ) {
+        System.out.printf( "%d sigma: %g\n", iGen, sigma );
+        model.display( String.format( "%d", iGen ),
+                       primary.best().metric, primary.best().param, true );
+        System.out.printf( "\n" );
+      }
+
+      if ( 0 < config.save() ) {
+        if ( 0 == ( iGen % config.save() ) ) {
+          logger.debug( "calling: model save" );
+          model.save( primary.best().param );
+        }
+      }
+
+      if ( model.meetsThreshold( primary.best().metric ) ) {
+        break;
+      }
+
+      if ( TOL_X > spread() ) {
+        logger.info( String.format( "CovarianceMatrixES: converged, sigma %g", sigma ) );
+        break;
+      }
+    }
+
+    double elapsed = swatch.seconds();
+
+    logger.info(
+        String.format( "CovarianceMatrixES: End Evolution - %d offspring %d generations %g seconds.",
+                       lambda, iGen, elapsed ) );
+
+    model.run_after( primary.best().metric,  primary.best().param,
+                     primary.worst().metric, primary.worst().param );
+  }
+
+} // end class CovarianceMatrixES
+
+// =======================================================================================
+// **                        C O V A R I A N C E M A T R I X E S                        **
+// ======================================================================== END FILE =====
@@ -40,6 +40,9 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 
 // =======================================================================================
@@ -58,8 +61,98 @@ public abstract class Encoding {
    *  parameter 1.0 is N_SIGMA_SCALE * sigma away.
    */
   public static final double N_SIGMA_SCALE = 4.0e0;
+
+  /** Source of random numbers for randomize, crossover, mutate and noise. */
+  protected org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
   
 
+  // =====================================================================================
+  /** @brief Set Entropy.
+   *  @param E pointer to an Entropy instance.
+   *
+   *  Replace the shared Entropy singleton with an independent stream. Used when
+   *  encodings are reproduced concurrently, one stream per worker.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setEntropy( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    ent = E;
+  }
+
+
+  // =====================================================================================
+  /** @brief Set Kernel.
+   *  @param k operator kernels (UGA.SCALAR or UGA.BULK).
+   *
+   *  Select the operator implementation. Encodings with a single implementation
+   *  ignore this.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setKernel( int k ) {
+    // -----------------------------------------------------------------------------------
+  }
+
+
+  // =====================================================================================
+  /** @brief Mix.
+   *  @param h running hash.
+   *  @param v next 64 bit value.
+   *  @return updated hash.
+   *
+   *  Fold one value into a running 64 bit content hash (FNV-1a over a murmur finalizer).
+   */
+  // -------------------------------------------------------------------------------------
+  protected static long mix( long h, long v ) {
+    // -----------------------------------------------------------------------------------
+    v ^= ( v >>> 33 );
+    v *= 0xff51afd7ed558ccdL;
+    v ^= ( v >>> 33 );
+    return ( h ^ v ) * 0x100000001b3L;
+  }
+
+  /** Initial value for mix. */
+  protected static final long HASH_SEED = 0xcbf29ce484222325L;
+
+  
+  // =====================================================================================
+  /** @brief Content Hash.
+   *  @return 64 bit hash of the element values.
+   *
+   *  Two encodings with equal elements return the same hash.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract long contentHash( );
+
+  
+  // =====================================================================================
+  /** @brief Same Content.
+   *  @param p pointer to another Encoding.
+   *  @return true if both encodings hold the same element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract boolean sameContent( Encoding p );
+
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   *
+   *  Write the element values in a compact binary form.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract void write( DataOutput out ) throws IOException;
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   *
+   *  Read element values written by write. The number of elements must match.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract void read( DataInput in ) throws IOException;
+
+  
   // =====================================================================================
   /** @brief Zero.
    *
@@ -154,6 +247,21 @@ public abstract class Encoding {
   // -------------------------------------------------------------------------------------
   public abstract int mutate( Encoding S, double perc, double scale );
 
+  
+  // =====================================================================================
+  /** @brief Delta Base.
+   *  @param valid true if the metric paired with this encoding holds the score of the
+   *               source passed to the last mutate.
+   *
+   *  Called by UGA after a mutation that changed this encoding. Encodings that record
+   *  their edits ( see PMXEncoding ) let a model update the source score in O(edits)
+   *  instead of scoring the whole encoding. The default ignores the call.
+   */
+  // -------------------------------------------------------------------------------------
+  public void deltaBase( boolean valid ) {
+    // -----------------------------------------------------------------------------------
+  }
+
 
 
   
@@ -0,0 +1,268 @@
+// ====================================================================== BEGIN FILE =====
+// **                              F I T N E S S C A C H E                              **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file FitnessCache.java
+ * <p>
+ * Provides a bounded, thread safe fitness memoization cache.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// =======================================================================================
+/** @class FitnessCache
+ *
+ *  Bounded memo of Model.execute results keyed by the content of the Encoding.
+ *  Converged populations contain many clones of the elite, this lets them skip the
+ *  model evaluation.
+ *
+ *  The table is direct mapped: each content hash selects one slot and a newer entry
+ *  replaces the older one. A hit requires the full content to match (Encoding.sameContent),
+ *  a hash collision is only a miss. Each slot is locked independently so the executors
+ *  may call execute concurrently.
+ *
+ *  @note Only valid for models whose execute is a pure function of the Encoding.
+ */
+// ---------------------------------------------------------------------------------------
+public class FitnessCache {
+  // -------------------------------------------------------------------------------------
+
+  protected final Model   model;
+  protected final Entry[] table;
+  protected final int     mask;
+
+  protected final AtomicLong hits   = new AtomicLong( 0 );
+  protected final AtomicLong misses = new AtomicLong( 0 );
+
+  
+  // =====================================================================================
+  /** @class Entry
+   *
+   *  One memoized evaluation.
+   */
+  // -------------------------------------------------------------------------------------
+  static class Entry {
+    // -----------------------------------------------------------------------------------
+    boolean        valid = false;
+    long           hash  = 0;
+    final Encoding key;
+    final Metric   value;
+
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param mod pointer to a fitness model.
+     *
+     *  Storage is allocated up front, on the calling thread. Allocating an encoding
+     *  may draw from the Entropy singleton and must not happen inside the executors.
+     */
+    // -----------------------------------------------------------------------------------
+    Entry( Model mod ) {
+      // ---------------------------------------------------------------------------------
+      key   = mod.alloc_encoding();
+      value = mod.alloc_metric();
+    }
+  } // end class FitnessCache.Entry
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param mod pointer to a fitness model.
+   *  @param n   maximum number of entries (rounded up to a power of two).
+   */
+  // -------------------------------------------------------------------------------------
+  public FitnessCache( Model mod, int n ) {
+    // -----------------------------------------------------------------------------------
+    model = mod;
+
+    int cap = 1;
+    while ( cap < n ) {
+      cap <<= 1;
+    }
+
+    mask  = cap - 1;
+    table = new Entry[ cap ];
+    for ( int i=0; i<cap; i++ ) {
+      table[i] = new Entry( model );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Capacity.
+   *  @return maximum number of entries.
+   */
+  // -------------------------------------------------------------------------------------
+  public int capacity( ) {
+    // -----------------------------------------------------------------------------------
+    return table.length;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Slot.
+   *  @param h content hash.
+   *  @return table entry for this hash.
+   */
+  // -------------------------------------------------------------------------------------
+  protected Entry slot( long h ) {
+    // -----------------------------------------------------------------------------------
+    return table[ (int)( h ^ ( h >>> 32 ) ) & mask ];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Lookup.
+   *  @param M pointer to the return metrics.
+   *  @param E pointer to the encoding.
+   *  @return true if E was found and M was filled from the cache.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean lookup( Metric M, Encoding E ) {
+    // -----------------------------------------------------------------------------------
+    long  h = E.contentHash();
+    Entry S = slot( h );
+
+    synchronized( S ) {
+      if ( S.valid && ( h == S.hash ) && S.key.sameContent( E ) ) {
+        M.copy( S.value );
+        hits.incrementAndGet();
+        return true;
+      }
+    }
+
+    misses.incrementAndGet();
+    return false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Store.
+   *  @param M pointer to the metrics.
+   *  @param E pointer to the encoding that produced M.
+   */
+  // -------------------------------------------------------------------------------------
+  public void store( Metric M, Encoding E ) {
+    // -----------------------------------------------------------------------------------
+    long  h = E.contentHash();
+    Entry S = slot( h );
+
+    synchronized( S ) {
+      S.key.copy( E );
+      S.value.copy( M );
+      S.hash  = h;
+      S.valid = true;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute.
+   *  @param M pointer to the return metrics.
+   *  @param E pointer to the encoding for this model.
+   *
+   *  Fill M from the cache, or execute the model and remember the result.
+   */
+  // -------------------------------------------------------------------------------------
+  public void execute( Metric M, Encoding E ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! lookup( M, E ) ) {
+      model.execute( M, E );
+      store( M, E );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Clear.
+   *
+   *  Invalidate every entry and reset the counters.
+   */
+  // -------------------------------------------------------------------------------------
+  public void clear( ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<table.length; i++ ) {
+      synchronized( table[i] ) {
+        table[i].valid = false;
+      }
+    }
+    hits.set( 0 );
+    misses.set( 0 );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Hits.
+   *  @return number of evaluations answered from the cache.
+   */
+  // -------------------------------------------------------------------------------------
+  public long hits( ) {
+    // -----------------------------------------------------------------------------------
+    return hits.get();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Misses.
+   *  @return number of evaluations passed to the model.
+   */
+  // -------------------------------------------------------------------------------------
+  public long misses( ) {
+    // -----------------------------------------------------------------------------------
+    return misses.get();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Hit Ratio.
+   *  @return fraction of lookups answered from the cache.
+   */
+  // -------------------------------------------------------------------------------------
+  public double hitRatio( ) {
+    // -----------------------------------------------------------------------------------
+    long h = hits.get();
+    long t = h + misses.get();
+    return ( 0 == t ) ? 0.0e0 : ( ( double ) h ) / ( ( double ) t );
+  }
+
+  
+  // =====================================================================================
+  /** @brief To String.
+   *  @return summary of the cache counters.
+   */
+  // -------------------------------------------------------------------------------------
+  public String toString( ) {
+    // -----------------------------------------------------------------------------------
+    return String.format( "FitnessCache: %d entries, %d hits, %d misses (%.1f%%)",
+                          table.length, hits.get(), misses.get(), 100.0e0 * hitRatio() );
+  }
+
+} // end class FitnessCache
+
+// =======================================================================================
+// **                              F I T N E S S C A C H E                              **
+// ======================================================================== END FILE =====
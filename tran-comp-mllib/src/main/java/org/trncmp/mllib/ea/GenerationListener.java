@@ -0,0 +1,67 @@
+// ====================================================================== BEGIN FILE =====
+// **                        G E N E R A T I O N L I S T E N E R                        **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file GenerationListener.java
+ * <p>
+ * Provides the interface for observing UGA generations.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+// =======================================================================================
+/** @interface GenerationListener
+ *
+ *  Receives the measurements of every generation of UGA.run.
+ *  Register with UGA.addListener.
+ */
+// ---------------------------------------------------------------------------------------
+public interface GenerationListener {
+  // -------------------------------------------------------------------------------------
+
+  // =====================================================================================
+  /** @brief Generation.
+   *  @param S measurements of the generation just completed.
+   *
+   *  S is reused for the next generation, copy any values that must be kept.
+   */
+  // -------------------------------------------------------------------------------------
+  void generation( GenerationStats S );
+
+  
+  // =====================================================================================
+  /** @brief Finish.
+   *
+   *  Called once when the evolution ends.
+   */
+  // -------------------------------------------------------------------------------------
+  void finish( );
+
+} // end interface GenerationListener
+
+// =======================================================================================
+// **                        G E N E R A T I O N L I S T E N E R                        **
+// ======================================================================== END FILE =====
@@ -0,0 +1,155 @@
+// ====================================================================== BEGIN FILE =====
+// **                           G E N E R A T I O N S T A T S                           **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file GenerationStats.java
+ * <p>
+ * Provides per generation timing and fitness statistics for UGA.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+// =======================================================================================
+/** @class GenerationStats
+ *
+ *  Measurements for one generation of UGA.run. Times are wall clock seconds.
+ *  The fitness summary uses the first element of each metric.
+ *
+ *  @note With reproduce=parallel, selection is timed as part of crossover.
+ */
+// ---------------------------------------------------------------------------------------
+public class GenerationStats {
+  // -------------------------------------------------------------------------------------
+
+  /** generation number. */
+  public int    generation  = 0;
+
+  /** wall time of the whole generation, including report and save. */
+  public double wall        = 0.0e0;
+  public double preProcess  = 0.0e0;
+  public double score       = 0.0e0;
+  public double select      = 0.0e0;
+  public double crossover   = 0.0e0;
+  public double mutate      = 0.0e0;
+  public double improve     = 0.0e0;
+  public double stats       = 0.0e0;
+
+  /** number of members submitted for evaluation ( dirty members ). */
+  public int    evaluations = 0;
+
+  public double best        = 0.0e0;
+  public double worst       = 0.0e0;
+  public double mean        = 0.0e0;
+
+  /** parameters used for this generation. */
+  public double pCross      = 0.0e0;
+  public double pMutate     = 0.0e0;
+  public double sMutate     = 0.0e0;
+
+  /** fraction of mutated children that improved on their parent ( control=adaptive ). */
+  public double success     = 0.0e0;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   */
+  // -------------------------------------------------------------------------------------
+  public GenerationStats( ) {
+    // -----------------------------------------------------------------------------------
+  }
+
+  
+  // =====================================================================================
+  /** @brief Reset.
+   *  @param gen generation number.
+   */
+  // -------------------------------------------------------------------------------------
+  public void reset( int gen ) {
+    // -----------------------------------------------------------------------------------
+    generation  = gen;
+    wall        = 0.0e0;
+    preProcess  = 0.0e0;
+    score       = 0.0e0;
+    select      = 0.0e0;
+    crossover   = 0.0e0;
+    mutate      = 0.0e0;
+    improve     = 0.0e0;
+    stats       = 0.0e0;
+    evaluations = 0;
+    best        = 0.0e0;
+    worst       = 0.0e0;
+    mean        = 0.0e0;
+    pCross      = 0.0e0;
+    pMutate     = 0.0e0;
+    sMutate     = 0.0e0;
+    success     = 0.0e0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Summarize.
+   *  @param SR statistics returned by P.genStats for this generation.
+   *  @param P  pointer to the scored population.
+   *
+   *  Fill best, worst and mean without another pass over P. Worst and mean describe
+   *  the generation as scored, before the best member is reinserted.
+   */
+  // -------------------------------------------------------------------------------------
+  void summarize( Population.ScoreReturn SR, Population P ) {
+    // -----------------------------------------------------------------------------------
+    best  = P.best().metric.get(0);
+    worst = SR.worst;
+    mean  = SR.mean;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Throughput.
+   *  @return evaluations per second of scoring time.
+   */
+  // -------------------------------------------------------------------------------------
+  public double throughput( ) {
+    // -----------------------------------------------------------------------------------
+    return ( 0.0e0 < score ) ? ( ( double ) evaluations ) / score : 0.0e0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Seconds.
+   *  @param t0 start time from System.nanoTime.
+   *  @return seconds elapsed since t0.
+   */
+  // -------------------------------------------------------------------------------------
+  static double seconds( long t0 ) {
+    // -----------------------------------------------------------------------------------
+    return 1.0e-9 * ( double ) ( System.nanoTime() - t0 );
+  }
+
+} // end class GenerationStats
+
+// =======================================================================================
+// **                           G E N E R A T I O N S T A T S                           **
+// ======================================================================== END FILE =====
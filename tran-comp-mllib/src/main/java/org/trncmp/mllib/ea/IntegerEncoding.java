@@ -40,6 +40,9 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 
 // =======================================================================================
@@ -64,7 +67,6 @@ public class IntegerEncoding extends Encoding {
   /** Maxumum value of this parameter's elements. */
   protected int max_int = 1000;
 
-  protected org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
 
 
   // =====================================================================================
@@ -182,6 +184,79 @@ public class IntegerEncoding extends Encoding {
       this.data[i] = E.data[i];
     }    
   }
+  
+  // =====================================================================================
+  /** @brief Content Hash.
+   *  @return 64 bit hash of the element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public long contentHash() {
+    // -----------------------------------------------------------------------------------
+    long h = HASH_SEED;
+    for ( int i=0; i<data_len; i++ ) {
+      h = mix( h, (long) data[i] );
+    }
+    return h;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Same Content.
+   *  @param ap pointer to another Encoding.
+   *  @return true if both encodings hold the same element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean sameContent( Encoding ap ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! ( ap instanceof IntegerEncoding ) ) {
+      return false;
+    }
+
+    IntegerEncoding E = (IntegerEncoding)ap;
+
+    if ( data_len != E.data_len ) {
+      return false;
+    }
+
+    for ( int i=0; i<data_len; i++ ) {
+      if ( data[i] != E.data[i] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  public void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( data_len );
+    for ( int i=0; i<data_len; i++ ) {
+      out.writeInt( data[i] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  public void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != data_len ) {
+      throw new IOException( "IntegerEncoding.read: expected "+data_len+" elements, found "+n );
+    }
+    for ( int i=0; i<data_len; i++ ) {
+      data[i] = in.readInt();
+    }
+  }
+
+
 
   // =====================================================================================
   /** @brief Gaussian.
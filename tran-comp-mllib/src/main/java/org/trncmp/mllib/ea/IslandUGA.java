@@ -0,0 +1,510 @@
+// ====================================================================== BEGIN FILE =====
+// **                                 I S L A N D U G A                                 **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file IslandUGA.java
+ * <p>
+ * Provides an island model driver for UGA with periodic migration.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.trncmp.lib.Math2;
+import org.trncmp.lib.StopWatch;
+import org.trncmp.mllib.Entropy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class IslandUGA
+ *
+ *  Evolve several sub-populations (islands) concurrently. Each island has its own primary
+ *  and working Population, its own Entropy stream and is evolved, and scored, on a single
+ *  thread. Every migration interval the islands stop, the best members of each island
+ *  are copied over the worst members of its neighbors, and the islands resume.
+ *
+ *  Topology:
+ *    - UGA.RING -- island i sends its emigrants to island (i+1) mod N.
+ *    - UGA.FULL -- every island sends its emigrants to every other island.
+ *
+ *  Migration is done on the calling thread, in island order, so a run is reproducible
+ *  for a given seed regardless of thread scheduling.
+ *
+ *  @note Model.execute, Model.pre_process and Model.improve are called concurrently
+ *        from the islands.
+ */
+// ---------------------------------------------------------------------------------------
+class IslandUGA {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  protected final UGAConfiguration config;
+  protected final Model            model;
+  protected final FitnessCache     cache;
+  protected final Island[]         island;
+  protected ExecutorService        pool = null;
+  protected final List< Island >   tasks;
+
+  /** emigrant[i][k] holds a copy of the k-th best member of island i. */
+  protected final PopulationMember[][] emigrant;
+
+  
+  // =====================================================================================
+  /** @class Island
+   *
+   *  One sub-population, evolved for a range of generations on one thread.
+   */
+  // -------------------------------------------------------------------------------------
+  class Island implements Callable< Void > {
+    // -----------------------------------------------------------------------------------
+    protected final Population primary;
+    protected final Population working;
+    protected final Encoding[] encode_array;
+    protected final Entropy    ent;
+    protected final ModelExecutor.Batch batch;
+
+    protected int     gen_start = 0;
+    protected int     gen_stop  = 0;
+    protected boolean scored    = false;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param n number of population members.
+     *  @param E pointer to the random stream owned by this island.
+     */
+    // -----------------------------------------------------------------------------------
+    Island( int n, Entropy E ) {
+      // ---------------------------------------------------------------------------------
+      ent     = E;
+      primary = new Population( n, model );
+      working = new Population( n, model );
+      primary.setEntropy( E );
+      working.setEntropy( E );
+      primary.setKernel( config.kernel() );
+      working.setKernel( config.kernel() );
+      primary.selection( config.selection(), config.pressure() );
+
+      if ( UGA.PACKED == config.layout() ) {
+        UGA.Pack( primary );
+        UGA.Pack( working );
+      }
+
+      batch        = ModelExecutor.Batch.create( model );
+      encode_array = new Encoding[ n ];
+      for ( int i=0; i<n; i++ ) {
+        encode_array[i] = primary.get(i).param;
+      }
+    }
+
+    
+    // ===================================================================================
+    /** @brief Score.
+     *
+     *  Pre-process and evaluate every member of the primary population.
+     */
+    // -----------------------------------------------------------------------------------
+    void score( ) {
+      // ---------------------------------------------------------------------------------
+      int n = primary.size();
+
+      model.pre_process( encode_array, n );
+
+      if ( null == batch ) {
+        for ( int i=0; i<n; i++ ) {
+          ModelExecutor.evaluate( model, cache, primary.get(i) );
+        }
+      } else {
+        batch.evaluate( model, cache, primary, 0, n );
+      }
+    }
+
+    
+    // ===================================================================================
+    /** @brief Evolve.
+     *
+     *  Evolve generations [gen_start,gen_stop), or until the threshold is met.
+     */
+    // -----------------------------------------------------------------------------------
+    public Void call( ) {
+      // ---------------------------------------------------------------------------------
+      int    tourSize = config.nTour();
+      double maxgen   = ( double ) config.maxgen();
+      int    n_local  = ( int ) Math.round( config.localSearch() * ( double ) primary.size() );
+
+      if ( ! scored ) {
+        score();
+        primary.genStats( true );
+        scored = true;
+      }
+
+      for ( int iGen=gen_start; iGen<gen_stop; iGen++ ) {
+        double t = ( ( double ) iGen ) / maxgen;
+        double pCross  = Math2.PARAMETRIC( config.pCrossStart(),  config.pCrossFinal(),  t );
+        double pMutate = Math2.PARAMETRIC( config.pMutateStart(), config.pMutateFinal(), t );
+        double scale   = Math2.PARAMETRIC( config.sMutateStart(), config.sMutateFinal(), t );
+
+        UGA.Reproduce( ent, primary, working, tourSize, pCross, pMutate, scale );
+
+        // the improved window rotates, as in LocalSearchExecutor
+        int first = ( int ) ( ( ( long ) iGen * ( long ) n_local ) % ( long ) primary.size() );
+        for ( int i=0; i<n_local; i++ ) {
+          UGA.Improve( model, primary.get( ( first + i ) % primary.size() ) );
+        }
+
+        score();
+
+        Population.ScoreReturn SR = primary.genStats( false );
+
+        if ( ! SR.newBest ) {
+          primary.set( SR.worstIndex, primary.best() );
+        }
+
+        if ( model.meetsThreshold( primary.best().metric ) ) {
+          break;
+        }
+      }
+
+      return null;
+    }
+
+  } // end class IslandUGA.Island
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param cfg pointer to a configuration object.
+   *  @param mod pointer to a user defined model.
+   *  @param fc  pointer to a fitness cache shared by all islands ( may be null ).
+   *
+   *  Allocate config.nIsland() islands of config.nPop() members each.
+   */
+  // -------------------------------------------------------------------------------------
+  IslandUGA( UGAConfiguration cfg, Model mod, FitnessCache fc ) {
+    // -----------------------------------------------------------------------------------
+    config = cfg;
+    model  = mod;
+    cache  = fc;
+
+    int n_isl = config.nIsland();
+    int n_pop = config.nPop();
+    int n_mig = config.nMigrant();
+
+    Entropy master = Entropy.getInstance();
+
+    island   = new Island[ n_isl ];
+    emigrant = new PopulationMember[ n_isl ][ n_mig ];
+    tasks    = new ArrayList< Island >( n_isl );
+
+    for ( int i=0; i<n_isl; i++ ) {
+      island[i] = new Island( n_pop, master.spawn() );
+      tasks.add( island[i] );
+      for ( int k=0; k<n_mig; k++ ) {
+        emigrant[i][k] = new PopulationMember( model );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Island.
+   *  @param i index of the island.
+   *  @return pointer to the primary population of island i.
+   */
+  // -------------------------------------------------------------------------------------
+  Population get( int i ) {
+    // -----------------------------------------------------------------------------------
+    return island[i].primary;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Randomize.
+   *  @param pb probability of bracket.
+   *
+   *  Randomize every island.
+   */
+  // -------------------------------------------------------------------------------------
+  void randomize( double pb ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<island.length; i++ ) {
+      island[i].primary.randomize( pb );
+      island[i].scored = false;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Find.
+   *  @param mt member type ( UGA.BEST or UGA.WORST ).
+   *  @return index of the island holding the best (worst) recorded member.
+   */
+  // -------------------------------------------------------------------------------------
+  int find( int mt ) {
+    // -----------------------------------------------------------------------------------
+    int rv = 0;
+    for ( int i=1; i<island.length; i++ ) {
+      if ( UGA.WORST == mt ) {
+        if ( model.isLeftBetter( island[rv].primary.worst().metric,
+                                 island[i].primary.worst().metric ) ) {
+          rv = i;
+        }
+      } else {
+        if ( model.isLeftBetter( island[i].primary.best().metric,
+                                 island[rv].primary.best().metric ) ) {
+          rv = i;
+        }
+      }
+    }
+    return rv;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Emigrate.
+   *  @param I   pointer to the source island.
+   *  @param dst array to receive copies of the best members.
+   *
+   *  Copy the dst.length best members of the island, best first.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void emigrate( Island I, PopulationMember[] dst ) {
+    // -----------------------------------------------------------------------------------
+    Population P     = I.primary;
+    int        n     = P.size();
+    int        n_mig = Math.min( dst.length, n );
+    int[]      taken = new int[ n_mig ];
+
+    for ( int k=0; k<n_mig; k++ ) {
+      int idx = -1;
+      for ( int i=0; i<n; i++ ) {
+        boolean used = false;
+        for ( int j=0; j<k; j++ ) {
+          if ( taken[j] == i ) { used = true; break; }
+        }
+        if ( used ) { continue; }
+        if ( ( 0 > idx ) || model.isLeftBetter( P.get(i).metric, P.get(idx).metric ) ) {
+          idx = i;
+        }
+      }
+      taken[k] = idx;
+      dst[k].copy( P.get(idx) );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Immigrate.
+   *  @param I   pointer to the destination island.
+   *  @param src array of incoming members.
+   *
+   *  Replace the worst members of the island with the incoming members.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void immigrate( Island I, PopulationMember[] src ) {
+    // -----------------------------------------------------------------------------------
+    for ( int k=0; k<src.length; k++ ) {
+      I.primary.set( I.primary.find( UGA.WORST ), src[k] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Migrate.
+   *
+   *  Exchange the best members between islands according to the configured topology.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void migrate( ) {
+    // -----------------------------------------------------------------------------------
+    int n = island.length;
+
+    for ( int i=0; i<n; i++ ) {
+      emigrate( island[i], emigrant[i] );
+    }
+
+    if ( UGA.FULL == config.topology() ) {
+      for ( int i=0; i<n; i++ ) {
+        for ( int j=0; j<n; j++ ) {
+          if ( i != j ) {
+            immigrate( island[i], emigrant[j] );
+          }
+        }
+      }
+    } else {
+      for ( int i=0; i<n; i++ ) {
+        immigrate( island[i], emigrant[ ( n + i - 1 ) % n ] );
+      }
+    }
+
+    for ( int i=0; i<n; i++ ) {
+      island[i].primary.genStats( false );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Evolve.
+   *  @param start first generation.
+   *  @param stop  one past the last generation.
+   *  @return false if any island failed.
+   *
+   *  Evolve every island over generations [start,stop) and wait for all of them.
+   *  Islands not yet scored are scored first.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean evolve( int start, int stop ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<island.length; i++ ) {
+      island[i].gen_start = start;
+      island[i].gen_stop  = stop;
+    }
+
+    try {
+      List< Future< Void > > done = pool.invokeAll( tasks );
+      for ( Future< Void > f : done ) {
+        f.get();
+      }
+    } catch( InterruptedException e ) {
+      logger.error( "IslandUGA: interrupted" );
+      return false;
+    } catch( ExecutionException e ) {
+      logger.error( "IslandUGA: island failed - "+e.getCause().toString() );
+      return false;
+    }
+
+    return true;
+  }
+
+  
+  // =====================================================================================
+  /** @brief main loop.
+   *
+   *  Evolve all islands concurrently, stopping every migration interval to migrate,
+   *  report and save.
+   */
+  // -------------------------------------------------------------------------------------
+  void run( ) {
+    // -----------------------------------------------------------------------------------
+    int maxgen   = config.maxgen();
+    int interval = config.migrate();
+    int report   = config.report();
+    int save     = config.save();
+
+    logger.debug( "IslandUGA: Begin Evolution" );
+
+    pool = Executors.newFixedThreadPool( Math.max( 1, Math.min( island.length, config.nCPU() ) ) );
+
+    StopWatch swatch = new StopWatch();
+
+    if ( ! evolve( 0, 0 ) ) {
+      shutdown();
+      return;
+    }
+
+    Population B = island[ find( UGA.BEST ) ].primary;
+    Population W = island[ find( UGA.WORST ) ].primary;
+    model.run_before( B.best().metric,  B.best().param,
+                      W.worst().metric, W.worst().param );
+
+    int iGen = 0;
+    while ( iGen < maxgen ) {
+      int stop = Math.min( maxgen, iGen + interval );
+
+      if ( ! evolve( iGen, stop ) ) {
+        break;
+      }
+
+      PopulationMember best = island[ find( UGA.BEST ) ].primary.best();
+
+      if ( model.meetsThreshold( best.metric ) ) {
+        break;
+      }
+
+      migrate();
+
+      if ( ( iGen / report ) != ( stop / report ) ) {
+        for ( int i=0; i<island.length; i++ ) {
+          model.display( String.format( "%d:%d", stop, i ),
+                         island[i].primary.best().metric,
+                         island[i].primary.best().param, true );
+        }
+        System.out.printf( "\n" );
+      }
+
+      if ( 0 < save ) {
+        if ( ( iGen / save ) != ( stop / save ) ) {
+          logger.debug( "calling: model save" );
+          model.save( island[ find( UGA.BEST ) ].primary.best().param );
+        }
+      }
+
+      iGen = stop;
+    }
+
+    double elapsed = swatch.seconds();
+
+    logger.info(
+        String.format( "IslandUGA: End Evolution - %d islands of %d members %d generations %g seconds.",
+                       island.length, config.nPop(), maxgen, elapsed ) );
+
+    B = island[ find( UGA.BEST ) ].primary;
+    W = island[ find( UGA.WORST ) ].primary;
+    model.run_after( B.best().metric,  B.best().param,
+                     W.worst().metric, W.worst().param );
+
+    shutdown();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads, they are created again by the next call to run.
+   */
+  // -------------------------------------------------------------------------------------
+  void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != pool ) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
+} // end class IslandUGA
+
+// =======================================================================================
+// **                                 I S L A N D U G A                                 **
+// ======================================================================== END FILE =====
@@ -0,0 +1,167 @@
+// ====================================================================== BEGIN FILE =====
+// **                       L O C A L S E A R C H E X E C U T O R                       **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file LocalSearchExecutor.java
+ * <p>
+ * Provides a concurrent local improvement stage for population members.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// =======================================================================================
+/** @class LocalSearchExecutor
+ *
+ *  Pass a window of n members of a population to Model.improve on a ForkJoinPool.
+ *  Reproduction writes children at sequential indices from randomly selected parents,
+ *  so any fixed window would always improve the same slots. The window starts at
+ *  ( gen * n ) mod size and wraps, so successive generations cover the whole population.
+ *  No random numbers are drawn, and a resumed run improves the same members.
+ */
+// ---------------------------------------------------------------------------------------
+class LocalSearchExecutor {
+  // -------------------------------------------------------------------------------------
+
+  /** Target number of leaf chunks per processor. */
+  static final int CHUNKS_PER_PROC = 8;
+
+  protected final ForkJoinPool pool;
+  protected final Model        model;
+  protected final Chunk        root;
+  protected final int          grain;
+  protected       Population   current = null;
+  protected       int          offset  = 0;
+
+  
+  // =====================================================================================
+  /** @class Chunk
+   *
+   *  Contiguous range [lo,hi) of population members.
+   */
+  // -------------------------------------------------------------------------------------
+  class Chunk extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected final int   lo;
+    protected final int   hi;
+    protected final Chunk left;
+    protected final Chunk right;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param a first index (inclusive).
+     *  @param b last  index (exclusive).
+     */
+    // -----------------------------------------------------------------------------------
+    Chunk( int a, int b ) {
+      // ---------------------------------------------------------------------------------
+      lo = a;
+      hi = b;
+      if ( ( b - a ) > grain ) {
+        int mid = ( a + b ) >>> 1;
+        left  = new Chunk( a, mid );
+        right = new Chunk( mid, b );
+      } else {
+        left  = null;
+        right = null;
+      }
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    protected void compute() {
+      // ---------------------------------------------------------------------------------
+      if ( null == left ) {
+        int n = current.size();
+        for ( int i=lo; i<hi; i++ ) {
+          UGA.Improve( model, current.get( ( offset + i ) % n ) );
+        }
+      } else {
+        left.reinitialize();
+        right.reinitialize();
+        invokeAll( left, right );
+      }
+    }
+
+  } // end class LocalSearchExecutor.Chunk
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param mod pointer to a fitness model.
+   *  @param np  number of processors.
+   *  @param n   number of members improved each generation.
+   */
+  // -------------------------------------------------------------------------------------
+  LocalSearchExecutor( Model mod, int np, int n ) {
+    // -----------------------------------------------------------------------------------
+    model = mod;
+    grain = Math.max( 1, n / ( np * CHUNKS_PER_PROC ) );
+    root  = new Chunk( 0, n );
+    pool  = new ForkJoinPool( np );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Improve.
+   *  @param pop reference to a population.
+   *  @param gen generation number, selects the window.
+   *
+   *  Blocks until all members are complete.
+   */
+  // -------------------------------------------------------------------------------------
+  void improve( Population pop, int gen ) {
+    // -----------------------------------------------------------------------------------
+    current = pop;
+    offset  = ( int ) ( ( ( long ) gen * ( long ) root.hi ) % ( long ) pop.size() );
+    root.reinitialize();
+    pool.invoke( root );
+    current = null;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads.
+   */
+  // -------------------------------------------------------------------------------------
+  void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    pool.shutdown();
+  }
+
+} // end class LocalSearchExecutor
+
+// =======================================================================================
+// **                       L O C A L S E A R C H E X E C U T O R                       **
+// ======================================================================== END FILE =====
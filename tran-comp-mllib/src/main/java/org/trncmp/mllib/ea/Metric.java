@@ -40,6 +40,9 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 
 
@@ -61,6 +64,9 @@ public class Metric {
   /** number of values allocated from memory. */
   protected int alloc_len = 0;
 
+  /** index of the first value in data ( non zero when viewing a packed buffer ). */
+  protected int data_off = 0;
+
   
   // =====================================================================================
   /** @brief Constructor.
@@ -112,6 +118,7 @@ public class Metric {
     if ( n > alloc_len ) {
       data      = new double[n];
       alloc_len = n;
+      data_off  = 0;
     }
 
     data_len = n;
@@ -120,6 +127,57 @@ public class Metric {
   }
 
   
+  // =====================================================================================
+  /** @brief Attach.
+   *  @param buf    packed buffer shared by many metrics.
+   *  @param offset index in buf of the first value of this metric.
+   *
+   *  Move the values of this metric into buf and use buf as its storage. The metric
+   *  becomes a view of buf[offset..offset+size()-1]. Resizing beyond size() detaches it.
+   */
+  // -------------------------------------------------------------------------------------
+  public void attach( double[] buf, int offset ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<data_len; i++ ) {
+      buf[offset+i] = data[data_off+i];
+    }
+    data      = buf;
+    data_off  = offset;
+    alloc_len = data_len;
+  }
+
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  public void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( data_len );
+    for ( int i=0; i<data_len; i++ ) {
+      out.writeDouble( data[data_off+i] );
+    }
+  }
+
+
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  public void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != data_len ) {
+      resize( n );
+    }
+    for ( int i=0; i<data_len; i++ ) {
+      data[data_off+i] = in.readDouble();
+    }
+  }
+
+
+  
   // =====================================================================================
   /** @brief Size.
    *  @return number of elements being used.
@@ -139,7 +197,7 @@ public class Metric {
   // -------------------------------------------------------------------------------------
   public double get( int idx ) {
     // -----------------------------------------------------------------------------------
-    return data[idx];
+    return data[data_off+idx];
   }
 
   
@@ -152,7 +210,7 @@ public class Metric {
   // -------------------------------------------------------------------------------------
   public double set( int idx, double val ) {
     // -----------------------------------------------------------------------------------
-    return ( data[idx] = val );
+    return ( data[data_off+idx] = val );
   }
 
 
@@ -165,7 +223,7 @@ public class Metric {
   public void zero( ) {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<data_len; i++ ) {
-      data[i] = 0.0e0;
+      data[data_off+i] = 0.0e0;
     }    
   }
 
@@ -187,7 +245,7 @@ public class Metric {
     resize( src.data_len );
 
     for ( int i=0; i<data_len; i++ ) {
-      this.data[i] = src.data[i];
+      this.data[data_off+i] = src.data[src.data_off+i];
     }    
   }
 
@@ -216,8 +274,8 @@ public class Metric {
     }
 
     for ( int i=0; i<this.data_len; i++ ) {
-      if ( this.data[i] < rhs.data[i] ) { return -(i+1); }
-      if ( this.data[i] > rhs.data[i] ) { return   i+1;  }
+      if ( this.data[data_off+i] < rhs.data[rhs.data_off+i] ) { return -(i+1); }
+      if ( this.data[data_off+i] > rhs.data[rhs.data_off+i] ) { return   i+1;  }
     }
     return 0;
   }
@@ -246,11 +304,11 @@ public class Metric {
     // -----------------------------------------------------------------------------------
     if ( 0 == data_len ) { return "{empty}"; }
     
-    StringBuilder buffer = new StringBuilder(String.format( fmt, data[0] ));
+    StringBuilder buffer = new StringBuilder(String.format( fmt, data[data_off] ));
 
     for ( int i=1; i<data_len; i++ ) {
       buffer.append( dlm );
-      buffer.append( String.format( fmt, data[i] ) );
+      buffer.append( String.format( fmt, data[data_off+i] ) );
     }
 
     return buffer.toString();
@@ -272,8 +330,8 @@ public class Metric {
 	
     double sum = 0.0e0;
 
-    for ( int i=0; i<data.length; i++ ) {
-      sum += ( data[i] * data[i] );
+    for ( int i=0; i<data_len; i++ ) {
+      sum += ( data[data_off+i] * data[data_off+i] );
     }
 
     return sum;
@@ -313,7 +371,7 @@ public class Metric {
     double div = Math.sqrt( sumsq() );
 
     for ( int i=0; i<data_len; i++ ) {
-      data[i] /= div;
+      data[data_off+i] /= div;
     }
 
     return div;
@@ -137,6 +137,58 @@ public abstract class Model {
   public abstract void execute( Metric M, Encoding E );
 
   
+  // =====================================================================================
+  /** @brief Batch Size.
+   *  @return maximum number of encodings passed to one call of execute( M, E, n ).
+   *
+   *  Override this, together with execute( M, E, n ), to score several population
+   *  members per call ( e.g. one forward pass over many candidate weight sets ).
+   *  0 means the model is only called one member at a time.
+   */
+  // -------------------------------------------------------------------------------------
+  public int batchSize( ) {
+    // -----------------------------------------------------------------------------------
+    return 0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute Batch.
+   *  @param M array of pointers to the return metrics.
+   *  @param E array of pointers to the encodings for this model.
+   *  @param n number of members in this batch ( n <= batchSize() ).
+   *
+   *  Execute the model on n sets of variable parameters, filling M[i] from E[i].
+   *  The default calls execute( M[i], E[i] ) for each member. Different batches may
+   *  be executed concurrently.
+   */
+  // -------------------------------------------------------------------------------------
+  public void execute( Metric[] M, Encoding[] E, int n ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<n; i++ ) {
+      execute( M[i], E[i] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Improve.
+   *  @param M pointer to the metrics of E ( may be out of date ).
+   *  @param E pointer to the encoding to improve in place.
+   *  @return true if E was changed.
+   *
+   *  Local improvement ( memetic ) stage, applied to a fraction of the children after
+   *  mutation ( UGA key local= ). A changed member is scored again with execute, so M
+   *  does not need to be updated. Called concurrently for different members.
+   *  The default makes no change.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean improve( Metric M, Encoding E ) {
+    // -----------------------------------------------------------------------------------
+    return false;
+  }
+
+  
   // =====================================================================================
   /** @brief Test.
    *  @param lhs pointer to the left hand side metric.
@@ -279,6 +331,15 @@ public abstract class Model {
    *  @param npop number of encodings to preprocess
    *
    *  Pre-process encodings prior to evaluation.
+   *
+   *  @note In island mode ( islands > 1 ) this is called concurrently, once per island,
+   *        each call with a different array. In steady-state mode ( evolve=steady ) each
+   *        worker calls it concurrently with a single-element array ( npop = 1 ).
+   *        Implementations must not share scratch space.
+   *
+   *  @note Members not changed by crossover or mutation keep their previous metric and
+   *        are not executed again. Pre-processing may rewrite an encoding only in ways
+   *        that do not change its metric ( e.g. rotating a tour ).
    */
   // -------------------------------------------------------------------------------------
   public void pre_process( Encoding[] E, int npop ) {
@@ -46,6 +46,12 @@ public class ModelExecutor {
   protected Task[] tasks     = null;
   protected int        num_tasks = 0;
 
+  /** Population slices for models with a batch entry point ( null = per member ) */
+  protected BatchTask[] batch_tasks = null;
+
+  /** Optional fitness memo ( null = always execute the model ) */
+  protected FitnessCache cache   = null;
+
   // =====================================================================================
   // -------------------------------------------------------------------------------------
   static class Task implements Runnable {
@@ -53,6 +59,7 @@ public class ModelExecutor {
     protected final Model            model;
     protected       PopulationMember member  = null;
     protected       CountDownLatch   counter = null;
+    protected       FitnessCache     cache   = null;
 
     
     // ===================================================================================
@@ -81,18 +88,163 @@ public class ModelExecutor {
     public void run() {
       // ---------------------------------------------------------------------------------
       if ( null != member ) {
-        model.execute( member.metric, member.param );
+        ModelExecutor.evaluate( model, cache, member );
         counter.countDown();
       }
     }
   
   } // end class ModelExecutor.Task
 
+
+  // =====================================================================================
+  /** @class Batch
+   *
+   *  Gathers dirty members of a population range into arrays and passes them to
+   *  Model.execute( M, E, n ), at most Model.batchSize() at a time. Members found in the
+   *  fitness cache are not passed to the model. Each worker owns its own Batch.
+   */
+  // -------------------------------------------------------------------------------------
+  static class Batch {
+    // -----------------------------------------------------------------------------------
+    protected final PopulationMember[] member;
+    protected final Metric[]           metric;
+    protected final Encoding[]         param;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param n maximum number of members per call.
+     */
+    // -----------------------------------------------------------------------------------
+    Batch( int n ) {
+      // ---------------------------------------------------------------------------------
+      member = new PopulationMember[n];
+      metric = new Metric[n];
+      param  = new Encoding[n];
+    }
+
+    
+    // ===================================================================================
+    /** @brief Create.
+     *  @param mod pointer to a fitness model.
+     *  @return new Batch, or null if the model has no batch entry point.
+     */
+    // -----------------------------------------------------------------------------------
+    static Batch create( Model mod ) {
+      // ---------------------------------------------------------------------------------
+      int n = mod.batchSize();
+      return ( 0 < n ) ? new Batch( n ) : null;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Evaluate.
+     *  @param mod pointer to a fitness model.
+     *  @param fc  pointer to a fitness cache ( may be null ).
+     *  @param pop pointer to the population.
+     *  @param lo  first index (inclusive).
+     *  @param hi  last  index (exclusive).
+     */
+    // -----------------------------------------------------------------------------------
+    void evaluate( Model mod, FitnessCache fc, Population pop, int lo, int hi ) {
+      // ---------------------------------------------------------------------------------
+      int k = 0;
+      for ( int i=lo; i<hi; i++ ) {
+        PopulationMember M = pop.get(i);
+        if ( ! M.dirty ) {
+          continue;
+        }
+        if ( ( null != fc ) && fc.lookup( M.metric, M.param ) ) {
+          M.dirty = false;
+          continue;
+        }
+        member[k] = M;
+        metric[k] = M.metric;
+        param[k]  = M.param;
+        k++;
+        if ( member.length == k ) {
+          flush( mod, fc, k );
+          k = 0;
+        }
+      }
+
+      if ( 0 < k ) {
+        flush( mod, fc, k );
+      }
+    }
+
+    
+    // ===================================================================================
+    /** @brief Flush.
+     *  @param mod pointer to a fitness model.
+     *  @param fc  pointer to a fitness cache ( may be null ).
+     *  @param n   number of gathered members.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void flush( Model mod, FitnessCache fc, int n ) {
+      // ---------------------------------------------------------------------------------
+      mod.execute( metric, param, n );
+
+      for ( int i=0; i<n; i++ ) {
+        if ( null != fc ) {
+          fc.store( metric[i], param[i] );
+        }
+        member[i].dirty = false;
+        member[i] = null;
+        metric[i] = null;
+        param[i]  = null;
+      }
+    }
+
+  } // end class ModelExecutor.Batch
+
+
+  // =====================================================================================
+  /** @class BatchTask
+   *
+   *  One slice [lo,hi) of the population, scored through a Batch.
+   */
+  // -------------------------------------------------------------------------------------
+  static class BatchTask implements Runnable {
+    // -----------------------------------------------------------------------------------
+    protected final Model          model;
+    protected final Batch          batch;
+    protected final int            lo;
+    protected final int            hi;
+    protected       Population     pop     = null;
+    protected       CountDownLatch counter = null;
+    protected       FitnessCache   cache   = null;
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public BatchTask( Model mod, int a, int b ) {
+      // ---------------------------------------------------------------------------------
+      model = mod;
+      batch = Batch.create( mod );
+      lo    = a;
+      hi    = b;
+    }
+
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void run() {
+      // ---------------------------------------------------------------------------------
+      try {
+        batch.evaluate( model, cache, pop, lo, hi );
+      } finally {
+        counter.countDown();
+      }
+    }
+
+  } // end class ModelExecutor.BatchTask
+
   
   // =====================================================================================
   /** @brief Constructor.
    *  @param mod pointer to a fitness model.
    *  @param np  number of processors
+   *  @param nt  number of population members.
    */
   // -------------------------------------------------------------------------------------
   public ModelExecutor( Model mod, int np, int nt ) {
@@ -106,23 +258,142 @@ public class ModelExecutor {
     for ( int i=0; i<num_tasks; i++ ) {
       tasks[i] = new ModelExecutor.Task( model );
     }  
+
+    // ----- one slice per batch, but at least one slice per processor ------------------
+    int bs = model.batchSize();
+    if ( 0 < bs ) {
+      int slice = Math.max( 1, Math.min( bs, ( nt + np - 1 ) / np ) );
+      int nb    = ( nt + slice - 1 ) / slice;
+      batch_tasks = new ModelExecutor.BatchTask[ nb ];
+      for ( int i=0; i<nb; i++ ) {
+        batch_tasks[i] = new ModelExecutor.BatchTask( model, i*slice,
+                                                      Math.min( nt, (i+1)*slice ) );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param mod pointer to a fitness model.
+   *  @param np  number of processors
+   *
+   *  Used by derived executors that supply their own scheduling. No fixed thread pool
+   *  or per member tasks are allocated.
+   */
+  // -------------------------------------------------------------------------------------
+  protected ModelExecutor( Model mod, int np ) {
+    // -----------------------------------------------------------------------------------
+    model     = mod;
+    num_proc  = np;
+    pool      = null;
+    num_tasks = 0;
+    tasks     = null;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Evaluate.
+   *  @param mod pointer to a fitness model.
+   *  @param fc  pointer to a fitness cache ( may be null ).
+   *  @param M   pointer to the population member to score.
+   *
+   *  Members that are not dirty already hold the metric for their encoding and are skipped.
+   */
+  // -------------------------------------------------------------------------------------
+  static void evaluate( Model mod, FitnessCache fc, PopulationMember M ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! M.dirty ) {
+      return;
+    }
+
+    if ( null == fc ) {
+      mod.execute( M.metric, M.param );
+    } else {
+      fc.execute( M.metric, M.param );
+    }
+
+    M.dirty = false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Set Cache.
+   *  @param fc pointer to a fitness cache ( null to disable ).
+   *
+   *  Skip the model for members whose encoding has already been scored.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setCache( FitnessCache fc ) {
+    // -----------------------------------------------------------------------------------
+    cache = fc;
+    if ( null != tasks ) {
+      for ( int i=0; i<num_tasks; i++ ) {
+        tasks[i].cache = fc;
+      }
+    }
+    if ( null != batch_tasks ) {
+      for ( int i=0; i<batch_tasks.length; i++ ) {
+        batch_tasks[i].cache = fc;
+      }
+    }
   }
 
+  
   // =====================================================================================
   /** @brief Execute.
    *  @param pop reference to a population.
    *
-   *  Blocks until all tasks are complete.
+   *  Only dirty members are queued. Blocks until all tasks are complete.
    */
   // -------------------------------------------------------------------------------------
   public void execute( Population pop ) {
     // -----------------------------------------------------------------------------------
-    CountDownLatch counter = new CountDownLatch(num_tasks);
+    if ( null != batch_tasks ) {
+      execute_batch( pop );
+      return;
+    }
 
+    int n = 0;
     for ( int i=0; i<num_tasks; i++ ) {
-      tasks[i].setMember( pop.get(i) );
-      tasks[i].setCounter( counter );
-      pool.execute( tasks[i] );
+      if ( pop.get(i).dirty ) {
+        n++;
+      }
+    }
+
+    CountDownLatch counter = new CountDownLatch(n);
+
+    for ( int i=0; i<num_tasks; i++ ) {
+      PopulationMember M = pop.get(i);
+      if ( M.dirty ) {
+        tasks[i].setMember( M );
+        tasks[i].setCounter( counter );
+        pool.execute( tasks[i] );
+      }
+    }
+
+    try {
+      counter.await();
+    } catch( InterruptedException e ) {
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute Batch.
+   *  @param pop reference to a population.
+   *
+   *  Queue one task per population slice. Blocks until all slices are complete.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void execute_batch( Population pop ) {
+    // -----------------------------------------------------------------------------------
+    CountDownLatch counter = new CountDownLatch( batch_tasks.length );
+
+    for ( int i=0; i<batch_tasks.length; i++ ) {
+      batch_tasks[i].pop     = pop;
+      batch_tasks[i].counter = counter;
+      pool.execute( batch_tasks[i] );
     }
 
     try {
@@ -131,6 +402,20 @@ public class ModelExecutor {
     }
   }
 
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads. This executor may not be used afterwards.
+   */
+  // -------------------------------------------------------------------------------------
+  public void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != pool ) {
+      pool.shutdown();
+    }
+  }
+
 } // end class ModelExecutor
 
 // =======================================================================================
@@ -0,0 +1,386 @@
+// ====================================================================== BEGIN FILE =====
+// **                         M U L T I O B J E C T I V E U G A                         **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file MultiObjectiveUGA.java
+ * <p>
+ * Provides an NSGA-II multi-objective driver for UGA.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.trncmp.lib.Math2;
+import org.trncmp.lib.StopWatch;
+import org.trncmp.mllib.Entropy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class MultiObjectiveUGA
+ *
+ *  NSGA-II evolution ( evolve = nsga2 ). Every element of a Metric is an objective to be
+ *  minimized; Model.isLeftBetter is only used to report a best member. Each generation:
+ *    1. nPop children are bred by crowded tournament, crossover and mutation,
+ *    2. the children are scored by the ModelExecutor,
+ *    3. parents and children are ranked into non-dominated fronts,
+ *    4. the next parents are the best nPop by ( front, crowding distance ).
+ *
+ *  Children that were neither crossed nor mutated keep the metric of their parent and
+ *  are not scored again.
+ */
+// ---------------------------------------------------------------------------------------
+class MultiObjectiveUGA {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  protected final UGAConfiguration    config;
+  protected final Model               model;
+  protected final Population          primary;
+  protected final Population          working;
+  protected final Population          child;
+  protected final Population          spare;
+  protected final LocalSearchExecutor local;
+  protected final Entropy             ent;
+  protected final ForkJoinPool        pool;
+  protected final NonDominatedSort    nds;
+
+  /** front and crowding distance of each parent */
+  protected final int[]    p_rank;
+  protected final double[] p_crowd;
+
+  /** indices of the kept members of parents + children */
+  protected final int[]    keep;
+
+  /** objectives of parents + children */
+  protected double[] F = null;
+
+  /** current parents ( primary or spare ) */
+  protected Population parent = null;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param cfg pointer to a configuration object.
+   *  @param mod pointer to a user defined model.
+   *  @param pop pointer to the population to evolve.
+   *  @param wrk pointer to a population of the same size, used for crossover.
+   *  @param ls  pointer to a local search executor ( may be null ).
+   */
+  // -------------------------------------------------------------------------------------
+  MultiObjectiveUGA( UGAConfiguration cfg, Model mod, Population pop, Population wrk,
+                     LocalSearchExecutor ls ) {
+    // -----------------------------------------------------------------------------------
+    config  = cfg;
+    model   = mod;
+    primary = pop;
+    working = wrk;
+    local   = ls;
+    ent     = Entropy.getInstance();
+
+    int n = primary.size();
+    child = new Population( n, model );
+    spare = new Population( n, model );
+    child.setKernel( config.kernel() );
+    spare.setKernel( config.kernel() );
+
+    if ( primary.isPacked() ) {
+      UGA.Pack( child );
+      UGA.Pack( spare );
+    }
+
+    pool    = new ForkJoinPool( Math.max( 1, config.nCPU() ) );
+    nds     = new NonDominatedSort( 2 * n, pool );
+    p_rank  = new int[ n ];
+    p_crowd = new double[ n ];
+    keep    = new int[ n ];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Member.
+   *  @param i index into parents ( i < nPop ) followed by children.
+   *  @return pointer to the member.
+   */
+  // -------------------------------------------------------------------------------------
+  protected PopulationMember member( int i ) {
+    // -----------------------------------------------------------------------------------
+    int n = parent.size();
+    return ( i < n ) ? parent.get(i) : child.get( i - n );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Select.
+   *  @param tour number of members examined in the tournament.
+   *  @return index of the parent with the lowest front, ties broken by the largest
+   *          crowding distance.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int select( int tour ) {
+    // -----------------------------------------------------------------------------------
+    int n   = parent.size();
+    int idx = ent.index( n );
+
+    for ( int i=1; i<tour; i++ ) {
+      int t = ent.index( n );
+      if ( ( p_rank[t] < p_rank[idx] ) ||
+           ( ( p_rank[t] == p_rank[idx] ) && ( p_crowd[t] > p_crowd[idx] ) ) ) {
+        idx = t;
+      }
+    }
+
+    return idx;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Objectives.
+   *  @param n number of members of parents + children.
+   *  @param m number of objectives.
+   *
+   *  Gather the metrics of the first n members into F.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void objectives( int n, int m ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<n; i++ ) {
+      Metric M = member(i).metric;
+      int    b = i * m;
+      for ( int j=0; j<m; j++ ) {
+        F[b+j] = M.get(j);
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Rank.
+   *  @param n number of members of parents + children to rank.
+   *  @param m number of objectives.
+   *  @return number of fronts kept.
+   *
+   *  Rank the first n members, and record the indices of the best parent.size() in keep.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int rank( int n, int m ) {
+    // -----------------------------------------------------------------------------------
+    objectives( n, m );
+    nds.sort( F, n, m );
+    return nds.select( parent.size(), keep );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Survive.
+   *
+   *  Copy the kept members into the other parent population and make it current.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void survive( ) {
+    // -----------------------------------------------------------------------------------
+    Population next = ( parent == primary ) ? spare : primary;
+
+    int n = next.size();
+    for ( int i=0; i<n; i++ ) {
+      int k = keep[i];
+      next.set( i, member(k) );
+      p_rank[i]  = nds.rank(k);
+      p_crowd[i] = nds.crowd(k);
+    }
+
+    parent = next;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Front.
+   *  @return members of the first non-dominated front of the current population.
+   */
+  // -------------------------------------------------------------------------------------
+  PopulationMember[] front( ) {
+    // -----------------------------------------------------------------------------------
+    int n = 0;
+    for ( int i=0; i<primary.size(); i++ ) {
+      if ( 0 == p_rank[i] ) { n++; }
+    }
+
+    PopulationMember[] list = new PopulationMember[n];
+    n = 0;
+    for ( int i=0; i<primary.size(); i++ ) {
+      if ( 0 == p_rank[i] ) { list[n++] = primary.get(i); }
+    }
+
+    return list;
+  }
+
+  
+  // =====================================================================================
+  /** @brief main loop.
+   *  @param exec pointer to an executor for scoring a population of nPop members.
+   */
+  // -------------------------------------------------------------------------------------
+  void run( ModelExecutor exec ) {
+    // -----------------------------------------------------------------------------------
+    int popSize  = primary.size();
+    int tourSize = config.nTour();
+    int maxgen   = config.maxgen();
+
+    Encoding[] parent_array = new Encoding[ popSize ];
+    Encoding[] child_array  = new Encoding[ popSize ];
+    for ( int i=0; i<popSize; i++ ) {
+      parent_array[i] = primary.get(i).param;
+      child_array[i]  = child.get(i).param;
+    }
+
+    model.pre_process( parent_array, popSize );
+    exec.execute( primary );
+    primary.genStats( true );
+
+    int nobj = primary.get(0).metric.size();
+    F = new double[ 2 * popSize * nobj ];
+
+    // ----- rank the initial parents ---------------------------------------------------
+
+    parent = primary;
+    objectives( popSize, nobj );
+    nds.crowding( nds.sort( F, popSize, nobj ) );
+    for ( int i=0; i<popSize; i++ ) {
+      p_rank[i]  = nds.rank(i);
+      p_crowd[i] = nds.crowd(i);
+    }
+
+    model.run_before( primary.best().metric,  primary.best().param,
+                      primary.worst().metric, primary.worst().param );
+
+    logger.debug( "MultiObjectiveUGA: Begin Evolution" );
+
+    StopWatch swatch = new StopWatch();
+
+    int iGen;
+    for ( iGen=0; iGen<maxgen; iGen++ ) {
+      double t = ( ( double ) iGen )/( ( double ) maxgen );
+      double pCross  = Math2.PARAMETRIC( config.pCrossStart(),  config.pCrossFinal(),  t );
+      double pMutate = Math2.PARAMETRIC( config.pMutateStart(), config.pMutateFinal(), t );
+      double scale   = Math2.PARAMETRIC( config.sMutateStart(), config.sMutateFinal(), t );
+
+      // ----- breed children ------------------------------------------------------------
+
+      for ( int i=0; i<popSize; i+=2 ) {
+        int p1 = select( tourSize );
+        int p2;
+        do {
+          p2 = select( tourSize );
+        } while( p1 == p2 );
+
+        UGA.Crossover( ent, pCross,
+                       working.get(i), working.get(i+1),
+                       parent.get(p1), parent.get(p2) );
+      }
+
+      for ( int i=0; i<popSize; i++ ) {
+        UGA.Mutate( child.get(i), working.get(i), pMutate, scale );
+      }
+
+      if ( null != local ) {
+        local.improve( child, iGen );
+      }
+
+      // ----- score children ------------------------------------------------------------
+
+      model.pre_process( child_array, popSize );
+      exec.execute( child );
+
+      // ----- environmental selection ---------------------------------------------------
+
+      int nf = rank( 2 * popSize, nobj );
+      survive();
+      parent.genStats( true );
+
+      // ----- report results ------------------------------------------------------------
+
+      if ( 0 == ( iGen % config.report() ) ) {
+        System.out.printf( "%d fronts kept: %d  first front: %d members\n",
+                           iGen, nf, Math.min( popSize, nds.frontSize(0) ) );
+        model.display( String.format( "%d", iGen ),
+                       parent.best().metric, parent.best().param, true );
+        System.out.printf( "\n" );
+      }
+
+      if ( 0 < config.save() ) {
+        if ( 0 == ( iGen % config.save() ) ) {
+          logger.debug( "calling: model save" );
+          model.save( parent.best().param );
+        }
+      }
+
+      if ( model.meetsThreshold( parent.best().metric ) ) {
+        break;
+      }
+    }
+
+    // ----- the result is always left in primary ---------------------------------------
+
+    if ( parent != primary ) {
+      for ( int i=0; i<popSize; i++ ) {
+        primary.set( i, parent.get(i) );
+      }
+      parent = primary;
+    }
+
+    double elapsed = swatch.seconds();
+
+    logger.info(
+        String.format( "MultiObjectiveUGA: End Evolution - %d population members %d generations %g seconds.",
+                       popSize, iGen, elapsed ) );
+
+    primary.genStats( true );
+
+    model.run_after( primary.best().metric,  primary.best().param,
+                     primary.worst().metric, primary.worst().param );
+
+    shutdown();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads.
+   */
+  // -------------------------------------------------------------------------------------
+  void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    pool.shutdown();
+  }
+
+} // end class MultiObjectiveUGA
+
+// =======================================================================================
+// **                         M U L T I O B J E C T I V E U G A                         **
+// ======================================================================== END FILE =====
@@ -0,0 +1,594 @@
+// ====================================================================== BEGIN FILE =====
+// **                          N O N D O M I N A T E D S O R T                          **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file NonDominatedSort.java
+ * <p>
+ * Provides fast non-dominated sorting and crowding distance for multi-objective evolution.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+// =======================================================================================
+/** @class NonDominatedSort
+ *
+ *  Ranks a set of objective vectors into Pareto fronts and computes the NSGA-II
+ *  crowding distance. All objectives are minimized.
+ *
+ *  Fronts are found with the efficient non-dominated sort ( ENS-BS ): members are
+ *  sorted lexicographically, so a member can only be dominated by members before it,
+ *  and each member is placed by a binary search over the fronts found so far. With two
+ *  objectives only the last member of a front has to be checked, giving O(N log N);
+ *  in general the cost is O(MN log N) for typical populations.
+ *
+ *  The lexicographic sort and the crowding distance sorts run on a ForkJoinPool when
+ *  one is supplied. A full-capacity sort is split into about four ranges per worker,
+ *  but no range shorter than MIN_GRAIN members is split. Every array is allocated
+ *  once, for at most capacity() members.
+ */
+// ---------------------------------------------------------------------------------------
+public class NonDominatedSort {
+  // -------------------------------------------------------------------------------------
+
+  /** Sort key: lexicographic over all objectives. */
+  static final int LEX   = -1;
+
+  /** Sort key: crowding distance, largest first. */
+  static final int CROWD = -2;
+
+  /** Smallest range that is split across workers. */
+  static final int MIN_GRAIN = 256;
+
+  protected final ForkJoinPool pool;
+  protected final int          cap;
+  protected final int          grain;   //< ranges up to this long are not forked
+
+  protected final int[]    order;   //< members in lexicographic order
+  protected final int[]    tmp;     //< merge scratch
+  protected final int[]    work;    //< per front sort scratch
+  protected final int[]    member;  //< members grouped by front
+  protected final int[]    fstart;  //< first index in member of each front ( +1 sentinel )
+  protected final int[]    rank;    //< front of each member ( 0 = non-dominated )
+  protected final int[]    prev;    //< previous member of the same front
+  protected final int[]    tail;    //< last member added to each front
+  protected final double[] crowd;   //< crowding distance of each member
+
+  protected double[] F       = null;
+  protected int      count   = 0;
+  protected int      nobj    = 0;
+  protected int      nfront  = 0;
+
+
+  // =====================================================================================
+  /** @class Sort
+   *
+   *  Stable merge sort of a range of member indices, forked for long ranges.
+   */
+  // -------------------------------------------------------------------------------------
+  class Sort extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected final int[] a;
+    protected final int   lo;
+    protected final int   hi;
+    protected final int   key;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param ary pointer to the index array to sort.
+     *  @param l   first index (inclusive).
+     *  @param h   last  index (exclusive).
+     *  @param k   sort key ( objective index, LEX or CROWD ).
+     */
+    // -----------------------------------------------------------------------------------
+    Sort( int[] ary, int l, int h, int k ) {
+      // ---------------------------------------------------------------------------------
+      a   = ary;
+      lo  = l;
+      hi  = h;
+      key = k;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    protected void compute() {
+      // ---------------------------------------------------------------------------------
+      if ( ( hi - lo ) <= grain ) {
+        msort( a, lo, hi, key );
+      } else {
+        int mid = ( lo + hi ) >>> 1;
+        invokeAll( new Sort( a, lo, mid, key ), new Sort( a, mid, hi, key ) );
+        merge( a, lo, mid, hi, key );
+      }
+    }
+
+  } // end class NonDominatedSort.Sort
+
+
+  // =====================================================================================
+  /** @class Crowding
+   *
+   *  Crowding distance for a range of fronts [k0,k1), split by member count.
+   */
+  // -------------------------------------------------------------------------------------
+  class Crowding extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected final int k0;
+    protected final int k1;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param a first front (inclusive).
+     *  @param b last  front (exclusive).
+     */
+    // -----------------------------------------------------------------------------------
+    Crowding( int a, int b ) {
+      // ---------------------------------------------------------------------------------
+      k0 = a;
+      k1 = b;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    protected void compute() {
+      // ---------------------------------------------------------------------------------
+      if ( ( 1 == ( k1 - k0 ) ) || ( ( fstart[k1] - fstart[k0] ) <= grain ) ) {
+        for ( int k=k0; k<k1; k++ ) {
+          front_crowding( k );
+        }
+      } else {
+        int mid = ( k0 + k1 ) >>> 1;
+        invokeAll( new Crowding( k0, mid ), new Crowding( mid, k1 ) );
+      }
+    }
+
+  } // end class NonDominatedSort.Crowding
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param n  maximum number of members sorted at once.
+   *  @param fj pointer to a ForkJoinPool ( null = single thread ).
+   */
+  // -------------------------------------------------------------------------------------
+  public NonDominatedSort( int n, ForkJoinPool fj ) {
+    // -----------------------------------------------------------------------------------
+    pool   = fj;
+    cap    = n;
+    grain  = ( null == fj ) ? n : Math.max( MIN_GRAIN, n / ( 4 * fj.getParallelism() ) );
+    order  = new int[ n ];
+    tmp    = new int[ n ];
+    work   = new int[ n ];
+    member = new int[ n ];
+    fstart = new int[ n + 1 ];
+    rank   = new int[ n ];
+    prev   = new int[ n ];
+    tail   = new int[ n ];
+    crowd  = new double[ n ];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Capacity.
+   *  @return maximum number of members sorted at once.
+   */
+  // -------------------------------------------------------------------------------------
+  public int capacity( ) {
+    // -----------------------------------------------------------------------------------
+    return cap;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Sort.
+   *  @param obj objective values, member i at obj[i*m] ... obj[i*m+m-1].
+   *  @param n   number of members.
+   *  @param m   number of objectives.
+   *  @return number of fronts.
+   *
+   *  Rank the members into non-dominated fronts. Identical vectors share a front.
+   *  Crowding distances are not computed ( see crowding ).
+   */
+  // -------------------------------------------------------------------------------------
+  public int sort( double[] obj, int n, int m ) {
+    // -----------------------------------------------------------------------------------
+    if ( n > cap ) {
+      throw new ArrayIndexOutOfBoundsException( "NonDominatedSort: "+n+" > capacity "+cap );
+    }
+
+    F     = obj;
+    count = n;
+    nobj  = m;
+
+    for ( int i=0; i<n; i++ ) {
+      order[i] = i;
+      crowd[i] = 0.0e0;
+    }
+    sort( order, 0, n, LEX );
+
+    // ----- place each member in the first front that does not dominate it -------------
+
+    nfront = 0;
+    for ( int j=0; j<n; j++ ) {
+      int c  = order[j];
+      int lo = 0;
+      int hi = nfront;
+      while ( lo < hi ) {
+        int mid = ( lo + hi ) >>> 1;
+        if ( dominated( mid, c ) ) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      if ( lo == nfront ) {
+        tail[ nfront++ ] = -1;
+      }
+      prev[c]  = tail[lo];
+      tail[lo] = c;
+      rank[c]  = lo;
+    }
+
+    // ----- group members by front, keeping lexicographic order ------------------------
+
+    for ( int k=0; k<=nfront; k++ ) {
+      fstart[k] = 0;
+    }
+    for ( int i=0; i<n; i++ ) {
+      fstart[ rank[i] + 1 ]++;
+    }
+    for ( int k=0; k<nfront; k++ ) {
+      fstart[k+1] += fstart[k];
+    }
+    for ( int k=0; k<nfront; k++ ) {
+      tail[k] = fstart[k];
+    }
+    for ( int j=0; j<n; j++ ) {
+      int c = order[j];
+      member[ tail[ rank[c] ]++ ] = c;
+    }
+
+    return nfront;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Crowding.
+   *  @param nf number of leading fronts to process.
+   *
+   *  Compute the crowding distance of every member of fronts [0,nf). The members at
+   *  either end of a front, in any objective, get an infinite distance.
+   */
+  // -------------------------------------------------------------------------------------
+  public void crowding( int nf ) {
+    // -----------------------------------------------------------------------------------
+    nf = Math.min( nf, nfront );
+    if ( 0 == nf ) {
+      return;
+    }
+    if ( null == pool ) {
+      for ( int k=0; k<nf; k++ ) {
+        front_crowding( k );
+      }
+    } else {
+      pool.invoke( new Crowding( 0, nf ) );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Select.
+   *  @param n   number of members to keep.
+   *  @param out destination for the indices of the kept members.
+   *  @return number of fronts kept ( the last may be partial ).
+   *
+   *  Keep whole fronts in rank order, then fill from the next front by decreasing
+   *  crowding distance ( NSGA-II environmental selection ). Computes the crowding
+   *  distance of the kept fronts.
+   */
+  // -------------------------------------------------------------------------------------
+  public int select( int n, int[] out ) {
+    // -----------------------------------------------------------------------------------
+    n = Math.min( n, count );
+
+    int nf = 0;
+    while ( fstart[nf] < n ) {
+      nf++;
+    }
+
+    crowding( nf );
+
+    int last = nf - 1;
+    int s    = fstart[last];
+    int e    = fstart[last+1];
+
+    System.arraycopy( member, 0, out, 0, s );
+
+    if ( e > n ) {
+      System.arraycopy( member, s, work, s, e - s );
+      sort( work, s, e, CROWD );
+      System.arraycopy( work, s, out, s, n - s );
+    } else {
+      System.arraycopy( member, s, out, s, e - s );
+    }
+
+    return nf;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Rank.
+   *  @param i index of a member.
+   *  @return front of member i ( 0 = non-dominated ).
+   */
+  // -------------------------------------------------------------------------------------
+  public int rank( int i ) {
+    // -----------------------------------------------------------------------------------
+    return rank[i];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Crowding Distance.
+   *  @param i index of a member.
+   *  @return crowding distance of member i ( valid after crowding or select ).
+   */
+  // -------------------------------------------------------------------------------------
+  public double crowd( int i ) {
+    // -----------------------------------------------------------------------------------
+    return crowd[i];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Front Size.
+   *  @param k index of a front.
+   *  @return number of members in front k.
+   */
+  // -------------------------------------------------------------------------------------
+  public int frontSize( int k ) {
+    // -----------------------------------------------------------------------------------
+    return fstart[k+1] - fstart[k];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Front Member.
+   *  @param k index of a front.
+   *  @param j position within front k.
+   *  @return index of the j'th member of front k.
+   */
+  // -------------------------------------------------------------------------------------
+  public int frontMember( int k, int j ) {
+    // -----------------------------------------------------------------------------------
+    return member[ fstart[k] + j ];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Dominated.
+   *  @param k index of a front.
+   *  @param c index of a member that follows every member of front k lexicographically.
+   *  @return true if some member of front k dominates c.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean dominated( int k, int c ) {
+    // -----------------------------------------------------------------------------------
+    final int cb = c * nobj;
+    for ( int a=tail[k]; a>=0; a=prev[a] ) {
+      final int ab = a * nobj;
+      boolean le = true;
+      boolean lt = false;
+      for ( int j=0; j<nobj; j++ ) {
+        double x = F[ab+j];
+        double y = F[cb+j];
+        if ( x > y ) { le = false; break; }
+        if ( x < y ) { lt = true; }
+      }
+      if ( le && lt ) {
+        return true;
+      }
+      if ( 2 >= nobj ) {
+        // ----- the last member has the smallest second objective in its front --------
+        return false;
+      }
+    }
+    return false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Front Crowding.
+   *  @param k index of a front.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void front_crowding( int k ) {
+    // -----------------------------------------------------------------------------------
+    final int s = fstart[k];
+    final int e = fstart[k+1];
+
+    if ( 2 >= ( e - s ) ) {
+      for ( int i=s; i<e; i++ ) {
+        crowd[ member[i] ] = Double.POSITIVE_INFINITY;
+      }
+      return;
+    }
+
+    for ( int i=s; i<e; i++ ) {
+      crowd[ member[i] ] = 0.0e0;
+    }
+
+    for ( int j=0; j<nobj; j++ ) {
+      System.arraycopy( member, s, work, s, e - s );
+      sort( work, s, e, j );
+
+      double fmin = F[ work[s]   * nobj + j ];
+      double fmax = F[ work[e-1] * nobj + j ];
+
+      crowd[ work[s]   ] = Double.POSITIVE_INFINITY;
+      crowd[ work[e-1] ] = Double.POSITIVE_INFINITY;
+
+      if ( fmax > fmin ) {
+        double scl = 1.0e0 / ( fmax - fmin );
+        for ( int i=s+1; i<e-1; i++ ) {
+          crowd[ work[i] ] += scl * ( F[ work[i+1] * nobj + j ] - F[ work[i-1] * nobj + j ] );
+        }
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Sort.
+   *  @param a   pointer to an index array.
+   *  @param lo  first index (inclusive).
+   *  @param hi  last  index (exclusive).
+   *  @param key sort key ( objective index, LEX or CROWD ).
+   */
+  // -------------------------------------------------------------------------------------
+  protected void sort( int[] a, int lo, int hi, int key ) {
+    // -----------------------------------------------------------------------------------
+    if ( ( null == pool ) || ( ( hi - lo ) <= grain ) ) {
+      msort( a, lo, hi, key );
+    } else if ( inPool() ) {
+      new Sort( a, lo, hi, key ).compute();
+    } else {
+      pool.invoke( new Sort( a, lo, hi, key ) );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief In Pool.
+   *  @return true if the calling thread is a worker of pool.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean inPool( ) {
+    // -----------------------------------------------------------------------------------
+    Thread t = Thread.currentThread();
+    return ( t instanceof ForkJoinWorkerThread ) &&
+        ( pool == ( ( ForkJoinWorkerThread ) t ).getPool() );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Less.
+   *  @param a   index of a member.
+   *  @param b   index of a member.
+   *  @param key sort key ( objective index, LEX or CROWD ).
+   *  @return true if a sorts strictly before b.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean less( int a, int b, int key ) {
+    // -----------------------------------------------------------------------------------
+    if ( 0 <= key ) {
+      return F[ a * nobj + key ] < F[ b * nobj + key ];
+    }
+    if ( CROWD == key ) {
+      return crowd[a] > crowd[b];
+    }
+    final int ab = a * nobj;
+    final int bb = b * nobj;
+    for ( int j=0; j<nobj; j++ ) {
+      double x = F[ab+j];
+      double y = F[bb+j];
+      if ( x < y ) { return true;  }
+      if ( x > y ) { return false; }
+    }
+    return false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Merge Sort.
+   *  @param a   pointer to an index array.
+   *  @param lo  first index (inclusive).
+   *  @param hi  last  index (exclusive).
+   *  @param key sort key ( objective index, LEX or CROWD ).
+   */
+  // -------------------------------------------------------------------------------------
+  protected void msort( int[] a, int lo, int hi, int key ) {
+    // -----------------------------------------------------------------------------------
+    if ( ( hi - lo ) <= 16 ) {
+      for ( int i=lo+1; i<hi; i++ ) {
+        int x = a[i];
+        int j = i - 1;
+        while ( ( j >= lo ) && less( x, a[j], key ) ) {
+          a[j+1] = a[j];
+          j--;
+        }
+        a[j+1] = x;
+      }
+      return;
+    }
+    int mid = ( lo + hi ) >>> 1;
+    msort( a, lo, mid, key );
+    msort( a, mid, hi, key );
+    merge( a, lo, mid, hi, key );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Merge.
+   *  @param a   pointer to an index array, sorted on [lo,mid) and [mid,hi).
+   *  @param lo  first index (inclusive).
+   *  @param mid first index of the second run.
+   *  @param hi  last  index (exclusive).
+   *  @param key sort key ( objective index, LEX or CROWD ).
+   */
+  // -------------------------------------------------------------------------------------
+  protected void merge( int[] a, int lo, int mid, int hi, int key ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! less( a[mid], a[mid-1], key ) ) {
+      return;
+    }
+    System.arraycopy( a, lo, tmp, lo, hi - lo );
+    int i = lo;
+    int j = mid;
+    int k = lo;
+    while ( ( i < mid ) && ( j < hi ) ) {
+      a[k++] = less( tmp[j], tmp[i], key ) ? tmp[j++] : tmp[i++];
+    }
+    while ( i < mid ) { a[k++] = tmp[i++]; }
+    while ( j < hi  ) { a[k++] = tmp[j++]; }
+  }
+
+} // end class NonDominatedSort
+
+// =======================================================================================
+// **                          N O N D O M I N A T E D S O R T                          **
+// ======================================================================== END FILE =====
@@ -40,6 +40,9 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 
 // =======================================================================================
@@ -61,7 +64,6 @@ public abstract class OrderEncoding extends Encoding {
   /** variable used to count the elements swaped */
   protected int noise_count = 0;
 
-  protected org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
 
 
   // =====================================================================================
@@ -80,6 +82,18 @@ public abstract class OrderEncoding extends Encoding {
   }
 
 
+  // =====================================================================================
+  /** @brief Modified.
+   *
+   *  Called whenever the element values are replaced. Derived classes that keep state
+   *  describing the values ( e.g. an edit log ) reset it here.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void modified() {
+    // -----------------------------------------------------------------------------------
+  }
+
+
   // =====================================================================================
   /** @brief Size.
    *  @return number of elements being used.
@@ -112,6 +126,7 @@ public abstract class OrderEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public int set( int idx, int val ) {
     // -----------------------------------------------------------------------------------
+    modified();
     return ( data[idx] = val );
   }
 
@@ -124,6 +139,7 @@ public abstract class OrderEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public void zero() {
     // -----------------------------------------------------------------------------------
+    modified();
     for ( int i=0; i<data_len; i++ ) {
       data[i] = i;
     }    
@@ -145,11 +161,84 @@ public abstract class OrderEncoding extends Encoding {
 
     OrderEncoding E = (OrderEncoding)ap;
 
+    modified();
+    System.arraycopy( E.data, 0, this.data, 0, data_len );
+  }
+  
+  // =====================================================================================
+  /** @brief Content Hash.
+   *  @return 64 bit hash of the element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public long contentHash() {
+    // -----------------------------------------------------------------------------------
+    long h = HASH_SEED;
     for ( int i=0; i<data_len; i++ ) {
-      this.data[i] = E.data[i];
-    }    
+      h = mix( h, (long) data[i] );
+    }
+    return h;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Same Content.
+   *  @param ap pointer to another Encoding.
+   *  @return true if both encodings hold the same element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean sameContent( Encoding ap ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! ( ap instanceof OrderEncoding ) ) {
+      return false;
+    }
+
+    OrderEncoding E = (OrderEncoding)ap;
+
+    if ( data_len != E.data_len ) {
+      return false;
+    }
+
+    for ( int i=0; i<data_len; i++ ) {
+      if ( data[i] != E.data[i] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  public void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( data_len );
+    for ( int i=0; i<data_len; i++ ) {
+      out.writeInt( data[i] );
+    }
   }
 
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  public void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != data_len ) {
+      throw new IOException( "OrderEncoding.read: expected "+data_len+" elements, found "+n );
+    }
+    modified();
+    for ( int i=0; i<data_len; i++ ) {
+      data[i] = in.readInt();
+    }
+  }
+
+
+
 
   // =====================================================================================
   /** @brief Randomize.
@@ -159,6 +248,7 @@ public abstract class OrderEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public void randomize() {
     // -----------------------------------------------------------------------------------
+    modified();
     ent.scramble( data, 2*data_len );
   }
 
@@ -172,6 +262,7 @@ public abstract class OrderEncoding extends Encoding {
   public void bracket() {
     // -----------------------------------------------------------------------------------
 
+    modified();
     int start = ent.index( data_len );
 
     if ( ent.bool() ) {
@@ -199,6 +290,7 @@ public abstract class OrderEncoding extends Encoding {
     // -----------------------------------------------------------------------------------
     noise_count = ( int ) Math.floor( ( double )data_len * 2.0 * scale );
 
+    modified();
     ent.scramble( data, noise_count );
   }
 
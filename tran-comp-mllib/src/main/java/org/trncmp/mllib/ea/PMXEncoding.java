@@ -44,13 +44,252 @@ package org.trncmp.mllib.ea;
 public class PMXEncoding extends OrderEncoding {
     // -----------------------------------------------------------------------------------
 
+  /** Positions exchanged by the last mutate, in order. */
+  protected int[] swap_a = null;
+  protected int[] swap_b = null;
+
+  /** Number of recorded swaps, -1 if the log does not describe the current values. */
+  protected int swap_n = -1;
+
+  /** Crossover scratch: mark[v] == mark_stamp if value v is in the kept segment. */
+  protected int[] mark       = null;
+  protected int   mark_stamp = 0;
+
     // ===================================================================================
     // -----------------------------------------------------------------------------------
     public PMXEncoding( int n ) {
 	// -------------------------------------------------------------------------------
 	super(n);
+
+	// ----- beyond n/8 swaps a full tour evaluation is cheaper ----------------------
+	int m  = Math.max( 1, n / 8 );
+	swap_a = new int[m];
+	swap_b = new int[m];
+	swap_n = -1;
+    }
+
+  
+  // =====================================================================================
+  /** @brief Modified.
+   *
+   *  Any change other than mutate invalidates the swap log.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void modified() {
+    // -----------------------------------------------------------------------------------
+    swap_n = -1;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Delta Base.
+   *  @param valid true if the paired metric holds the score of the mutate source.
+   */
+  // -------------------------------------------------------------------------------------
+  public void deltaBase( boolean valid ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! valid ) {
+      swap_n = -1;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Edits.
+   *  @return number of swaps that turned the mutate source into this encoding,
+   *          or -1 if the paired metric must be computed from scratch.
+   *
+   *  Swap k exchanged positions swapA(k) and swapB(k). Swaps were applied in order
+   *  k = 0 .. edits()-1, each to the result of the previous one.
+   */
+  // -------------------------------------------------------------------------------------
+  public int edits( ) {
+    // -----------------------------------------------------------------------------------
+    return swap_n;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Swap A.
+   *  @param k index of a recorded swap.
+   *  @return first position exchanged by swap k.
+   */
+  // -------------------------------------------------------------------------------------
+  public int swapA( int k ) {
+    // -----------------------------------------------------------------------------------
+    return swap_a[k];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Swap B.
+   *  @param k index of a recorded swap.
+   *  @return second position exchanged by swap k.
+   */
+  // -------------------------------------------------------------------------------------
+  public int swapB( int k ) {
+    // -----------------------------------------------------------------------------------
+    return swap_b[k];
+  }
+
+  
+  // =====================================================================================
+  /** @brief Exchange.
+   *  @param a first  position.
+   *  @param b second position.
+   *
+   *  Exchange two elements without touching the swap log. Used by models to replay
+   *  recorded swaps; the values must be restored before the model returns.
+   */
+  // -------------------------------------------------------------------------------------
+  public void exchange( int a, int b ) {
+    // -----------------------------------------------------------------------------------
+    int t   = data[a];
+    data[a] = data[b];
+    data[b] = t;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Rotate.
+   *  @param z position that becomes position zero.
+   *
+   *  Rotate the elements left by z, in place. The tour is unchanged, so the swap log is
+   *  kept ( with its positions shifted ).
+   */
+  // -------------------------------------------------------------------------------------
+  public void rotate( int z ) {
+    // -----------------------------------------------------------------------------------
+    if ( 0 == z ) {
+      return;
     }
 
+    reverse( data, 0, z );
+    reverse( data, z, data_len );
+    reverse( data, 0, data_len );
+
+    for ( int k=0; k<swap_n; k++ ) {
+      swap_a[k] = ( swap_a[k] + data_len - z ) % data_len;
+      swap_b[k] = ( swap_b[k] + data_len - z ) % data_len;
+    }
+  }
+
+  // =====================================================================================
+  /** @brief Normalize.
+   *
+   *  Rotate the tour so that it starts with element zero.
+   */
+  // -------------------------------------------------------------------------------------
+  public void normalize( ) {
+    // -----------------------------------------------------------------------------------
+    int z = 0;
+    while ( ( z < data_len ) && ( 0 != data[z] ) ) {
+      z++;
+    }
+    if ( z < data_len ) {
+      rotate( z );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Reverse.
+   *  @param D  buffer.
+   *  @param lo first index (inclusive).
+   *  @param hi last  index (exclusive).
+   */
+  // -------------------------------------------------------------------------------------
+  protected static void reverse( int[] D, int lo, int hi ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=lo, j=hi-1; i<j; i++, j-- ) {
+      int t = D[i];
+      D[i]  = D[j];
+      D[j]  = t;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Front Cross ( kernel ).
+   *  @param C     child buffer.
+   *  @param P     parent buffer.
+   *  @param T     template buffer.
+   *  @param n     number of elements.
+   *  @param cut   cut point.
+   *  @param mark  scratch, one entry per value, no entry equal to stamp on entry.
+   *  @param stamp marker for this call.
+   *
+   *  Same result as FrontCross in O(n) instead of O(n^2), without allocation.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void frontCross( int[] C, int[] P, int[] T, int n, int cut,
+                                 int[] mark, int stamp ) {
+    // -----------------------------------------------------------------------------------
+    System.arraycopy( P, 0, C, 0, cut );
+
+    for ( int i=cut; i<n; i++ ) {
+      mark[ P[i] ] = stamp;
+    }
+
+    int idx = cut;
+    for ( int i=0; ( i<n ) && ( idx<n ); i++ ) {
+      int x = T[i];
+      if ( stamp == mark[x] ) {
+        C[idx++] = x;
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Rear Cross ( kernel ).
+   *  @param C     child buffer.
+   *  @param P     parent buffer.
+   *  @param T     template buffer.
+   *  @param n     number of elements.
+   *  @param cut   cut point.
+   *  @param mark  scratch, one entry per value, no entry equal to stamp on entry.
+   *  @param stamp marker for this call.
+   *
+   *  Same result as RearCross in O(n) instead of O(n^2), without allocation.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void rearCross( int[] C, int[] P, int[] T, int n, int cut,
+                                int[] mark, int stamp ) {
+    // -----------------------------------------------------------------------------------
+    System.arraycopy( P, cut, C, cut, n - cut );
+
+    for ( int i=0; i<cut; i++ ) {
+      mark[ P[i] ] = stamp;
+    }
+
+    int idx = 0;
+    for ( int i=0; ( i<n ) && ( idx<cut ); i++ ) {
+      int x = T[i];
+      if ( stamp == mark[x] ) {
+        C[idx++] = x;
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Next Stamp.
+   *  @return marker for the next use of the crossover scratch.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int nextStamp( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null == mark ) {
+      mark = new int[ data_len ];
+    }
+    if ( 0 == ++mark_stamp ) {
+      java.util.Arrays.fill( mark, 0 );
+      mark_stamp = 1;
+    }
+    return mark_stamp;
+  }
+
     // ===================================================================================
     /** @brief Is In Front.
      *  @param x test value.
@@ -97,9 +336,11 @@ public class PMXEncoding extends OrderEncoding {
      *
      *  Create a child by keeping the front half fixed and reorder the rear half based on
      *  the template data.
+     *
+     *  @note Reference version of frontCross, kept for testing and timing.
      */
     // -----------------------------------------------------------------------------------
-    protected static void FrontCross( PMXEncoding C, PMXEncoding P, PMXEncoding T, int cut ) {
+    public static void FrontCross( PMXEncoding C, PMXEncoding P, PMXEncoding T, int cut ) {
 	// -------------------------------------------------------------------------------
 	int num = C.size();
 
@@ -127,9 +368,11 @@ public class PMXEncoding extends OrderEncoding {
      *
      *  Create a child by keeping the rear half fixed and reorder the front half based on
      *  the template data.
+     *
+     *  @note Reference version of rearCross, kept for testing and timing.
      */
     // -----------------------------------------------------------------------------------
-    protected static void RearCross( PMXEncoding C, PMXEncoding P, PMXEncoding T, int cut ) {
+    public static void RearCross( PMXEncoding C, PMXEncoding P, PMXEncoding T, int cut ) {
 	// -------------------------------------------------------------------------------
 	int num = C.size();
 
@@ -150,16 +393,16 @@ public class PMXEncoding extends OrderEncoding {
 
     // ===================================================================================
     /** @brief Crossover.
+     *  @param ac2 pointer to child number two ( this is child number one )
      *  @param ap1 pointer to parent number one
      *  @param ap2 pointer to parent number two
-     *  @param ac2 pointer to child number two ( this is child number one )
      *  @return true if crossover took place.
      *
      *  The go/no-go decision was made higher up. At this point we are going to perform
      *  Crossover.
      */
     // -----------------------------------------------------------------------------------
-    public void crossover( Encoding ap1, Encoding ap2, Encoding ac2 ) {
+    public void crossover( Encoding ac2, Encoding ap1, Encoding ap2 ) {
 	// -------------------------------------------------------------------------------
 	if ( null == ap1 ) {
 	    throw new NullPointerException("Parent 1 ( NULL )");
@@ -178,23 +421,29 @@ public class PMXEncoding extends OrderEncoding {
 	PMXEncoding c1 = this;
 	PMXEncoding c2 = (PMXEncoding)ac2;
 
-	int a = size() / 20;
-	int b = size() - a - a;
+	int n = data_len;
+	int a = n / 20;
+	int b = n - a - a;
+
+	c1.modified();
+	c2.modified();
 
 	// ----- child 1 --------------------------------------------------
-	int cut1 = a + ent.index( b );
+	int cut1   = a + ent.index( b );
+	int stamp1 = nextStamp();
 	if ( ent.bool() ) {
-	    FrontCross( c1, p1, p2, cut1 );
+	    frontCross( c1.data, p1.data, p2.data, n, cut1, mark, stamp1 );
 	} else {
-	    RearCross( c1, p1, p2, cut1 );
+	    rearCross(  c1.data, p1.data, p2.data, n, cut1, mark, stamp1 );
 	}
 
 	// ----- child 2 --------------------------------------------------
-	int cut2 = a + ent.index( b );
+	int cut2   = a + ent.index( b );
+	int stamp2 = nextStamp();
 	if ( ent.bool() ) {
-	    FrontCross( c2, p2, p1, cut2 );
+	    frontCross( c2.data, p2.data, p1.data, n, cut2, mark, stamp2 );
 	} else {
-	    RearCross( c2, p2, p1, cut2 );
+	    rearCross(  c2.data, p2.data, p1.data, n, cut2, mark, stamp2 );
 	}
 
     }
@@ -206,6 +455,8 @@ public class PMXEncoding extends OrderEncoding {
    *  @param scale  scale of the noise
    *  @return number of elements mutated.
    *
+   *  Each swap is recorded ( see edits ) unless there are too many to be worth it.
+   *
    *  @note The go/no-go decision was made higher up. At this point we are going
    *        to perform Mutation.
    */
@@ -222,6 +473,8 @@ public class PMXEncoding extends OrderEncoding {
     int dist  = ( int ) Math.floor( ( double )data_len * scale / 4.0 );
     if ( 1 > dist ) { dist = 1; }
 
+    swap_n = ( count <= swap_a.length ) ? 0 : -1;
+
     int a=0;
     int b=1;
     try {
@@ -236,6 +489,11 @@ public class PMXEncoding extends OrderEncoding {
         int  t  = data[a];
         data[a] = data[b];
         data[b] = t;
+        if ( 0 <= swap_n ) {
+          swap_a[swap_n] = a;
+          swap_b[swap_n] = b;
+          swap_n++;
+        }
       }
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
       System.out.format( "\n%s\n\n", e.toString() );
@@ -244,7 +502,7 @@ public class PMXEncoding extends OrderEncoding {
       System.exit(1);
     }
 
-    return noise_count;
+    return count;
   }
 
 
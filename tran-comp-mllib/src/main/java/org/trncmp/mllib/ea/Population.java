@@ -40,6 +40,10 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -53,7 +57,7 @@ import org.apache.logging.log4j.Logger;
 class Population {
   // -------------------------------------------------------------------------------------
   static final Logger logger = LogManager.getLogger();
-  protected static org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
+  protected org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
 
   /** Pointer to a user defined model to be evaluated.  */
   protected Model model = null;
@@ -67,6 +71,38 @@ class Population {
   protected PopulationMember[] member = null;
   protected int                count  = 0;
 
+  /** Packed genes, member i starts at i*gene_stride ( null = not packed ). */
+  protected double[] gene_buf      = null;
+  protected int      gene_stride   = 0;
+
+  /** Packed metrics, member i starts at i*metric_stride ( null = not packed ). */
+  protected double[] metric_buf    = null;
+  protected int      metric_stride = 0;
+
+  /** Result of genStats, reused every generation. */
+  protected final ScoreReturn score_ret = new ScoreReturn();
+
+  /** Current best and worst members found by genStats and kept by set ( -1 = unknown ). */
+  protected int      cur_best      = -1;
+  protected int      cur_worst     = -1;
+
+  /** Parent selection (UGA.TOURNAMENT, UGA.RANK or UGA.SUS). */
+  protected int      sel_mode     = UGA.TOURNAMENT;
+
+  /** Linear ranking selective pressure, expected copies of the best member [1,2]. */
+  protected double   sel_pressure = 1.5e0;
+
+  /** Member indices, best first ( RANK and SUS ). */
+  protected int[]    sel_order    = null;
+  protected int[]    sel_tmp      = null;
+
+  /** Cumulative linear ranking weights, sum = count ( RANK and SUS ). */
+  protected double[] sel_cum      = null;
+
+  /** Shuffled SUS mating pool and the next entry to hand out. */
+  protected int[]    sel_pool     = null;
+  protected int      sel_next     = 0;
+
   
   // =====================================================================================
   /** @brief Constructor.
@@ -89,6 +125,206 @@ class Population {
   }
 
   
+  // =====================================================================================
+  /** @brief Set Entropy.
+   *  @param E pointer to an Entropy instance.
+   *
+   *  Use an independent random stream for this population and every encoding in it.
+   *  Used when several populations evolve concurrently.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setEntropy( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    ent = E;
+    bestMember.param.setEntropy( E );
+    worstMember.param.setEntropy( E );
+    for ( int i=0; i<count; i++ ) {
+      member[i].param.setEntropy( E );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Set Kernel.
+   *  @param k operator kernels (UGA.SCALAR or UGA.BULK).
+   *
+   *  Select the operator kernels of every encoding in this population.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setKernel( int k ) {
+    // -----------------------------------------------------------------------------------
+    bestMember.param.setKernel( k );
+    worstMember.param.setKernel( k );
+    for ( int i=0; i<count; i++ ) {
+      member[i].param.setKernel( k );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   *
+   *  Write every member, followed by the recorded best and worst members.
+   */
+  // -------------------------------------------------------------------------------------
+  void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( count );
+    for ( int i=0; i<count; i++ ) {
+      member[i].write( out );
+    }
+    bestMember.write( out );
+    worstMember.write( out );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   *
+   *  Restore a population written by write. The population size must match.
+   */
+  // -------------------------------------------------------------------------------------
+  void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != count ) {
+      throw new IOException( "Population.read: expected "+count+" members, found "+n );
+    }
+    for ( int i=0; i<count; i++ ) {
+      member[i].read( in );
+    }
+    cur_best  = -1;
+    cur_worst = -1;
+    bestMember.read( in );
+    worstMember.read( in );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Dirty.
+   *  @return number of members whose metric is out of date.
+   */
+  // -------------------------------------------------------------------------------------
+  public int dirty( ) {
+    // -----------------------------------------------------------------------------------
+    int n = 0;
+    for ( int i=0; i<count; i++ ) {
+      if ( member[i].dirty ) {
+        n++;
+      }
+    }
+    return n;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Pack.
+   *  @return true if the population was packed.
+   *
+   *  Move the genes of every member into one contiguous array, and the metrics into
+   *  another. The member encodings and metrics become views of these arrays, so all
+   *  other operations are unchanged. Only RealEncodings of equal length can be packed.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean pack( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != gene_buf ) {
+      return true;
+    }
+
+    if ( 0 == count ) {
+      return false;
+    }
+
+    int ng = member[0].param  instanceof RealEncoding ?
+        ((RealEncoding)member[0].param).size() : 0;
+    int nm = member[0].metric.size();
+
+    for ( int i=0; i<count; i++ ) {
+      if ( ! ( member[i].param instanceof RealEncoding ) ) {
+        return false;
+      }
+      if ( ng != ((RealEncoding)member[i].param).size() ) {
+        return false;
+      }
+      if ( nm != member[i].metric.size() ) {
+        return false;
+      }
+    }
+
+    gene_stride   = ng;
+    metric_stride = nm;
+    gene_buf      = new double[ count * ng ];
+    metric_buf    = new double[ count * nm ];
+
+    for ( int i=0; i<count; i++ ) {
+      ((RealEncoding)member[i].param).attach( gene_buf, i*ng );
+      member[i].metric.attach( metric_buf, i*nm );
+    }
+
+    return true;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Is Packed.
+   *  @return true if the genes and metrics are stored in packed arrays.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean isPacked( ) {
+    // -----------------------------------------------------------------------------------
+    return ( null != gene_buf );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Packed Genes.
+   *  @return packed genes, member i occupies [ i*geneStride(), (i+1)*geneStride() ).
+   *          null if the population is not packed.
+   */
+  // -------------------------------------------------------------------------------------
+  public double[] packedGenes( ) {
+    // -----------------------------------------------------------------------------------
+    return gene_buf;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Gene Stride.
+   *  @return number of genes per member in the packed genes.
+   */
+  // -------------------------------------------------------------------------------------
+  public int geneStride( ) {
+    // -----------------------------------------------------------------------------------
+    return gene_stride;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Packed Metrics.
+   *  @return packed metrics, member i occupies [ i*metricStride(), (i+1)*metricStride() ).
+   *          null if the population is not packed.
+   */
+  // -------------------------------------------------------------------------------------
+  public double[] packedMetrics( ) {
+    // -----------------------------------------------------------------------------------
+    return metric_buf;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Metric Stride.
+   *  @return number of values per member in the packed metrics.
+   */
+  // -------------------------------------------------------------------------------------
+  public int metricStride( ) {
+    // -----------------------------------------------------------------------------------
+    return metric_stride;
+  }
+
+  
   // =====================================================================================
   /** @brief Best.
    *  @return pointer to the best recorded PopulationMember.
@@ -139,12 +375,27 @@ class Population {
    *  @param idx index of population member.
    *  @param M   pointer to source PopulationMember.
    *
-   *  Make a deep copy of a PopulationMember and store it at index.
+   *  Make a deep copy of a PopulationMember and store it at index. The current best
+   *  and worst indices recorded by genStats are kept up to date.
    */
   // -------------------------------------------------------------------------------------
   public void set( int idx, PopulationMember M ) {
     // -----------------------------------------------------------------------------------
     member[idx].copy( M );
+
+    if ( idx == cur_best ) {
+      cur_best = -1;
+    } else if ( ( 0 <= cur_best ) &&
+                model.isLeftBetter( member[idx].metric, member[cur_best].metric ) ) {
+      cur_best = idx;
+    }
+
+    if ( idx == cur_worst ) {
+      cur_worst = -1;
+    } else if ( ( 0 <= cur_worst ) &&
+                model.isLeftBetter( member[cur_worst].metric, member[idx].metric ) ) {
+      cur_worst = idx;
+    }
   }
 
   
@@ -164,7 +415,10 @@ class Population {
       } else {
         member[i].param.randomize();
       }
+      member[i].dirty = true;
     }
+    cur_best  = -1;
+    cur_worst = -1;
   }
 
   
@@ -178,7 +432,10 @@ class Population {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<count; i++ ) {
       member[i].param.randomize();
+      member[i].dirty = true;
     }
+    cur_best  = -1;
+    cur_worst = -1;
   }
 
   
@@ -192,7 +449,10 @@ class Population {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<count; i++ ) {
       member[i].param.bracket();
+      member[i].dirty = true;
     }
+    cur_best  = -1;
+    cur_worst = -1;
   }
 
   
@@ -207,7 +467,10 @@ class Population {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<count; i++ ) {
       member[i].param.noise( scale );
+      member[i].dirty = true;
     }
+    cur_best  = -1;
+    cur_worst = -1;
   }
 
   
@@ -225,7 +488,10 @@ class Population {
     for ( int i=0; i<count; i++ ) {
       member[i].copy( sample );
       member[i].param.noise( scale );
+      member[i].dirty = true;
     }
+    cur_best  = -1;
+    cur_worst = -1;
   }
 
 
@@ -242,10 +508,33 @@ class Population {
   // -------------------------------------------------------------------------------------
   int select( int tour ) {
     // -----------------------------------------------------------------------------------
-    int idx = ent.index( count );
+    return select( tour, ent );
+  }
+
+
+  // =====================================================================================
+  /** @brief Select.
+   *  @param tour number of members examined in the tournament.
+   *  @param E    pointer to the Entropy instance used to draw members.
+   *  @return index to the best member out of tour selected members.
+   *
+   *  Same as select( tour ), drawing from the supplied random stream. The population
+   *  is only read, so concurrent callers with separate streams are safe.
+   */
+  // -------------------------------------------------------------------------------------
+  int select( int tour, org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    if ( UGA.RANK == sel_mode ) {
+      return select_rank( E );
+    }
+    if ( UGA.SUS == sel_mode ) {
+      return select_sus( E );
+    }
+
+    int idx = E.index( count );
 
     for ( int i=1; i<tour; i++ ) {
-      int t = ent.index( count );
+      int t = E.index( count );
       if ( model.isLeftBetter( member[t].metric, member[idx].metric ) ) {
         idx = t;
       }
@@ -257,6 +546,208 @@ class Population {
 
 
   
+  // =====================================================================================
+  /** @brief Selection.
+   *  @param mode     parent selection (UGA.TOURNAMENT, UGA.RANK or UGA.SUS).
+   *  @param pressure linear ranking selective pressure [1,2] ( RANK and SUS ).
+   *
+   *  RANK and SUS select with probability proportional to a linear ranking weight,
+   *  from pressure for the best member down to 2-pressure for the worst. They need
+   *  prepare() once per generation, after scoring. All buffers are allocated here.
+   */
+  // -------------------------------------------------------------------------------------
+  void selection( int mode, double pressure ) {
+    // -----------------------------------------------------------------------------------
+    sel_mode     = mode;
+    sel_pressure = pressure;
+    if ( ( UGA.TOURNAMENT != mode ) && ( null == sel_order ) ) {
+      sel_order = new int[ count ];
+      sel_tmp   = new int[ count ];
+      sel_cum   = new double[ count ];
+      sel_pool  = new int[ count ];
+    }
+  }
+
+
+  // =====================================================================================
+  /** @brief Prepare.
+   *  @param E pointer to the Entropy instance used for the SUS spin.
+   *
+   *  Rank the members for RANK or SUS selection, O(N log N) comparisons, and for SUS
+   *  draw the mating pool for this generation in O(N). Nothing for TOURNAMENT.
+   */
+  // -------------------------------------------------------------------------------------
+  void prepare( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    if ( UGA.TOURNAMENT == sel_mode ) {
+      return;
+    }
+
+    for ( int i=0; i<count; i++ ) {
+      sel_order[i] = i;
+    }
+    rank_sort( 0, count );
+
+    // ----- linear ranking, best first --------------------------------------------------
+    double s   = sel_pressure;
+    double d   = ( 1 < count ) ? 2.0e0 * ( s - 1.0e0 ) / ( double ) ( count - 1 ) : 0.0e0;
+    double sum = 0.0e0;
+    for ( int r=0; r<count; r++ ) {
+      sum += ( 1 < count ) ? ( s - d * ( double ) r ) : 1.0e0;
+      sel_cum[r] = sum;
+    }
+
+    if ( UGA.SUS == sel_mode ) {
+      spin( E );
+    }
+  }
+
+
+  // =====================================================================================
+  /** @brief Ranked.
+   *  @param r rank, 0 is the best member.
+   *  @return index of the member with rank r, as of the last prepare ( RANK or SUS ).
+   */
+  // -------------------------------------------------------------------------------------
+  int ranked( int r ) {
+    // -----------------------------------------------------------------------------------
+    return sel_order[r];
+  }
+
+
+  // =====================================================================================
+  /** @brief Spin.
+   *  @param E pointer to the Entropy instance.
+   *
+   *  Stochastic universal sampling: one draw places count equally spaced pointers on
+   *  the cumulative weights. The pool is then shuffled so that consecutive picks pair
+   *  at random.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void spin( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    double step = sel_cum[ count - 1 ] / ( double ) count;
+    double p    = step * E.uniform();
+    int    r    = 0;
+    for ( int k=0; k<count; k++ ) {
+      while ( ( r < count - 1 ) && ( sel_cum[r] <= p ) ) {
+        r++;
+      }
+      sel_pool[k] = sel_order[r];
+      p += step;
+    }
+
+    for ( int k=count-1; k>0; k-- ) {
+      int j = E.index( k + 1 );
+      int t = sel_pool[k];
+      sel_pool[k] = sel_pool[j];
+      sel_pool[j] = t;
+    }
+
+    sel_next = 0;
+  }
+
+
+  // =====================================================================================
+  /** @brief Select Rank.
+   *  @param E pointer to the Entropy instance.
+   *  @return index of a member drawn by linear ranking, O(log N).
+   */
+  // -------------------------------------------------------------------------------------
+  protected int select_rank( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    double u  = E.uniform() * sel_cum[ count - 1 ];
+    int    lo = 0;
+    int    hi = count - 1;
+    while ( lo < hi ) {
+      int mid = ( lo + hi ) >>> 1;
+      if ( sel_cum[mid] <= u ) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return sel_order[lo];
+  }
+
+
+  // =====================================================================================
+  /** @brief Select SUS.
+   *  @param E pointer to the Entropy instance.
+   *  @return index of the next member of the mating pool, O(1).
+   *
+   *  When the pool is used up ( e.g. by rejected duplicate parents ) it is spun again.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int select_sus( org.trncmp.mllib.Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    if ( sel_next >= count ) {
+      spin( E );
+    }
+    return sel_pool[ sel_next++ ];
+  }
+
+
+  // =====================================================================================
+  /** @brief Rank Sort.
+   *  @param lo first index (inclusive).
+   *  @param hi last  index (exclusive).
+   *
+   *  Stable merge sort of sel_order, best first, by Model.isLeftBetter.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void rank_sort( int lo, int hi ) {
+    // -----------------------------------------------------------------------------------
+    if ( ( hi - lo ) <= 16 ) {
+      for ( int i=lo+1; i<hi; i++ ) {
+        int x = sel_order[i];
+        int j = i - 1;
+        while ( ( j >= lo ) && better( x, sel_order[j] ) ) {
+          sel_order[j+1] = sel_order[j];
+          j--;
+        }
+        sel_order[j+1] = x;
+      }
+      return;
+    }
+
+    int mid = ( lo + hi ) >>> 1;
+    rank_sort( lo, mid );
+    rank_sort( mid, hi );
+
+    if ( ! better( sel_order[mid], sel_order[mid-1] ) ) {
+      return;
+    }
+
+    System.arraycopy( sel_order, lo, sel_tmp, lo, hi - lo );
+    int i = lo;
+    int j = mid;
+    int k = lo;
+    while ( ( i < mid ) && ( j < hi ) ) {
+      sel_order[k++] = better( sel_tmp[j], sel_tmp[i] ) ? sel_tmp[j++] : sel_tmp[i++];
+    }
+    while ( i < mid ) { sel_order[k++] = sel_tmp[i++]; }
+    while ( j < hi  ) { sel_order[k++] = sel_tmp[j++]; }
+  }
+
+
+  // =====================================================================================
+  /** @brief Better.
+   *  @param a index of a member.
+   *  @param b index of a member.
+   *  @return true if member a is strictly better than member b.
+   *
+   *  Some models return true from isLeftBetter for equal metrics, so both directions
+   *  are tested to keep equal members in place.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean better( int a, int b ) {
+    // -----------------------------------------------------------------------------------
+    return model.isLeftBetter( member[a].metric, member[b].metric ) &&
+        ! model.isLeftBetter( member[b].metric, member[a].metric );
+  }
+
+
   // =====================================================================================
   /** @class ScoreReturn.
    *  @brief Score Return.
@@ -268,6 +759,9 @@ class Population {
     // -----------------------------------------------------------------------------------
     public boolean newBest    = false;
     public int     worstIndex = -1;
+    public int     bestIndex  = -1;
+    public double  mean       = 0.0e0;
+    public double  worst      = 0.0e0;  /** first metric element of the current worst */
     
     public ScoreReturn() { }
     
@@ -286,7 +780,10 @@ class Population {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<count; i++ ) {
       PopulationMember test = member[i];
-      model.execute( test.metric, test.param );
+      if ( test.dirty ) {
+        model.execute( test.metric, test.param );
+        test.dirty = false;
+      }
     }
   }
 
@@ -306,40 +803,80 @@ class Population {
   // =====================================================================================
   /** @brief Score.
    *  @param rezero flag to find new best.
+   *  @return statistics of this pass ( the same object every call ).
    *
-   *  Score the entire population. Optionally zero the current best place holder.
+   *  Update the recorded best and worst members from the population in one pass.
+   *  Optionally zero the current best place holder. Candidates are tracked by index,
+   *  so the recorded best and worst are copied at most once each. Also returns the
+   *  mean of the first metric element and that element of the worst current member,
+   *  and records the indices of the current best and worst members for find.
    */
   // -------------------------------------------------------------------------------------
   public ScoreReturn genStats( boolean rezero ) {
     // -----------------------------------------------------------------------------------
+    ScoreReturn SR = score_ret;
+    SR.newBest     = false;
+    SR.worstIndex  = ent.index( count );
+    SR.bestIndex   = -1;
+
+    int    start = 0;
+    int    bi    = -1;
+    int    wi    = -1;
+    Metric bm    = bestMember.metric;
+    Metric wm    = worstMember.metric;
+    int    cb    = ( 0 < count ) ? 0 : -1;
+    int    cw    = cb;
+    double sum   = 0.0e0;
+
+    if ( rezero ) {
+      bi    = 0;
+      wi    = 0;
+      bm    = member[0].metric;
+      wm    = member[0].metric;
+      sum   = bm.get(0);
+      start = 1;
+    }
+
+    for ( int i=start; i<count; i++ ) {
+      Metric test = member[i].metric;
+      sum += test.get(0);
+
+      if ( model.isLeftBetter( test, bm ) ) {
+        bm = test;
+        bi = i;
+        SR.newBest = true;
+      }
+
+      if ( model.isLeftBetter( wm, test ) ) {
+        wm = test;
+        wi = i;
+        SR.worstIndex = i;
+      }
 
-	int start=0;
+      if ( model.isLeftBetter( test, member[cb].metric ) ) {
+        cb = i;
+      }
 
-	ScoreReturn SR = new ScoreReturn();
-	SR.newBest     = false;
-        SR.worstIndex  = ent.index( count );
-        
-	if ( rezero ) {
-	    bestMember.copy( member[0] );
-	    worstMember.copy( member[0] );
-	    start = 1;
-	}
+      if ( model.isLeftBetter( member[cw].metric, test ) ) {
+        cw = i;
+      }
+    }
 
-	for ( int i=start; i<count; i++ ) {
-	    PopulationMember test = member[i];
+    if ( 0 <= bi ) {
+      bestMember.copy( member[bi] );
+      SR.bestIndex = bi;
+    }
+    if ( 0 <= wi ) {
+      worstMember.copy( member[wi] );
+    }
 
-	    if ( model.isLeftBetter( test.metric, bestMember.metric ) ) {
-		bestMember.copy( test );
-		SR.newBest = true;
-	    }
+    SR.mean  = ( 0 < count ) ? sum / ( double ) count : 0.0e0;
+    SR.worst = ( 0 < count ) ? member[cw].metric.get(0) : 0.0e0;
 
-	    if ( model.isLeftBetter( worstMember.metric, test.metric ) ) {
-		worstMember.copy( test );
-		SR.worstIndex = i;
-	    }
-	}
+    cur_best  = cb;
+    cur_worst = cw;
 
-	return SR;
+    return SR;
   }
 
 
@@ -348,7 +885,10 @@ class Population {
    *  @param mt member type.
    *  @return index of the resulting population member.
    *
-   *  Search the primary population for an mt type member.
+   *  Search the primary population for an mt type member. BEST and WORST return the
+   *  index recorded by the last genStats ( kept up to date by set ), and only scan
+   *  the population when it is unknown. Members changed through get since then are
+   *  not seen until the next genStats.
    */
   // -------------------------------------------------------------------------------------
   int find( int mt ) {
@@ -361,6 +901,9 @@ class Population {
         break;
         // -------------------------------------------------------------------------------
       case UGA.BEST:
+        if ( 0 <= cur_best ) {
+          return cur_best;
+        }
         rv = 0;
         for ( int i=1; i<count; i++ ) {
           if ( model.isLeftBetter( member[i].metric, member[rv].metric ) ) {
@@ -370,6 +913,9 @@ class Population {
         break;
         // -------------------------------------------------------------------------------
       case UGA.WORST:
+        if ( 0 <= cur_worst ) {
+          return cur_worst;
+        }
         rv = 0;
         for ( int i=1; i<count; i++ ) {
           if ( model.isLeftBetter( member[rv].metric, member[i].metric ) ) {
@@ -58,6 +58,10 @@ public class PopulationMember {
   public Encoding param  = null;
   public int      age    = 0;
 
+  /** true if param has changed since metric was computed. Code that modifies param
+   *  directly must set this, otherwise the executors will not re-score the member. */
+  public boolean  dirty  = true;
+
   
   // =====================================================================================
   /** @brief Constructor.
@@ -70,6 +74,7 @@ public class PopulationMember {
     param  = mod.alloc_encoding();
     age    = 0;
     metric.zero();
+    dirty  = true;
   }
 
   
@@ -82,7 +87,36 @@ public class PopulationMember {
     // -----------------------------------------------------------------------------------
     metric.copy( M.metric );
     param.copy(  M.param );
-    age = M.age;
+    age   = M.age;
+    dirty = M.dirty;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( age );
+    out.writeBoolean( dirty );
+    metric.write( out );
+    param.write( out );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    age   = in.readInt();
+    dirty = in.readBoolean();
+    metric.read( in );
+    param.read( in );
   }
 
 }
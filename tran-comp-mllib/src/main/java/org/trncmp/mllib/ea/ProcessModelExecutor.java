@@ -0,0 +1,423 @@
+// ====================================================================== BEGIN FILE =====
+// **                      P R O C E S S M O D E L E X E C U T O R                      **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file ProcessModelExecutor.java
+ * <p>
+ * Provides model evaluation by a pool of long lived worker processes.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class ProcessModelExecutor
+ *
+ *  Evaluate the population in external worker processes ( exec = process ). Each
+ *  worker is started once, from the same command line, and kept alive between
+ *  generations. Encodings and metrics are streamed over the worker's stdin and stdout
+ *  as big endian binary frames ( java.io.DataOutput ):
+ *
+ *    request : int32 tag, Encoding.write  ( RealEncoding: int32 n, n x float64 )
+ *    reply   : int32 tag, Metric.write    ( int32 m, m x float64 )
+ *
+ *  A worker must answer every request with the same tag, in any order, and exit when
+ *  stdin is closed. Up to depth() requests are in flight per worker, so the next
+ *  encoding is already queued when a reply is sent. Replies must be small enough
+ *  that depth() of them fit in the pipe buffer.
+ *
+ *  A worker that exits or breaks the framing is restarted and its in flight members
+ *  are requeued. A member that fails MAX_RETRY times ends the run. Stderr of the
+ *  workers is inherited. See ProcessWorker for a Java implementation of the protocol.
+ */
+// ---------------------------------------------------------------------------------------
+public class ProcessModelExecutor extends ModelExecutor {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  /** Number of attempts for one member before the run is abandoned. */
+  public static final int MAX_RETRY = 3;
+
+  protected final String[]        command;
+  protected final int             depth;
+  protected final Worker[]        worker;
+  protected final List< Worker >  drivers;
+  protected final ExecutorService driver_pool;
+
+  /** indices of the members to be scored this generation */
+  protected int[]                 queue   = new int[0];
+  protected int                   nqueue  = 0;
+  protected final AtomicInteger   next    = new AtomicInteger( 0 );
+  protected final ConcurrentLinkedQueue< Integer > retry =
+      new ConcurrentLinkedQueue< Integer >();
+  protected int[]                 fails   = new int[0];
+  protected Population            current = null;
+
+  
+  // =====================================================================================
+  /** @class Worker
+   *
+   *  One external process and the thread that feeds it.
+   */
+  // -------------------------------------------------------------------------------------
+  class Worker implements Callable< Void > {
+    // -----------------------------------------------------------------------------------
+    protected final int      id;
+    protected final int[]    flight;
+    protected       int      nflight  = 0;
+    protected       Process  proc     = null;
+    protected DataOutputStream out    = null;
+    protected DataInputStream  in     = null;
+    protected       int      restarts = 0;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param k index of this worker.
+     */
+    // -----------------------------------------------------------------------------------
+    Worker( int k ) {
+      // ---------------------------------------------------------------------------------
+      id     = k;
+      flight = new int[ depth ];
+    }
+
+    
+    // ===================================================================================
+    /** @brief Start.
+     *
+     *  Launch the worker process.
+     */
+    // -----------------------------------------------------------------------------------
+    void start( ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      ProcessBuilder PB = new ProcessBuilder( command );
+      PB.redirectError( Redirect.INHERIT );
+      proc = PB.start();
+      out  = new DataOutputStream( new BufferedOutputStream( proc.getOutputStream(), 65536 ) );
+      in   = new DataInputStream(  new BufferedInputStream(  proc.getInputStream(),  65536 ) );
+    }
+
+    
+    // ===================================================================================
+    /** @brief Stop.
+     *
+     *  Close stdin and wait briefly for the worker to exit, then kill it.
+     */
+    // -----------------------------------------------------------------------------------
+    void stop( ) {
+      // ---------------------------------------------------------------------------------
+      if ( null == proc ) {
+        return;
+      }
+      try {
+        out.close();
+      } catch( IOException e ) {
+        // ----- the worker is already gone ---------------------------------------------
+      }
+      try {
+        if ( ! proc.waitFor( 2, TimeUnit.SECONDS ) ) {
+          proc.destroyForcibly();
+        }
+      } catch( InterruptedException e ) {
+        proc.destroyForcibly();
+      }
+      proc = null;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Restart.
+     *  @param cause reason the worker is being replaced.
+     *
+     *  Replace a failed worker and requeue its in flight members.
+     */
+    // -----------------------------------------------------------------------------------
+    void restart( IOException cause ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      String code = "running";
+      try {
+        if ( proc.waitFor( 1, TimeUnit.SECONDS ) ) {
+          code = "exit "+proc.exitValue();
+        }
+      } catch( InterruptedException e ) {
+        // ----- fall through and kill it -----------------------------------------------
+      }
+      proc.destroyForcibly();
+      proc = null;
+      restarts++;
+
+      logger.warn( String.format( "ProcessModelExecutor: worker %d failed ( %s, %s ), restarting",
+                                  id, code, cause.toString() ) );
+
+      for ( int j=0; j<nflight; j++ ) {
+        int k = flight[j];
+        if ( MAX_RETRY <= ++fails[k] ) {
+          throw new IOException( "member "+k+" failed "+MAX_RETRY+" times" );
+        }
+        retry.add( k );
+      }
+      nflight = 0;
+
+      start();
+    }
+
+    
+    // ===================================================================================
+    /** @brief Send.
+     *  @param k index of the member to score.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void send( int k ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      flight[ nflight++ ] = k;
+      out.writeInt( k );
+      current.get(k).param.write( out );
+    }
+
+    
+    // ===================================================================================
+    /** @brief Receive.
+     *
+     *  Read one reply into the metric of its member.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void receive( ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      int k = in.readInt();
+
+      int j = 0;
+      while ( ( j < nflight ) && ( k != flight[j] ) ) {
+        j++;
+      }
+      if ( j == nflight ) {
+        throw new IOException( "unexpected tag "+k );
+      }
+
+      PopulationMember M = current.get(k);
+      M.metric.read( in );
+
+      flight[j] = flight[ --nflight ];
+
+      if ( null != cache ) {
+        cache.store( M.metric, M.param );
+      }
+      M.dirty = false;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Evaluate.
+     *
+     *  Keep depth requests in flight until the queue is empty.
+     */
+    // -----------------------------------------------------------------------------------
+    public Void call( ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      while ( true ) {
+        try {
+          boolean sent = false;
+          while ( nflight < depth ) {
+            int k = take();
+            if ( 0 > k ) {
+              break;
+            }
+            send( k );
+            sent = true;
+          }
+          if ( 0 == nflight ) {
+            break;
+          }
+          if ( sent ) {
+            out.flush();
+          }
+          receive();
+        } catch( IOException e ) {
+          restart( e );
+        }
+      }
+      return null;
+    }
+
+  } // end class ProcessModelExecutor.Worker
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param mod pointer to a fitness model ( used for the cache only ).
+   *  @param np  number of worker processes.
+   *  @param cmd command line of a worker.
+   *  @param d   number of requests in flight per worker.
+   */
+  // -------------------------------------------------------------------------------------
+  public ProcessModelExecutor( Model mod, int np, String[] cmd, int d ) {
+    // -----------------------------------------------------------------------------------
+    super( mod, np );
+    command     = cmd;
+    depth       = Math.max( 1, d );
+    worker      = new Worker[ np ];
+    drivers     = new ArrayList< Worker >( np );
+    driver_pool = Executors.newFixedThreadPool( np );
+
+    for ( int i=0; i<np; i++ ) {
+      worker[i] = new Worker( i );
+      drivers.add( worker[i] );
+      try {
+        worker[i].start();
+      } catch( IOException e ) {
+        logger.error( "ProcessModelExecutor: cannot start worker "+String.join( " ", cmd )+
+                      " - "+e.toString() );
+        System.exit(1);
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Take.
+   *  @return index of the next member to score, -1 if there are none.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int take( ) {
+    // -----------------------------------------------------------------------------------
+    Integer r = retry.poll();
+    if ( null != r ) {
+      return r;
+    }
+    int j = next.getAndIncrement();
+    return ( j < nqueue ) ? queue[j] : -1;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Restarts.
+   *  @return number of times a worker process has been replaced.
+   */
+  // -------------------------------------------------------------------------------------
+  public int restarts( ) {
+    // -----------------------------------------------------------------------------------
+    int n = 0;
+    for ( int i=0; i<worker.length; i++ ) {
+      n += worker[i].restarts;
+    }
+    return n;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute.
+   *  @param pop reference to a population.
+   *
+   *  Only dirty members that are not in the fitness cache are sent to the workers.
+   *  Blocks until all members are scored.
+   */
+  // -------------------------------------------------------------------------------------
+  public void execute( Population pop ) {
+    // -----------------------------------------------------------------------------------
+    int n = pop.size();
+    if ( queue.length < n ) {
+      queue = new int[n];
+      fails = new int[n];
+    }
+
+    nqueue = 0;
+    for ( int i=0; i<n; i++ ) {
+      PopulationMember M = pop.get(i);
+      if ( ! M.dirty ) {
+        continue;
+      }
+      if ( ( null != cache ) && cache.lookup( M.metric, M.param ) ) {
+        M.dirty = false;
+        continue;
+      }
+      fails[i] = 0;
+      queue[ nqueue++ ] = i;
+    }
+
+    if ( 0 == nqueue ) {
+      return;
+    }
+
+    current = pop;
+    next.set( 0 );
+    retry.clear();
+
+    try {
+      List< Future< Void > > fin = driver_pool.invokeAll( drivers );
+      for ( Future< Void > f : fin ) {
+        f.get();
+      }
+    } catch( InterruptedException e ) {
+      logger.error( "ProcessModelExecutor: interrupted" );
+      System.exit(1);
+    } catch( ExecutionException e ) {
+      logger.error( "ProcessModelExecutor: "+e.getCause().toString() );
+      System.exit(1);
+    } finally {
+      current = null;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Close the workers and release the driver threads. This executor may not be used
+   *  afterwards.
+   */
+  // -------------------------------------------------------------------------------------
+  public void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<worker.length; i++ ) {
+      worker[i].stop();
+    }
+    driver_pool.shutdown();
+  }
+
+} // end class ProcessModelExecutor
+
+// =======================================================================================
+// **                      P R O C E S S M O D E L E X E C U T O R                      **
+// ======================================================================== END FILE =====
@@ -0,0 +1,144 @@
+// ====================================================================== BEGIN FILE =====
+// **                             P R O C E S S W O R K E R                             **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file ProcessWorker.java
+ * <p>
+ * Provides the worker side of the ProcessModelExecutor protocol for Java models.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// =======================================================================================
+/** @class ProcessWorker
+ *
+ *  Serve ProcessModelExecutor requests with a Java Model. Reads a frame, executes the
+ *  model and writes the reply until stdin is closed. Replies are flushed whenever no
+ *  further request is already buffered, so pipelined requests are answered in bursts.
+ *
+ *  Usage: java org.trncmp.mllib.ea.ProcessWorker <model class>
+ *  The model class needs a no argument constructor; config() is called once.
+ */
+// ---------------------------------------------------------------------------------------
+public class ProcessWorker {
+  // -------------------------------------------------------------------------------------
+
+  
+  // =====================================================================================
+  /** @brief Serve.
+   *  @param mod pointer to a fitness model.
+   *  @param is  request stream.
+   *  @param os  reply stream.
+   *  @return number of requests served.
+   */
+  // -------------------------------------------------------------------------------------
+  public static long serve( Model mod, InputStream is, OutputStream os ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    DataInputStream  in  = new DataInputStream(  new BufferedInputStream(  is, 65536 ) );
+    DataOutputStream out = new DataOutputStream( new BufferedOutputStream( os, 65536 ) );
+
+    Metric     M = mod.alloc_metric();
+    Encoding   E = mod.alloc_encoding();
+    Encoding[] one = { E };
+    long       n = 0;
+
+    while ( true ) {
+      int tag;
+      try {
+        tag = in.readInt();
+      } catch( EOFException e ) {
+        break;
+      }
+
+      E.read( in );
+      mod.pre_process( one, 1 );
+      mod.execute( M, E );
+
+      out.writeInt( tag );
+      M.write( out );
+      n++;
+
+      if ( 0 == in.available() ) {
+        out.flush();
+      }
+    }
+
+    out.flush();
+    return n;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Main.
+   *  @param args command line arguments ( model class name ).
+   */
+  // -------------------------------------------------------------------------------------
+  public static void main( String[] args ) {
+    // -----------------------------------------------------------------------------------
+    if ( 1 > args.length ) {
+      System.err.println( "usage: ProcessWorker <model class>" );
+      System.exit(1);
+    }
+
+    try {
+      java.lang.reflect.Constructor<?> ctor = Class.forName( args[0] ).getDeclaredConstructor();
+      ctor.setAccessible( true );
+      Model mod = ( Model ) ctor.newInstance();
+      if ( mod.config() ) {
+        System.err.println( "ProcessWorker: model experienced errors during initialization" );
+        System.exit(1);
+      }
+      // ----- stdout carries the replies, anything the model prints goes to stderr --------
+      OutputStream replies = new FileOutputStream( FileDescriptor.out );
+      System.setOut( System.err );
+      serve( mod, System.in, replies );
+    } catch( IOException e ) {
+      System.err.println( "ProcessWorker: "+e.toString() );
+      System.exit(2);
+    } catch( ReflectiveOperationException e ) {
+      System.err.println( "ProcessWorker: cannot create "+args[0]+" - "+e.toString() );
+      System.exit(1);
+    }
+
+    System.exit(0);
+  }
+
+} // end class ProcessWorker
+
+// =======================================================================================
+// **                             P R O C E S S W O R K E R                             **
+// ======================================================================== END FILE =====
@@ -40,6 +40,9 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 
 // =======================================================================================
@@ -58,7 +61,61 @@ public class RealEncoding extends Encoding {
   /** number of values in this RealEncoding. */
   protected int data_len = 0;
 
-  protected org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
+  /** index of the first element in data ( non zero when viewing a packed buffer ). */
+  protected int data_off = 0;
+
+  /** Number of elements drawn from Entropy per block by the bulk kernels. */
+  static final int BLOCK = 256;
+
+  /** Operator kernels (UGA.SCALAR or UGA.BULK) used by this RealEncoding. */
+  protected int kernel = UGA.SCALAR;
+
+  /** Per thread scratch for the bulk kernels. */
+  private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+      @Override protected Scratch initialValue() { return new Scratch(); }
+    };
+
+
+  // =====================================================================================
+  /** @class Scratch
+   *
+   *  Random draws and mutation positions for one block of genes.
+   */
+  // -------------------------------------------------------------------------------------
+  static final class Scratch {
+    // -----------------------------------------------------------------------------------
+    final double[] draw = new double[ BLOCK ];
+    final int[]    pos  = new int[ BLOCK ];
+  } // end class RealEncoding.Scratch
+
+
+  // =====================================================================================
+  /** @brief Set Kernel.
+   *  @param k operator kernels (UGA.SCALAR or UGA.BULK).
+   *
+   *  SCALAR draws from Entropy once per element. BULK fills blocks of random numbers
+   *  at a time and applies them in simple loops the JIT can unroll. randomize, bracket
+   *  and noise produce the same values with either kernel. BULK mutate chooses the
+   *  mutated positions by geometric skips, so it draws about 2*perc random numbers per
+   *  element instead of 1+perc, and seeded runs differ from SCALAR.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setKernel( int k ) {
+    // -----------------------------------------------------------------------------------
+    kernel = k;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get Kernel.
+   *  @return operator kernels (UGA.SCALAR or UGA.BULK).
+   */
+  // -------------------------------------------------------------------------------------
+  public int kernel( ) {
+    // -----------------------------------------------------------------------------------
+    return kernel;
+  }
+
 
 
   // =====================================================================================
@@ -66,7 +123,7 @@ public class RealEncoding extends Encoding {
   public int store( double[] dst, int offset ) {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<data_len; i++ ) {
-      dst[offset+i] = data[i];
+      dst[offset+i] = data[data_off+i];
     }
     return offset = data_len;
   }
@@ -87,6 +144,25 @@ public class RealEncoding extends Encoding {
   }
 
 
+  // =====================================================================================
+  /** @brief Attach.
+   *  @param buf    packed buffer shared by many encodings.
+   *  @param offset index in buf of the first element of this encoding.
+   *
+   *  Move the elements of this encoding into buf and use buf as its storage. The encoding
+   *  becomes a view of buf[offset..offset+size()-1].
+   */
+  // -------------------------------------------------------------------------------------
+  public void attach( double[] buf, int offset ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<data_len; i++ ) {
+      buf[offset+i] = data[data_off+i];
+    }
+    data     = buf;
+    data_off = offset;
+  }
+
+  
   // =====================================================================================
   /** @brief Size.
    *  @return number of elements being used.
@@ -106,7 +182,7 @@ public class RealEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public double get( int idx ) {
     // -----------------------------------------------------------------------------------
-    return data[idx];
+    return data[data_off+idx];
   }
 
   
@@ -119,7 +195,7 @@ public class RealEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public double set( int idx, double val ) {
     // -----------------------------------------------------------------------------------
-    return ( data[idx] = val );
+    return ( data[data_off+idx] = val );
   }
 
 
@@ -132,7 +208,7 @@ public class RealEncoding extends Encoding {
   public void zero() {
     // -----------------------------------------------------------------------------------
     for ( int i=0; i<data_len; i++ ) {
-      data[i] = 0.0e0;
+      data[data_off+i] = 0.0e0;
     }    
   }
   
@@ -152,9 +228,82 @@ public class RealEncoding extends Encoding {
     RealEncoding E = (RealEncoding)ap;
 
     for ( int i=0; i<data_len; i++ ) {
-      this.data[i] = E.data[i];
+      this.data[data_off+i] = E.data[E.data_off+i];
     }    
   }
+  
+  // =====================================================================================
+  /** @brief Content Hash.
+   *  @return 64 bit hash of the element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public long contentHash() {
+    // -----------------------------------------------------------------------------------
+    long h = HASH_SEED;
+    for ( int i=0; i<data_len; i++ ) {
+      h = mix( h, Double.doubleToLongBits( data[data_off+i] ) );
+    }
+    return h;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Same Content.
+   *  @param ap pointer to another Encoding.
+   *  @return true if both encodings hold the same element values.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean sameContent( Encoding ap ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! ( ap instanceof RealEncoding ) ) {
+      return false;
+    }
+
+    RealEncoding E = (RealEncoding)ap;
+
+    if ( data_len != E.data_len ) {
+      return false;
+    }
+
+    for ( int i=0; i<data_len; i++ ) {
+      if ( Double.doubleToLongBits( data[data_off+i] ) != Double.doubleToLongBits( E.data[E.data_off+i] ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+  
+  // =====================================================================================
+  /** @brief Write.
+   *  @param out binary output.
+   */
+  // -------------------------------------------------------------------------------------
+  public void write( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( data_len );
+    for ( int i=0; i<data_len; i++ ) {
+      out.writeDouble( data[data_off+i] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param in binary input.
+   */
+  // -------------------------------------------------------------------------------------
+  public void read( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != data_len ) {
+      throw new IOException( "RealEncoding.read: expected "+data_len+" elements, found "+n );
+    }
+    for ( int i=0; i<data_len; i++ ) {
+      data[data_off+i] = in.readDouble();
+    }
+  }
+
+
 
   
   // =====================================================================================
@@ -165,8 +314,12 @@ public class RealEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public void randomize() {
     // -----------------------------------------------------------------------------------
+    if ( UGA.BULK == kernel ) {
+      randomize_bulk();
+      return;
+    }
     for ( int i=0; i<data_len; i++ ) {
-      data[i] = 2.0e0 * ent.uniform() - 1.0e0;
+      data[data_off+i] = 2.0e0 * ent.uniform() - 1.0e0;
     }
   }
 
@@ -179,8 +332,12 @@ public class RealEncoding extends Encoding {
   // -------------------------------------------------------------------------------------
   public void bracket() {
     // -----------------------------------------------------------------------------------
+    if ( UGA.BULK == kernel ) {
+      bracket_bulk();
+      return;
+    }
     for ( int i=0; i<data_len; i++ ) {
-      data[i] = ent.bool() ? 1.0e0: -1.0e0;
+      data[data_off+i] = ent.bool() ? 1.0e0: -1.0e0;
     }
   }
 
@@ -196,8 +353,13 @@ public class RealEncoding extends Encoding {
     // -----------------------------------------------------------------------------------
     double sigma = 2.0e0 * scale / N_SIGMA_SCALE;
 
+    if ( UGA.BULK == kernel ) {
+      noise_bulk( sigma );
+      return;
+    }
+
     for ( int i=0; i<data_len; i++ ) {
-      data[i] = ent.gauss( -1.0e0, 1.0e0, data[i], sigma );
+      data[data_off+i] = ent.gauss( -1.0e0, 1.0e0, data[data_off+i], sigma );
     }
   }
 
@@ -217,7 +379,7 @@ public class RealEncoding extends Encoding {
 
     for ( int i=0; i<data_len; i++ ) {
       if ( 0 < i ) { buffer.append( dlm ); }
-      buffer.append( String.format( fmt, data[i] ) );
+      buffer.append( String.format( fmt, data[data_off+i] ) );
     }
 
     return buffer.toString();
@@ -265,6 +427,31 @@ public class RealEncoding extends Encoding {
     }
   }
 
+  // =====================================================================================
+  /** @brief Parametric.
+   *  @param C1 buffer holding child  one, starting at c1.
+   *  @param C2 buffer holding child  two, starting at c2.
+   *  @param P1 buffer holding parent one, starting at p1.
+   *  @param P2 buffer holding parent two, starting at p2.
+   *  @param n  number of elements.
+   *  @param t  parametric position.
+   *
+   *  Same as parametric( C1, C2, P1, P2, t ) on n elements of packed buffers.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void parametric( double[] C1, int c1, double[] C2, int c2,
+                                 double[] P1, int p1, double[] P2, int p2,
+                                 int n, double t ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<n; i++ ) {
+      double a = P1[p1+i];
+      double b = P2[p2+i];
+      C1[c1+i] = t * ( b - a ) + a;
+      C2[c2+i] = t * ( a - b ) + b;
+    }
+  }
+
+
 
   // =====================================================================================
   /** @brief Crossover.
@@ -299,7 +486,9 @@ public class RealEncoding extends Encoding {
     RealEncoding c1 = this;
     RealEncoding c2 = (RealEncoding)ac2;
 
-    parametric( c1.data, c2.data, p1.data, p2.data, ent.uniform() );
+    parametric( c1.data, c1.data_off, c2.data, c2.data_off,
+                p1.data, p1.data_off, p2.data, p2.data_off,
+                data_len, ent.uniform() );
   }
 
 
@@ -325,12 +514,16 @@ public class RealEncoding extends Encoding {
     int    count = 0;
     double sigma = 2.0e0 * scale / N_SIGMA_SCALE;
 
+    if ( UGA.BULK == kernel ) {
+      return mutate_bulk( src, perc, sigma );
+    }
+
     for ( int i=0; i<data_len; i++ ) {
       if ( ent.bool( perc ) ) {
-        this.data[i] = ent.gauss( -1.0e0, 1.0e0, src.data[i], sigma );
+        this.data[data_off+i] = ent.gauss( -1.0e0, 1.0e0, src.data[src.data_off+i], sigma );
         count++;
       } else {
-        this.data[i] = src.data[i];
+        this.data[data_off+i] = src.data[src.data_off+i];
       }
     }
     
@@ -338,6 +531,152 @@ public class RealEncoding extends Encoding {
   }
 
 
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  //  Bulk kernels ( kernel = UGA.BULK )
+  // -------------------------------------------------------------------------------------
+
+
+  // =====================================================================================
+  /** @brief Randomize ( bulk ).
+   */
+  // -------------------------------------------------------------------------------------
+  protected void randomize_bulk() {
+    // -----------------------------------------------------------------------------------
+    final double[] U = scratch.get().draw;
+    for ( int b=0; b<data_len; b+=BLOCK ) {
+      final int m   = Math.min( BLOCK, data_len - b );
+      final int off = data_off + b;
+      ent.uniform( U, 0, m );
+      for ( int i=0; i<m; i++ ) {
+        data[off+i] = 2.0e0 * U[i] - 1.0e0;
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Bracket ( bulk ).
+   */
+  // -------------------------------------------------------------------------------------
+  protected void bracket_bulk() {
+    // -----------------------------------------------------------------------------------
+    final double[] U = scratch.get().draw;
+    for ( int b=0; b<data_len; b+=BLOCK ) {
+      final int m   = Math.min( BLOCK, data_len - b );
+      final int off = data_off + b;
+      ent.uniform( U, 0, m );
+      for ( int i=0; i<m; i++ ) {
+        data[off+i] = ( 5.0e-1 < U[i] ) ? -1.0e0 : 1.0e0;
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Noise ( bulk ).
+   *  @param sigma standard deviation of the noise.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void noise_bulk( double sigma ) {
+    // -----------------------------------------------------------------------------------
+    final double[] Z = scratch.get().draw;
+    for ( int b=0; b<data_len; b+=BLOCK ) {
+      final int m   = Math.min( BLOCK, data_len - b );
+      final int off = data_off + b;
+      int k = 0;
+      for ( int i=0; i<m; i++ ) {
+        double x = data[off+i];
+        if ( ( -1.0e0 <= x ) && ( x <= 1.0e0 ) ) { k++; }
+      }
+      if ( m == k ) {
+        ent.normal( Z, 0, m );
+        for ( int i=0; i<m; i++ ) {
+          double x = data[off+i] + sigma * Z[i];
+          data[off+i] = ( x < -1.0e0 ) ? -1.0e0 : ( ( x > 1.0e0 ) ? 1.0e0 : x );
+        }
+      } else {
+        // ----- out of range elements are clamped without a draw, as in gauss ---------
+        for ( int i=0; i<m; i++ ) {
+          data[off+i] = ent.gauss( -1.0e0, 1.0e0, data[off+i], sigma );
+        }
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Mutation ( bulk ).
+   *  @param src   pointer to original Encoding.
+   *  @param perc  percentage of elements that get mutated.
+   *  @param sigma standard deviation of the noise.
+   *  @return number of elements mutated.
+   *
+   *  Copy the source, then visit only the mutated positions. The gap between mutated
+   *  positions is geometric with parameter perc, which gives each element the same
+   *  independent chance perc of being mutated as the scalar kernel.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int mutate_bulk( RealEncoding src, double perc, double sigma ) {
+    // -----------------------------------------------------------------------------------
+    System.arraycopy( src.data, src.data_off, data, data_off, data_len );
+
+    if ( ! ( 0.0e0 < perc ) ) {
+      return 0;
+    }
+
+    final Scratch  S   = scratch.get();
+    final double[] Z   = S.draw;
+    final int[]    pos = S.pos;
+    final double   lnq = ( 1.0e0 > perc ) ? Math.log1p( -perc ) : 0.0e0;
+
+    int count = 0;
+    int i     = next_mutation( -1, lnq );
+    while ( i < data_len ) {
+      // ----- gather a block of positions --------------------------------------------
+      int k = 0;
+      while ( ( k < BLOCK ) && ( i < data_len ) ) {
+        pos[k++] = data_off + i;
+        i = next_mutation( i, lnq );
+      }
+
+      // ----- one normal per position ------------------------------------------------
+      ent.normal( Z, 0, k );
+      for ( int j=0; j<k; j++ ) {
+        int    p = pos[j];
+        double x = data[p];
+        if ( ( -1.0e0 <= x ) && ( x <= 1.0e0 ) ) {
+          x += sigma * Z[j];
+        }
+        data[p] = ( x < -1.0e0 ) ? -1.0e0 : ( ( x > 1.0e0 ) ? 1.0e0 : x );
+      }
+      count += k;
+    }
+
+    return count;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Next Mutation.
+   *  @param i   index of the last mutated element ( -1 before the first ).
+   *  @param lnq log( 1 - perc ), 0 when every element is mutated.
+   *  @return index of the next mutated element ( >= data_len when there are no more ).
+   */
+  // -------------------------------------------------------------------------------------
+  private int next_mutation( int i, double lnq ) {
+    // -----------------------------------------------------------------------------------
+    if ( 0.0e0 == lnq ) {
+      return i + 1;
+    }
+    double skip = Math.floor( Math.log( 1.0e0 - ent.uniform() ) / lnq );
+    if ( skip >= ( double ) ( data_len - i ) ) {
+      return data_len;
+    }
+    return i + 1 + ( int ) skip;
+  }
+
+
 } // end class RealEncoding
 
 // =======================================================================================
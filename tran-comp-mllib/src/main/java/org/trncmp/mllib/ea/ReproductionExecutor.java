@@ -0,0 +1,295 @@
+// ====================================================================== BEGIN FILE =====
+// **                      R E P R O D U C T I O N E X E C U T O R                      **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file ReproductionExecutor.java
+ * <p>
+ * Provides concurrent selection, crossover and mutation for UGA.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.trncmp.mllib.Entropy;
+
+// =======================================================================================
+/** @class ReproductionExecutor
+ *
+ *  Run the reproduction phases of a UGA generation concurrently. The population is
+ *  divided into a fixed set of blocks of child pairs. Each block owns an independent
+ *  Entropy stream, spawned from the singleton, which it uses for selection, the crossover
+ *  decision and, through the attached encodings, for crossover and mutation.
+ *
+ *  A block is always processed sequentially with its own stream, regardless of which
+ *  worker thread picks it up, so a run is reproducible for a given seed and CPU count.
+ */
+// ---------------------------------------------------------------------------------------
+class ReproductionExecutor {
+  // -------------------------------------------------------------------------------------
+
+  /** Target number of blocks per processor. */
+  static final int BLOCKS_PER_PROC = 4;
+
+  static final int CROSS  = 1;
+  static final int MUTATE = 2;
+
+  protected final ForkJoinPool pool;
+  protected final Block[]      blocks;
+  protected final Phase        root;
+
+  protected final Population   primary;
+  protected final Population   working;
+
+  protected int    phase   = CROSS;
+  protected int    tour    = 2;
+  protected double pCross  = 0.0e0;
+  protected double pMutate = 0.0e0;
+  protected double scale   = 0.0e0;
+
+  /** Records the parents and mutations of each child ( null = fixed schedules ). */
+  protected AdaptiveControl control = null;
+
+  
+  // =====================================================================================
+  /** @class Block
+   *
+   *  Contiguous, even aligned range [lo,hi) of the working and primary populations.
+   */
+  // -------------------------------------------------------------------------------------
+  class Block extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected final int     lo;
+    protected final int     hi;
+    protected final Entropy ent;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param a first index (inclusive).
+     *  @param b last  index (exclusive).
+     *  @param E pointer to the random stream owned by this block.
+     */
+    // -----------------------------------------------------------------------------------
+    Block( int a, int b, Entropy E ) {
+      // ---------------------------------------------------------------------------------
+      lo  = a;
+      hi  = b;
+      ent = E;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    protected void compute() {
+      // ---------------------------------------------------------------------------------
+      if ( CROSS == phase ) {
+        for ( int i=lo; i<hi; i+=2 ) {
+          int p1, p2;
+
+          p1 = primary.select( tour, ent );
+          do {
+            p2 = primary.select( tour, ent );
+          } while( p1 == p2 );
+
+          boolean x = UGA.Crossover( ent, pCross,
+                                     working.get(i),  working.get(i+1),
+                                     primary.get(p1), primary.get(p2) );
+
+          if ( null != control ) {
+            control.parents( i, x, primary.get(p1).metric, primary.get(p2).metric );
+          }
+        }
+      } else {
+        for ( int i=lo; i<hi; i++ ) {
+          int n = UGA.Mutate( primary.get(i), working.get(i), pMutate, scale );
+          if ( null != control ) {
+            control.mutated( i, n );
+          }
+        }
+      }
+    }
+
+  } // end class ReproductionExecutor.Block
+
+  
+  // =====================================================================================
+  /** @class Phase
+   *
+   *  Fork every block and wait for all of them to complete.
+   */
+  // -------------------------------------------------------------------------------------
+  class Phase extends RecursiveAction {
+    // -----------------------------------------------------------------------------------
+    private static final long serialVersionUID = 1L;
+
+    protected void compute() {
+      for ( int b=0; b<blocks.length; b++ ) {
+        blocks[b].reinitialize();
+      }
+      invokeAll( blocks );
+    }
+
+  } // end class ReproductionExecutor.Phase
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param P  pointer to the primary (evolving) population.
+   *  @param W  pointer to the working (intermediate) population.
+   *  @param np number of processors.
+   *
+   *  Spawn one Entropy stream per block and attach it to every encoding in the block.
+   */
+  // -------------------------------------------------------------------------------------
+  ReproductionExecutor( Population P, Population W, int np ) {
+    // -----------------------------------------------------------------------------------
+    primary = P;
+    working = W;
+
+    int pairs = P.size() / 2;
+    int nb    = Math.max( 1, Math.min( pairs, np * BLOCKS_PER_PROC ) );
+
+    Entropy master = Entropy.getInstance();
+
+    blocks = new Block[ nb ];
+    for ( int b=0; b<nb; b++ ) {
+      int     lo = 2 * ( ( b * pairs ) / nb );
+      int     hi = 2 * ( ( ( b + 1 ) * pairs ) / nb );
+      Entropy E  = master.spawn();
+      for ( int i=lo; i<hi; i++ ) {
+        primary.get(i).param.setEntropy( E );
+        working.get(i).param.setEntropy( E );
+      }
+      blocks[b] = new Block( lo, hi, E );
+    }
+
+    root = new Phase();
+    pool = new ForkJoinPool( np );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Select and cross.
+   *  @param tourSize number of members examined in a tournament.
+   *  @param pc       probability of crossover vs. clone.
+   *
+   *  Fill the working population from the primary. Blocks until complete.
+   *  Rank selection is prepared here, serially; the blocks only read the ranking.
+   */
+  // -------------------------------------------------------------------------------------
+  void crossover( int tourSize, double pc ) {
+    // -----------------------------------------------------------------------------------
+    primary.prepare( primary.ent );
+    tour   = tourSize;
+    pCross = pc;
+    run( CROSS );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Mutate.
+   *  @param pm probability that an allele is mutated.
+   *  @param sm scale of the mutation.
+   *
+   *  Fill the primary population from the working. Blocks until complete.
+   */
+  // -------------------------------------------------------------------------------------
+  void mutate( double pm, double sm ) {
+    // -----------------------------------------------------------------------------------
+    pMutate = pm;
+    scale   = sm;
+    run( MUTATE );
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  private void run( int p ) {
+    // -----------------------------------------------------------------------------------
+    phase = p;
+    root.reinitialize();
+    pool.invoke( root );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Write State.
+   *  @param out binary output.
+   *
+   *  Write the random stream of every block.
+   */
+  // -------------------------------------------------------------------------------------
+  void writeState( DataOutput out ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    out.writeInt( blocks.length );
+    for ( int i=0; i<blocks.length; i++ ) {
+      blocks[i].ent.writeState( out );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read State.
+   *  @param in binary input.
+   *
+   *  Restore the random streams written by writeState. The block layout must match.
+   */
+  // -------------------------------------------------------------------------------------
+  void readState( DataInput in ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    int n = in.readInt();
+    if ( n != blocks.length ) {
+      throw new IOException( "ReproductionExecutor: expected "+blocks.length+" streams, found "+n );
+    }
+    for ( int i=0; i<blocks.length; i++ ) {
+      blocks[i].ent.readState( in );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads.
+   */
+  // -------------------------------------------------------------------------------------
+  void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    pool.shutdown();
+  }
+
+} // end class ReproductionExecutor
+
+// =======================================================================================
+// **                      R E P R O D U C T I O N E X E C U T O R                      **
+// ======================================================================== END FILE =====
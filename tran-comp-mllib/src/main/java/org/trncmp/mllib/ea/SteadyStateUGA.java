@@ -0,0 +1,348 @@
+// ====================================================================== BEGIN FILE =====
+// **                            S T E A D Y S T A T E U G A                            **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file SteadyStateUGA.java
+ * <p>
+ * Provides an asynchronous steady state driver for UGA.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.trncmp.lib.Math2;
+import org.trncmp.lib.StopWatch;
+import org.trncmp.mllib.Entropy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class SteadyStateUGA
+ *
+ *  Asynchronous steady state evolution. There is no generation barrier, each worker
+ *  repeatedly:
+ *    1. selects two parents by tournament and copies them ( locked ),
+ *    2. crosses, mutates and evaluates the two children ( unlocked ),
+ *    3. inserts each child over the loser of a reverse tournament, if the child is
+ *       better ( locked ).
+ *
+ *  A slow evaluation only delays the worker running it. The run ends after
+ *  maxgen * nPop evaluations ( the generational budget ) or when the threshold is met.
+ *  A "generation" in reports is nPop evaluations.
+ *
+ *  @note Insertions happen in completion order, so a run is not reproducible even
+ *        with a fixed seed.
+ */
+// ---------------------------------------------------------------------------------------
+class SteadyStateUGA {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  protected final UGAConfiguration config;
+  protected final Model            model;
+  protected final Population       primary;
+  protected final FitnessCache     cache;
+  protected final Worker[]         worker;
+  protected final List< Worker >   tasks;
+
+  /** copy of the best member inserted so far ( guarded by primary ) */
+  protected final PopulationMember best;
+
+  /** number of children inserted or rejected ( guarded by primary ) */
+  protected long    evaluations = 0;
+  protected long    budget      = 0;
+  protected boolean done        = false;
+
+  
+  // =====================================================================================
+  /** @class Worker
+   *
+   *  One thread of reproduction and evaluation, with private scratch members.
+   */
+  // -------------------------------------------------------------------------------------
+  class Worker implements Callable< Void > {
+    // -----------------------------------------------------------------------------------
+    protected final Entropy          ent;
+    protected final PopulationMember p1;
+    protected final PopulationMember p2;
+    protected final PopulationMember c1;
+    protected final PopulationMember c2;
+    protected final PopulationMember m1;
+    protected final PopulationMember m2;
+    protected final Encoding[]       one = new Encoding[1];
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param E pointer to the random stream owned by this worker.
+     */
+    // -----------------------------------------------------------------------------------
+    Worker( Entropy E ) {
+      // ---------------------------------------------------------------------------------
+      ent = E;
+      p1  = new PopulationMember( model );
+      p2  = new PopulationMember( model );
+      c1  = new PopulationMember( model );
+      c2  = new PopulationMember( model );
+      m1  = new PopulationMember( model );
+      m2  = new PopulationMember( model );
+      c1.param.setEntropy( E );
+      c2.param.setEntropy( E );
+      m1.param.setEntropy( E );
+      m2.param.setEntropy( E );
+      c1.param.setKernel( config.kernel() );
+      c2.param.setKernel( config.kernel() );
+      m1.param.setKernel( config.kernel() );
+      m2.param.setKernel( config.kernel() );
+    }
+
+    
+    // ===================================================================================
+    /** @brief Score.
+     *  @param M pointer to a child.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void score( PopulationMember M ) {
+      // ---------------------------------------------------------------------------------
+      if ( M.dirty ) {
+        one[0] = M.param;
+        model.pre_process( one, 1 );
+        ModelExecutor.evaluate( model, cache, M );
+      }
+    }
+
+    
+    // ===================================================================================
+    /** @brief Evolve.
+     *
+     *  Produce, score and insert children until the budget is spent.
+     */
+    // -----------------------------------------------------------------------------------
+    public Void call( ) {
+      // ---------------------------------------------------------------------------------
+      int    tourSize = config.nTour();
+      double total    = ( double ) budget;
+      double pLocal   = config.localSearch();
+
+      while ( true ) {
+        double t;
+
+        synchronized( primary ) {
+          if ( done ) {
+            break;
+          }
+          t = ( ( double ) evaluations ) / total;
+          int a = primary.select( tourSize, ent );
+          int b;
+          do {
+            b = primary.select( tourSize, ent );
+          } while( a == b );
+          p1.copy( primary.get(a) );
+          p2.copy( primary.get(b) );
+        }
+
+        double pCross  = Math2.PARAMETRIC( config.pCrossStart(),  config.pCrossFinal(),  t );
+        double pMutate = Math2.PARAMETRIC( config.pMutateStart(), config.pMutateFinal(), t );
+        double scale   = Math2.PARAMETRIC( config.sMutateStart(), config.sMutateFinal(), t );
+
+        UGA.Crossover( ent, pCross, c1, c2, p1, p2 );
+        UGA.Mutate( m1, c1, pMutate, scale );
+        UGA.Mutate( m2, c2, pMutate, scale );
+
+        if ( 0.0e0 < pLocal ) {
+          if ( ent.bool( pLocal ) ) { UGA.Improve( model, m1 ); }
+          if ( ent.bool( pLocal ) ) { UGA.Improve( model, m2 ); }
+        }
+
+        score( m1 );
+        score( m2 );
+
+        synchronized( primary ) {
+          insert( m1, ent );
+          insert( m2, ent );
+        }
+      }
+
+      return null;
+    }
+
+  } // end class SteadyStateUGA.Worker
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param cfg pointer to a configuration object.
+   *  @param mod pointer to a user defined model.
+   *  @param pop pointer to the population to evolve.
+   *  @param fc  pointer to a fitness cache ( may be null ).
+   */
+  // -------------------------------------------------------------------------------------
+  SteadyStateUGA( UGAConfiguration cfg, Model mod, Population pop, FitnessCache fc ) {
+    // -----------------------------------------------------------------------------------
+    config  = cfg;
+    model   = mod;
+    primary = pop;
+    cache   = fc;
+    best    = new PopulationMember( model );
+
+    Entropy master = Entropy.getInstance();
+
+    int nw = Math.max( 1, config.nCPU() );
+    worker = new Worker[ nw ];
+    tasks  = new ArrayList< Worker >( nw );
+    for ( int i=0; i<nw; i++ ) {
+      worker[i] = new Worker( master.spawn() );
+      tasks.add( worker[i] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Insert.
+   *  @param C pointer to a scored child.
+   *  @param E pointer to the random stream of the calling worker.
+   *
+   *  Replace the worst of config.nTour() randomly drawn members with the child, if the
+   *  child is better. Must be called while holding the lock on primary.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void insert( PopulationMember C, Entropy E ) {
+    // -----------------------------------------------------------------------------------
+    if ( done ) {
+      return;
+    }
+
+    int n    = primary.size();
+    int tour = config.nTour();
+
+    int loser = E.index( n );
+    for ( int i=1; i<tour; i++ ) {
+      int k = E.index( n );
+      if ( model.isLeftBetter( primary.get(loser).metric, primary.get(k).metric ) ) {
+        loser = k;
+      }
+    }
+
+    if ( model.isLeftBetter( C.metric, primary.get(loser).metric ) ) {
+      primary.set( loser, C );
+      if ( model.isLeftBetter( C.metric, best.metric ) ) {
+        best.copy( C );
+      }
+    }
+
+    evaluations++;
+
+    int  popSize = primary.size();
+    long report  = ( long ) config.report() * ( long ) popSize;
+    if ( 0 == ( evaluations % report ) ) {
+      model.display( String.format( "%d", evaluations / popSize ),
+                     best.metric, best.param, true );
+      System.out.printf( "\n" );
+    }
+
+    if ( 0 < config.save() ) {
+      long save = ( long ) config.save() * ( long ) popSize;
+      if ( 0 == ( evaluations % save ) ) {
+        logger.debug( "calling: model save" );
+        model.save( best.param );
+      }
+    }
+
+    if ( ( evaluations >= budget ) || model.meetsThreshold( best.metric ) ) {
+      done = true;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief main loop.
+   *  @param exec pointer to an executor for scoring the initial population.
+   */
+  // -------------------------------------------------------------------------------------
+  void run( ModelExecutor exec ) {
+    // -----------------------------------------------------------------------------------
+    int popSize = primary.size();
+
+    Encoding[] encode_array = new Encoding[ popSize ];
+    for ( int i=0; i<popSize; i++ ) {
+      encode_array[i] = primary.get(i).param;
+    }
+
+    model.pre_process( encode_array, popSize );
+    exec.execute( primary );
+    primary.genStats( true );
+
+    model.run_before( primary.best().metric,  primary.best().param,
+                      primary.worst().metric, primary.worst().param );
+
+    best.copy( primary.best() );
+    evaluations = 0;
+    budget      = ( long ) config.maxgen() * ( long ) popSize;
+    done        = model.meetsThreshold( best.metric );
+
+    logger.debug( "SteadyStateUGA: Begin Evolution" );
+
+    StopWatch swatch = new StopWatch();
+
+    ExecutorService pool = Executors.newFixedThreadPool( worker.length );
+    try {
+      List< Future< Void > > fin = pool.invokeAll( tasks );
+      for ( Future< Void > f : fin ) {
+        f.get();
+      }
+    } catch( InterruptedException e ) {
+      logger.error( "SteadyStateUGA: interrupted" );
+    } catch( ExecutionException e ) {
+      logger.error( "SteadyStateUGA: worker failed - "+e.getCause().toString() );
+    } finally {
+      pool.shutdown();
+    }
+
+    double elapsed = swatch.seconds();
+
+    logger.info(
+        String.format( "SteadyStateUGA: End Evolution - %d population members %d evaluations %g seconds.",
+                       popSize, evaluations, elapsed ) );
+
+    primary.genStats( true );
+
+    model.run_after( primary.best().metric,  primary.best().param,
+                     primary.worst().metric, primary.worst().param );
+  }
+
+} // end class SteadyStateUGA
+
+// =======================================================================================
+// **                            S T E A D Y S T A T E U G A                            **
+// ======================================================================== END FILE =====
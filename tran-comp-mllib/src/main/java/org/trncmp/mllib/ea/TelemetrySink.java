@@ -0,0 +1,162 @@
+// ====================================================================== BEGIN FILE =====
+// **                             T E L E M E T R Y S I N K                             **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file TelemetrySink.java
+ * <p>
+ * Provides a CSV or JSON writer for UGA generation statistics.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class TelemetrySink
+ *
+ *  Writes one record per generation. Files ending in .json or .jsonl receive one JSON
+ *  object per line, any other name receives CSV with a header row. JSON has no literal
+ *  for NaN or infinity, so non-finite values are written as null.
+ */
+// ---------------------------------------------------------------------------------------
+public class TelemetrySink implements GenerationListener {
+  // -------------------------------------------------------------------------------------
+  static final Logger logger = LogManager.getLogger();
+
+  public static final int CSV  = 1;
+  public static final int JSON = 2;
+
+  static final String F6  = "%.6e";
+  static final String F12 = "%.12e";
+
+  protected final PrintWriter out;
+  protected final int         format;
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param fspc path to the output file.
+   */
+  // -------------------------------------------------------------------------------------
+  public TelemetrySink( String fspc ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    this( new PrintWriter( new BufferedWriter( new FileWriter( fspc ) ) ),
+          ( fspc.endsWith( ".json" ) || fspc.endsWith( ".jsonl" ) ) ? JSON : CSV );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Constructor.
+   *  @param pw  destination.
+   *  @param fmt TelemetrySink.CSV or TelemetrySink.JSON.
+   */
+  // -------------------------------------------------------------------------------------
+  public TelemetrySink( PrintWriter pw, int fmt ) {
+    // -----------------------------------------------------------------------------------
+    out    = pw;
+    format = fmt;
+    if ( CSV == format ) {
+      out.println( "generation,wall,pre_process,score,select,crossover,mutate,improve,stats,"+
+                   "evaluations,throughput,best,worst,mean,pcross,pmutate,smutate,success" );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief JSON number.
+   *  @param fmt format for a finite value.
+   *  @param x   value.
+   *  @return x formatted by fmt, or null if x is not finite.
+   */
+  // -------------------------------------------------------------------------------------
+  static String json( String fmt, double x ) {
+    // -----------------------------------------------------------------------------------
+    if ( Double.isNaN( x ) || Double.isInfinite( x ) ) {
+      return "null";
+    }
+    return String.format( Locale.ROOT, fmt, x );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Generation.
+   *  @param S measurements of the generation just completed.
+   */
+  // -------------------------------------------------------------------------------------
+  public void generation( GenerationStats S ) {
+    // -----------------------------------------------------------------------------------
+    if ( JSON == format ) {
+      out.println( String.format( Locale.ROOT,
+          "{\"generation\":%d,\"wall\":%s,\"pre_process\":%s,\"score\":%s,"+
+          "\"select\":%s,\"crossover\":%s,\"mutate\":%s,\"improve\":%s,"+
+          "\"stats\":%s,"+
+          "\"evaluations\":%d,\"throughput\":%s,\"best\":%s,\"worst\":%s,"+
+          "\"mean\":%s,\"pcross\":%s,\"pmutate\":%s,\"smutate\":%s,"+
+          "\"success\":%s}",
+          S.generation, json( F6, S.wall ), json( F6, S.preProcess ), json( F6, S.score ),
+          json( F6, S.select ), json( F6, S.crossover ), json( F6, S.mutate ),
+          json( F6, S.improve ), json( F6, S.stats ), S.evaluations,
+          json( F6, S.throughput() ),
+          json( F12, S.best ), json( F12, S.worst ), json( F12, S.mean ),
+          json( F6, S.pCross ), json( F6, S.pMutate ), json( F6, S.sMutate ),
+          json( F6, S.success ) ) );
+    } else {
+      out.println( String.format( Locale.ROOT,
+          "%d,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%d,%.6e,%.12e,%.12e,%.12e,"+
+          "%.6e,%.6e,%.6e,%.6e",
+          S.generation, S.wall, S.preProcess, S.score, S.select, S.crossover,
+          S.mutate, S.improve, S.stats, S.evaluations, S.throughput(),
+          S.best, S.worst, S.mean, S.pCross, S.pMutate, S.sMutate, S.success ) );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Finish.
+   *
+   *  Flush and close the output.
+   */
+  // -------------------------------------------------------------------------------------
+  public void finish( ) {
+    // -----------------------------------------------------------------------------------
+    out.close();
+    if ( out.checkError() ) {
+      logger.error( "TelemetrySink: write failed" );
+    }
+  }
+
+} // end class TelemetrySink
+
+// =======================================================================================
+// **                             T E L E M E T R Y S I N K                             **
+// ======================================================================== END FILE =====
@@ -40,9 +40,14 @@
 
 package org.trncmp.mllib.ea;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 import org.trncmp.lib.Math2;
 import org.trncmp.lib.AppOptions;
 import org.trncmp.lib.StopWatch;
+import org.trncmp.lib.SeedMatter;
 
 import org.trncmp.lib.ConfigDB;
 import org.trncmp.lib.StringTool;
@@ -65,6 +70,34 @@ public class UGA {
   public static final int NOISE     = 23;
   public static final int CLONE     = 24;
 
+  public static final int PER_MEMBER = 31;
+  public static final int CHUNKED    = 32;
+  public static final int PROCESS    = 33;
+
+  public static final int SERIAL     = 41;
+  public static final int PARALLEL   = 42;
+
+  public static final int RING       = 51;
+  public static final int FULL       = 52;
+
+  public static final int OBJECTS    = 61;
+  public static final int PACKED     = 62;
+
+  public static final int GENERATIONAL = 71;
+  public static final int STEADY       = 72;
+  public static final int NSGA2        = 73;
+  public static final int CMAES        = 74;
+
+  public static final int SCALAR     = 81;
+  public static final int BULK       = 82;
+
+  public static final int TOURNAMENT = 91;
+  public static final int RANK       = 92;
+  public static final int SUS        = 93;
+
+  public static final int SCHEDULE   = 101;
+  public static final int ADAPTIVE   = 102;
+
   /** pointer to the configuration object */
   private UGAConfiguration config = null;
 
@@ -80,6 +113,46 @@ public class UGA {
   //** Model execution queue
   private ModelExecutor model_exec = null;
 
+  //** Concurrent selection, crossover and mutation ( null = serial )
+  private ReproductionExecutor repro_exec = null;
+
+  //** Island model driver ( null = single population )
+  private IslandUGA islands = null;
+
+  //** Fitness memo ( null = always execute the model )
+  private FitnessCache fit_cache = null;
+
+  //** Concurrent local improvement of children ( null = none )
+  private LocalSearchExecutor local_exec = null;
+
+  //** Asynchronous steady state driver ( null = generational )
+  private SteadyStateUGA steady = null;
+
+  //** NSGA-II multi-objective driver ( null = single objective )
+  private MultiObjectiveUGA multi = null;
+
+  //** CMA-ES driver ( null = genetic algorithm )
+  private CovarianceMatrixES cmaes = null;
+
+  //** Success based parameter control ( null = fixed schedules )
+  private AdaptiveControl control = null;
+
+  //** Background checkpoint writer ( null = no checkpoints )
+  private Checkpoint checkpoint = null;
+
+  //** First generation of run(), non zero after resume
+  private int start_gen = 0;
+
+  //** true if the state was restored from a checkpoint
+  private boolean resumed = false;
+
+  //** Per generation measurement observers
+  private java.util.List<GenerationListener> listeners =
+      new java.util.ArrayList<GenerationListener>();
+
+  //** Measurements for the current generation
+  private final GenerationStats gen_stats = new GenerationStats();
+
   // -------------------------------------------------------------------------------------
 
   public static AppOptions.cli_map[] DEFAULT_CLI = {
@@ -96,6 +169,27 @@ public class UGA {
     AppOptions.INIT( "old",     "AUX", "oldpop",  false, null,           "path to old population"    ),
     AppOptions.INIT( "new",     "AUX", "newpop",  false, null,           "path to new population"    ),
     AppOptions.INIT( "mp",      "MP",  "cpu",     false, null,           "max threads"    ),
+    AppOptions.INIT( "exec",    "UGA", "exec",    false, null,           "evaluation {member|chunked|process}" ),
+    AppOptions.INIT( "repro",   "UGA", "reproduce", false, null,         "reproduction {serial|parallel}" ),
+    AppOptions.INIT( "seed",    "UGA", "seed",    false, null,           "random seed 0=urandom"     ),
+    AppOptions.INIT( "islands", "UGA", "islands", false, null,           "number of islands"         ),
+    AppOptions.INIT( "migrate", "UGA", "migrate", false, null,           "generations between migrations" ),
+    AppOptions.INIT( "topology","UGA", "topology",false, null,           "migration {ring|full}"     ),
+    AppOptions.INIT( "migrants","UGA", "migrants",false, null,           "members sent per migration" ),
+    AppOptions.INIT( "cache",   "UGA", "cache",   false, null,           "fitness cache entries 0=off" ),
+    AppOptions.INIT( "layout",  "UGA", "layout",  false, null,           "population storage {objects|packed}" ),
+    AppOptions.INIT( "evolve",  "UGA", "evolve",  false, null,           "evolution {generational|steady|nsga2|cmaes}" ),
+    AppOptions.INIT( "ckpt",    "UGA", "checkpoint", false, null,        "path to checkpoint file"   ),
+    AppOptions.INIT( "ckptint", "UGA", "ckpt_interval", false, null,     "checkpoint interval 0=none" ),
+    AppOptions.INIT( "resume",  "UGA", "resume",  false, null,           "resume from checkpoint file" ),
+    AppOptions.INIT( "telem",   "UGA", "telemetry", false, null,         "per generation telemetry file" ),
+    AppOptions.INIT( "local",   "UGA", "local",   false, null,           "fraction of children improved" ),
+    AppOptions.INIT( "worker",  "UGA", "worker",  false, null,           "worker command ( exec=process )" ),
+    AppOptions.INIT( "pipeline","UGA", "pipeline",false, null,           "requests in flight per worker" ),
+    AppOptions.INIT( "kernel",  "UGA", "kernel",  false, null,           "real operators {scalar|bulk}" ),
+    AppOptions.INIT( "select",  "UGA", "select",  false, null,           "selection {tournament|rank|sus}" ),
+    AppOptions.INIT( "press",   "UGA", "pressure",false, null,           "rank selective pressure (1,2]" ),
+    AppOptions.INIT( "control", "UGA", "control", false, null,           "parameters {schedule|adaptive}" ),
   };
 
 
@@ -134,10 +228,180 @@ public class UGA {
     int n_pop = config.nPop();
     int n_cpu = config.nCPU();
 
+    if ( UGA.TOURNAMENT != config.selection() ) {
+      if ( UGA.GENERATIONAL != config.evolution() ) {
+        logger.error( "select=rank or sus requires evolve=generational" );
+        System.exit(1);
+      }
+      if ( ( UGA.SUS == config.selection() ) && ( UGA.PARALLEL == config.reproduction() ) ) {
+        logger.error( "select=sus is not supported with reproduce=parallel" );
+        System.exit(1);
+      }
+    }
+
+    // ----- allocate before seeding, so a seeded run does not depend on the cache -------
+    if ( 0 < config.cacheSize() ) {
+      fit_cache = new FitnessCache( model, config.cacheSize() );
+    }
+
+    if ( 0 != config.seed() ) {
+      ent.seed_set( new SeedMatter( new long[] { config.seed() } ) );
+    }
+
+    if ( ( UGA.ADAPTIVE == config.control() ) &&
+         ( ( 1 < config.nIsland() ) || ( UGA.GENERATIONAL != config.evolution() ) ) ) {
+      logger.error( "control=adaptive requires a single population and evolve=generational" );
+      System.exit(1);
+    }
+
+    if ( ( UGA.STEADY == config.evolution() ) && ( UGA.PER_MEMBER != config.execMode() ) ) {
+      logger.error( "exec=chunked or process is not supported with evolve=steady" );
+      System.exit(1);
+    }
+
+    if ( 1 < config.nIsland() ) {
+      if ( ( null != config.resume() ) || ( 0 < config.checkpointInterval() ) ) {
+        logger.error( "checkpoint and resume are not supported with islands" );
+        System.exit(1);
+      }
+      if ( UGA.GENERATIONAL != config.evolution() ) {
+        logger.error( "islands require evolve=generational" );
+        System.exit(1);
+      }
+      if ( UGA.PER_MEMBER != config.execMode() ) {
+        logger.error( "exec=chunked or process is not supported with islands" );
+        System.exit(1);
+      }
+      if ( UGA.PARALLEL == config.reproduction() ) {
+        logger.error( "reproduce=parallel is not supported with islands" );
+        System.exit(1);
+      }
+      if ( null != config.telemetry() ) {
+        logger.error( "telemetry is not supported with islands" );
+        System.exit(1);
+      }
+      islands = new IslandUGA( config, model, fit_cache );
+      primary = islands.get( 0 );
+      return;
+    }
+
     primary = new Population( n_pop, model );
     working = new Population( n_pop, model );
+    primary.setKernel( config.kernel() );
+    working.setKernel( config.kernel() );
+    primary.selection( config.selection(), config.pressure() );
+
+    if ( UGA.PACKED == config.layout() ) {
+      Pack( primary );
+      Pack( working );
+    }
+
+    if ( UGA.STEADY == config.evolution() ) {
+      steady = new SteadyStateUGA( config, model, primary, fit_cache );
+    } else if ( UGA.NSGA2 == config.evolution() ) {
+      if ( 0 != ( n_pop % 2 ) ) {
+        logger.error( "evolve=nsga2 requires an even population size" );
+        System.exit(1);
+      }
+    } else if ( ( UGA.PARALLEL == config.reproduction() ) &&
+                ( UGA.CMAES != config.evolution() ) ) {
+      repro_exec = new ReproductionExecutor( primary, working, n_cpu );
+    }
+
+    if ( UGA.ADAPTIVE == config.control() ) {
+      control = new AdaptiveControl( config, model, n_pop );
+      if ( null != repro_exec ) {
+        repro_exec.control = control;
+      }
+    }
+
+    switch( config.execMode() ) {
+      case UGA.CHUNKED:
+        model_exec = new ChunkedModelExecutor( model, n_cpu, n_pop );
+        break;
+      case UGA.PROCESS:
+        if ( null == config.workerCommand() ) {
+          logger.error( "exec=process requires worker=command" );
+          System.exit(1);
+        }
+        model_exec = new ProcessModelExecutor( model, n_cpu, config.workerCommand(),
+                                               config.pipeline() );
+        break;
+      default:
+        model_exec = new ModelExecutor( model, n_cpu, n_pop );
+        break;
+    }
+
+    model_exec.setCache( fit_cache );
+
+    if ( ( null == steady ) && ( UGA.CMAES != config.evolution() ) &&
+         ( 0.0e0 < config.localSearch() ) ) {
+      int n_loc = ( int ) Math.round( config.localSearch() * ( double ) n_pop );
+      if ( 0 < n_loc ) {
+        local_exec = new LocalSearchExecutor( model, n_cpu, n_loc );
+      }
+    }
+
+    if ( UGA.NSGA2 == config.evolution() ) {
+      multi = new MultiObjectiveUGA( config, model, primary, working, local_exec );
+    }
+
+    if ( UGA.CMAES == config.evolution() ) {
+      if ( ! ( primary.get(0).param instanceof RealEncoding ) ) {
+        logger.error( "evolve=cmaes requires a RealEncoding" );
+        System.exit(1);
+      }
+      if ( 4 > n_pop ) {
+        logger.error( "evolve=cmaes requires a population of at least 4" );
+        System.exit(1);
+      }
+      cmaes = new CovarianceMatrixES( config, model, primary );
+    }
+
+    if ( ( null != config.checkpoint() ) && ( 0 < config.checkpointInterval() ) ) {
+      if ( ( null != steady ) || ( null != multi ) || ( null != cmaes ) ) {
+        logger.error( "checkpoint is not supported with evolve=steady, nsga2 or cmaes" );
+        System.exit(1);
+      }
+      checkpoint = new Checkpoint( config.checkpoint() );
+    }
+
+    if ( null != config.resume() ) {
+      if ( ( null != steady ) || ( null != multi ) || ( null != cmaes ) ) {
+        logger.error( "resume is not supported with evolve=steady, nsga2 or cmaes" );
+        System.exit(1);
+      }
+      if ( resume( config.resume() ) ) {
+        System.exit(1);
+      }
+    }
+
+    if ( null != config.telemetry() ) {
+      if ( ( null != steady ) || ( null != multi ) || ( null != cmaes ) ) {
+        logger.error( "telemetry is not supported with evolve=steady, nsga2 or cmaes" );
+        System.exit(1);
+      }
+      try {
+        addListener( new TelemetrySink( config.telemetry() ) );
+      } catch( IOException e ) {
+        logger.error( "UGA: cannot open telemetry "+config.telemetry()+" - "+e.toString() );
+        System.exit(1);
+      }
+    }
+  }
 
-    model_exec = new ModelExecutor( model, n_cpu, n_pop );
+  
+  // =====================================================================================
+  /** @brief Add Listener.
+   *  @param L pointer to an observer of each generation.
+   *
+   *  L is notified after every generation of run(), and finished when run() returns.
+   *  Only the generational single population driver reports generations.
+   */
+  // -------------------------------------------------------------------------------------
+  public void addListener( GenerationListener L ) {
+    // -----------------------------------------------------------------------------------
+    listeners.add( L );
   }
 
   
@@ -158,6 +422,27 @@ public class UGA {
                                       PopulationMember c1, PopulationMember c2,
                                       PopulationMember p1, PopulationMember p2 ) {
     // -----------------------------------------------------------------------------------
+    return Crossover( ent, pCross, c1, c2, p1, p2 );
+  }
+
+
+  // =====================================================================================
+  /** @brief CrossOver.
+   *  @param E      pointer to the Entropy instance used for the go/no-go decision.
+   *  @param pCross probability of crossover vs. clone.
+   *  @param p1 pointer to parent number one.
+   *  @param p2 pointer to parent number two.
+   *  @param c1 pointer to child number one.
+   *  @param c2 pointer to child number two.
+   *  @return true if crossover took place.
+   *
+   *  Same as Crossover( pCross, c1, c2, p1, p2 ), drawing from the supplied random stream.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static boolean Crossover( org.trncmp.mllib.Entropy E, double pCross,
+                                      PopulationMember c1, PopulationMember c2,
+                                      PopulationMember p1, PopulationMember p2 ) {
+    // -----------------------------------------------------------------------------------
     if ( null == p1 ) {
       throw new NullPointerException("Parent 1 ( NULL )");
     }
@@ -174,10 +459,12 @@ public class UGA {
       throw new NullPointerException("Child 2 ( NULL )");
     }
 
-    if ( ent.bool( pCross ) ) {
+    if ( E.bool( pCross ) ) {
       c1.param.crossover( c2.param, p1.param, p2.param );
-      c1.age = 0;
-      c2.age = 0;
+      c1.age   = 0;
+      c2.age   = 0;
+      c1.dirty = true;
+      c2.dirty = true;
       return true;
     }
     
@@ -196,10 +483,13 @@ public class UGA {
    *  @param src pointer to original Member.
    *  @param perc probability that mutation is going to take place.
    *  @param scale percentage of elements that get mutated.
-   *  @return true if mutation took place.
+   *  @return number of elements mutated.
    *
    *  Determine if mutation will take place. If not, perform a simple clone. Mutation is
-   *  performed by calling the functions of the underling structure.
+   *  performed by calling the functions of the underling structure. A member with no
+   *  mutated elements keeps the metric and dirty state of its source. A mutated member
+   *  starts from the metric of its source, so that encodings which record their edits
+   *  can be scored incrementally ( see Encoding.deltaBase ).
    */
   // -------------------------------------------------------------------------------------
   protected static int Mutate( PopulationMember dst, PopulationMember src,
@@ -211,10 +501,185 @@ public class UGA {
 
     dst.age = src.age;
     
-    return dst.param.mutate( src.param, perc, scale );
+    int n = dst.param.mutate( src.param, perc, scale );
+
+    if ( 0 < n ) {
+      dst.metric.copy( src.metric );
+      dst.param.deltaBase( ! src.dirty );
+      dst.dirty = true;
+    } else {
+      dst.metric.copy( src.metric );
+      dst.dirty = src.dirty;
+    }
+
+    return n;
+  }
+
+
+  // =====================================================================================
+  /** @brief Improve.
+   *  @param mod pointer to a fitness model.
+   *  @param M   pointer to a population member.
+   *  @return true if the member was changed.
+   *
+   *  Apply the model's local improvement. A changed member must be scored again.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static boolean Improve( Model mod, PopulationMember M ) {
+    // -----------------------------------------------------------------------------------
+    if ( mod.improve( M.metric, M.param ) ) {
+      M.param.deltaBase( false );
+      M.dirty = true;
+      return true;
+    }
+    return false;
+  }
+
+
+  // =====================================================================================
+  /** @brief Reproduce.
+   *  @param E        pointer to the Entropy instance used for selection and crossover.
+   *  @param primary  pointer to the evolving population.
+   *  @param working  pointer to the intermediate population.
+   *  @param tourSize number of members examined in a tournament.
+   *  @param pCross   probability of crossover vs. clone.
+   *  @param pMutate  probability that an allele is mutated.
+   *  @param scale    scale of the mutation.
+   *
+   *  Perform one generation of selection, crossover and mutation. The primary population
+   *  is replaced by the mutated children.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static void Reproduce( org.trncmp.mllib.Entropy E,
+                                   Population primary, Population working,
+                                   int tourSize, double pCross,
+                                   double pMutate, double scale ) {
+    // -----------------------------------------------------------------------------------
+    Reproduce( E, primary, working, tourSize, pCross, pMutate, scale, null, null );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Reproduce.
+   *  @param E        pointer to the Entropy instance used for selection and crossover.
+   *  @param primary  pointer to the evolving population.
+   *  @param working  pointer to the intermediate population.
+   *  @param tourSize number of members examined in a tournament.
+   *  @param pCross   probability of crossover vs. clone.
+   *  @param pMutate  probability that an allele is mutated.
+   *  @param scale    scale of the mutation.
+   *  @param T        accumulates select, crossover and mutate times ( may be null ).
+   *  @param A        records the parents and mutations of each child ( may be null ).
+   *
+   *  Same as Reproduce without T and A. Neither changes the random sequence.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static void Reproduce( org.trncmp.mllib.Entropy E,
+                                   Population primary, Population working,
+                                   int tourSize, double pCross,
+                                   double pMutate, double scale,
+                                   GenerationStats T, AdaptiveControl A ) {
+    // -----------------------------------------------------------------------------------
+    int popSize = primary.size();
+
+    // ----- select & cross -- ( cycle 1 ) -----------------------------------------------
+
+    long tSel   = 0;
+    long tCross = 0;
+
+    if ( null == T ) {
+      primary.prepare( E );
+    } else {
+      long t0 = System.nanoTime();
+      primary.prepare( E );
+      tSel += ( System.nanoTime() - t0 );
+    }
+
+    for ( int i=0; i<popSize; i+=2 ) {
+      int p1, p2;
+
+      long t0 = ( null == T ) ? 0 : System.nanoTime();
+
+      p1 = primary.select( tourSize, E );
+      do {
+        p2 = primary.select( tourSize, E );
+      } while( p1 == p2 );
+
+      long t1 = ( null == T ) ? 0 : System.nanoTime();
+
+      boolean x = Crossover( E, pCross,
+                             working.get(i),  working.get(i+1),
+                             primary.get(p1), primary.get(p2) );
+
+      if ( null != A ) {
+        A.parents( i, x, primary.get(p1).metric, primary.get(p2).metric );
+      }
+
+      if ( null != T ) {
+        long t2 = System.nanoTime();
+        tSel   += ( t1 - t0 );
+        tCross += ( t2 - t1 );
+      }
+    }
+
+    // ----- mutate population -- ( cycle 2 ) --------------------------------------------
+
+    long t3 = ( null == T ) ? 0 : System.nanoTime();
+
+    for ( int i=0; i<popSize; i++ ) {
+      int n = Mutate( primary.get(i), working.get(i), pMutate, scale );
+      if ( null != A ) {
+        A.mutated( i, n );
+      }
+    }
+
+    if ( null != T ) {
+      T.select    += 1.0e-9 * ( double ) tSel;
+      T.crossover += 1.0e-9 * ( double ) tCross;
+      T.mutate    += GenerationStats.seconds( t3 );
+    }
   }
 
 
+  // =====================================================================================
+  /** @brief Pareto Front.
+   *  @return members of the first non-dominated front after run(), or null unless
+   *          evolve = nsga2.
+   */
+  // -------------------------------------------------------------------------------------
+  public PopulationMember[] paretoFront( ) {
+    // -----------------------------------------------------------------------------------
+    return ( null == multi ) ? null : multi.front();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Fitness Cache.
+   *  @return pointer to the fitness cache, null if caching is off.
+   */
+  // -------------------------------------------------------------------------------------
+  public FitnessCache fitnessCache( ) {
+    // -----------------------------------------------------------------------------------
+    return fit_cache;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Pack.
+   *  @param P pointer to a population.
+   *
+   *  Store the population in packed arrays ( layout = packed ).
+   */
+  // -------------------------------------------------------------------------------------
+  static void Pack( Population P ) {
+    // -----------------------------------------------------------------------------------
+    if ( ! P.pack() ) {
+      logger.error( "layout=packed requires equal length RealEncodings" );
+      System.exit(1);
+    }
+  }
+
+  
   // =====================================================================================
   /** @brief Randomize.
    *
@@ -235,6 +700,14 @@ public class UGA {
   // -------------------------------------------------------------------------------------
   public void randomize( double b ) {
     // -----------------------------------------------------------------------------------
+    if ( resumed ) {
+      logger.info( "UGA: resumed from checkpoint, randomize skipped" );
+      return;
+    }
+    if ( null != islands ) {
+      islands.randomize( b );
+      return;
+    }
     primary.randomize( b );
   }
 
@@ -347,6 +820,104 @@ public class UGA {
   }
 
   
+  // =====================================================================================
+  /** @brief Write Checkpoint.
+   *  @param next_gen generation that the resumed run starts with.
+   *  @return false if no errors occured.
+   *
+   *  Serialize the generation counter, random streams and both populations, then hand
+   *  them to the background writer. The schedule position is next_gen / maxgen.
+   */
+  // -------------------------------------------------------------------------------------
+  protected boolean writeCheckpoint( int next_gen ) {
+    // -----------------------------------------------------------------------------------
+    try {
+      DataOutputStream out = checkpoint.begin();
+      out.writeInt( next_gen );
+      out.writeInt( config.maxgen() );
+      ent.writeState( out );
+      out.writeBoolean( null != repro_exec );
+      if ( null != repro_exec ) {
+        repro_exec.writeState( out );
+      }
+      out.writeBoolean( null != control );
+      if ( null != control ) {
+        control.writeState( out );
+      }
+      primary.write( out );
+      working.write( out );
+      checkpoint.commit( out );
+    } catch ( IOException e ) {
+      logger.error( "UGA: checkpoint failed - "+e.toString() );
+      return true;
+    }
+    return false;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Resume.
+   *  @param fspc path to a checkpoint file.
+   *  @return false if no errors occured.
+   *
+   *  Restore the state written by writeCheckpoint. The population size, reproduction
+   *  mode and number of processors must match the run that wrote it. The next call to
+   *  run continues with the generation after the checkpoint, and randomize is ignored.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean resume( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != islands ) {
+      logger.error( "UGA: resume is not supported with islands" );
+      return true;
+    }
+
+    try {
+      DataInputStream in = Checkpoint.open( fspc );
+      try {
+        int next_gen = in.readInt();
+        int maxgen   = in.readInt();
+        if ( maxgen != config.maxgen() ) {
+          logger.warn( String.format( "UGA: checkpoint maxgen %d, configured %d",
+                                      maxgen, config.maxgen() ) );
+        }
+
+        ent.readState( in );
+
+        boolean par = in.readBoolean();
+        if ( par != ( null != repro_exec ) ) {
+          throw new IOException( "reproduce mode differs from checkpoint" );
+        }
+        if ( par ) {
+          repro_exec.readState( in );
+        }
+
+        boolean adapt = in.readBoolean();
+        if ( adapt != ( null != control ) ) {
+          throw new IOException( "parameter control differs from checkpoint" );
+        }
+        if ( adapt ) {
+          control.readState( in );
+        }
+
+        primary.read( in );
+        working.read( in );
+
+        start_gen = next_gen;
+        resumed   = true;
+      } finally {
+        in.close();
+      }
+    } catch ( IOException e ) {
+      logger.error( "UGA: cannot resume from "+fspc+" - "+e.toString() );
+      return true;
+    }
+
+    logger.info( "UGA: resumed "+fspc+" at generation "+start_gen );
+    return false;
+  }
+
+  
   // =====================================================================================
   /** @brief Write Population.
    *  @param fspc string containing the path to a population file.
@@ -368,6 +939,37 @@ public class UGA {
   // -------------------------------------------------------------------------------------
   public void run() {
     // -----------------------------------------------------------------------------------
+    if ( null != islands ) {
+      islands.run();
+      if ( null != fit_cache ) {
+        logger.info( fit_cache.toString() );
+      }
+      return;
+    }
+
+    if ( null != steady ) {
+      steady.run( model_exec );
+      if ( null != fit_cache ) {
+        logger.info( fit_cache.toString() );
+      }
+      return;
+    }
+
+    if ( null != multi ) {
+      multi.run( model_exec );
+      if ( null != fit_cache ) {
+        logger.info( fit_cache.toString() );
+      }
+      return;
+    }
+
+    if ( null != cmaes ) {
+      cmaes.run( model_exec );
+      if ( null != fit_cache ) {
+        logger.info( fit_cache.toString() );
+      }
+      return;
+    }
 
     int popSize  = config.nPop();
     int tourSize = config.nTour();
@@ -381,13 +983,17 @@ public class UGA {
       encode_array[i] = primary.get(i).param;
     }
   
-    model.pre_process( encode_array, popSize );
+    // ----- a resumed population is already scored -------------------------------------
 
-    //primary.score();
+    if ( ! resumed ) {
+      model.pre_process( encode_array, popSize );
 
-    model_exec.execute( primary );
+      //primary.score();
 
-    Population.ScoreReturn SR = primary.genStats( true );
+      model_exec.execute( primary );
+
+      primary.genStats( true );
+    }
 
     // ===================================================================================
     // -----              U G A   M a i n   E v o l u t i o n   L o o p              -----
@@ -402,42 +1008,85 @@ public class UGA {
 
     StopWatch swatch = new StopWatch();
 
-    for ( iGen=0; iGen<maxgen; iGen++ ) {
+    GenerationStats T = listeners.isEmpty() ? null : gen_stats;
+    long t0 = 0, t1 = 0;
+
+    for ( iGen=start_gen; iGen<maxgen; iGen++ ) {
       double t = ( ( ( double )iGen )/( ( double )maxgen ) );
       double pCross  = Math2.PARAMETRIC( config.pCrossStart(),  config.pCrossFinal(),  t );
       double pMutate = Math2.PARAMETRIC( config.pMutateStart(), config.pMutateFinal(), t );
       double scale   = Math2.PARAMETRIC( config.sMutateStart(), config.sMutateFinal(), t );
 
-      // ----- select & cross -- ( cycle 1 ) ---------------------------------------------
+      if ( null != control ) {
+        pCross  = control.pCross();
+        pMutate = control.pMutate();
+        scale   = control.scale();
+      }
 
-      for ( int i=0; i<popSize; i+=2 ) {
-        int p1, p2;
+      if ( null != T ) {
+        T.reset( iGen );
+        T.pCross  = pCross;
+        T.pMutate = pMutate;
+        T.sMutate = scale;
+        t0 = System.nanoTime();
+      }
 
-        p1 = primary.select( tourSize );
-        do {
-          p2 = primary.select( tourSize );
-        } while( p1 == p2 );
+      // ----- select, cross & mutate ----------------------------------------------------
 
-        Crossover( pCross,
-                   working.get(i),  working.get(i+1),
-                   primary.get(p1), primary.get(p2) );
+      if ( null == repro_exec ) {
+        Reproduce( ent, primary, working, tourSize, pCross, pMutate, scale, T, control );
+      } else {
+        t1 = ( null == T ) ? 0 : System.nanoTime();
+        repro_exec.crossover( tourSize, pCross );
+        if ( null != T ) {
+          T.crossover = GenerationStats.seconds( t1 );
+          t1 = System.nanoTime();
+        }
+        repro_exec.mutate( pMutate, scale );
+        if ( null != T ) {
+          T.mutate = GenerationStats.seconds( t1 );
+        }
       }
 
-      // ----- mutate population -- ( cycle 2 ) ------------------------------------------
+      // ----- local improvement ---------------------------------------------------------
 
-      for ( int i=0; i<popSize; i++ ) {
-        Mutate( primary.get(i), working.get(i), pMutate, scale );
+      if ( null != local_exec ) {
+        t1 = ( null == T ) ? 0 : System.nanoTime();
+        local_exec.improve( primary, iGen );
+        if ( null != T ) {
+          T.improve = GenerationStats.seconds( t1 );
+        }
       }
 
       // ----- score population ----------------------------------------------------------
 
+      t1 = ( null == T ) ? 0 : System.nanoTime();
+
       model.pre_process( encode_array, popSize );
 
+      if ( null != T ) {
+        T.preProcess  = GenerationStats.seconds( t1 );
+        T.evaluations = primary.dirty();
+        t1 = System.nanoTime();
+      }
+
       // primary.score();
 
       model_exec.execute( primary );
 
-      SR = primary.genStats( false );
+      if ( null != T ) {
+        T.score = GenerationStats.seconds( t1 );
+        t1 = System.nanoTime();
+      }
+
+      if ( null != control ) {
+        control.update( primary );
+        if ( null != T ) {
+          T.success = control.success();
+        }
+      }
+
+      Population.ScoreReturn SR = primary.genStats( false );
 
       int     badIndex = SR.worstIndex;
       boolean newBest  = SR.newBest;
@@ -448,6 +1097,10 @@ public class UGA {
         primary.set(badIndex, primary.best() );
       }
 
+      if ( null != T ) {
+        T.stats = GenerationStats.seconds( t1 );
+      }
+
       // ----- report results ------------------------------------------------------------
 
       if ( 0 == ( iGen % config.report() ) ) {
@@ -468,11 +1121,35 @@ public class UGA {
         }
       }
 
+      if ( null != checkpoint ) {
+        if ( 0 == ( ( iGen + 1 ) % config.checkpointInterval() ) ) {
+          writeCheckpoint( iGen + 1 );
+        }
+      }
+
+      // ----- notify listeners ----------------------------------------------------------
+
+      if ( null != T ) {
+        T.summarize( SR, primary );
+        T.wall = GenerationStats.seconds( t0 );
+        for ( GenerationListener L : listeners ) {
+          L.generation( T );
+        }
+      }
+
       if ( model.meetsThreshold( primary.best().metric ) ) {
         break;
       }
     }
 
+    if ( null != checkpoint ) {
+      checkpoint.await();
+    }
+
+    for ( GenerationListener L : listeners ) {
+      L.finish();
+    }
+
     // ===================================================================================
     // -----              U G A   M a i n   E v o l u t i o n   L o o p              -----
     // ===================================================================================
@@ -485,11 +1162,36 @@ public class UGA {
         String.format("UGA: End Evolution - %d population members %d generations %g seconds.",
                       popSize, maxgen, elapsed ) );
 
+    if ( null != fit_cache ) {
+      logger.info( fit_cache.toString() );
+    }
+
     model.run_after( primary.best().metric,  primary.best().param,
                      primary.worst().metric, primary.worst().param );
   }
 
 
+  // =====================================================================================
+  /** @brief Shutdown.
+   *
+   *  Release the worker threads held by the model, reproduction and local search
+   *  executors. This UGA may not be run afterwards.
+   */
+  // -------------------------------------------------------------------------------------
+  public void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != model_exec ) {
+      model_exec.shutdown();
+    }
+    if ( null != repro_exec ) {
+      repro_exec.shutdown();
+    }
+    if ( null != local_exec ) {
+      local_exec.shutdown();
+    }
+  }
+
+
 } // end class UGA
 
   
@@ -96,6 +96,69 @@ public class UGAConfiguration {
   /** Maximum number of concurrent threads that are available */
   private int p_nCPU = 4;
 
+  /** Model evaluation engine (UGA.PER_MEMBER, UGA.CHUNKED or UGA.PROCESS) */
+  private int p_execMode = UGA.PER_MEMBER;
+
+  /** Command line of an evaluation worker process ( exec = process ) */
+  private String[] p_worker = null;
+
+  /** Number of requests in flight per worker process */
+  private int p_pipeline = 2;
+
+  /** Selection, crossover and mutation (UGA.SERIAL or UGA.PARALLEL) */
+  private int p_reproduction = UGA.SERIAL;
+
+  /** Seed for the Entropy singleton 0=seed from /dev/urandom */
+  private long p_seed = 0;
+
+  /** Number of islands 1=single population */
+  private int p_nIsland = 1;
+
+  /** Number of generations between migrations */
+  private int p_migrate = 50;
+
+  /** Migration topology (UGA.RING or UGA.FULL) */
+  private int p_topology = UGA.RING;
+
+  /** Number of members sent by each island per migration */
+  private int p_nMigrant = 1;
+
+  /** Number of fitness cache entries 0=no cache */
+  private int p_cacheSize = 0;
+
+  /** Population storage (UGA.OBJECTS or UGA.PACKED) */
+  private int p_layout = UGA.OBJECTS;
+
+  /** Evolution mode (UGA.GENERATIONAL, UGA.STEADY or UGA.NSGA2) */
+  private int p_evolution = UGA.GENERATIONAL;
+
+  /** Path to the checkpoint file ( null = no checkpoints ) */
+  private String p_checkpoint = null;
+
+  /** Number of generations between checkpoints 0=no checkpoints */
+  private int p_ckptInterval = 0;
+
+  /** Path to a checkpoint to resume from ( null = start fresh ) */
+  private String p_resume = null;
+
+  /** Path to the per generation telemetry file ( null = no telemetry ) */
+  private String p_telemetry = null;
+
+  /** Fraction of children passed to Model.improve each generation 0=none */
+  private double p_localFrac = 0.0e0;
+
+  /** RealEncoding operator kernels (UGA.SCALAR or UGA.BULK) */
+  private int p_kernel = UGA.SCALAR;
+
+  /** Parent selection (UGA.TOURNAMENT, UGA.RANK or UGA.SUS) */
+  private int p_selection = UGA.TOURNAMENT;
+
+  /** Linear ranking selective pressure (1,2] */
+  private double p_pressure = 1.5e0;
+
+  /** Parameter control (UGA.SCHEDULE or UGA.ADAPTIVE) */
+  private int p_control = UGA.SCHEDULE;
+
   private Model model = null;
 
   // =====================================================================================
@@ -411,226 +474,897 @@ public class UGAConfiguration {
   }
 
 
+  // =====================================================================================
+  /** @brief Set model evaluation engine.
+   *  @param m evaluation mode.
+   *  @return Pointer to this UGAConfiguration object.
+   *
+   *  UGA.PER_MEMBER submits one task per population member to a fixed thread pool.
+   *  UGA.CHUNKED splits the population into chunks on a work stealing pool.
+   *  UGA.PROCESS streams encodings to nCPU long lived worker processes ( see worker ).
+   *  evolve=steady scores children on its own workers and requires UGA.PER_MEMBER.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration execMode( int m ) {
+    // -----------------------------------------------------------------------------------
 
+    if ( ( UGA.PER_MEMBER != m ) && ( UGA.CHUNKED != m ) && ( UGA.PROCESS != m ) ) {
+      logger.error( "exec=m ; m must be member, chunked or process" );
+      System.exit(1);
+    }
 
+    p_execMode = m;
+
+    return this;
+  }
 
-  
 
   // =====================================================================================
-  /** @brief Get full report flag.
-   *  @return Flag for display of full report.
+  /** @brief Set worker command.
+   *  @param cmd command line of an evaluation worker process.
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Display an abbreviated report if users model supports it.
+   *  Used with exec = process. See ProcessModelExecutor for the protocol.
    */
   // -------------------------------------------------------------------------------------
-  public boolean fullReport( ) {
+  public UGAConfiguration workerCommand( String... cmd ) {
     // -----------------------------------------------------------------------------------
-    return p_fullReport;
+
+    if ( ( null == cmd ) || ( 0 == cmd.length ) ) {
+      logger.error( "worker=command ; command must not be empty" );
+      System.exit(1);
+    }
+
+    p_worker = cmd;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get maximum generations.
-   *  @return Maximum number of generations.
-   *
-   *  Maximum number of generations.
+  /** @brief Set pipeline depth.
+   *  @param n number of requests in flight per worker process.
+   *  @return Pointer to this UGAConfiguration object.
    */
   // -------------------------------------------------------------------------------------
-  public int maxgen( ) {
+  public UGAConfiguration pipeline( int n ) {
     // -----------------------------------------------------------------------------------
-    return p_maxgen;
+
+    if ( 1 > n ) {
+      logger.error( "pipeline=n ; n must be at least 1" );
+      System.exit(1);
+    }
+
+    p_pipeline = n;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get report interval.
-   *  @return Number of generations between report.
+  /** @brief Set reproduction mode.
+   *  @param m reproduction mode.
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Number of generations between reports.
+   *  UGA.SERIAL runs selection, crossover and mutation on the calling thread.
+   *  UGA.PARALLEL runs them across nCPU threads, each block of the population using
+   *  its own random stream.
    */
   // -------------------------------------------------------------------------------------
-  public int report( ) {
+  public UGAConfiguration reproduction( int m ) {
     // -----------------------------------------------------------------------------------
-    return p_report;
+
+    if ( ( UGA.SERIAL != m ) && ( UGA.PARALLEL != m ) ) {
+      logger.error( "reproduce=m ; m must be serial or parallel" );
+      System.exit(1);
+    }
+
+    p_reproduction = m;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get save interval.
-   *  @return Number of generations between saves.
+  /** @brief Set random seed.
+   *  @param s seed value.
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Number of generations between saves 0=no save.
+   *  Seed for the Entropy singleton. 0=seed from /dev/urandom.
    */
   // -------------------------------------------------------------------------------------
-  public int save( ) {
+  public UGAConfiguration seed( long s ) {
     // -----------------------------------------------------------------------------------
-    return p_save;
+    p_seed = s;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get population size.
-   *  @return Number of members in the population.
+  /** @brief Set number of islands.
+   *  @param n number of islands.
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Number of members in the population.
+   *  Each island evolves its own population of nPop members. 1=single population.
    */
   // -------------------------------------------------------------------------------------
-  public int nPop( ) {
+  public UGAConfiguration nIsland( int n ) {
     // -----------------------------------------------------------------------------------
-    return p_popSize;
+
+    if ( 1 > n ) {
+      logger.error( "islands=n ; n must be greater than 0" );
+      System.exit(1);
+    }
+
+    p_nIsland = n;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get tournament size.
-   *  @return Number of members examined in a tournament.
-   *
-   *  Number of members examined in a tournament.
+  /** @brief Set migration interval.
+   *  @param n number of generations between migrations.
+   *  @return Pointer to this UGAConfiguration object.
    */
   // -------------------------------------------------------------------------------------
-  public int nTour( ) {
+  public UGAConfiguration migrate( int n ) {
     // -----------------------------------------------------------------------------------
-    return p_tourSize;
+
+    if ( 1 > n ) {
+      logger.error( "migrate=n ; n must be greater than 0" );
+      System.exit(1);
+    }
+
+    p_migrate = n;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get bracket probability.
-   *  @return Percentage of population bracketed during randomization.
-   *
-   *  Percentage of population bracketed during randomization.
+  /** @brief Set migration topology.
+   *  @param t topology (UGA.RING or UGA.FULL).
+   *  @return Pointer to this UGAConfiguration object.
    */
   // -------------------------------------------------------------------------------------
-  public double pBracket( ) {
+  public UGAConfiguration topology( int t ) {
     // -----------------------------------------------------------------------------------
-    return p_pBracket;
+
+    if ( ( UGA.RING != t ) && ( UGA.FULL != t ) ) {
+      logger.error( "topology=t ; t must be ring or full" );
+      System.exit(1);
+    }
+
+    p_topology = t;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get start crossover probability.
-   *  @return Crossover probability at Gen 0.
-   *
-   *  Probability of Crossover vs. Clone at Gen 0.
+  /** @brief Set number of migrants.
+   *  @param n number of members sent by each island per migration.
+   *  @return Pointer to this UGAConfiguration object.
    */
   // -------------------------------------------------------------------------------------
-  public double pCrossStart( ) {
+  public UGAConfiguration nMigrant( int n ) {
     // -----------------------------------------------------------------------------------
-    return p_pCrossStart;
+
+    if ( 1 > n ) {
+      logger.error( "migrants=n ; n must be greater than 0" );
+      System.exit(1);
+    }
+
+    p_nMigrant = n;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get final crossover probability.
-   *  @return Crossover probability at Gen Final.
+  /** @brief Set fitness cache size.
+   *  @param n maximum number of memoized evaluations.
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Probability of Crossover vs. Clone at Gen Final.
+   *  0=no cache. Only use a cache when Model.execute depends on nothing but the Encoding.
    */
   // -------------------------------------------------------------------------------------
-  public double pCrossFinal( ) {
+  public UGAConfiguration cacheSize( int n ) {
     // -----------------------------------------------------------------------------------
-    return p_pCrossFinal;
+
+    if ( 0 > n ) {
+      logger.error( "cache=n ; n must not be negative" );
+      System.exit(1);
+    }
+
+    p_cacheSize = n;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get start mutation probability.
-   *  @return Mutation probability at Gen 0.
+  /** @brief Set population layout.
+   *  @param m layout (UGA.OBJECTS or UGA.PACKED).
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Probability for an individual allele to mutate at Gen 0.
+   *  PACKED stores all genes and all metrics of a population in two contiguous arrays.
+   *  Requires a model whose encodings are RealEncodings of equal length.
    */
   // -------------------------------------------------------------------------------------
-  public double pMutateStart( ) {
+  public UGAConfiguration layout( int m ) {
     // -----------------------------------------------------------------------------------
-    return p_pMutateStart;
+
+    if ( ( UGA.OBJECTS != m ) && ( UGA.PACKED != m ) ) {
+      logger.error( "layout=m ; m must be objects or packed" );
+      System.exit(1);
+    }
+
+    p_layout = m;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get final mutation probability.
-   *  @return Mutation probability at Gen Final.
+  /** @brief Set real operator kernels.
+   *  @param k kernels (UGA.SCALAR or UGA.BULK).
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Probability for an individual allele to mutate at Gen Final.
+   *  BULK draws random numbers for RealEncoding randomize, bracket, noise and mutate
+   *  a block at a time. Intended for long encodings ( e.g. network weights ).
    */
   // -------------------------------------------------------------------------------------
-  public double pMutateFinal( ) {
+  public UGAConfiguration kernel( int k ) {
     // -----------------------------------------------------------------------------------
-    return p_pMutateFinal;
+
+    if ( ( UGA.SCALAR != k ) && ( UGA.BULK != k ) ) {
+      logger.error( "kernel=k ; k must be scalar or bulk" );
+      System.exit(1);
+    }
+
+    p_kernel = k;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get start mutation scale.
-   *  @return Mutation scale at Gen 0.
+  /** @brief Set parent selection.
+   *  @param m selection (UGA.TOURNAMENT, UGA.RANK or UGA.SUS).
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Mutation scale at Gen 0.
+   *  RANK and SUS use linear ranking weights, see pressure. They require
+   *  evolve=generational; SUS also requires reproduce=serial.
    */
   // -------------------------------------------------------------------------------------
-  public double sMutateStart( ) {
+  public UGAConfiguration selection( int m ) {
     // -----------------------------------------------------------------------------------
-    return p_sMutateStart;
+
+    if ( ( UGA.TOURNAMENT != m ) && ( UGA.RANK != m ) && ( UGA.SUS != m ) ) {
+      logger.error( "select=m ; m must be tournament, rank or sus" );
+      System.exit(1);
+    }
+
+    p_selection = m;
+
+    return this;
   }
 
-  
+
   // =====================================================================================
-  /** @brief Get final mutation scale.
-   *  @return Mutation scale at Gen Final.
-   *
-   *  Mutation scale at Gen Final.
+  /** @brief Set selective pressure.
+   *  @param s expected number of copies of the best member (1,2].
+   *  @return Pointer to this UGAConfiguration object.
    */
   // -------------------------------------------------------------------------------------
-  public double sMutateFinal( ) {
+  public UGAConfiguration pressure( double s ) {
     // -----------------------------------------------------------------------------------
-    return p_sMutateFinal;
+
+    if ( ( 1.0e0 >= s ) || ( 2.0e0 < s ) ) {
+      logger.error( "pressure=s ; s must be in (1,2]" );
+      System.exit(1);
+    }
+
+    p_pressure = s;
+
+    return this;
   }
 
 
   // =====================================================================================
-  /** @brief Get maximum number of concurrent threads.
-   *  @return maximum number of concurrent threads.
+  /** @brief Set parameter control.
+   *  @param m control (UGA.SCHEDULE or UGA.ADAPTIVE).
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Maximum number of concurrent threads.
+   *  SCHEDULE interpolates pcross, pmutate and smutate from start to final over the
+   *  run. ADAPTIVE starts at the start values and adjusts them within [start,final]
+   *  from the success of each generation ( see AdaptiveControl ).
    */
   // -------------------------------------------------------------------------------------
-  public int nCPU() {
+  public UGAConfiguration control( int m ) {
     // -----------------------------------------------------------------------------------
-    return p_nCPU;
-  }
-
 
+    if ( ( UGA.SCHEDULE != m ) && ( UGA.ADAPTIVE != m ) ) {
+      logger.error( "control=m ; m must be schedule or adaptive" );
+      System.exit(1);
+    }
 
+    p_control = m;
 
+    return this;
+  }
 
 
   // =====================================================================================
-  /** @brief Configure from ConfigDB.Section.
-   *  @param sec pointer to a ConfigDB.Section.
+  /** @brief Set evolution mode.
+   *  @param m evolution mode (UGA.GENERATIONAL, UGA.STEADY, UGA.NSGA2 or UGA.CMAES).
+   *  @return Pointer to this UGAConfiguration object.
    *
-   *  Read configuration from a ConfigDB.Section.
+   *  STEADY replaces the generation barrier with workers that continuously breed,
+   *  evaluate and insert children. NSGA2 treats every Metric element as an objective
+   *  to minimize and keeps the non-dominated fronts. CMAES samples nPop offspring from
+   *  an adapted normal distribution, for RealEncoding models, with initial step size
+   *  smutate start. Islands require GENERATIONAL, other modes are rejected.
    */
   // -------------------------------------------------------------------------------------
-  public UGAConfiguration config( ConfigDB.Section sec ) {
+  public UGAConfiguration evolution( int m ) {
     // -----------------------------------------------------------------------------------
-    if ( null == sec ) {
-      logger.error( "UGA.Builder.config(NULL) - ConfigBD.Section" );
-    } else {
-      try {
 
-        // -------------------------------------------------------------------------------
-        if ( sec.hasKey( "maxgen" ) ) {
-          try {
-            maxgen( StringTool.asInt32( sec.get( "maxgen" ) ) );
-          } catch (java.lang.NumberFormatException e ) {
-            logger.error( "maxgen=integer ; "+e.toString() );
-            System.exit(2);
-          }
-        }
+    if ( ( UGA.GENERATIONAL != m ) && ( UGA.STEADY != m ) &&
+         ( UGA.NSGA2 != m ) && ( UGA.CMAES != m ) ) {
+      logger.error( "evolve=m ; m must be generational, steady, nsga2 or cmaes" );
+      System.exit(1);
+    }
 
-        // -------------------------------------------------------------------------------
-        if ( sec.hasKey( "report" ) ) {
-          try {
-            report( StringTool.asInt32( sec.get( "report" ) ) );
-           } catch (java.lang.NumberFormatException e ) {
+    p_evolution = m;
+
+    return this;
+  }
+
+
+  // =====================================================================================
+  /** @brief Set checkpoint file.
+   *  @param fspc path to the checkpoint file.
+   *  @return Pointer to this UGAConfiguration object.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration checkpoint( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    p_checkpoint = fspc;
+
+    return this;
+  }
+
+
+  // =====================================================================================
+  /** @brief Set checkpoint interval.
+   *  @param n number of generations between checkpoints.
+   *  @return Pointer to this UGAConfiguration object.
+   *
+   *  0=no checkpoints.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration checkpointInterval( int n ) {
+    // -----------------------------------------------------------------------------------
+
+    if ( 0 > n ) {
+      logger.error( "ckpt_interval=n ; n must not be negative" );
+      System.exit(1);
+    }
+
+    p_ckptInterval = n;
+
+    return this;
+  }
+
+
+  // =====================================================================================
+  /** @brief Set resume file.
+   *  @param fspc path to a checkpoint to resume from.
+   *  @return Pointer to this UGAConfiguration object.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration resume( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    p_resume = fspc;
+
+    return this;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Set telemetry file.
+   *  @param fspc path to the telemetry file ( .json or .jsonl for JSON lines, else CSV ).
+   *  @return Pointer to this UGAConfiguration object.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration telemetry( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    p_telemetry = fspc;
+
+    return this;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Set local search fraction.
+   *  @param f fraction of the children passed to Model.improve ( 0 <= f <= 1 ).
+   *  @return Pointer to this UGAConfiguration object.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration localSearch( double f ) {
+    // -----------------------------------------------------------------------------------
+    if ( ( 0.0e0 > f ) || ( 1.0e0 < f ) ) {
+      logger.error( "local=f ; f must be between 0 and 1" );
+      System.exit(1);
+    }
+
+    p_localFrac = f;
+
+    return this;
+  }
+
+
+
+
+
+  
+
+  // =====================================================================================
+  /** @brief Get full report flag.
+   *  @return Flag for display of full report.
+   *
+   *  Display an abbreviated report if users model supports it.
+   */
+  // -------------------------------------------------------------------------------------
+  public boolean fullReport( ) {
+    // -----------------------------------------------------------------------------------
+    return p_fullReport;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get maximum generations.
+   *  @return Maximum number of generations.
+   *
+   *  Maximum number of generations.
+   */
+  // -------------------------------------------------------------------------------------
+  public int maxgen( ) {
+    // -----------------------------------------------------------------------------------
+    return p_maxgen;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get report interval.
+   *  @return Number of generations between report.
+   *
+   *  Number of generations between reports.
+   */
+  // -------------------------------------------------------------------------------------
+  public int report( ) {
+    // -----------------------------------------------------------------------------------
+    return p_report;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get save interval.
+   *  @return Number of generations between saves.
+   *
+   *  Number of generations between saves 0=no save.
+   */
+  // -------------------------------------------------------------------------------------
+  public int save( ) {
+    // -----------------------------------------------------------------------------------
+    return p_save;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get population size.
+   *  @return Number of members in the population.
+   *
+   *  Number of members in the population.
+   */
+  // -------------------------------------------------------------------------------------
+  public int nPop( ) {
+    // -----------------------------------------------------------------------------------
+    return p_popSize;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get tournament size.
+   *  @return Number of members examined in a tournament.
+   *
+   *  Number of members examined in a tournament.
+   */
+  // -------------------------------------------------------------------------------------
+  public int nTour( ) {
+    // -----------------------------------------------------------------------------------
+    return p_tourSize;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get bracket probability.
+   *  @return Percentage of population bracketed during randomization.
+   *
+   *  Percentage of population bracketed during randomization.
+   */
+  // -------------------------------------------------------------------------------------
+  public double pBracket( ) {
+    // -----------------------------------------------------------------------------------
+    return p_pBracket;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get start crossover probability.
+   *  @return Crossover probability at Gen 0.
+   *
+   *  Probability of Crossover vs. Clone at Gen 0.
+   */
+  // -------------------------------------------------------------------------------------
+  public double pCrossStart( ) {
+    // -----------------------------------------------------------------------------------
+    return p_pCrossStart;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get final crossover probability.
+   *  @return Crossover probability at Gen Final.
+   *
+   *  Probability of Crossover vs. Clone at Gen Final.
+   */
+  // -------------------------------------------------------------------------------------
+  public double pCrossFinal( ) {
+    // -----------------------------------------------------------------------------------
+    return p_pCrossFinal;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get start mutation probability.
+   *  @return Mutation probability at Gen 0.
+   *
+   *  Probability for an individual allele to mutate at Gen 0.
+   */
+  // -------------------------------------------------------------------------------------
+  public double pMutateStart( ) {
+    // -----------------------------------------------------------------------------------
+    return p_pMutateStart;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get final mutation probability.
+   *  @return Mutation probability at Gen Final.
+   *
+   *  Probability for an individual allele to mutate at Gen Final.
+   */
+  // -------------------------------------------------------------------------------------
+  public double pMutateFinal( ) {
+    // -----------------------------------------------------------------------------------
+    return p_pMutateFinal;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get start mutation scale.
+   *  @return Mutation scale at Gen 0.
+   *
+   *  Mutation scale at Gen 0.
+   */
+  // -------------------------------------------------------------------------------------
+  public double sMutateStart( ) {
+    // -----------------------------------------------------------------------------------
+    return p_sMutateStart;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get final mutation scale.
+   *  @return Mutation scale at Gen Final.
+   *
+   *  Mutation scale at Gen Final.
+   */
+  // -------------------------------------------------------------------------------------
+  public double sMutateFinal( ) {
+    // -----------------------------------------------------------------------------------
+    return p_sMutateFinal;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get maximum number of concurrent threads.
+   *  @return maximum number of concurrent threads.
+   *
+   *  Maximum number of concurrent threads.
+   */
+  // -------------------------------------------------------------------------------------
+  public int nCPU() {
+    // -----------------------------------------------------------------------------------
+    return p_nCPU;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get model evaluation engine.
+   *  @return evaluation mode (UGA.PER_MEMBER, UGA.CHUNKED or UGA.PROCESS).
+   *
+   *  Model evaluation engine.
+   */
+  // -------------------------------------------------------------------------------------
+  public int execMode() {
+    // -----------------------------------------------------------------------------------
+    return p_execMode;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get worker command.
+   *  @return command line of an evaluation worker process ( null = none ).
+   */
+  // -------------------------------------------------------------------------------------
+  public String[] workerCommand() {
+    // -----------------------------------------------------------------------------------
+    return p_worker;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get pipeline depth.
+   *  @return number of requests in flight per worker process.
+   */
+  // -------------------------------------------------------------------------------------
+  public int pipeline() {
+    // -----------------------------------------------------------------------------------
+    return p_pipeline;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get reproduction mode.
+   *  @return reproduction mode (UGA.SERIAL or UGA.PARALLEL).
+   *
+   *  Selection, crossover and mutation mode.
+   */
+  // -------------------------------------------------------------------------------------
+  public int reproduction() {
+    // -----------------------------------------------------------------------------------
+    return p_reproduction;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get random seed.
+   *  @return seed value.
+   *
+   *  Seed for the Entropy singleton. 0=seed from /dev/urandom.
+   */
+  // -------------------------------------------------------------------------------------
+  public long seed() {
+    // -----------------------------------------------------------------------------------
+    return p_seed;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get number of islands.
+   *  @return number of islands.
+   */
+  // -------------------------------------------------------------------------------------
+  public int nIsland() {
+    // -----------------------------------------------------------------------------------
+    return p_nIsland;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get migration interval.
+   *  @return number of generations between migrations.
+   */
+  // -------------------------------------------------------------------------------------
+  public int migrate() {
+    // -----------------------------------------------------------------------------------
+    return p_migrate;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get migration topology.
+   *  @return topology (UGA.RING or UGA.FULL).
+   */
+  // -------------------------------------------------------------------------------------
+  public int topology() {
+    // -----------------------------------------------------------------------------------
+    return p_topology;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get number of migrants.
+   *  @return number of members sent by each island per migration.
+   */
+  // -------------------------------------------------------------------------------------
+  public int nMigrant() {
+    // -----------------------------------------------------------------------------------
+    return p_nMigrant;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get fitness cache size.
+   *  @return maximum number of memoized evaluations 0=no cache.
+   */
+  // -------------------------------------------------------------------------------------
+  public int cacheSize() {
+    // -----------------------------------------------------------------------------------
+    return p_cacheSize;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get population layout.
+   *  @return layout (UGA.OBJECTS or UGA.PACKED).
+   */
+  // -------------------------------------------------------------------------------------
+  public int layout() {
+    // -----------------------------------------------------------------------------------
+    return p_layout;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get real operator kernels.
+   *  @return kernels (UGA.SCALAR or UGA.BULK).
+   */
+  // -------------------------------------------------------------------------------------
+  public int kernel() {
+    // -----------------------------------------------------------------------------------
+    return p_kernel;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get parent selection.
+   *  @return selection (UGA.TOURNAMENT, UGA.RANK or UGA.SUS).
+   */
+  // -------------------------------------------------------------------------------------
+  public int selection() {
+    // -----------------------------------------------------------------------------------
+    return p_selection;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get selective pressure.
+   *  @return expected number of copies of the best member (1,2].
+   */
+  // -------------------------------------------------------------------------------------
+  public double pressure() {
+    // -----------------------------------------------------------------------------------
+    return p_pressure;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get parameter control.
+   *  @return control (UGA.SCHEDULE or UGA.ADAPTIVE).
+   */
+  // -------------------------------------------------------------------------------------
+  public int control() {
+    // -----------------------------------------------------------------------------------
+    return p_control;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get evolution mode.
+   *  @return evolution mode (UGA.GENERATIONAL, UGA.STEADY, UGA.NSGA2 or UGA.CMAES).
+   */
+  // -------------------------------------------------------------------------------------
+  public int evolution() {
+    // -----------------------------------------------------------------------------------
+    return p_evolution;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get checkpoint file.
+   *  @return path to the checkpoint file ( null = no checkpoints ).
+   */
+  // -------------------------------------------------------------------------------------
+  public String checkpoint() {
+    // -----------------------------------------------------------------------------------
+    return p_checkpoint;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get checkpoint interval.
+   *  @return number of generations between checkpoints 0=no checkpoints.
+   */
+  // -------------------------------------------------------------------------------------
+  public int checkpointInterval() {
+    // -----------------------------------------------------------------------------------
+    return p_ckptInterval;
+  }
+
+
+  // =====================================================================================
+  /** @brief Get resume file.
+   *  @return path to a checkpoint to resume from ( null = start fresh ).
+   */
+  // -------------------------------------------------------------------------------------
+  public String resume() {
+    // -----------------------------------------------------------------------------------
+    return p_resume;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get telemetry file.
+   *  @return path to the per generation telemetry file ( null = no telemetry ).
+   */
+  // -------------------------------------------------------------------------------------
+  public String telemetry() {
+    // -----------------------------------------------------------------------------------
+    return p_telemetry;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Get local search fraction.
+   *  @return fraction of the children passed to Model.improve each generation.
+   */
+  // -------------------------------------------------------------------------------------
+  public double localSearch() {
+    // -----------------------------------------------------------------------------------
+    return p_localFrac;
+  }
+
+
+
+
+
+
+  // =====================================================================================
+  /** @brief Configure from ConfigDB.Section.
+   *  @param sec pointer to a ConfigDB.Section.
+   *
+   *  Read configuration from a ConfigDB.Section.
+   */
+  // -------------------------------------------------------------------------------------
+  public UGAConfiguration config( ConfigDB.Section sec ) {
+    // -----------------------------------------------------------------------------------
+    if ( null == sec ) {
+      logger.error( "UGA.Builder.config(NULL) - ConfigBD.Section" );
+    } else {
+      try {
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "maxgen" ) ) {
+          try {
+            maxgen( StringTool.asInt32( sec.get( "maxgen" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "maxgen=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "report" ) ) {
+          try {
+            report( StringTool.asInt32( sec.get( "report" ) ) );
+           } catch (java.lang.NumberFormatException e ) {
             logger.error( "report=integer ; "+e.toString() );
             System.exit(2);
           }
@@ -751,6 +1485,228 @@ public class UGAConfiguration {
           }
         }
 
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "exec" ) ) {
+          String mode = sec.get( "exec" ).trim();
+          if ( mode.equalsIgnoreCase( "member" ) ) {
+            execMode( UGA.PER_MEMBER );
+          } else if ( mode.equalsIgnoreCase( "chunked" ) ) {
+            execMode( UGA.CHUNKED );
+          } else if ( mode.equalsIgnoreCase( "process" ) ) {
+            execMode( UGA.PROCESS );
+          } else {
+            logger.error( "exec=member || chunked || process ; unknown mode "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "worker" ) ) {
+          workerCommand( sec.get( "worker" ).trim().split( "\\s+" ) );
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "pipeline" ) ) {
+          try {
+            pipeline( StringTool.asInt32( sec.get( "pipeline" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "pipeline=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "reproduce" ) ) {
+          String mode = sec.get( "reproduce" ).trim();
+          if ( mode.equalsIgnoreCase( "serial" ) ) {
+            reproduction( UGA.SERIAL );
+          } else if ( mode.equalsIgnoreCase( "parallel" ) ) {
+            reproduction( UGA.PARALLEL );
+          } else {
+            logger.error( "reproduce=serial || parallel ; unknown mode "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "seed" ) ) {
+          try {
+            seed( StringTool.asInt64( sec.get( "seed" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "seed=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "islands" ) ) {
+          try {
+            nIsland( StringTool.asInt32( sec.get( "islands" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "islands=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "migrate" ) ) {
+          try {
+            migrate( StringTool.asInt32( sec.get( "migrate" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "migrate=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "topology" ) ) {
+          String mode = sec.get( "topology" ).trim();
+          if ( mode.equalsIgnoreCase( "ring" ) ) {
+            topology( UGA.RING );
+          } else if ( mode.equalsIgnoreCase( "full" ) ) {
+            topology( UGA.FULL );
+          } else {
+            logger.error( "topology=ring || full ; unknown topology "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "migrants" ) ) {
+          try {
+            nMigrant( StringTool.asInt32( sec.get( "migrants" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "migrants=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "cache" ) ) {
+          try {
+            cacheSize( StringTool.asInt32( sec.get( "cache" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "cache=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "layout" ) ) {
+          String mode = sec.get( "layout" ).trim();
+          if ( mode.equalsIgnoreCase( "objects" ) ) {
+            layout( UGA.OBJECTS );
+          } else if ( mode.equalsIgnoreCase( "packed" ) ) {
+            layout( UGA.PACKED );
+          } else {
+            logger.error( "layout=objects || packed ; unknown layout "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "kernel" ) ) {
+          String mode = sec.get( "kernel" ).trim();
+          if ( mode.equalsIgnoreCase( "scalar" ) ) {
+            kernel( UGA.SCALAR );
+          } else if ( mode.equalsIgnoreCase( "bulk" ) ) {
+            kernel( UGA.BULK );
+          } else {
+            logger.error( "kernel=scalar || bulk ; unknown kernel "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "select" ) ) {
+          String mode = sec.get( "select" ).trim();
+          if ( mode.equalsIgnoreCase( "tournament" ) ) {
+            selection( UGA.TOURNAMENT );
+          } else if ( mode.equalsIgnoreCase( "rank" ) ) {
+            selection( UGA.RANK );
+          } else if ( mode.equalsIgnoreCase( "sus" ) ) {
+            selection( UGA.SUS );
+          } else {
+            logger.error( "select=tournament || rank || sus ; unknown selection "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "pressure" ) ) {
+          try {
+            pressure( StringTool.asReal8( sec.get( "pressure" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "pressure=real ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "control" ) ) {
+          String mode = sec.get( "control" ).trim();
+          if ( mode.equalsIgnoreCase( "schedule" ) ) {
+            control( UGA.SCHEDULE );
+          } else if ( mode.equalsIgnoreCase( "adaptive" ) ) {
+            control( UGA.ADAPTIVE );
+          } else {
+            logger.error( "control=schedule || adaptive ; unknown control "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "evolve" ) ) {
+          String mode = sec.get( "evolve" ).trim();
+          if ( mode.equalsIgnoreCase( "generational" ) ) {
+            evolution( UGA.GENERATIONAL );
+          } else if ( mode.equalsIgnoreCase( "steady" ) ) {
+            evolution( UGA.STEADY );
+          } else if ( mode.equalsIgnoreCase( "nsga2" ) ) {
+            evolution( UGA.NSGA2 );
+          } else if ( mode.equalsIgnoreCase( "cmaes" ) ) {
+            evolution( UGA.CMAES );
+          } else {
+            logger.error( "evolve=generational || steady || nsga2 || cmaes ; unknown mode "+mode );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "checkpoint" ) ) {
+          checkpoint( sec.get( "checkpoint" ).trim() );
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "ckpt_interval" ) ) {
+          try {
+            checkpointInterval( StringTool.asInt32( sec.get( "ckpt_interval" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "ckpt_interval=integer ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "resume" ) ) {
+          resume( sec.get( "resume" ).trim() );
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "telemetry" ) ) {
+          telemetry( sec.get( "telemetry" ).trim() );
+        }
+
+        // -------------------------------------------------------------------------------
+        if ( sec.hasKey( "local" ) ) {
+          try {
+            localSearch( StringTool.asReal8( sec.get( "local" ) ) );
+          } catch (java.lang.NumberFormatException e ) {
+            logger.error( "local=real ; "+e.toString() );
+            System.exit(2);
+          }
+        }
+
      } catch ( ConfigDB.NoSuchKey e1 ) {
         logger.error( e1.toString() );
       }
@@ -40,9 +40,14 @@ import java.io.InputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.trncmp.lib.Dice;
 import org.trncmp.lib.FileTools;
 import org.trncmp.lib.Math2;
@@ -68,10 +73,10 @@ public class BPNN {
     public int        num_inp = 0;    /** Number of inputs */
     public int        num_out = 0;    /** Number of nodes (or Outputs) */
 
-    public double[][] W       = null; /** Weight Matrix */
+    public double[]   W       = null; /** Weight Matrix ( row-major, W[k*num_inp+j] ) */
     public double[]   b       = null; /** Bias Vector   */
 
-    public double[][] dW      = null; /** Cumulative delta Weight Matrix */
+    public double[]   dW      = null; /** Cumulative delta Weight Matrix ( as W ) */
     public double[]   db      = null; /** Cumulative delta Bias Vector   */
 
     public double[]   Z       = null; /** Weighted sum vector. */
@@ -91,8 +96,8 @@ public class BPNN {
       num_inp = nInp;
       num_out = nOut;
       
-      W  = new double[num_out][num_inp];
-      dW = new double[num_out][num_inp];
+      W  = new double[num_out*num_inp];
+      dW = new double[num_out*num_inp];
       b  = new double[num_out];
       db = new double[num_out];
       Z  = new double[num_out];
@@ -114,6 +119,29 @@ public class BPNN {
     }
 
     
+    // =====================================================================================
+    /** Shadow Constructor.
+     *  @param master layer whose weight matrix and bias vector are shared.
+     *
+     *  Used by the training shards. Every array other than W and b is private.
+     */
+    // -------------------------------------------------------------------------------------
+    protected Layer( Layer master ) {
+      // -----------------------------------------------------------------------------------
+      num_inp = master.num_inp;
+      num_out = master.num_out;
+
+      W  = master.W;
+      b  = master.b;
+      dW = new double[num_out*num_inp];
+      db = new double[num_out];
+      Z  = new double[num_out];
+      A  = new double[num_out];
+      E  = new double[num_out];
+      D  = new double[num_out];
+    }
+
+    
     // =====================================================================================
     /** Randomize weights and bias.
      *  @param scale scale for random numbers
@@ -126,7 +154,7 @@ public class BPNN {
       for ( int k=0; k<num_out; k++ ) {
         b[k] = scale*(2.0*dd.uniform() - 1.0);
         for ( int j=0; j<num_inp; j++ ) {
-          W[k][j] = scale*(2.0*dd.uniform() - 1.0);
+          W[k*num_inp+j] = scale*(2.0*dd.uniform() - 1.0);
         }
       }
     }
@@ -138,15 +166,135 @@ public class BPNN {
     // -------------------------------------------------------------------------------------
     public void reset( ) {
       // -----------------------------------------------------------------------------------
-      for ( int k=0; k<num_out; k++ ) {
-        db[k] = 0.0e0;
-        for ( int j=0; j<num_inp; j++ ) {
-          dW[k][j] = 0.0e0;
+      Arrays.fill( db, 0.0e0 );
+      Arrays.fill( dW, 0.0e0 );
+    }
+    
+  } // end class BPNN.Layer
+
+
+  // =====================================================================================
+  /** @class Shard
+   *
+   *  One worker's share of a mini-batch. The shard back-propagates samples [lo,hi) of
+   *  the batch through shadow layers, accumulating into its own dW and db.
+   */
+  // -------------------------------------------------------------------------------------
+  static class Shard implements Runnable {
+    // -----------------------------------------------------------------------------------
+    protected final Layer[]          T;
+    protected       double[][]       input   = null;
+    protected       double[][]       output  = null;
+    protected       int[]            index   = null;
+    protected       int              lo      = 0;
+    protected       int              hi      = 0;
+    protected       CountDownLatch   counter = null;
+    protected       RuntimeException failure = null;  /** error from the last run */
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param master layers of the network being trained.
+     */
+    // -----------------------------------------------------------------------------------
+    Shard( Layer[] master ) {
+      // ---------------------------------------------------------------------------------
+      T = new Layer[master.length];
+      for ( int i=0; i<master.length; i++ ) {
+        T[i] = new Layer( master[i] );
+      }
+    }
+
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void run() {
+      // ---------------------------------------------------------------------------------
+      failure = null;
+      try {
+        for ( int i=0; i<T.length; i++ ) {
+          T[i].reset();
+        }
+        for ( int j=lo; j<hi; j++ ) {
+          int s = ( null == index ) ? j : index[j];
+          backpropagate( T, input[s], output[s] );
         }
+      } catch( RuntimeException e ) {
+        failure = e;
+      } finally {
+        counter.countDown();
       }
     }
+
+  } // end class BPNN.Shard
+
+
+  // =====================================================================================
+  /** @class Stripe
+   *
+   *  One worker's share of the gradient reduction. Each stripe owns a fixed range of
+   *  every dW and db and adds the shards into it in shard order, so the sums do not
+   *  depend on thread timing.
+   */
+  // -------------------------------------------------------------------------------------
+  static class Stripe implements Runnable {
+    // -----------------------------------------------------------------------------------
+    protected final Layer[]        L;
+    protected final Shard[]        shard;
+    protected final int            part;
+    protected       CountDownLatch counter = null;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param master layers of the network being trained.
+     *  @param sh     shards being reduced ( one stripe per shard ).
+     *  @param p      index of this stripe.
+     */
+    // -----------------------------------------------------------------------------------
+    Stripe( Layer[] master, Shard[] sh, int p ) {
+      // ---------------------------------------------------------------------------------
+      L     = master;
+      shard = sh;
+      part  = p;
+    }
+
     
-  } // end class BPNN.Layer
+    // ===================================================================================
+    /** @brief Reduce.
+     *  @param dst accumulated array.
+     *  @param l   layer index.
+     *  @param w   true for dW, false for db.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void reduce( double[] dst, int l, boolean w ) {
+      // ---------------------------------------------------------------------------------
+      int n  = dst.length;
+      int np = shard.length;
+      int lo = (int)( ( (long) part    * n ) / np );
+      int hi = (int)( ( (long)(part+1) * n ) / np );
+      for ( int t=0; t<np; t++ ) {
+        double[] src = w ? shard[t].T[l].dW : shard[t].T[l].db;
+        for ( int j=lo; j<hi; j++ ) {
+          dst[j] += src[j];
+        }
+      }
+    }
+
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void run() {
+      // ---------------------------------------------------------------------------------
+      try {
+        for ( int l=0; l<L.length; l++ ) {
+          reduce( L[l].dW, l, true );
+          reduce( L[l].db, l, false );
+        }
+      } finally {
+        counter.countDown();
+      }
+    }
+
+  } // end class BPNN.Stripe
 
 
   protected Layer[] L            = null;  /** Layers */
@@ -155,6 +303,13 @@ public class BPNN {
   protected int     num_out      = 0;     /** number of outputs (nodes in last layer) */
   protected int     sample_count = 0;     /** number of samples presented since reset */
 
+  protected ExecutorService pool    = null;  /** training workers ( null = one thread ) */
+  protected Shard[]         shards  = null;  /** per worker gradient buffers */
+  protected Stripe[]        stripes = null;  /** per worker reduction ranges */
+
+  protected Optimizer       opt      = null;  /** update rule ( null = plain gradient step ) */
+  protected int[]           opt_slot = null;  /** optimizer slots, W then b for each layer */
+
 
   // =====================================================================================
   /** Allocate network layers.
@@ -233,13 +388,27 @@ public class BPNN {
   // -------------------------------------------------------------------------------------
   protected void forward( double[] input ) {
     // -----------------------------------------------------------------------------------
-    Layer T1 = L[0];
-    mul_weight( T1.Z, T1.W, T1.b, input, num_inp, T1.num_out );
+    forward( L, input );
+  }
+    
+
+  // =====================================================================================
+  /** Forward pass.
+   *  @param T     layers.
+   *  @param input input vector.
+   *
+   *  Perform a forward pass through the layers T.
+   */
+  // -------------------------------------------------------------------------------------
+  static protected void forward( Layer[] T, double[] input ) {
+    // -----------------------------------------------------------------------------------
+    Layer T1 = T[0];
+    mul_weight( T1.Z, T1.W, T1.b, input, T1.num_inp, T1.num_out );
     transfer( T1.A, T1.Z, T1.num_out );
 
-    for ( int i=1; i<num_layer; i++ ) {
-      Layer T2 = L[i];
-      mul_weight( T2.Z, T2.W, T2.b, T1.A, num_inp, T2.num_out );
+    for ( int i=1; i<T.length; i++ ) {
+      Layer T2 = T[i];
+      mul_weight( T2.Z, T2.W, T2.b, T1.A, T2.num_inp, T2.num_out );
       transfer( T2.A, T2.Z, T2.num_out );
       T1 = T2;
     }
@@ -305,9 +474,7 @@ public class BPNN {
     
     for ( int i=1; i<max_gen; i++ ) {
       reset();
-      for ( int j=0; j<ns; j++ ) {
-        backpropagate( input[j], output[j] );
-      }
+      accumulate( input, output, null, 0, ns );
       update( tc );
 
       if ( 0 < report ) {
@@ -359,9 +526,7 @@ public class BPNN {
 
     for ( int i=1; i<max_gen; i++ ) {
       reset();
-      for ( int j=0; j<batch_size; j++ ) {
-        backpropagate( input[index[offset+j]], output[index[offset+j]] );
-      }
+      accumulate( input, output, index, offset, batch_size );
       update( alpha );
 
       offset += batch_size;
@@ -388,6 +553,55 @@ public class BPNN {
   }
     
 
+  // =====================================================================================
+  /** Streaming training.
+   *  @param data      training set.
+   *  @param max_epoch number of passes over the training set.
+   *  @param report    report interval in epochs. (0 = no report)
+   *  @param alpha     training parameter.
+   *  @return mean square error over the training set.
+   *
+   *  One update per mini-batch of data, in the order the dataset prefetches them.
+   */
+  // -------------------------------------------------------------------------------------
+  public double batch( StreamDataset data, int max_epoch, int report, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    double M = 1.0e10;
+    if ( 0 < report ) {
+      M = mse( data );
+      System.out.format( "0: %13.6e\n", M );
+    }
+
+    for ( int i=1; i<=max_epoch; i++ ) {
+      boolean last = false;
+      while ( ! last ) {
+        StreamDataset.Batch B = data.next();
+        if ( null == B ) {
+          return mse( data );
+        }
+        reset();
+        accumulate( B.input, B.output, null, 0, B.count );
+        last = B.last;
+        data.release( B );
+        update( alpha );
+      }
+
+      if ( 0 < report ) {
+        if ( 0 == ( i % report ) ) {
+          System.out.format( "%d: %13.6e\n", i, mse( data ) );
+        }
+      }
+    }
+
+    M = mse( data );
+    if ( 0 < report ) {
+      System.out.format( "%d: %13.6e\n", max_epoch, M );
+    }
+
+    return M;
+  }
+    
+
   // =====================================================================================
   /** Back-propagation pass.
    *  @param input          input vector
@@ -399,36 +613,189 @@ public class BPNN {
   // -------------------------------------------------------------------------------------
   public void backpropagate( double[] input, double[] desired_output ) {
     // -----------------------------------------------------------------------------------
+    backpropagate( L, input, desired_output );
 
-    forward( input );
+    sample_count += 1;
+  }
+
+
+  // =====================================================================================
+  /** Back-propagation pass.
+   *  @param T              layers.
+   *  @param input          input vector
+   *  @param desired_output output vector
+   *
+   *  Perform a backward pass through the layers T incrementing their dW and db.
+   */
+  // -------------------------------------------------------------------------------------
+  static protected void backpropagate( Layer[] T, double[] input, double[] desired_output ) {
+    // -----------------------------------------------------------------------------------
+    int nl = T.length;
+
+    forward( T, input );
     
     // ----- accumulate the gradient with reverse passes -------------------------------
 
-    Layer T1 = L[num_layer-1];
-    subtract( T1.E, desired_output,   T1.A, num_out );
-    delta(    T1.D, T1.E, T1.A, num_out );
+    Layer T1 = T[nl-1];
+    subtract( T1.E, desired_output,   T1.A, T1.num_out );
+    delta(    T1.D, T1.E, T1.A, T1.num_out );
 
-    for ( int i=num_layer-2; i>=0; i-- ) {
-      Layer TI  = L[i];
-      Layer Tp1 = L[i+1];
+    for ( int i=nl-2; i>=0; i-- ) {
+      Layer TI  = T[i];
+      Layer Tp1 = T[i+1];
       error_matrix_mul( TI.E, Tp1.D, Tp1.W, Tp1.num_inp, Tp1.num_out );
       delta( TI.D, TI.E, TI.A, TI.num_out );
     }
 
     // ----- update the weight deltas --------------------------------------------------
 
-    for ( int i=num_layer-1; i>0; i-- ) {
-      Layer TI  = L[i];
-      Layer Tm1 = L[i-1];
+    for ( int i=nl-1; i>0; i-- ) {
+      Layer TI  = T[i];
+      Layer Tm1 = T[i-1];
       update_weight_delta( TI.dW, TI.num_inp, TI.num_out, TI.db,
                            TI.D, Tm1.A );
     }
     
-    T1 = L[0];
+    T1 = T[0];
     update_weight_delta( T1.dW, T1.num_inp, T1.num_out, T1.db,
                          T1.D, input );
+  }
 
-    sample_count += 1;
+
+  // =====================================================================================
+  /** Set Threads.
+   *  @param n number of training threads ( 1 = train on the calling thread ).
+   *
+   *  With more than one thread, train and batch split each mini-batch into n contiguous
+   *  shards. Each worker back-propagates its shard into its own dW and db, and the
+   *  shards are then added into the layers by n stripes. The result depends only on
+   *  the seed and on n.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setThreads( int n ) {
+    // -----------------------------------------------------------------------------------
+    shutdown();
+
+    if ( 1 < n ) {
+      pool    = Executors.newFixedThreadPool( n );
+      shards  = new Shard[n];
+      stripes = new Stripe[n];
+      for ( int t=0; t<n; t++ ) {
+        shards[t] = new Shard( L );
+      }
+      for ( int t=0; t<n; t++ ) {
+        stripes[t] = new Stripe( L, shards, t );
+      }
+    }
+  }
+
+
+  // =====================================================================================
+  /** Shutdown.
+   *
+   *  Release the training threads. Training continues on the calling thread.
+   */
+  // -------------------------------------------------------------------------------------
+  public void shutdown( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != pool ) {
+      pool.shutdown();
+    }
+    pool    = null;
+    shards  = null;
+    stripes = null;
+  }
+
+
+  // =====================================================================================
+  /** Await.
+   *  @param counter latch counted down by the workers.
+   *
+   *  Wait for the workers. If this thread is interrupted, still wait for the tasks
+   *  already handed to the pool, so none of them touches the layers or the batch
+   *  afterwards, then restore the interrupt flag and throw IllegalStateException.
+   */
+  // -------------------------------------------------------------------------------------
+  protected static void await( CountDownLatch counter ) {
+    // -----------------------------------------------------------------------------------
+    InterruptedException cause = null;
+    while ( true ) {
+      try {
+        counter.await();
+        break;
+      } catch( InterruptedException e ) {
+        cause = e;
+      }
+    }
+
+    if ( null != cause ) {
+      logger.error( "BPNN: interrupted" );
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException( "BPNN: training interrupted", cause );
+    }
+  }
+
+
+  // =====================================================================================
+  /** Accumulate.
+   *  @param input  input  table.
+   *  @param output output table.
+   *  @param index  sample order ( null = table order ).
+   *  @param offset first position in the sample order.
+   *  @param count  number of samples.
+   *
+   *  Back-propagate count samples, incrementing dW and db. If a shard fails, its
+   *  error is rethrown here before dW and db are touched. If this thread is
+   *  interrupted, an IllegalStateException is thrown once the workers are idle, so
+   *  training stops before update.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void accumulate( double[][] input, double[][] output,
+                             int[] index, int offset, int count ) {
+    // -----------------------------------------------------------------------------------
+    if ( null == pool ) {
+      for ( int j=0; j<count; j++ ) {
+        int s = ( null == index ) ? offset+j : index[offset+j];
+        backpropagate( input[s], output[s] );
+      }
+      return;
+    }
+
+    int np = shards.length;
+
+    // ----- each shard back-propagates a contiguous part of the batch ------------------
+
+    CountDownLatch counter = new CountDownLatch( np );
+    for ( int t=0; t<np; t++ ) {
+      Shard S   = shards[t];
+      S.input   = input;
+      S.output  = output;
+      S.index   = index;
+      S.lo      = offset + (int)( ( (long) t    * count ) / np );
+      S.hi      = offset + (int)( ( (long)(t+1) * count ) / np );
+      S.counter = counter;
+      pool.execute( S );
+    }
+
+    await( counter );
+
+    for ( int t=0; t<np; t++ ) {
+      if ( null != shards[t].failure ) {
+        throw shards[t].failure;
+      }
+    }
+
+    // ----- add the shards into the layers ---------------------------------------------
+
+    counter = new CountDownLatch( np );
+    for ( int t=0; t<np; t++ ) {
+      stripes[t].counter = counter;
+      pool.execute( stripes[t] );
+    }
+
+    await( counter );
+
+    sample_count += count;
   }
 
 
@@ -442,6 +809,18 @@ public class BPNN {
   public void update( double alpha ) {
     // -----------------------------------------------------------------------------------
 
+    if ( null != opt ) {
+      // ----- dW accumulates the descent direction, the optimizer wants the gradient ---
+      double sc = -1.0e0/(double)sample_count;
+      opt.begin();
+      for ( int i=0; i<num_layer; i++ ) {
+        Layer TI = L[i];
+        opt.step( opt_slot[2*i],   TI.W, TI.dW, TI.num_inp*TI.num_out, sc, alpha );
+        opt.step( opt_slot[2*i+1], TI.b, TI.db, TI.num_out,            sc, alpha );
+      }
+      return;
+    }
+
     double tc = alpha/(double)sample_count;
     
     for ( int i=0; i<num_layer; i++ ) {
@@ -453,6 +832,28 @@ public class BPNN {
   }
 
 
+  // =====================================================================================
+  /** Set Optimizer.
+   *  @param o update rule ( null = plain gradient step ).
+   *
+   *  update( alpha ) passes the accumulated gradient and alpha to o. The optimizer
+   *  should not be shared with another network.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setOptimizer( Optimizer o ) {
+    // -----------------------------------------------------------------------------------
+    opt      = o;
+    opt_slot = null;
+    if ( null != opt ) {
+      opt_slot = new int[2*num_layer];
+      for ( int i=0; i<num_layer; i++ ) {
+        opt_slot[2*i]   = opt.register( L[i].num_inp*L[i].num_out );
+        opt_slot[2*i+1] = opt.register( L[i].num_out );
+      }
+    }
+  }
+
+
   // =====================================================================================
   /** Mean Square Error.
    *  @param input   input vector.
@@ -503,6 +904,29 @@ public class BPNN {
   }
 
   
+  // =====================================================================================
+  /** Mean Square Error.
+   *  @param data training set.
+   *  @return mean square error.
+   *
+   *  Calculate the mean square difference over every record, read in file order.
+   */
+  // -------------------------------------------------------------------------------------
+  public double mse( StreamDataset data ) {
+    // -----------------------------------------------------------------------------------
+    long     n   = data.size();
+    double[] x   = new double[ data.inputs() ];
+    double[] y   = new double[ data.outputs() ];
+
+    double mse = 0.0e0;
+    for ( long i=0; i<n; i++ ) {
+      data.read( i, x, y );
+      mse += mse( x, y );
+    }
+    return mse / (double)n;
+  }
+
+  
   // =====================================================================================
   /** Activation Function.
    *  @param A  activation vector.
@@ -562,16 +986,10 @@ public class BPNN {
    *  @param nz number of weighted sums.
    */
   // -------------------------------------------------------------------------------------
-  static protected void mul_weight( double[] Z, double[][] W, double[] B,
+  static protected void mul_weight( double[] Z, double[] W, double[] B,
                                     double[] X, int nx, int nz ) {
     // -----------------------------------------------------------------------------------
-    for ( int k=0; k<nz; k++ ) {
-      double sum = B[k];
-      for ( int j=0; j<nx; j++ ) {
-        sum += ( W[k][j] * X[j]);
-      }
-      Z[k] = sum;
-    }
+    Dense.gemv( Z, W, B, X, nx, nz );
   }
 
 
@@ -615,16 +1033,10 @@ public class BPNN {
    *  @param nz number of outputs (nodes).
    */   
   // -------------------------------------------------------------------------------------
-  static protected void error_matrix_mul( double[] E, double[] D, double[][] W,
+  static protected void error_matrix_mul( double[] E, double[] D, double[] W,
                                           int nx, int nz ) {
     // -----------------------------------------------------------------------------------
-    for ( int k=0; k<nx; k++ ) { E[k] = 0.0e0; }
-    
-    for ( int m=0; m<nz; m++ ) {
-      for ( int k=0; k<nx; k++ ) {
-        E[k] += ( D[m] * W[m][k] );
-      }
-    }
+    Dense.gemv_t( E, W, D, nx, nz );
   }
   
 
@@ -638,15 +1050,10 @@ public class BPNN {
    *  @param A     inputs that feed the weights being updated
    */   
   // -------------------------------------------------------------------------------------
-  static protected void update_weight_delta( double[][] dW, int nx, int nz, double[] dB,
+  static protected void update_weight_delta( double[] dW, int nx, int nz, double[] dB,
                                              double[] D, double[] A ) {
     // -----------------------------------------------------------------------------------
-    for ( int k=0; k<nz; k++ ) {
-      dB[k] += D[k];
-      for ( int j=0; j<nx; j++ ) {
-        dW[k][j] += A[j] * D[k];
-      }
-    }
+    Dense.ger( dW, dB, D, A, nx, nz, 1.0e0 );
   }
 
   
@@ -661,17 +1068,11 @@ public class BPNN {
    *  @param alpha training constant.
    */   
   // -------------------------------------------------------------------------------------
-  static protected void update_weight( double[][] W, double[][] dW, int nx, int nz,
+  static protected void update_weight( double[] W, double[] dW, int nx, int nz,
                                        double[] B, double[] dB, double alpha ) {
     // -----------------------------------------------------------------------------------
-
-    for ( int k=0; k<nz; k++ ) {
-      B[k] += ( alpha * dB[k] );
-      for ( int j=0; j<nx; j++ ) {
-        W[k][j] += ( alpha * dW[k][j] );
-      }
-    }
-    
+    Dense.axpy( B, dB, nz,    alpha );
+    Dense.axpy( W, dW, nx*nz, alpha );
   }
   
 } // end class BPNN
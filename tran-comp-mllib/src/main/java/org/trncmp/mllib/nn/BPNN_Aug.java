@@ -47,6 +47,7 @@ import java.io.InputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
@@ -67,8 +68,8 @@ public class BPNN_Aug {
   protected int        nHid = 0;     // number of hidden nodes
   protected int        nOut = 0;     // number of outputs
 
-  protected double[][] w1   = null;  // input-hidden  layer weights
-  protected double[][] w2   = null;  // hidden-output layer weights
+  protected double[]   w1   = null;  // input-hidden  layer weights ( w1[node*nInp+con] )
+  protected double[]   w2   = null;  // hidden-output layer weights ( w2[node*nHid+con] )
 
   protected double[]   b1   = null;  // input-hidden  layer bias
   protected double[]   b2   = null;  // hidden-output layer bias
@@ -82,11 +83,14 @@ public class BPNN_Aug {
   protected double[]   d1   = null;  // output layer delta
   protected double[]   d2   = null;  // hidden layer delta
 
-  protected double[][] dW1  = null;  // input-hidden  layer accumulated weight delta
-  protected double[][] dW2  = null;  // hidden-output layer accumulated weight delta
+  protected double[]   dW1  = null;  // input-hidden  layer accumulated weight delta
+  protected double[]   dW2  = null;  // hidden-output layer accumulated weight delta
 
   protected double[]   dB1  = null;  // input-hidden  layer accumulated bias delta
   protected double[]   dB2  = null;  // hidden-output layer accumulated bias delta
+
+  protected Optimizer  opt  = null;  // update rule ( null = plain gradient step )
+  protected int[]      slot = null;  // optimizer slots for w1, b1, w2, b2
   
   
 
@@ -216,17 +220,17 @@ public class BPNN_Aug {
     nHid = nh;
     nOut = no;
     
-    dW1 = new double[nHid][nInp];
+    dW1 = new double[nHid*nInp];
     dB1 = new double[nHid];
-    w1  = new double[nHid][nInp];
+    w1  = new double[nHid*nInp];
     b1  = new double[nHid];
     d1  = new double[nHid];
     z1  = new double[nHid];
     a1  = new double[nHid];
 
-    dW2 = new double[nOut][nHid];
+    dW2 = new double[nOut*nHid];
     dB2 = new double[nOut];
-    w2  = new double[nOut][nHid];
+    w2  = new double[nOut*nHid];
     b2  = new double[nOut];
     d2  = new double[nOut];
     z2  = new double[nOut];
@@ -244,14 +248,14 @@ public class BPNN_Aug {
     for ( int node=0; node<nHid; node++ ) {
       b1[node] = s*dd.normal();
       for ( int con=0; con<nInp; con++ ) {
-        w1[node][con] = s*dd.normal();
+        w1[node*nInp+con] = s*dd.normal();
       }
     }
     
     for ( int node=0; node<nOut; node++ ) {
       b2[node] = s*dd.normal();
       for ( int con=0; con<nHid; con++ ) {
-        w2[node][con] = s*dd.normal();
+        w2[node*nHid+con] = s*dd.normal();
       }
     }
 
@@ -270,20 +274,16 @@ public class BPNN_Aug {
       a1[node]  = 0.0e0;
       d1[node]  = 0.0e0;
       dB1[node] = 0.0e0;
-      for ( int con=0; con<nInp; con++ ) {
-        dW1[node][con] = 0.0e0;
-      }
     }
+    Arrays.fill( dW1, 0.0e0 );
     
     for ( int node=0; node<nOut; node++ ) {
       z2[node]  = 0.0e0;
       a2[node]  = 0.0e0;
       a2[node]  = 0.0e0;
       dB2[node] = 0.0e0;
-      for ( int con=0; con<nHid; con++ ) {
-        dW2[node][con] = 0.0e0;
-      }
     }
+    Arrays.fill( dW2, 0.0e0 );
   }
 
   
@@ -293,21 +293,15 @@ public class BPNN_Aug {
     // -----------------------------------------------------------------------------------
 
     // ----- hidden layer --------------------------------------
+    Dense.gemv( a1, w1, b1, x, nInp, nHid );
     for ( int node=0; node<nHid; node++ ) {
-      double s = b1[node];
-      for ( int con=0; con<nInp; con++ ) {
-        s = s + ( w1[node][con] * x[con] );
-      }
-      a1[node] = 1.0e0 / ( 1.0e0 + Math.exp( -s ) );
+      a1[node] = 1.0e0 / ( 1.0e0 + Math.exp( -a1[node] ) );
     }
 
     // ----- output layer --------------------------------------
+    Dense.gemv( y, w2, b2, a1, nHid, nOut );
     for ( int node=0; node<nOut; node++ ) {
-      double s = b2[node];
-      for ( int con=0; con<nHid; con++ ) {
-        s = s + ( w2[node][con] * a1[con] );
-      }
-      y[node] = 1.0e0 / ( 1.0e0 + Math.exp( -s ) );
+      y[node] = 1.0e0 / ( 1.0e0 + Math.exp( -y[node] ) );
     }
     
   }
@@ -319,23 +313,15 @@ public class BPNN_Aug {
     // -----------------------------------------------------------------------------------
 
     // ----- hidden layer --------------------------------------
+    Dense.gemv( z1, w1, b1, x, nInp, nHid );
     for ( int node=0; node<nHid; node++ ) {
-      double s = b1[node];
-      for ( int con=0; con<nInp; con++ ) {
-        s = s + ( w1[node][con] * x[con] );
-      }
-      z1[node] = s;
-      a1[node] = 1.0e0 / ( 1.0e0 + Math.exp( -s ) );
+      a1[node] = 1.0e0 / ( 1.0e0 + Math.exp( -z1[node] ) );
     }
 
     // ----- output layer --------------------------------------
+    Dense.gemv( z2, w2, b2, a1, nHid, nOut );
     for ( int node=0; node<nOut; node++ ) {
-      double s = b2[node];
-      for ( int con=0; con<nHid; con++ ) {
-        s = s + ( w2[node][con] * a1[con] );
-      }
-      z2[node] = s;
-      a2[node] = 1.0e0 / ( 1.0e0 + Math.exp( -s ) );
+      a2[node] = 1.0e0 / ( 1.0e0 + Math.exp( -z2[node] ) );
     }
     
   }
@@ -354,25 +340,16 @@ public class BPNN_Aug {
       cost += ( dif*dif );
       //                 |<-- derivative of activation --->|
       d2[node]   = dif * ( a2[node] * ( 1.0e0 - a2[node] ) );
-      dB2[node] += d2[node];
-      for ( int con=0; con<nHid; con++ ) {
-        dW2[node][con] += ( d2[node] * a1[con] );
-      }
     }
+    Dense.ger( dW2, dB2, d2, a1, nHid, nOut, 1.0e0 );
 
     // ----- hidden layer --------------------------------------
+    Dense.gemv_t( d1, w2, d2, nHid, nOut );
     for ( int node=0; node<nHid; node++ ) {
-      double s = 0.0e0;
-      for ( int fwd=0; fwd<nOut; fwd++ ) {
-        s += ( d2[fwd] * w2[fwd][node] );
-      }
-      //               |<-- derivative of activation --->|
-      d1[node]   = s * a1[node] * ( a1[node] * ( 1.0e0 - a1[node] ) );
-      dB1[node] += d1[node];
-      for ( int con=0; con<nInp; con++ ) {
-        dW1[node][con] += ( d1[node] * x[con] );
-      }
+      //                   |<-- derivative of activation --->|
+      d1[node] = d1[node] * a1[node] * ( a1[node] * ( 1.0e0 - a1[node] ) );
     }
+    Dense.ger( dW1, dB1, d1, x, nInp, nHid, 1.0e0 );
     
     return cost / (double) nOut;
   }
@@ -385,25 +362,45 @@ public class BPNN_Aug {
   public void update( double alf ) {
     // -----------------------------------------------------------------------------------
 
-    // ----- hidden layer --------------------------------------
-    for ( int node=0; node<nHid; node++ ) {
-      b1[node] -= ( alf * dB1[node] );
-      for ( int con=0; con<nInp; con++ ) {
-        w1[node][con] -= ( alf * dW1[node][con] );
-      }
+    if ( null != opt ) {
+      opt.begin();
+      opt.step( slot[0], w1, dW1, nHid*nInp, 1.0e0, alf );
+      opt.step( slot[1], b1, dB1, nHid,      1.0e0, alf );
+      opt.step( slot[2], w2, dW2, nOut*nHid, 1.0e0, alf );
+      opt.step( slot[3], b2, dB2, nOut,      1.0e0, alf );
+      reset();
+      return;
     }
+
+    // ----- hidden layer --------------------------------------
+    Dense.axpy( b1, dB1, nHid,      -alf );
+    Dense.axpy( w1, dW1, nHid*nInp, -alf );
     
     // ----- output layer --------------------------------------
-    for ( int node=0; node<nOut; node++ ) {
-      b2[node] -= ( alf * dB2[node] );
-      for ( int con=0; con<nHid; con++ ) {
-        w2[node][con] -= ( alf * dW2[node][con] );
-      }
-    }
+    Dense.axpy( b2, dB2, nOut,      -alf );
+    Dense.axpy( w2, dW2, nOut*nHid, -alf );
     
     reset();
   }
 
+  // =====================================================================================
+  /** @brief Set Optimizer.
+   *  @param o update rule ( null = plain gradient step ).
+   *
+   *  update( alf ) passes the accumulated gradient and alf to o. Call after the
+   *  network is built or read. The optimizer should not be shared with another network.
+   */
+  // -------------------------------------------------------------------------------------
+  public void setOptimizer( Optimizer o ) {
+    // -----------------------------------------------------------------------------------
+    opt  = o;
+    slot = null;
+    if ( null != opt ) {
+      slot = new int[] { opt.register( nHid*nInp ), opt.register( nHid ),
+                         opt.register( nOut*nHid ), opt.register( nOut ) };
+    }
+  }
+
   // =====================================================================================
   /** @brief Read
    *  @param fspc path to file containing configuration.
@@ -440,7 +437,7 @@ public class BPNN_Aug {
       for ( int i=0; i<nHid; i++ ) {
         b1[i] = scan.nextDouble();
         for ( int j=0; j<nInp; j++ ) {
-          w1[i][j] = scan.nextDouble();
+          w1[i*nInp+j] = scan.nextDouble();
         }
         count += 1;
       }
@@ -448,7 +445,7 @@ public class BPNN_Aug {
       for ( int i=0; i<nOut; i++ ) {
         b2[i] = scan.nextDouble();
         for ( int j=0; j<nHid; j++ ) {
-          w2[i][j] = scan.nextDouble();
+          w2[i*nHid+j] = scan.nextDouble();
         }
         count += 1;
       }
@@ -483,7 +480,7 @@ public class BPNN_Aug {
     for ( int i=0; i<nHid; i++ ) {
       ps.format( "%17.10e ", b1[i] );
       for ( int j=0; j<nInp; j++ ) {
-        ps.format( " %17.10e", w1[i][j] );
+        ps.format( " %17.10e", w1[i*nInp+j] );
       }
       ps.format( "\n" );
     }
@@ -491,7 +488,7 @@ public class BPNN_Aug {
     for ( int i=0; i<nOut; i++ ) {
       ps.format( "%17.10e ", b2[i] );
       for ( int j=0; j<nHid; j++ ) {
-        ps.format( " %17.10e", w2[i][j] );
+        ps.format( " %17.10e", w2[i*nHid+j] );
       }
       ps.format( "\n" );
     }
@@ -0,0 +1,656 @@
+// ====================================================================== BEGIN FILE =====
+// **                                B P N N _ F L O A T                                **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file BPNN_Float.java
+ * <p>
+ * Provides a single precision version of the BPNN_Aug network.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.Scanner;
+
+import org.trncmp.lib.Dice;
+import org.trncmp.lib.FileTools;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class BPNN_Float
+ *
+ *  The BPNN_Aug network with float weights, activations and gradients. Half the
+ *  memory traffic of the double network, for inference and for training where the
+ *  accuracy loss does not matter.
+ *
+ *  With wide set, weighted sums are carried in double and rounded once, and the
+ *  gradients are accumulated over the samples in double.
+ *
+ *  Files are read and written in the BPNN_Aug format, and from/toDouble convert
+ *  between the two networks.
+ */
+// ---------------------------------------------------------------------------------------
+public class BPNN_Float {
+  // -------------------------------------------------------------------------------------
+
+  private static final Logger logger = LogManager.getLogger();
+
+  protected int      nInp = 0;      // number of inputs
+  protected int      nHid = 0;      // number of hidden nodes
+  protected int      nOut = 0;      // number of outputs
+
+  protected boolean  wide = false;  // accumulate in double
+
+  protected float[]  w1   = null;   // input-hidden  layer weights ( w1[node*nInp+con] )
+  protected float[]  w2   = null;   // hidden-output layer weights ( w2[node*nHid+con] )
+
+  protected float[]  b1   = null;   // input-hidden  layer bias
+  protected float[]  b2   = null;   // hidden-output layer bias
+  
+  protected float[]  z1   = null;   // sum of weighted inputs
+  protected float[]  z2   = null;   // sum of weighted hidden
+  
+  protected float[]  a1   = null;   // output of hidden nodes
+  protected float[]  a2   = null;   // output of hidden nodes
+
+  protected float[]  d1   = null;   // output layer delta
+  protected float[]  d2   = null;   // hidden layer delta
+
+  protected float[]  xs   = null;   // input  scratch for execute( double[], double[] )
+
+  protected float[]  dW1  = null;   // input-hidden  layer accumulated weight delta
+  protected float[]  dW2  = null;   // hidden-output layer accumulated weight delta
+  protected float[]  dB1  = null;   // input-hidden  layer accumulated bias delta
+  protected float[]  dB2  = null;   // hidden-output layer accumulated bias delta
+
+  protected double[] sW1  = null;   // dW1 when wide
+  protected double[] sW2  = null;   // dW2 when wide
+  protected double[] sB1  = null;   // dB1 when wide
+  protected double[] sB2  = null;   // dB2 when wide
+  
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public static class Builder {
+    // -----------------------------------------------------------------------------------
+
+    protected int     nInp           = 0;     // number of inputs
+    protected int     nHid           = 0;     // number of hidden nodes
+    protected int     nOut           = 0;     // number of outputs
+    protected String  configFilename = null;
+    protected boolean wide           = false;
+
+    private   int     cfg_count      = 0;
+
+    
+    // ===================================================================================
+    /** @brief Constructor
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder() {
+      // ---------------------------------------------------------------------------------
+    }
+
+    
+    // ===================================================================================
+    /** @brief Add I/O
+     *  @param ni number of inputs.
+     *  @param no number of outputs.
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder io( int ni, int no ) {
+      // ---------------------------------------------------------------------------------
+      nInp       = ni;
+      nOut       = no;
+      nHid       = ni+no;
+      cfg_count += 1;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Add hidden
+     *  @param nh number of hidden nodes.
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder hidden( int nh ) {
+      // ---------------------------------------------------------------------------------
+      nHid = nh;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Add Filename
+     *  @param fspc path to file containing configuration.
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder file( String fspc ) {
+      // ---------------------------------------------------------------------------------
+      configFilename = fspc;
+      cfg_count     += 1;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Wide Accumulation
+     *  @param w true to carry sums and gradients in double.
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder wide( boolean w ) {
+      // ---------------------------------------------------------------------------------
+      wide = w;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public BPNN_Float build() {
+      // ---------------------------------------------------------------------------------
+
+      switch( cfg_count ) {
+        case 0:
+          logger.error( "BPNN_Float.Builder requires either .io() or .file()" );
+          System.exit(1);
+          break;
+          
+        case 1:
+          break;
+          
+        default:
+          logger.error( "BPNN_Float.Builder may not have both .io() and .file()" );
+          System.exit(2);
+          break;
+      }
+
+      BPNN_Float net = new BPNN_Float();
+      net.wide = wide;
+
+      if ( 0 < nHid ) {
+        if ( 0 != net.init( nInp, nHid, nOut ) ) {
+          logger.error( "Network failed to initialize" );
+          System.exit(3);
+        }
+      } else {
+        if ( 0 != net.read( configFilename ) ) {
+          logger.error( "Network failed to read from file: "+configFilename );
+          System.exit(4);
+        }
+      }
+
+      return net;
+    }
+
+  } // end class BPNN_Float.Builder
+
+  
+  // =====================================================================================
+  /** @brief Constructor
+   */
+  // -------------------------------------------------------------------------------------
+  protected BPNN_Float( ) {
+    // -----------------------------------------------------------------------------------
+  }
+
+  
+  // =====================================================================================
+  /** @brief Constructor
+   *  @param number of inputs.
+   *  @param number of hidden nodes.
+   *  @param number of outputs.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int init( int ni, int nh, int no ) {
+    // -----------------------------------------------------------------------------------
+    nInp = ni;
+    nHid = nh;
+    nOut = no;
+    
+    w1  = new float[nHid*nInp];
+    b1  = new float[nHid];
+    d1  = new float[nHid];
+    z1  = new float[nHid];
+    a1  = new float[nHid];
+
+    w2  = new float[nOut*nHid];
+    b2  = new float[nOut];
+    d2  = new float[nOut];
+    z2  = new float[nOut];
+    a2  = new float[nOut];
+
+    xs  = new float[nInp];
+
+    if ( wide ) {
+      sW1 = new double[nHid*nInp];
+      sB1 = new double[nHid];
+      sW2 = new double[nOut*nHid];
+      sB2 = new double[nOut];
+    } else {
+      dW1 = new float[nHid*nInp];
+      dB1 = new float[nHid];
+      dW2 = new float[nOut*nHid];
+      dB2 = new float[nOut];
+    }
+
+    return 0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Convert.
+   *  @param net  double precision network.
+   *  @param wide true to carry sums and gradients in double.
+   *  @return single precision copy of net ( weights rounded to float ).
+   */
+  // -------------------------------------------------------------------------------------
+  public static BPNN_Float from( BPNN_Aug net, boolean wide ) {
+    // -----------------------------------------------------------------------------------
+    BPNN_Float f = new BPNN_Float();
+    f.wide = wide;
+    f.init( net.nInp, net.nHid, net.nOut );
+
+    narrow( f.w1, net.w1 );
+    narrow( f.b1, net.b1 );
+    narrow( f.w2, net.w2 );
+    narrow( f.b2, net.b2 );
+
+    return f;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Convert.
+   *  @return double precision copy of this network.
+   */
+  // -------------------------------------------------------------------------------------
+  public BPNN_Aug toDouble( ) {
+    // -----------------------------------------------------------------------------------
+    BPNN_Aug net = new BPNN_Aug();
+    net.init( nInp, nHid, nOut );
+
+    widen( net.w1, w1 );
+    widen( net.b1, b1 );
+    widen( net.w2, w2 );
+    widen( net.b2, b2 );
+
+    return net;
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public void init_weights( double s ) {
+    // -----------------------------------------------------------------------------------
+    Dice dd = Dice.getInstance();
+
+    for ( int node=0; node<nHid; node++ ) {
+      b1[node] = (float)( s*dd.normal() );
+      for ( int con=0; con<nInp; con++ ) {
+        w1[node*nInp+con] = (float)( s*dd.normal() );
+      }
+    }
+    
+    for ( int node=0; node<nOut; node++ ) {
+      b2[node] = (float)( s*dd.normal() );
+      for ( int con=0; con<nHid; con++ ) {
+        w2[node*nHid+con] = (float)( s*dd.normal() );
+      }
+    }
+
+    reset();
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public void reset( ) {
+    // -----------------------------------------------------------------------------------
+    Arrays.fill( z1, 0.0f );
+    Arrays.fill( a1, 0.0f );
+    Arrays.fill( d1, 0.0f );
+    Arrays.fill( z2, 0.0f );
+    Arrays.fill( a2, 0.0f );
+    Arrays.fill( d2, 0.0f );
+
+    if ( wide ) {
+      Arrays.fill( sW1, 0.0e0 );
+      Arrays.fill( sB1, 0.0e0 );
+      Arrays.fill( sW2, 0.0e0 );
+      Arrays.fill( sB2, 0.0e0 );
+    } else {
+      Arrays.fill( dW1, 0.0f );
+      Arrays.fill( dB1, 0.0f );
+      Arrays.fill( dW2, 0.0f );
+      Arrays.fill( dB2, 0.0f );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Weighted Sum.
+   *  @param z  output ( length nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param b  bias vector.
+   *  @param x  input ( length nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  protected void mul_weight( float[] z, float[] W, float[] b, float[] x, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    if ( wide ) {
+      Dense.gemv_d( z, W, b, x, nx, nz );
+    } else {
+      Dense.gemv( z, W, b, x, nx, nz );
+    }
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  protected static float sigmoid( float z ) {
+    // -----------------------------------------------------------------------------------
+    return (float)( 1.0e0 / ( 1.0e0 + Math.exp( -z ) ) );
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public void execute( float y[], float x[] ) {
+    // -----------------------------------------------------------------------------------
+
+    // ----- hidden layer --------------------------------------
+    mul_weight( a1, w1, b1, x, nInp, nHid );
+    for ( int node=0; node<nHid; node++ ) {
+      a1[node] = sigmoid( a1[node] );
+    }
+
+    // ----- output layer --------------------------------------
+    mul_weight( y, w2, b2, a1, nHid, nOut );
+    for ( int node=0; node<nOut; node++ ) {
+      y[node] = sigmoid( y[node] );
+    }
+    
+  }
+
+  
+  // =====================================================================================
+  /** @brief Execute.
+   *  @param y output vector.
+   *  @param x input  vector.
+   *
+   *  Convenience for callers holding double data. The input is rounded to float.
+   */
+  // -------------------------------------------------------------------------------------
+  public void execute( double y[], double x[] ) {
+    // -----------------------------------------------------------------------------------
+    narrow( xs, x );
+    execute( a2, xs );
+    for ( int node=0; node<nOut; node++ ) {
+      y[node] = a2[node];
+    }
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public void forward_pass( float x[] ) {
+    // -----------------------------------------------------------------------------------
+
+    // ----- hidden layer --------------------------------------
+    mul_weight( z1, w1, b1, x, nInp, nHid );
+    for ( int node=0; node<nHid; node++ ) {
+      a1[node] = sigmoid( z1[node] );
+    }
+
+    // ----- output layer --------------------------------------
+    mul_weight( z2, w2, b2, a1, nHid, nOut );
+    for ( int node=0; node<nOut; node++ ) {
+      a2[node] = sigmoid( z2[node] );
+    }
+    
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public double backwards_pass( float x[], float[] t ) {
+    // -----------------------------------------------------------------------------------
+
+    double cost = 0.0;
+
+    // ----- output layer --------------------------------------
+    for ( int node=0; node<nOut; node++ ) {
+      float dif = a2[node] - t[node];
+      cost += ( dif*dif );
+      //                 |<-- derivative of activation --->|
+      d2[node]   = dif * ( a2[node] * ( 1.0f - a2[node] ) );
+    }
+    if ( wide ) {
+      Dense.ger( sW2, sB2, d2, a1, nHid, nOut, 1.0e0 );
+    } else {
+      Dense.ger( dW2, dB2, d2, a1, nHid, nOut, 1.0f );
+    }
+
+    // ----- hidden layer --------------------------------------
+    Dense.gemv_t( d1, w2, d2, nHid, nOut );
+    for ( int node=0; node<nHid; node++ ) {
+      //                   |<-- derivative of activation --->|
+      d1[node] = d1[node] * a1[node] * ( a1[node] * ( 1.0f - a1[node] ) );
+    }
+    if ( wide ) {
+      Dense.ger( sW1, sB1, d1, x, nInp, nHid, 1.0e0 );
+    } else {
+      Dense.ger( dW1, dB1, d1, x, nInp, nHid, 1.0f );
+    }
+    
+    return cost / (double) nOut;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Update the Weights.
+   *  @param alf learning parameter.
+   */
+  // -------------------------------------------------------------------------------------
+  public void update( double alf ) {
+    // -----------------------------------------------------------------------------------
+    if ( wide ) {
+      Dense.axpy( b1, sB1, nHid,      -alf );
+      Dense.axpy( w1, sW1, nHid*nInp, -alf );
+      Dense.axpy( b2, sB2, nOut,      -alf );
+      Dense.axpy( w2, sW2, nOut*nHid, -alf );
+    } else {
+      float a = (float) alf;
+      Dense.axpy( b1, dB1, nHid,      -a );
+      Dense.axpy( w1, dW1, nHid*nInp, -a );
+      Dense.axpy( b2, dB2, nOut,      -a );
+      Dense.axpy( w2, dW2, nOut*nHid, -a );
+    }
+    
+    reset();
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read
+   *  @param fspc path to file containing configuration ( BPNN_Aug format ).
+   */
+  // -------------------------------------------------------------------------------------
+  public int read( String fspc ) {
+    // -----------------------------------------------------------------------------------
+
+    if ( null == fspc ) {
+      logger.error( "Filename can not be null" );
+      return 1;
+    }
+    
+    InputStream is    = null;
+    int         count = 0;
+    
+    try {
+      is = new FileInputStream( new File( fspc ) );
+    } catch( FileNotFoundException e ) {
+      logger.error( "Cannot open [" + fspc + "] for reading" );
+      return 2;
+    }
+
+    try {
+      Scanner scan = new Scanner( is );
+
+      int ni = scan.nextInt();
+      int nh = scan.nextInt();
+      int no = scan.nextInt();
+
+      init( ni, nh, no );
+
+      count = 2;
+      for ( int i=0; i<nHid; i++ ) {
+        b1[i] = (float) scan.nextDouble();
+        for ( int j=0; j<nInp; j++ ) {
+          w1[i*nInp+j] = (float) scan.nextDouble();
+        }
+        count += 1;
+      }
+
+      for ( int i=0; i<nOut; i++ ) {
+        b2[i] = (float) scan.nextDouble();
+        for ( int j=0; j<nHid; j++ ) {
+          w2[i*nHid+j] = (float) scan.nextDouble();
+        }
+        count += 1;
+      }
+
+    } catch( InputMismatchException e1 ) {
+      logger.error( "Table.read: value error on line: "+count );
+      return 3;
+    }
+
+    try {
+      is.close();
+    } catch( IOException e ) {
+      logger.error( "Cannot close [" + fspc + "] after reading" );
+      return 4;
+    }
+   
+    return 0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Write
+   *  @param fspc path to file containing configuration ( BPNN_Aug format ).
+   */
+  // -------------------------------------------------------------------------------------
+  public int write( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    PrintStream ps = FileTools.openWrite( fspc );
+    
+    ps.format( "%d %d %d\n", nInp, nHid, nOut );
+    
+    for ( int i=0; i<nHid; i++ ) {
+      ps.format( "%17.10e ", (double) b1[i] );
+      for ( int j=0; j<nInp; j++ ) {
+        ps.format( " %17.10e", (double) w1[i*nInp+j] );
+      }
+      ps.format( "\n" );
+    }
+    
+    for ( int i=0; i<nOut; i++ ) {
+      ps.format( "%17.10e ", (double) b2[i] );
+      for ( int j=0; j<nHid; j++ ) {
+        ps.format( " %17.10e", (double) w2[i*nHid+j] );
+      }
+      ps.format( "\n" );
+    }
+    
+    ps.close();
+    
+    return 0;
+  }
+
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public void compare( PrintStream ps, BPNN_Float that ) {
+    // -----------------------------------------------------------------------------------
+    ps.format( "B1: %g\n", sumsq( this.b1, that.b1 ) );
+    ps.format( "W1: %g\n", sumsq( this.w1, that.w1 ) );
+    ps.format( "B2: %g\n", sumsq( this.b2, that.b2 ) );
+    ps.format( "W2: %g\n", sumsq( this.w2, that.w2 ) );
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  protected static double sumsq( float[] R1, float[] R2 ) {
+    // -----------------------------------------------------------------------------------
+    double s = 0.0e0;
+    for ( int i=0; i<R1.length; i++ ) {
+      double d = (double) R1[i] - (double) R2[i];
+      s += ( d*d );
+    }
+    return s;
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  protected static void narrow( float[] dst, double[] src ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<dst.length; i++ ) {
+      dst[i] = (float) src[i];
+    }
+  }
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  protected static void widen( double[] dst, float[] src ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<src.length; i++ ) {
+      dst[i] = src[i];
+    }
+  }
+  
+
+} // end class BPNN_Float
+
+// =======================================================================================
+// **                                B P N N _ F L O A T                                **
+// ======================================================================== END FILE =====
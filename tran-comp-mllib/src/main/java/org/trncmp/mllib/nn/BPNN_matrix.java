@@ -64,16 +64,16 @@ public class BPNN_matrix {
   static public class Layer {
     // -----------------------------------------------------------------------------------
 
-    public double[][] W = null;       /** Weight Matrix */
+    public double[]   W = null;       /** Weight Matrix ( row-major, W[k*num_inp+j] ) */
     public double[]   b = null;       /** Bias Vector   */
 
     public int        num_inp = 0;    /** Number of inputs */
     public int        num_out = 0;    /** Number of nodes (or Outputs) */
 
-    public double[][] Z = null;       /** Weighted sums for each sample. */
-    public double[][] A = null;       /** Activation values for each sample. */
-    public double[][] E = null;       /** Error matrix */
-    public double[][] D = null;       /** Delta matrix */
+    public double[]   Z = null;       /** Weighted sums for each sample ( Z[s*num_out+k] ) */
+    public double[]   A = null;       /** Activation values for each sample ( as Z ) */
+    public double[]   E = null;       /** Error matrix ( as Z ) */
+    public double[]   D = null;       /** Delta matrix ( as Z ) */
 
     public int        num_sample = 0; /** Number of samples **/
 
@@ -89,7 +89,7 @@ public class BPNN_matrix {
       num_inp = nInp;
       num_out = nOut;
       
-      W = new double[num_out][num_inp];
+      W = new double[num_out*num_inp];
       b = new double[num_out];
     }
     
@@ -116,7 +116,7 @@ public class BPNN_matrix {
       for ( int k=0; k<num_out; k++ ) {
         b[k] = scale*(2.0*dd.uniform() - 1.0);
         for ( int j=0; j<num_inp; j++ ) {
-          W[k][j] = scale*(2.0*dd.uniform() - 1.0);
+          W[k*num_inp+j] = scale*(2.0*dd.uniform() - 1.0);
         }
       }
     }
@@ -125,18 +125,19 @@ public class BPNN_matrix {
     /** Prepare Network for forward pass.
      *  @param nS number of samples.
      *
-     *  Allocate temporary arrays to hold work if there are a different number of
-     *  samples since the last time.
+     *  Allocate temporary arrays to hold work if there are more samples than the
+     *  last allocation can hold. Smaller batches reuse the existing arrays.
      */
     // -------------------------------------------------------------------------------------
     public void prepare( int nS ) {
       // -----------------------------------------------------------------------------------
-      if ( num_sample != nS ) {
-        num_sample = nS;
-        A = new double[num_sample][num_out];
-        Z = new double[num_sample][num_out];
-        E = new double[num_sample][num_out];
-        D = new double[num_sample][num_out];
+      num_sample = nS;
+      int n = num_sample * num_out;
+      if ( ( null == A ) || ( A.length < n ) ) {
+        A = new double[n];
+        Z = new double[n];
+        E = new double[n];
+        D = new double[n];
       }
     }
     
@@ -148,6 +149,7 @@ public class BPNN_matrix {
   protected int     num_layer = 0;     /** number of layers */
   protected int     num_inp   = 0;     /** number of inputs */
   protected int     num_out   = 0;     /** number of outputs (nodes in last layer) */
+  protected double[] X        = null;  /** input table ( X[s*num_inp+j] ) */
 
 
   // =====================================================================================
@@ -227,14 +229,22 @@ public class BPNN_matrix {
       L[k].prepare( num_sample );
     }
 
+    // ----- gather the input rows into one row-major table ------------------------------
+
+    if ( ( null == X ) || ( X.length < num_sample * num_inp ) ) {
+      X = new double[num_sample * num_inp];
+    }
+    for ( int s=0; s<num_sample; s++ ) {
+      System.arraycopy( input[s], 0, X, s*num_inp, num_inp );
+    }
+
     // -----------------------------------------------------------------------------------
 
-    
-    mul_weight( L[0].Z, L[0].W, L[0].b, input, num_inp, L[0].num_out, num_sample );
+    mul_weight( L[0].Z, L[0].W, L[0].b, X, num_inp, L[0].num_out, num_sample );
     transfer( L[0].A, L[0].Z, L[0].num_out, num_sample );
 
     for ( int i=1; i<num_layer; i++ ) {
-      mul_weight( L[i].Z, L[i].W, L[i].b, L[i-1].A, num_inp, L[i].num_out, num_sample );
+      mul_weight( L[i].Z, L[i].W, L[i].b, L[i-1].A, L[i].num_inp, L[i].num_out, num_sample );
       transfer( L[i].A, L[i].Z, L[i].num_out, num_sample );
     }
 
@@ -267,7 +277,7 @@ public class BPNN_matrix {
     int rv = forward( input );
     
     if ( 0 == rv ) {    
-      copy( output, L[num_layer-1].A, num_out, output.length );
+      copy( output, L[num_layer-1].A, output.length, num_out );
     }
 
     return rv;
@@ -317,7 +327,7 @@ public class BPNN_matrix {
       }
 
       update_weight_matrix( L[0].W, L[0].num_inp, L[0].num_out, L[0].b,
-                              L[0].D, input, num_sample, alpha );
+                              L[0].D, X, num_sample, alpha );
 
     }
 
@@ -354,9 +364,10 @@ public class BPNN_matrix {
 
       mse = 0.0e0;
 
+      double[] A = L[num_layer-1].A;
       for ( int s=0; s<num_sample; s++ ) {
         for ( int k=0; k<num_out; k++ ) {
-          double d = desired_output[s][k] - L[num_layer-1].A[s][k];
+          double d = desired_output[s][k] - A[s*num_out+k];
           mse += (d*d);
         }
       }
@@ -379,13 +390,12 @@ public class BPNN_matrix {
    *  @param ns number of samples.
    */
   // -------------------------------------------------------------------------------------
-  protected void transfer( double[][] A, double[][] Z, int nz, int ns ) {
+  protected void transfer( double[] A, double[] Z, int nz, int ns ) {
     // -----------------------------------------------------------------------------------
-      for ( int s=0; s<ns; s++ ) {
-        for ( int k=0; k<nz; k++ ) {
-          A[s][k] = 1.0e0 / ( 1.0e0 + FastMath.exp( -Z[s][k] ) );
-        }
-      }
+    int n = nz * ns;
+    for ( int i=0; i<n; i++ ) {
+      A[i] = 1.0e0 / ( 1.0e0 + FastMath.exp( -Z[i] ) );
+    }
   }
 
 
@@ -398,12 +408,11 @@ public class BPNN_matrix {
    *  @param ns number of samples.
    */   
   // -------------------------------------------------------------------------------------
-  protected void delta( double[][] D, double[][] E, double[][] A, int nz, int ns ) {
+  protected void delta( double[] D, double[] E, double[] A, int nz, int ns ) {
     // -----------------------------------------------------------------------------------
-    for ( int s=0; s<ns; s++ ) {
-      for ( int k=0; k<nz; k++ ) {
-        D[s][k] = E[s][k]*A[s][k]*(1.0e0 - A[s][k]);
-      }
+    int n = nz * ns;
+    for ( int i=0; i<n; i++ ) {
+      D[i] = E[i]*A[i]*(1.0e0 - A[i]);
     }
   }
   
@@ -419,35 +428,25 @@ public class BPNN_matrix {
    *  @param ns number of samples
    */
   // -------------------------------------------------------------------------------------
-  protected void mul_weight( double[][] Z, double[][] W, double[] B,
-                             double[][] X, int nx, int nz, int ns ) {
+  protected void mul_weight( double[] Z, double[] W, double[] B,
+                             double[] X, int nx, int nz, int ns ) {
     // -----------------------------------------------------------------------------------
-    for ( int s=0; s<ns; s++ ) {
-      for ( int k=0; k<nz; k++ ) {
-        double sum = B[k];
-        for ( int j=0; j<nx; j++ ) {
-          sum += ( W[k][j] * X[s][j]);
-        }
-        Z[s][k] = sum;
-      }
-    }
+    Dense.gemm_nt( Z, W, B, X, nx, nz, ns );
   }
 
 
   // =====================================================================================
   /** Activation Function.
    *  @param D  destination matrix.
-   *  @param S  source      matrix.
+   *  @param S  source      matrix ( row-major ).
    *  @param nr number of rows.
    *  @param nc number of columns.
    */
   // -------------------------------------------------------------------------------------
-  protected void copy( double[][] D, double[][] S, int nr, int nc ) {
+  protected void copy( double[][] D, double[] S, int nr, int nc ) {
     // -----------------------------------------------------------------------------------
     for ( int r=0; r<nr; r++ ) {
-      for ( int c=0; c<nc; c++ ) {
-        D[r][c] = S[r][c];
-      }
+      System.arraycopy( S, r*nc, D[r], 0, nc );
     }
   }
 
@@ -460,11 +459,12 @@ public class BPNN_matrix {
    *  @param ns number of samples.
    */
   // -------------------------------------------------------------------------------------
-  protected void subtract( double[][] S, double[][] A, double[][] B, int nz, int ns ) {
+  protected void subtract( double[] S, double[][] A, double[] B, int nz, int ns ) {
     // -----------------------------------------------------------------------------------
     for ( int s=0; s<ns; s++ ) {
+      int r = s*nz;
       for ( int k=0; k<nz; k++ ) {
-        S[s][k] = A[s][k] - B[s][k];
+        S[r+k] = A[s][k] - B[r+k];
       }
     }
   }
@@ -480,18 +480,10 @@ public class BPNN_matrix {
    *  @param ns number of samples.
    */   
   // -------------------------------------------------------------------------------------
-  protected void error_matrix_mul( double[][] E, double[][] D, double[][] W,
+  protected void error_matrix_mul( double[] E, double[] D, double[] W,
                                    int nx, int nz, int ns ) {
     // -----------------------------------------------------------------------------------
-    for ( int s=0; s<ns; s++ ) {
-      for ( int k=0; k<nx; k++ ) {
-        double sum = 0.0e0;
-        for ( int m=0; m<nz; m++ ) {
-          sum += ( D[s][m] * W[m][k] );
-        }
-        E[s][k] = sum;
-      }
-    }
+    Dense.gemm_nn( E, D, W, nx, nz, ns );
   }
   
 
@@ -523,30 +515,10 @@ public class BPNN_matrix {
    *  @param alpha learning rate
    */   
   // -------------------------------------------------------------------------------------
-  protected void update_weight_matrix( double[][] W, int nx, int nz, double[] B,
-                                       double[][] D, double[][] A, int ns, double alpha ) {
+  protected void update_weight_matrix( double[] W, int nx, int nz, double[] B,
+                                       double[] D, double[] A, int ns, double alpha ) {
     // -----------------------------------------------------------------------------------
-
-    double train_const = alpha / (double)ns;
-    
-    for ( int j=0; j<nx; j++ ) {
-      for ( int k=0; k<nz; k++ ) {
-        double sum = 0.0e0;
-        for ( int s=0; s<ns; s++ ) {
-          sum += ( A[s][j] * D[s][k] );
-        }
-        W[k][j] += ( train_const * sum );
-      }
-    }
-
-    for ( int k=0; k<nz; k++ ) {
-      double sum = 0.0e0;
-      for ( int s=0; s<ns; s++ ) {
-        sum += D[s][k];
-      }
-      B[k] += ( train_const * sum );
-    }
- 
+    Dense.gemm_tn( W, B, D, A, nx, nz, ns, alpha / (double)ns );
   }
 
   
@@ -0,0 +1,655 @@
+// ====================================================================== BEGIN FILE =====
+// **                                     D E N S E                                     **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file Dense.java
+ * <p>
+ * Provides dense kernels over row-major flat arrays for the network classes.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+// =======================================================================================
+/** @class Dense
+ *
+ *  Dense linear algebra kernels shared by BPNN, BPNN_matrix, BPNN_Aug and BPNN_Float.
+ *
+ *  A weight matrix W of nz nodes by nx inputs is stored row-major in one flat array,
+ *  W[k*nx+j] is the weight from input j to node k. A batch of ns samples is stored
+ *  the same way, X[s*nx+j] is input j of sample s.
+ *
+ *  Matrix-vector kernels work on four rows at a time, so each input is loaded once
+ *  for four nodes. Matrix-matrix kernels tile samples and nodes, so that a tile of
+ *  inputs and a tile of weights are reused from cache while they are summed.
+ *
+ *  The float overloads serve the single precision network. Those ending in _d, and
+ *  those that update a double array, carry their sums in double.
+ */
+// ---------------------------------------------------------------------------------------
+public final class Dense {
+  // -------------------------------------------------------------------------------------
+
+  /** Samples per tile in the batch kernels. */
+  static final int S_BLOCK = 16;
+
+  /** Nodes per tile in the batch kernels. */
+  static final int K_BLOCK = 32;
+
+  
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  private Dense( ) {
+    // -----------------------------------------------------------------------------------
+  }
+
+  
+  // =====================================================================================
+  /** @brief Matrix Vector.
+   *  @param z  output, z[k] = b[k] + sum_j W[k,j] x[j] ( length nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param b  bias vector ( null = none ).
+   *  @param x  input vector ( length nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv( double[] z, double[] W, double[] b, double[] x,
+                           int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    gemv( z, 0, W, b, x, 0, nx, nz );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Matrix Vector.
+   *  @param z    output.
+   *  @param zoff offset of the first output in z.
+   *  @param W    weight matrix ( nz x nx ).
+   *  @param b    bias vector ( null = none ).
+   *  @param x    input.
+   *  @param xoff offset of the first input in x.
+   *  @param nx   number of inputs.
+   *  @param nz   number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv( double[] z, int zoff, double[] W, double[] b,
+                           double[] x, int xoff, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    int k = 0;
+    for ( ; k+3<nz; k+=4 ) {
+      int    r0 = k*nx;
+      int    r1 = r0 + nx;
+      int    r2 = r1 + nx;
+      int    r3 = r2 + nx;
+      double s0 = 0.0e0;
+      double s1 = 0.0e0;
+      double s2 = 0.0e0;
+      double s3 = 0.0e0;
+      for ( int j=0; j<nx; j++ ) {
+        double v = x[xoff+j];
+        s0 += W[r0+j] * v;
+        s1 += W[r1+j] * v;
+        s2 += W[r2+j] * v;
+        s3 += W[r3+j] * v;
+      }
+      if ( null != b ) {
+        s0 += b[k];
+        s1 += b[k+1];
+        s2 += b[k+2];
+        s3 += b[k+3];
+      }
+      z[zoff+k]   = s0;
+      z[zoff+k+1] = s1;
+      z[zoff+k+2] = s2;
+      z[zoff+k+3] = s3;
+    }
+    for ( ; k<nz; k++ ) {
+      int    r = k*nx;
+      double s = 0.0e0;
+      for ( int j=0; j<nx; j++ ) {
+        s += W[r+j] * x[xoff+j];
+      }
+      z[zoff+k] = ( null == b ) ? s : s + b[k];
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Transposed Matrix Vector.
+   *  @param e  output, e[j] = sum_k d[k] W[k,j] ( length nx ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param d  node vector ( length nz ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv_t( double[] e, double[] W, double[] d, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    gemv_t( e, 0, W, d, 0, nx, nz );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Transposed Matrix Vector.
+   *  @param e    output.
+   *  @param eoff offset of the first output in e.
+   *  @param W    weight matrix ( nz x nx ).
+   *  @param d    node vector.
+   *  @param doff offset of the first node in d.
+   *  @param nx   number of inputs.
+   *  @param nz   number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv_t( double[] e, int eoff, double[] W, double[] d, int doff,
+                             int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    for ( int j=0; j<nx; j++ ) {
+      e[eoff+j] = 0.0e0;
+    }
+
+    int k = 0;
+    for ( ; k+3<nz; k+=4 ) {
+      int    r0 = k*nx;
+      int    r1 = r0 + nx;
+      int    r2 = r1 + nx;
+      int    r3 = r2 + nx;
+      double d0 = d[doff+k];
+      double d1 = d[doff+k+1];
+      double d2 = d[doff+k+2];
+      double d3 = d[doff+k+3];
+      for ( int j=0; j<nx; j++ ) {
+        e[eoff+j] += d0*W[r0+j] + d1*W[r1+j] + d2*W[r2+j] + d3*W[r3+j];
+      }
+    }
+    for ( ; k<nz; k++ ) {
+      int    r  = k*nx;
+      double dk = d[doff+k];
+      for ( int j=0; j<nx; j++ ) {
+        e[eoff+j] += dk * W[r+j];
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Outer Product Update.
+   *  @param G     matrix being updated, G[k,j] += alpha d[k] a[j] ( nz x nx ).
+   *  @param gb    bias being updated, gb[k] += alpha d[k] ( null = none ).
+   *  @param d     node vector ( length nz ).
+   *  @param a     input vector ( length nx ).
+   *  @param nx    number of inputs.
+   *  @param nz    number of nodes.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void ger( double[] G, double[] gb, double[] d, double[] a,
+                          int nx, int nz, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    ger( G, gb, d, 0, a, 0, nx, nz, alpha );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Outer Product Update.
+   *  @param G     matrix being updated ( nz x nx ).
+   *  @param gb    bias being updated ( null = none ).
+   *  @param d     node vector.
+   *  @param doff  offset of the first node in d.
+   *  @param a     input vector.
+   *  @param aoff  offset of the first input in a.
+   *  @param nx    number of inputs.
+   *  @param nz    number of nodes.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void ger( double[] G, double[] gb, double[] d, int doff,
+                          double[] a, int aoff, int nx, int nz, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    for ( int k=0; k<nz; k++ ) {
+      double dk = alpha * d[doff+k];
+      int    r  = k*nx;
+      if ( null != gb ) {
+        gb[k] += dk;
+      }
+      for ( int j=0; j<nx; j++ ) {
+        G[r+j] += dk * a[aoff+j];
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Scaled Add.
+   *  @param y     vector being updated, y[i] += alpha x[i].
+   *  @param x     vector.
+   *  @param n     number of elements.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void axpy( double[] y, double[] x, int n, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    int i = 0;
+    for ( ; i+3<n; i+=4 ) {
+      y[i]   += alpha * x[i];
+      y[i+1] += alpha * x[i+1];
+      y[i+2] += alpha * x[i+2];
+      y[i+3] += alpha * x[i+3];
+    }
+    for ( ; i<n; i++ ) {
+      y[i] += alpha * x[i];
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Batch Forward.
+   *  @param Z  output, Z[s,k] = b[k] + sum_j X[s,j] W[k,j] ( ns x nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param b  bias vector ( null = none ).
+   *  @param X  input matrix ( ns x nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   *  @param ns number of samples.
+   *
+   *  Z = X W' + b, tiled S_BLOCK samples by K_BLOCK nodes, with a 2 x 2 register tile.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemm_nt( double[] Z, double[] W, double[] b, double[] X,
+                              int nx, int nz, int ns ) {
+    // -----------------------------------------------------------------------------------
+    for ( int s0=0; s0<ns; s0+=S_BLOCK ) {
+      int s1 = Math.min( ns, s0 + S_BLOCK );
+      for ( int k0=0; k0<nz; k0+=K_BLOCK ) {
+        int k1 = Math.min( nz, k0 + K_BLOCK );
+
+        int s = s0;
+        for ( ; s+1<s1; s+=2 ) {
+          int xa = s*nx;
+          int xb = xa + nx;
+          int k  = k0;
+          for ( ; k+1<k1; k+=2 ) {
+            int    wa  = k*nx;
+            int    wb  = wa + nx;
+            double saa = 0.0e0;
+            double sab = 0.0e0;
+            double sba = 0.0e0;
+            double sbb = 0.0e0;
+            for ( int j=0; j<nx; j++ ) {
+              double va = X[xa+j];
+              double vb = X[xb+j];
+              double ua = W[wa+j];
+              double ub = W[wb+j];
+              saa += va * ua;
+              sab += va * ub;
+              sba += vb * ua;
+              sbb += vb * ub;
+            }
+            double ba = ( null == b ) ? 0.0e0 : b[k];
+            double bb = ( null == b ) ? 0.0e0 : b[k+1];
+            Z[s*nz+k]       = saa + ba;
+            Z[s*nz+k+1]     = sab + bb;
+            Z[(s+1)*nz+k]   = sba + ba;
+            Z[(s+1)*nz+k+1] = sbb + bb;
+          }
+          for ( ; k<k1; k++ ) {
+            int    w  = k*nx;
+            double sa = 0.0e0;
+            double sb = 0.0e0;
+            for ( int j=0; j<nx; j++ ) {
+              sa += X[xa+j] * W[w+j];
+              sb += X[xb+j] * W[w+j];
+            }
+            double bk = ( null == b ) ? 0.0e0 : b[k];
+            Z[s*nz+k]     = sa + bk;
+            Z[(s+1)*nz+k] = sb + bk;
+          }
+        }
+        for ( ; s<s1; s++ ) {
+          for ( int k=k0; k<k1; k++ ) {
+            int    xa = s*nx;
+            int    w  = k*nx;
+            double sa = 0.0e0;
+            for ( int j=0; j<nx; j++ ) {
+              sa += X[xa+j] * W[w+j];
+            }
+            Z[s*nz+k] = ( null == b ) ? sa : sa + b[k];
+          }
+        }
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Batch Back-propagate.
+   *  @param E  output, E[s,j] = sum_k D[s,k] W[k,j] ( ns x nx ).
+   *  @param D  node matrix ( ns x nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   *  @param ns number of samples.
+   *
+   *  E = D W, one transposed matrix-vector product per sample.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemm_nn( double[] E, double[] D, double[] W,
+                              int nx, int nz, int ns ) {
+    // -----------------------------------------------------------------------------------
+    for ( int s=0; s<ns; s++ ) {
+      gemv_t( E, s*nx, W, D, s*nz, nx, nz );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Batch Outer Product Update.
+   *  @param G     matrix being updated, G[k,j] += alpha sum_s D[s,k] X[s,j] ( nz x nx ).
+   *  @param gb    bias being updated, gb[k] += alpha sum_s D[s,k] ( null = none ).
+   *  @param D     node matrix ( ns x nz ).
+   *  @param X     input matrix ( ns x nx ).
+   *  @param nx    number of inputs.
+   *  @param nz    number of nodes.
+   *  @param ns    number of samples.
+   *  @param alpha scale.
+   *
+   *  G += alpha D' X. A tile of S_BLOCK input rows is applied to every row of G before
+   *  moving to the next tile, so the tile stays in cache.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemm_tn( double[] G, double[] gb, double[] D, double[] X,
+                              int nx, int nz, int ns, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    for ( int s0=0; s0<ns; s0+=S_BLOCK ) {
+      int s1 = Math.min( ns, s0 + S_BLOCK );
+      for ( int k=0; k<nz; k++ ) {
+        int r = k*nx;
+        int s = s0;
+        for ( ; s+1<s1; s+=2 ) {
+          double da = alpha * D[s*nz+k];
+          double db = alpha * D[(s+1)*nz+k];
+          int    xa = s*nx;
+          int    xb = xa + nx;
+          for ( int j=0; j<nx; j++ ) {
+            G[r+j] += da * X[xa+j] + db * X[xb+j];
+          }
+          if ( null != gb ) {
+            gb[k] += da + db;
+          }
+        }
+        for ( ; s<s1; s++ ) {
+          double da = alpha * D[s*nz+k];
+          int    xa = s*nx;
+          for ( int j=0; j<nx; j++ ) {
+            G[r+j] += da * X[xa+j];
+          }
+          if ( null != gb ) {
+            gb[k] += da;
+          }
+        }
+      }
+    }
+  }
+
+  // =====================================================================================
+  /** @brief Matrix Vector ( single precision ).
+   *  @param z  output, z[k] = b[k] + sum_j W[k,j] x[j] ( length nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param b  bias vector ( null = none ).
+   *  @param x  input vector ( length nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv( float[] z, float[] W, float[] b, float[] x, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    int k = 0;
+    for ( ; k+3<nz; k+=4 ) {
+      int   r0 = k*nx;
+      int   r1 = r0 + nx;
+      int   r2 = r1 + nx;
+      int   r3 = r2 + nx;
+      float s0 = 0.0f;
+      float s1 = 0.0f;
+      float s2 = 0.0f;
+      float s3 = 0.0f;
+      for ( int j=0; j<nx; j++ ) {
+        float v = x[j];
+        s0 += W[r0+j] * v;
+        s1 += W[r1+j] * v;
+        s2 += W[r2+j] * v;
+        s3 += W[r3+j] * v;
+      }
+      if ( null != b ) {
+        s0 += b[k];
+        s1 += b[k+1];
+        s2 += b[k+2];
+        s3 += b[k+3];
+      }
+      z[k]   = s0;
+      z[k+1] = s1;
+      z[k+2] = s2;
+      z[k+3] = s3;
+    }
+    for ( ; k<nz; k++ ) {
+      int   r = k*nx;
+      float s = 0.0f;
+      for ( int j=0; j<nx; j++ ) {
+        s += W[r+j] * x[j];
+      }
+      z[k] = ( null == b ) ? s : s + b[k];
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Matrix Vector ( single precision, double accumulation ).
+   *  @param z  output, z[k] = b[k] + sum_j W[k,j] x[j] ( length nz ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param b  bias vector ( null = none ).
+   *  @param x  input vector ( length nx ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   *
+   *  As gemv, but each sum is carried in double and rounded once.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv_d( float[] z, float[] W, float[] b, float[] x, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    int k = 0;
+    for ( ; k+3<nz; k+=4 ) {
+      int    r0 = k*nx;
+      int    r1 = r0 + nx;
+      int    r2 = r1 + nx;
+      int    r3 = r2 + nx;
+      double s0 = 0.0e0;
+      double s1 = 0.0e0;
+      double s2 = 0.0e0;
+      double s3 = 0.0e0;
+      for ( int j=0; j<nx; j++ ) {
+        double v = x[j];
+        s0 += W[r0+j] * v;
+        s1 += W[r1+j] * v;
+        s2 += W[r2+j] * v;
+        s3 += W[r3+j] * v;
+      }
+      if ( null != b ) {
+        s0 += b[k];
+        s1 += b[k+1];
+        s2 += b[k+2];
+        s3 += b[k+3];
+      }
+      z[k]   = (float) s0;
+      z[k+1] = (float) s1;
+      z[k+2] = (float) s2;
+      z[k+3] = (float) s3;
+    }
+    for ( ; k<nz; k++ ) {
+      int    r = k*nx;
+      double s = 0.0e0;
+      for ( int j=0; j<nx; j++ ) {
+        s += W[r+j] * (double) x[j];
+      }
+      z[k] = (float) ( ( null == b ) ? s : s + b[k] );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Transposed Matrix Vector ( single precision ).
+   *  @param e  output, e[j] = sum_k d[k] W[k,j] ( length nx ).
+   *  @param W  weight matrix ( nz x nx ).
+   *  @param d  node vector ( length nz ).
+   *  @param nx number of inputs.
+   *  @param nz number of nodes.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void gemv_t( float[] e, float[] W, float[] d, int nx, int nz ) {
+    // -----------------------------------------------------------------------------------
+    for ( int j=0; j<nx; j++ ) {
+      e[j] = 0.0f;
+    }
+
+    int k = 0;
+    for ( ; k+3<nz; k+=4 ) {
+      int   r0 = k*nx;
+      int   r1 = r0 + nx;
+      int   r2 = r1 + nx;
+      int   r3 = r2 + nx;
+      float d0 = d[k];
+      float d1 = d[k+1];
+      float d2 = d[k+2];
+      float d3 = d[k+3];
+      for ( int j=0; j<nx; j++ ) {
+        e[j] += d0*W[r0+j] + d1*W[r1+j] + d2*W[r2+j] + d3*W[r3+j];
+      }
+    }
+    for ( ; k<nz; k++ ) {
+      int   r  = k*nx;
+      float dk = d[k];
+      for ( int j=0; j<nx; j++ ) {
+        e[j] += dk * W[r+j];
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Outer Product Update ( single precision ).
+   *  @param G     matrix being updated, G[k,j] += alpha d[k] a[j] ( nz x nx ).
+   *  @param gb    bias being updated, gb[k] += alpha d[k] ( null = none ).
+   *  @param d     node vector ( length nz ).
+   *  @param a     input vector ( length nx ).
+   *  @param nx    number of inputs.
+   *  @param nz    number of nodes.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void ger( float[] G, float[] gb, float[] d, float[] a,
+                          int nx, int nz, float alpha ) {
+    // -----------------------------------------------------------------------------------
+    for ( int k=0; k<nz; k++ ) {
+      float dk = alpha * d[k];
+      int   r  = k*nx;
+      if ( null != gb ) {
+        gb[k] += dk;
+      }
+      for ( int j=0; j<nx; j++ ) {
+        G[r+j] += dk * a[j];
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Outer Product Update ( single precision, double accumulation ).
+   *  @param G     matrix being updated, G[k,j] += alpha d[k] a[j] ( nz x nx ).
+   *  @param gb    bias being updated, gb[k] += alpha d[k] ( null = none ).
+   *  @param d     node vector ( length nz ).
+   *  @param a     input vector ( length nx ).
+   *  @param nx    number of inputs.
+   *  @param nz    number of nodes.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void ger( double[] G, double[] gb, float[] d, float[] a,
+                          int nx, int nz, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    for ( int k=0; k<nz; k++ ) {
+      double dk = alpha * d[k];
+      int    r  = k*nx;
+      if ( null != gb ) {
+        gb[k] += dk;
+      }
+      for ( int j=0; j<nx; j++ ) {
+        G[r+j] += dk * a[j];
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Scaled Add ( single precision ).
+   *  @param y     vector being updated, y[i] += alpha x[i].
+   *  @param x     vector.
+   *  @param n     number of elements.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void axpy( float[] y, float[] x, int n, float alpha ) {
+    // -----------------------------------------------------------------------------------
+    int i = 0;
+    for ( ; i+3<n; i+=4 ) {
+      y[i]   += alpha * x[i];
+      y[i+1] += alpha * x[i+1];
+      y[i+2] += alpha * x[i+2];
+      y[i+3] += alpha * x[i+3];
+    }
+    for ( ; i<n; i++ ) {
+      y[i] += alpha * x[i];
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Scaled Add ( single precision, double accumulation ).
+   *  @param y     vector being updated, y[i] += alpha x[i], rounded to float.
+   *  @param x     vector.
+   *  @param n     number of elements.
+   *  @param alpha scale.
+   */
+  // -------------------------------------------------------------------------------------
+  public static void axpy( float[] y, double[] x, int n, double alpha ) {
+    // -----------------------------------------------------------------------------------
+    for ( int i=0; i<n; i++ ) {
+      y[i] = (float) ( y[i] + alpha * x[i] );
+    }
+  }
+
+} // end class Dense
+
+// =======================================================================================
+// **                                     D E N S E                                     **
+// ======================================================================== END FILE =====
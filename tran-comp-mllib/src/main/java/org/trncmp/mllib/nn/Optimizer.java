@@ -0,0 +1,328 @@
+// ====================================================================== BEGIN FILE =====
+// **                                 O P T I M I Z E R                                 **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file Optimizer.java
+ * <p>
+ * Provides gradient descent optimizers for the BPNN networks.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.hipparchus.util.FastMath;
+
+// =======================================================================================
+/** @class Optimizer
+ *
+ *  Weight update rule for the back-propagation networks.
+ *
+ *  A network registers each of its parameter arrays once, receiving a slot. The
+ *  optimizer keeps its state for that slot in flat arrays of the same length as the
+ *  parameters. Each update calls begin() once and then step() once per slot. Each
+ *  step is one pass over the parameters, reading the accumulated gradient and the
+ *  state and writing both the state and the parameters.
+ *
+ *  The gradient is G[i]*scale, in the direction of increasing cost.
+ */
+// ---------------------------------------------------------------------------------------
+public abstract class Optimizer {
+  // -------------------------------------------------------------------------------------
+
+  /** Per slot state, state.get(slot)[v][i] */
+  protected final ArrayList<double[][]> state = new ArrayList<double[][]>();
+
+  /** Number of updates since the state was reset */
+  protected int count = 0;
+
+  
+  // =====================================================================================
+  /** @brief State Vectors.
+   *  @return number of state values kept per parameter.
+   */
+  // -------------------------------------------------------------------------------------
+  protected abstract int states( );
+
+  
+  // =====================================================================================
+  /** @brief Step.
+   *  @param slot  slot returned by register.
+   *  @param W     parameters being updated.
+   *  @param G     accumulated gradient.
+   *  @param n     number of parameters.
+   *  @param scale factor that converts G into the cost gradient.
+   *  @param alpha learning rate.
+   */
+  // -------------------------------------------------------------------------------------
+  public abstract void step( int slot, double[] W, double[] G, int n,
+                             double scale, double alpha );
+
+  
+  // =====================================================================================
+  /** @brief Register.
+   *  @param n number of parameters in the array.
+   *  @return slot for this array.
+   */
+  // -------------------------------------------------------------------------------------
+  public int register( int n ) {
+    // -----------------------------------------------------------------------------------
+    state.add( new double[ states() ][ n ] );
+    return state.size() - 1;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Begin.
+   *
+   *  Start one update, called before the steps of that update.
+   */
+  // -------------------------------------------------------------------------------------
+  public void begin( ) {
+    // -----------------------------------------------------------------------------------
+    count += 1;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Reset.
+   *
+   *  Zero the state of every slot, as if no update had been made.
+   */
+  // -------------------------------------------------------------------------------------
+  public void reset( ) {
+    // -----------------------------------------------------------------------------------
+    for ( double[][] S : state ) {
+      for ( double[] v : S ) {
+        Arrays.fill( v, 0.0e0 );
+      }
+    }
+    count = 0;
+  }
+
+  
+  // =====================================================================================
+  /** @class SGD
+   *
+   *  W -= alpha g
+   */
+  // -------------------------------------------------------------------------------------
+  public static class SGD extends Optimizer {
+    // -----------------------------------------------------------------------------------
+
+    protected int states( ) { return 0; }
+
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void step( int slot, double[] W, double[] G, int n,
+                      double scale, double alpha ) {
+      // ---------------------------------------------------------------------------------
+      double c = alpha * scale;
+      for ( int i=0; i<n; i++ ) {
+        W[i] -= c * G[i];
+      }
+    }
+    
+  } // end class Optimizer.SGD
+
+  
+  // =====================================================================================
+  /** @class Momentum
+   *
+   *  v = mu v + g,  W -= alpha v
+   *
+   *  With nesterov set the step looks ahead along the new velocity,
+   *  W -= alpha ( g + mu v ).
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Momentum extends Optimizer {
+    // -----------------------------------------------------------------------------------
+
+    protected final double  mu;
+    protected final boolean nesterov;
+
+    protected int states( ) { return 1; }
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param m momentum coefficient [0,1).
+     *  @param n true for Nesterov momentum.
+     */
+    // -----------------------------------------------------------------------------------
+    public Momentum( double m, boolean n ) {
+      // ---------------------------------------------------------------------------------
+      mu       = m;
+      nesterov = n;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void step( int slot, double[] W, double[] G, int n,
+                      double scale, double alpha ) {
+      // ---------------------------------------------------------------------------------
+      double[] v = state.get( slot )[0];
+      if ( nesterov ) {
+        for ( int i=0; i<n; i++ ) {
+          double g  = scale * G[i];
+          double vi = mu * v[i] + g;
+          v[i]  = vi;
+          W[i] -= alpha * ( g + mu * vi );
+        }
+      } else {
+        for ( int i=0; i<n; i++ ) {
+          double vi = mu * v[i] + scale * G[i];
+          v[i]  = vi;
+          W[i] -= alpha * vi;
+        }
+      }
+    }
+    
+  } // end class Optimizer.Momentum
+
+  
+  // =====================================================================================
+  /** @class RMSProp
+   *
+   *  s = rho s + (1-rho) g^2,  W -= alpha g / ( sqrt(s) + eps )
+   */
+  // -------------------------------------------------------------------------------------
+  public static class RMSProp extends Optimizer {
+    // -----------------------------------------------------------------------------------
+
+    protected final double rho;
+    protected final double eps;
+
+    protected int states( ) { return 1; }
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param r decay of the squared gradient average [0,1).
+     *  @param e small constant that bounds the step.
+     */
+    // -----------------------------------------------------------------------------------
+    public RMSProp( double r, double e ) {
+      // ---------------------------------------------------------------------------------
+      rho = r;
+      eps = e;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void step( int slot, double[] W, double[] G, int n,
+                      double scale, double alpha ) {
+      // ---------------------------------------------------------------------------------
+      double[] s = state.get( slot )[0];
+      double   q = 1.0e0 - rho;
+      for ( int i=0; i<n; i++ ) {
+        double g  = scale * G[i];
+        double si = rho * s[i] + q * g * g;
+        s[i]  = si;
+        W[i] -= alpha * g / ( FastMath.sqrt( si ) + eps );
+      }
+    }
+    
+  } // end class Optimizer.RMSProp
+
+  
+  // =====================================================================================
+  /** @class Adam
+   *
+   *  m = b1 m + (1-b1) g,  v = b2 v + (1-b2) g^2,
+   *  W -= alpha m' / ( sqrt(v') + eps ), where m' and v' are corrected for the zero
+   *  start by 1/(1-b1^t) and 1/(1-b2^t).
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Adam extends Optimizer {
+    // -----------------------------------------------------------------------------------
+
+    protected final double beta1;
+    protected final double beta2;
+    protected final double eps;
+
+    protected int states( ) { return 2; }
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param b1 decay of the gradient average [0,1).
+     *  @param b2 decay of the squared gradient average [0,1).
+     *  @param e  small constant that bounds the step.
+     */
+    // -----------------------------------------------------------------------------------
+    public Adam( double b1, double b2, double e ) {
+      // ---------------------------------------------------------------------------------
+      beta1 = b1;
+      beta2 = b2;
+      eps   = e;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *
+     *  b1 = 0.9, b2 = 0.999, eps = 1e-8.
+     */
+    // -----------------------------------------------------------------------------------
+    public Adam( ) {
+      // ---------------------------------------------------------------------------------
+      this( 0.9, 0.999, 1.0e-8 );
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void step( int slot, double[] W, double[] G, int n,
+                      double scale, double alpha ) {
+      // ---------------------------------------------------------------------------------
+      double[][] S  = state.get( slot );
+      double[]   m  = S[0];
+      double[]   v  = S[1];
+      double     q1 = 1.0e0 - beta1;
+      double     q2 = 1.0e0 - beta2;
+      double     c1 = alpha / ( 1.0e0 - FastMath.pow( beta1, count ) );
+      double     c2 = 1.0e0 / ( 1.0e0 - FastMath.pow( beta2, count ) );
+      for ( int i=0; i<n; i++ ) {
+        double g  = scale * G[i];
+        double mi = beta1 * m[i] + q1 * g;
+        double vi = beta2 * v[i] + q2 * g * g;
+        m[i]  = mi;
+        v[i]  = vi;
+        W[i] -= c1 * mi / ( FastMath.sqrt( c2 * vi ) + eps );
+      }
+    }
+    
+  } // end class Optimizer.Adam
+
+} // end class Optimizer
+
+// =======================================================================================
+// **                                 O P T I M I Z E R                                 **
+// ======================================================================== END FILE =====
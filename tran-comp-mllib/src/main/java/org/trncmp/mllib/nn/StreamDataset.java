@@ -0,0 +1,712 @@
+// ====================================================================== BEGIN FILE =====
+// **                             S T R E A M D A T A S E T                             **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file StreamDataset.java
+ * <p>
+ * Provides a memory-mapped, prefetching training set for the networks.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.trncmp.lib.Dice;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// =======================================================================================
+/** @class StreamDataset
+ *
+ *  Training set read from a binary file that is memory-mapped, not loaded. Only the
+ *  mini-batch buffers are on the heap, so the set may be larger than the heap.
+ *
+ *  File layout, big-endian as written by DataOutputStream:
+ *    int magic, int version, int inputs, int outputs, long samples,
+ *    then per sample the inputs followed by the outputs as doubles.
+ *
+ *  Each epoch visits the blocks of block_size consecutive records in a random order,
+ *  and the records of each block in a random order. A background thread fills a ring
+ *  of reusable mini-batch buffers ahead of the trainer. The order depends only on
+ *  the seed.
+ *
+ *  Use Writer to create a file, or convert to translate the two-table text files
+ *  read by Table.read_ascii without loading them.
+ */
+// ---------------------------------------------------------------------------------------
+public class StreamDataset {
+  // -------------------------------------------------------------------------------------
+
+  private static final Logger logger = LogManager.getLogger();
+
+  static final int  MAGIC   = 0x54524E44;  /** file identifier 'TRND' */
+  static final int  VERSION = 1;           /** file layout version */
+  static final int  HEADER  = 24;          /** bytes before the first record */
+  static final long SEGMENT = 1L << 30;    /** largest mapping, in bytes */
+
+  protected int                 nInp        = 0;     /** number of inputs  per record */
+  protected int                 nOut        = 0;     /** number of outputs per record */
+  protected long                num_sample  = 0;     /** number of records */
+  protected int                 rec_bytes   = 0;     /** bytes per record */
+  protected int                 seg_records = 0;     /** records per mapped segment */
+  protected MappedByteBuffer[]  seg         = null;  /** mapped segments */
+
+  protected int                 batch_size  = 0;     /** records per mini-batch */
+  protected int                 block_size  = 0;     /** records per shuffled block */
+  protected long                seed        = 0;     /** shuffle seed */
+
+  protected ArrayBlockingQueue<Batch> free     = null;  /** buffers ready to fill */
+  protected ArrayBlockingQueue<Batch> full     = null;  /** buffers ready to train */
+  protected Thread                    producer = null;  /** prefetch thread */
+
+  protected volatile RuntimeException failure = null;   /** error that stopped prefetch */
+
+  static final Batch FAILED = new Batch( 0, 0, 0 );     /** queued when prefetch stops */
+
+
+  // =====================================================================================
+  /** @class Batch
+   *
+   *  One reusable mini-batch buffer. Rows [0,count) are valid. last marks the final
+   *  mini-batch of an epoch, which may be short.
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Batch {
+    // -----------------------------------------------------------------------------------
+    public final double[][] input;
+    public final double[][] output;
+    public       int        count = 0;
+    public       boolean    last  = false;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param n  number of rows.
+     *  @param ni number of inputs.
+     *  @param no number of outputs.
+     */
+    // -----------------------------------------------------------------------------------
+    Batch( int n, int ni, int no ) {
+      // ---------------------------------------------------------------------------------
+      input  = new double[n][ni];
+      output = new double[n][no];
+    }
+
+  } // end class StreamDataset.Batch
+
+
+  // =====================================================================================
+  /** @class Writer
+   *
+   *  Appends records to a new dataset file. The sample count is written on close.
+   */
+  // -------------------------------------------------------------------------------------
+  public static class Writer {
+    // -----------------------------------------------------------------------------------
+    protected final String           fspc;
+    protected final int              nInp;
+    protected final int              nOut;
+    protected final DataOutputStream out;
+    protected       long             count = 0;
+
+    
+    // ===================================================================================
+    /** @brief Constructor.
+     *  @param f  path to the file to create.
+     *  @param ni number of inputs  per record.
+     *  @param no number of outputs per record.
+     */
+    // -----------------------------------------------------------------------------------
+    public Writer( String f, int ni, int no ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      fspc = f;
+      nInp = ni;
+      nOut = no;
+      out  = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( f ),
+                                                             65536 ) );
+      out.writeInt( MAGIC );
+      out.writeInt( VERSION );
+      out.writeInt( nInp );
+      out.writeInt( nOut );
+      out.writeLong( 0L );
+    }
+
+    
+    // ===================================================================================
+    /** @brief Add.
+     *  @param x input  vector.
+     *  @param y output vector.
+     */
+    // -----------------------------------------------------------------------------------
+    public void add( double[] x, double[] y ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      for ( int j=0; j<nInp; j++ ) {
+        out.writeDouble( x[j] );
+      }
+      for ( int k=0; k<nOut; k++ ) {
+        out.writeDouble( y[k] );
+      }
+      count += 1;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Close.
+     *
+     *  Flush the records and record the sample count in the header.
+     */
+    // -----------------------------------------------------------------------------------
+    public void close( ) throws IOException {
+      // ---------------------------------------------------------------------------------
+      out.close();
+      RandomAccessFile raf = new RandomAccessFile( fspc, "rw" );
+      try {
+        raf.seek( HEADER - 8 );
+        raf.writeLong( count );
+      } finally {
+        raf.close();
+      }
+    }
+
+  } // end class StreamDataset.Writer
+
+
+  // =====================================================================================
+  /** @class Prefetch
+   *
+   *  Fills mini-batch buffers in shuffled block order, one epoch after another.
+   */
+  // -------------------------------------------------------------------------------------
+  class Prefetch implements Runnable {
+    // -----------------------------------------------------------------------------------
+    protected final Random rnd;
+    protected final int[]  blk_order;
+    protected final int[]  rec_order;
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    Prefetch( ) {
+      // ---------------------------------------------------------------------------------
+      rnd       = new Random( seed );
+      blk_order = new int[ (int)( ( num_sample + block_size - 1 ) / block_size ) ];
+      rec_order = new int[ block_size ];
+    }
+
+    
+    // ===================================================================================
+    /** @brief Shuffle.
+     *  @param a array.
+     *  @param n number of leading elements to shuffle.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void shuffle( int[] a, int n ) {
+      // ---------------------------------------------------------------------------------
+      for ( int i=0; i<n; i++ ) {
+        a[i] = i;
+      }
+      for ( int i=n-1; i>0; i-- ) {
+        int j = rnd.nextInt( i+1 );
+        int t = a[i];
+        a[i]  = a[j];
+        a[j]  = t;
+      }
+    }
+
+    
+    // ===================================================================================
+    /** @brief Epoch.
+     *
+     *  Produce one pass over the records.
+     */
+    // -----------------------------------------------------------------------------------
+    protected void epoch( ) throws InterruptedException {
+      // ---------------------------------------------------------------------------------
+      shuffle( blk_order, blk_order.length );
+
+      long  produced = 0;
+      Batch cur      = null;
+
+      for ( int b=0; b<blk_order.length; b++ ) {
+        long lo = (long) blk_order[b] * block_size;
+        int  m  = (int) Math.min( block_size, num_sample - lo );
+        shuffle( rec_order, m );
+        for ( int i=0; i<m; i++ ) {
+          if ( null == cur ) {
+            cur       = free.take();
+            cur.count = 0;
+            cur.last  = false;
+          }
+          read( lo + rec_order[i], cur.input[cur.count], cur.output[cur.count] );
+          cur.count += 1;
+          produced  += 1;
+          if ( ( batch_size == cur.count ) || ( num_sample == produced ) ) {
+            cur.last = ( num_sample == produced );
+            full.put( cur );
+            cur = null;
+          }
+        }
+      }
+    }
+
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public void run() {
+      // ---------------------------------------------------------------------------------
+      try {
+        try {
+          while ( true ) {
+            epoch();
+          }
+        } catch( RuntimeException e ) {
+          logger.error( "StreamDataset prefetch stopped: " + e );
+          failure = e;
+          full.put( FAILED );
+        }
+      } catch( InterruptedException e ) {
+        // ----- closed -----------------------------------------------------------------
+      }
+    }
+
+  } // end class StreamDataset.Prefetch
+
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  public static class Builder {
+    // -----------------------------------------------------------------------------------
+
+    protected String  fspc       = null;
+    protected int     batch_size = 32;
+    protected int     block_size = 4096;
+    protected int     prefetch   = 4;
+    protected boolean seeded     = false;
+    protected long    seed       = 0;
+
+    
+    // ===================================================================================
+    /** @brief Constructor
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder() {
+      // ---------------------------------------------------------------------------------
+    }
+
+    
+    // ===================================================================================
+    /** @brief Add Filename
+     *  @param f path to the dataset file.
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder file( String f ) {
+      // ---------------------------------------------------------------------------------
+      fspc = f;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Mini-batch Size
+     *  @param n records per mini-batch ( default 32 ).
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder batch( int n ) {
+      // ---------------------------------------------------------------------------------
+      batch_size = n;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Block Size
+     *  @param n records per shuffled block ( default 4096 ).
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder block( int n ) {
+      // ---------------------------------------------------------------------------------
+      block_size = n;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Prefetch Depth
+     *  @param n number of mini-batch buffers ( default 4 ).
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder prefetch( int n ) {
+      // ---------------------------------------------------------------------------------
+      prefetch = n;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    /** @brief Seed
+     *  @param s shuffle seed ( default drawn from Dice ).
+     */
+    // -----------------------------------------------------------------------------------
+    public Builder seed( long s ) {
+      // ---------------------------------------------------------------------------------
+      seed   = s;
+      seeded = true;
+      return this;
+    }
+
+    
+    // ===================================================================================
+    // -----------------------------------------------------------------------------------
+    public StreamDataset build() {
+      // ---------------------------------------------------------------------------------
+      if ( null == fspc ) {
+        logger.error( "StreamDataset.Builder requires .file()" );
+        System.exit(1);
+      }
+
+      if ( ( 1 > batch_size ) || ( 1 > block_size ) || ( 2 > prefetch ) ) {
+        logger.error( "StreamDataset.Builder requires batch > 0, block > 0 and prefetch > 1" );
+        System.exit(2);
+      }
+
+      StreamDataset data = new StreamDataset();
+      data.batch_size = batch_size;
+      data.block_size = block_size;
+      data.seed       = seeded ? seed : Dice.getInstance().uniform( Long.MAX_VALUE );
+
+      if ( 0 != data.open( fspc ) ) {
+        logger.error( "Dataset failed to open: "+fspc );
+        System.exit(3);
+      }
+
+      data.free = new ArrayBlockingQueue<Batch>( prefetch );
+      data.full = new ArrayBlockingQueue<Batch>( prefetch );
+      for ( int i=0; i<prefetch; i++ ) {
+        data.free.add( new Batch( batch_size, data.nInp, data.nOut ) );
+      }
+
+      return data;
+    }
+
+  } // end class StreamDataset.Builder
+
+  
+  // =====================================================================================
+  /** @brief Constructor
+   */
+  // -------------------------------------------------------------------------------------
+  protected StreamDataset( ) {
+    // -----------------------------------------------------------------------------------
+  }
+
+  
+  // =====================================================================================
+  /** @brief Open.
+   *  @param fspc path to the dataset file.
+   *  @return 0 for success, non zero for failure.
+   */
+  // -------------------------------------------------------------------------------------
+  protected int open( String fspc ) {
+    // -----------------------------------------------------------------------------------
+    RandomAccessFile raf = null;
+
+    try {
+      raf = new RandomAccessFile( fspc, "r" );
+    } catch( FileNotFoundException e ) {
+      logger.error( "Cannot open [" + fspc + "] for reading" );
+      return 1;
+    }
+
+    try {
+      if ( ( MAGIC != raf.readInt() ) || ( VERSION != raf.readInt() ) ) {
+        logger.error( "[" + fspc + "] is not a dataset file" );
+        return 2;
+      }
+
+      nInp       = raf.readInt();
+      nOut       = raf.readInt();
+      num_sample = raf.readLong();
+      rec_bytes  = 8 * ( nInp + nOut );
+
+      if ( ( 0 >= num_sample ) ||
+           ( raf.length() < HEADER + num_sample * rec_bytes ) ) {
+        logger.error( "[" + fspc + "] is empty or truncated" );
+        return 3;
+      }
+
+      // ----- map whole records, at most SEGMENT bytes at a time ------------------------
+
+      seg_records = (int) Math.max( 1L, SEGMENT / rec_bytes );
+      int nseg    = (int)( ( num_sample + seg_records - 1 ) / seg_records );
+
+      FileChannel ch = raf.getChannel();
+      seg = new MappedByteBuffer[ nseg ];
+      for ( int i=0; i<nseg; i++ ) {
+        long first = (long) i * seg_records;
+        long n     = Math.min( seg_records, num_sample - first );
+        seg[i] = ch.map( FileChannel.MapMode.READ_ONLY,
+                         HEADER + first * rec_bytes, n * rec_bytes );
+      }
+
+    } catch( IOException e ) {
+      logger.error( "Cannot map [" + fspc + "]: " + e.getMessage() );
+      return 4;
+    } finally {
+      try {
+        raf.close();
+      } catch( IOException e ) {
+        logger.error( "Cannot close [" + fspc + "] after mapping" );
+      }
+    }
+
+    return 0;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Read.
+   *  @param r index of the record.
+   *  @param x input  vector ( length inputs() ).
+   *  @param y output vector ( length outputs() ).
+   *
+   *  Random access, safe to call from any thread.
+   */
+  // -------------------------------------------------------------------------------------
+  public void read( long r, double[] x, double[] y ) {
+    // -----------------------------------------------------------------------------------
+    MappedByteBuffer B   = seg[ (int)( r / seg_records ) ];
+    int              off = (int)( r % seg_records ) * rec_bytes;
+
+    for ( int j=0; j<nInp; j++ ) {
+      x[j] = B.getDouble( off );
+      off += 8;
+    }
+    for ( int k=0; k<nOut; k++ ) {
+      y[k] = B.getDouble( off );
+      off += 8;
+    }
+  }
+
+  
+  // =====================================================================================
+  /** @brief Next.
+   *  @return the next mini-batch ( null if interrupted ).
+   *
+   *  The first call starts the prefetch thread. Hand each mini-batch back with
+   *  release once its rows have been used. If the prefetch thread failed, this and
+   *  every later call throws an IllegalStateException caused by that failure.
+   */
+  // -------------------------------------------------------------------------------------
+  public Batch next( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null == producer ) {
+      producer = new Thread( new Prefetch(), "StreamDataset" );
+      producer.setDaemon( true );
+      producer.start();
+    }
+
+    try {
+      Batch B = full.take();
+      if ( FAILED == B ) {
+        full.offer( B );
+        throw new IllegalStateException( "StreamDataset prefetch failed", failure );
+      }
+      return B;
+    } catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Release.
+   *  @param B mini-batch returned by next.
+   */
+  // -------------------------------------------------------------------------------------
+  public void release( Batch B ) {
+    // -----------------------------------------------------------------------------------
+    free.add( B );
+  }
+
+  
+  // =====================================================================================
+  /** @brief Close.
+   *
+   *  Stop the prefetch thread and drop the mappings. This dataset may not be used
+   *  afterwards.
+   */
+  // -------------------------------------------------------------------------------------
+  public void close( ) {
+    // -----------------------------------------------------------------------------------
+    if ( null != producer ) {
+      producer.interrupt();
+      try {
+        producer.join();
+      } catch( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+      }
+      producer = null;
+    }
+    seg = null;
+  }
+
+  
+  // =====================================================================================
+  /** @return number of inputs per record. */
+  // -------------------------------------------------------------------------------------
+  public int inputs( ) {
+    // -----------------------------------------------------------------------------------
+    return nInp;
+  }
+
+  
+  // =====================================================================================
+  /** @return number of outputs per record. */
+  // -------------------------------------------------------------------------------------
+  public int outputs( ) {
+    // -----------------------------------------------------------------------------------
+    return nOut;
+  }
+
+  
+  // =====================================================================================
+  /** @return number of records. */
+  // -------------------------------------------------------------------------------------
+  public long size( ) {
+    // -----------------------------------------------------------------------------------
+    return num_sample;
+  }
+
+  
+  // =====================================================================================
+  /** @return records per mini-batch. */
+  // -------------------------------------------------------------------------------------
+  public int batchSize( ) {
+    // -----------------------------------------------------------------------------------
+    return batch_size;
+  }
+
+  
+  // =====================================================================================
+  /** @brief Convert.
+   *  @param ascii  path to a text file in the Table.read_ascii two-table layout
+   *                ( rows inputs outputs, then one record per row ).
+   *  @param binary path to the dataset file to create.
+   *  @return 0 for success, non zero for failure.
+   *
+   *  Records are copied one at a time, the tables are never held in memory. On
+   *  failure the partially written dataset file is removed.
+   */
+  // -------------------------------------------------------------------------------------
+  public static int convert( String ascii, String binary ) {
+    // -----------------------------------------------------------------------------------
+    InputStream is    = null;
+    int         count = 0;
+
+    try {
+      is = new FileInputStream( new File( ascii ) );
+    } catch( FileNotFoundException e ) {
+      logger.error( "Cannot open [" + ascii + "] for reading" );
+      return 1;
+    }
+
+    int     rv      = 0;
+    boolean created = false;
+
+    try {
+      Scanner scan = new Scanner( is );
+
+      int nr = scan.nextInt();
+      int ni = scan.nextInt();
+      int no = scan.nextInt();
+
+      double[] x = new double[ni];
+      double[] y = new double[no];
+
+      Writer W = new Writer( binary, ni, no );
+      created  = true;
+      try {
+        for ( int r=0; r<nr; r++ ) {
+          count += 1;
+          for ( int j=0; j<ni; j++ ) { x[j] = scan.nextDouble(); }
+          for ( int k=0; k<no; k++ ) { y[k] = scan.nextDouble(); }
+          W.add( x, y );
+        }
+      } finally {
+        W.close();
+      }
+
+    } catch( InputMismatchException e1 ) {
+      logger.error( "StreamDataset.convert: value error on line: "+count );
+      rv = 2;
+    } catch( NoSuchElementException e2 ) {
+      logger.error( "StreamDataset.convert: read past end on line: "+count );
+      rv = 2;
+    } catch( IOException e3 ) {
+      logger.error( "Cannot write [" + binary + "]: " + e3.getMessage() );
+      rv = 3;
+    }
+
+    if ( ( 0 != rv ) && created ) {
+      if ( ! new File( binary ).delete() ) {
+        logger.error( "Cannot remove partial [" + binary + "]" );
+      }
+    }
+
+    try {
+      is.close();
+    } catch( IOException e ) {
+      logger.error( "Cannot close [" + ascii + "] after reading" );
+      return 4;
+    }
+
+    return rv;
+  }
+
+} // end class StreamDataset
+
+// =======================================================================================
+// **                             S T R E A M D A T A S E T                             **
+// ======================================================================== END FILE =====
@@ -138,6 +138,63 @@ class EntropyTest {
   }
 
   
+  // =====================================================================================
+  @Test
+  public void testSpawn() {
+    // -----------------------------------------------------------------------------------
+    Entropy ent = Entropy.getInstance();
+
+    byte[] sm = new byte[ent.seed_size()];
+
+    int [] A = new int[SHORT_SAMPLES];
+    int [] B = new int[SHORT_SAMPLES];
+    int [] C = new int[SHORT_SAMPLES];
+
+    ent.seed_set( sm );
+    Entropy s1 = ent.spawn();
+    Entropy s2 = ent.spawn();
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) { A[i] = s1.index( 314159 ); }
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) { C[i] = s2.index( 314159 ); }
+
+    ent.seed_set( sm );
+    Entropy s3 = ent.spawn();
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) { B[i] = s3.index( 314159 ); }
+
+    long same = 0;
+    long diff = 0;
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) {
+      if ( A[i] != B[i] ) { same += 1; }
+      if ( A[i] != C[i] ) { diff += 1; }
+    }
+
+    assertEquals( 0, same );
+    assertTrue( 0 < diff );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testState() throws java.io.IOException {
+    // -----------------------------------------------------------------------------------
+    Entropy ent = Entropy.getInstance().spawn();
+
+    ent.gauss( -1.0e0, 1.0e0, 0.0e0, 0.3e0 );
+
+    java.io.ByteArrayOutputStream bos = new java.io.ByteArrayOutputStream();
+    ent.writeState( new java.io.DataOutputStream( bos ) );
+
+    double[] A = new double[SHORT_SAMPLES];
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) { A[i] = ent.gauss( -1.0e0, 1.0e0, 0.0e0, 0.3e0 ); }
+
+    ent.readState( new java.io.DataInputStream(
+        new java.io.ByteArrayInputStream( bos.toByteArray() ) ) );
+
+    for ( int i=0; i<SHORT_SAMPLES; i++ ) {
+      assertEquals( A[i], ent.gauss( -1.0e0, 1.0e0, 0.0e0, 0.3e0 ), 0.0e0 );
+    }
+  }
+
+  
 } // end class EntropyTest
 
 
@@ -0,0 +1,114 @@
+// ====================================================================== BEGIN FILE =====
+// **                       A D A P T I V E C O N T R O L T E S T                       **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file AdaptiveControlTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.AdaptiveControl class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// =======================================================================================
+public class AdaptiveControlTest {
+  // -------------------------------------------------------------------------------------
+
+  static final double TOL = 1.0e-12;
+
+  // =====================================================================================
+  /** One objective, smaller is better. */
+  // -------------------------------------------------------------------------------------
+  static class MinModel extends Model {
+    // -----------------------------------------------------------------------------------
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( 5 ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public void     display_short( String msg, Metric M, Encoding E ) { }
+    public boolean  meetsThreshold( Metric M ) { return false; }
+    public void     execute( Metric M, Encoding E ) { }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testAdaptive() {
+    // -----------------------------------------------------------------------------------
+    final int NEVEN = 10;
+    MinModel  model = new MinModel();
+    UGAConfiguration cfg = UGA.factory( model )
+        .pCross( 0.8, 0.6 ).pMutate( 0.2, 0.01 ).sMutate( 0.5, 0.5 );
+
+    AdaptiveControl A   = new AdaptiveControl( cfg, model, NEVEN );
+    Population      pop = new Population( NEVEN, model );
+    Metric          lo  = model.alloc_metric();
+    Metric          hi  = model.alloc_metric();
+    lo.set( 0, 1.0 );
+    hi.set( 0, 2.0 );
+
+    assertEquals( 0.8, A.pCross(),  TOL );
+    assertEquals( 0.2, A.pMutate(), TOL );
+
+    // ----- one fifth succeed, all of them clones: only pcross moves -----------------
+    for ( int i=0; i<NEVEN; i+=2 ) {
+      A.parents( i, 0 == ( i % 4 ), hi, lo );
+      A.mutated( i,   1 );
+      A.mutated( i+1, 1 );
+      pop.get(i).metric.set(   0, ( 0 == ( i % 4 ) ) ? 1.5 : 0.5 );
+      pop.get(i+1).metric.set( 0, ( 0 == ( i % 4 ) ) ? 1.5 : 1.5 );
+    }
+    A.update( pop );
+    assertEquals( 0.2, A.pMutate(), TOL );
+    assertEquals( 0.5, A.scale(),   TOL );
+    assertEquals( 0.8 * AdaptiveControl.FACTOR, A.pCross(), TOL );
+
+    // ----- no child improves: pmutate shrinks until it reaches final -----------------
+    for ( int g=0; g<100; g++ ) {
+      for ( int i=0; i<NEVEN; i+=2 ) {
+        A.parents( i, true, lo, lo );
+        A.mutated( i, 1 );
+        A.mutated( i+1, 1 );
+        pop.get(i).metric.set(   0, 1.0 );
+        pop.get(i+1).metric.set( 0, 1.0 );
+      }
+      A.update( pop );
+    }
+    assertEquals( 0.0, A.success(), TOL );
+    assertEquals( 0.01, A.pMutate(), TOL );
+  }
+
+} // end class AdaptiveControlTest
+
+// =======================================================================================
+// **                       A D A P T I V E C O N T R O L T E S T                       **
+// ======================================================================== END FILE =====
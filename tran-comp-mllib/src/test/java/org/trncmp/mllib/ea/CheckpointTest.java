@@ -0,0 +1,153 @@
+// ====================================================================== BEGIN FILE =====
+// **                            C H E C K P O I N T T E S T                            **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file CheckpointTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.Checkpoint class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+// =======================================================================================
+public class CheckpointTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NVAR   = 6;
+  static final int MAXGEN = 60;
+  static final int SPLIT  = 25;
+
+  // =====================================================================================
+  /** Sphere with minimum at 0.1, optionally stops after a fixed number of generations. */
+  // -------------------------------------------------------------------------------------
+  static class Sphere extends Model {
+    // -----------------------------------------------------------------------------------
+    final int stop;
+    int       gen = 0;
+
+    Sphere( int n ) { stop = n; }
+
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( NVAR ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public void     display_short( String msg, Metric M, Encoding E ) { }
+
+    public boolean meetsThreshold( Metric M ) {
+      gen++;
+      return ( 0 < stop ) && ( stop <= gen );
+    }
+
+    public void run_before( Metric BM, Encoding BE, Metric WM, Encoding WE ) { }
+    public void run_after(  Metric BM, Encoding BE, Metric WM, Encoding WE ) { }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+
+    public void execute( Metric M, Encoding E ) {
+      RealEncoding X = (RealEncoding)E;
+      double sum = 0.0e0;
+      for ( int i=0; i<NVAR; i++ ) {
+        double d = X.get(i) - 0.1e0;
+        sum += d * d;
+      }
+      M.set( 0, sum );
+    }
+  }
+
+
+  // =====================================================================================
+  /** Run to MAXGEN and write the final state to a checkpoint file. */
+  // -------------------------------------------------------------------------------------
+  static void evolve( int repro, Model model, String resume, File ckpt, int interval ) {
+    // -----------------------------------------------------------------------------------
+    UGAConfiguration cfg = UGA.factory( model ).nPop( 30 ).maxgen( MAXGEN ).report( 1000 )
+        .nCPU( 2 ).reproduction( repro ).seed( 23 )
+        .checkpoint( ckpt.getPath() ).checkpointInterval( interval );
+    if ( null != resume ) {
+      cfg.resume( resume );
+    }
+    UGA uga = cfg.build();
+    uga.randomize();
+    uga.run();
+    uga.shutdown();
+  }
+
+
+  // =====================================================================================
+  /** A run checkpointed at SPLIT and resumed ends in the same state as a straight run. */
+  // -------------------------------------------------------------------------------------
+  static void roundTrip( int repro ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    File straight = File.createTempFile( "straight", ".ckpt" );
+    File split    = File.createTempFile( "split",    ".ckpt" );
+    File resumed  = File.createTempFile( "resumed",  ".ckpt" );
+
+    evolve( repro, new Sphere( 0 ),     null,            straight, MAXGEN );
+    evolve( repro, new Sphere( SPLIT ), null,            split,    SPLIT  );
+    evolve( repro, new Sphere( 0 ),     split.getPath(), resumed,  MAXGEN );
+
+    byte[] expect = Files.readAllBytes( straight.toPath() );
+    byte[] result = Files.readAllBytes( resumed.toPath()  );
+
+    assertTrue( 0 < expect.length );
+    assertTrue( Arrays.equals( expect, result ) );
+
+    straight.delete();
+    split.delete();
+    resumed.delete();
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testSerial() throws IOException {
+    // -----------------------------------------------------------------------------------
+    roundTrip( UGA.SERIAL );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testParallel() throws IOException {
+    // -----------------------------------------------------------------------------------
+    roundTrip( UGA.PARALLEL );
+  }
+
+} // end class CheckpointTest
+
+// =======================================================================================
+// **                            C H E C K P O I N T T E S T                            **
+// ======================================================================== END FILE =====
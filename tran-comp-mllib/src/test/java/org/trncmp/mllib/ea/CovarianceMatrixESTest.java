@@ -0,0 +1,139 @@
+// ====================================================================== BEGIN FILE =====
+// **                    C O V A R I A N C E M A T R I X E S T E S T                    **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file CovarianceMatrixESTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.CovarianceMatrixES class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// =======================================================================================
+public class CovarianceMatrixESTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NVAR = 10;
+
+  // =====================================================================================
+  /** Random orthonormal rotation, Gram-Schmidt on seeded gaussian rows. */
+  // -------------------------------------------------------------------------------------
+  static double[][] rotation( int n, long seed ) {
+    // -----------------------------------------------------------------------------------
+    java.util.Random rnd = new java.util.Random( seed );
+    double[][] R = new double[n][n];
+    for ( int i=0; i<n; i++ ) {
+      for ( int j=0; j<n; j++ ) {
+        R[i][j] = rnd.nextGaussian();
+      }
+      for ( int k=0; k<i; k++ ) {
+        double dot = 0.0e0;
+        for ( int j=0; j<n; j++ ) {
+          dot += R[i][j] * R[k][j];
+        }
+        for ( int j=0; j<n; j++ ) {
+          R[i][j] -= dot * R[k][j];
+        }
+      }
+      double nrm = 0.0e0;
+      for ( int j=0; j<n; j++ ) {
+        nrm += R[i][j] * R[i][j];
+      }
+      nrm = Math.sqrt( nrm );
+      for ( int j=0; j<n; j++ ) {
+        R[i][j] /= nrm;
+      }
+    }
+    return R;
+  }
+
+
+  // =====================================================================================
+  /** Rotated ellipsoid with condition number 1e6, minimum at 0.1, keeps the final best. */
+  // -------------------------------------------------------------------------------------
+  static class Ellipsoid extends Model {
+    // -----------------------------------------------------------------------------------
+    double[][] R     = rotation( NVAR, 5 );
+    double     best  = Double.MAX_VALUE;
+    int        calls = 0;
+
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( NVAR ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public void     display_short( String msg, Metric M, Encoding E ) { }
+    public boolean  meetsThreshold( Metric M ) { return 1.0e-10 > M.get(0); }
+
+    public void run_before( Metric BM, Encoding BE, Metric WM, Encoding WE ) { }
+
+    public void run_after( Metric BM, Encoding BE, Metric WM, Encoding WE ) {
+      best = BM.get(0);
+    }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+
+    public synchronized void execute( Metric M, Encoding E ) {
+      RealEncoding X = (RealEncoding)E;
+      double sum = 0.0e0;
+      for ( int i=0; i<NVAR; i++ ) {
+        double y = 0.0e0;
+        for ( int j=0; j<NVAR; j++ ) {
+          y += R[i][j] * ( X.get(j) - 0.1e0 );
+        }
+        sum += Math.pow( 1.0e6, ( double ) i / ( double ) ( NVAR - 1 ) ) * y * y;
+      }
+      M.set( 0, sum );
+      calls++;
+    }
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testEllipsoid() {
+    // -----------------------------------------------------------------------------------
+    Ellipsoid model = new Ellipsoid();
+
+    UGA uga = UGA.factory( model ).nPop( 10 ).maxgen( 2000 ).report( 100000 ).nCPU( 2 )
+        .evolution( UGA.CMAES ).seed( 11 ).build();
+    uga.randomize();
+    uga.run();
+    uga.shutdown();
+
+    assertTrue( 1.0e-10 > model.best );
+    assertTrue( 10000 > model.calls );
+  }
+
+} // end class CovarianceMatrixESTest
+
+// =======================================================================================
+// **                    C O V A R I A N C E M A T R I X E S T E S T                    **
+// ======================================================================== END FILE =====
@@ -0,0 +1,305 @@
+// ====================================================================== BEGIN FILE =====
+// **                         M O D E L E X E C U T O R T E S T                         **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file ModelExecutorTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.ModelExecutor classes.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// =======================================================================================
+public class ModelExecutorTest {
+  // -------------------------------------------------------------------------------------
+
+  static final double TOL = 1.0e-12;
+
+  static final int NPOP = 103;
+  static final int NCPU = 4;
+  static final int NGEN = 3;
+
+  // =====================================================================================
+  /** Sum the genes and count the calls. */
+  // -------------------------------------------------------------------------------------
+  static class SumModel extends Model {
+    // -----------------------------------------------------------------------------------
+    final AtomicInteger calls = new AtomicInteger( 0 );
+
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( 5 ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public void     display_short( String msg, Metric M, Encoding E ) { }
+    public boolean  meetsThreshold( Metric M ) { return false; }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+
+    public void execute( Metric M, Encoding E ) {
+      RealEncoding R = (RealEncoding)E;
+      double sum = 0.0e0;
+      for ( int i=0; i<R.size(); i++ ) {
+        sum += R.get(i);
+      }
+      M.set( 0, sum );
+      calls.incrementAndGet();
+    }
+  }
+
+
+  // =====================================================================================
+  /** Same as SumModel, scored up to BATCH members per call. */
+  // -------------------------------------------------------------------------------------
+  static class BatchModel extends SumModel {
+    // -----------------------------------------------------------------------------------
+    static final int BATCH = 8;
+
+    final AtomicInteger batches = new AtomicInteger( 0 );
+
+    public int batchSize( ) { return BATCH; }
+
+    public void execute( Metric[] M, Encoding[] E, int n ) {
+      assertTrue( n <= BATCH );
+      batches.incrementAndGet();
+      super.execute( M, E, n );
+    }
+  }
+
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  static void check( SumModel model, ModelExecutor exec ) {
+    // -----------------------------------------------------------------------------------
+    Population pop = new Population( NPOP, model );
+
+    for ( int g=0; g<NGEN; g++ ) {
+      pop.randomize();
+      exec.execute( pop );
+
+      for ( int i=0; i<NPOP; i++ ) {
+        PopulationMember M = pop.get(i);
+        double sum = 0.0e0;
+        for ( int j=0; j<5; j++ ) {
+          sum += ((RealEncoding)M.param).get(j);
+        }
+        assertEquals( sum, M.metric.get(0), TOL );
+      }
+    }
+
+    assertEquals( NPOP*NGEN, model.calls.get() );
+
+    exec.shutdown();
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testPerMember() {
+    // -----------------------------------------------------------------------------------
+    SumModel model = new SumModel();
+    check( model, new ModelExecutor( model, NCPU, NPOP ) );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testChunked() {
+    // -----------------------------------------------------------------------------------
+    SumModel model = new SumModel();
+    check( model, new ChunkedModelExecutor( model, NCPU, NPOP ) );
+  }
+
+
+
+  // =====================================================================================
+  @Test
+  public void testBatch() {
+    // -----------------------------------------------------------------------------------
+    BatchModel m1 = new BatchModel();
+    check( m1, new ModelExecutor( m1, NCPU, NPOP ) );
+    assertTrue( m1.batches.get() < m1.calls.get() );
+
+    BatchModel m2 = new BatchModel();
+    check( m2, new ChunkedModelExecutor( m2, NCPU, NPOP ) );
+    assertTrue( m2.batches.get() < m2.calls.get() );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testCached() {
+    // -----------------------------------------------------------------------------------
+    SumModel      model = new SumModel();
+    FitnessCache  cache = new FitnessCache( model, 65536 );
+    ModelExecutor exec  = new ChunkedModelExecutor( model, NCPU, NPOP );
+    exec.setCache( cache );
+
+    Population pop = new Population( NPOP, model );
+    pop.randomize();
+
+    // ----- clone the first ten members over the rest ----------------------------------
+    for ( int i=10; i<NPOP; i++ ) {
+      pop.get(i).copy( pop.get( i % 10 ) );
+    }
+
+    // ----- concurrent duplicates may race, at most one miss per thread ----------------
+    exec.execute( pop );
+    int first = model.calls.get();
+    assertTrue( first <= 10*NCPU );
+
+    // ----- every member is now cached ------------------------------------------------
+    for ( int i=0; i<NPOP; i++ ) {
+      pop.get(i).dirty = true;
+    }
+    exec.execute( pop );
+    assertEquals( first, model.calls.get() );
+
+    for ( int i=0; i<NPOP; i++ ) {
+      assertEquals( pop.get( i % 10 ).metric.get(0), pop.get(i).metric.get(0), TOL );
+    }
+
+    assertEquals( 2*NPOP, cache.hits() + cache.misses() );
+    assertEquals( model.calls.get(), cache.misses() );
+
+    exec.shutdown();
+  }
+
+
+
+  // =====================================================================================
+  @Test
+  public void testDirty() {
+    // -----------------------------------------------------------------------------------
+    final int     NEVEN = 100;
+    SumModel      model = new SumModel();
+    ModelExecutor exec  = new ModelExecutor( model, NCPU, NEVEN );
+
+    Population primary = new Population( NEVEN, model );
+    Population working = new Population( NEVEN, model );
+    primary.randomize();
+
+    exec.execute( primary );
+    assertEquals( NEVEN, model.calls.get() );
+
+    // ----- no crossover, no mutation: every child is a clean clone --------------------
+    UGA.Reproduce( org.trncmp.mllib.Entropy.getInstance(), primary, working,
+                   3, 0.0e0, 0.0e0, 0.1e0 );
+    exec.execute( primary );
+    assertEquals( NEVEN, model.calls.get() );
+
+    for ( int i=0; i<NEVEN; i++ ) {
+      PopulationMember M = primary.get(i);
+      double sum = 0.0e0;
+      for ( int j=0; j<5; j++ ) {
+        sum += ((RealEncoding)M.param).get(j);
+      }
+      assertEquals( sum, M.metric.get(0), TOL );
+    }
+
+    // ----- only mutated members are scored again ------------------------------------
+    UGA.Mutate( primary.get(0), working.get(0), 1.0e0, 0.1e0 );
+    exec.execute( primary );
+    assertEquals( NEVEN+1, model.calls.get() );
+
+    exec.shutdown();
+  }
+
+
+  // =====================================================================================
+  /** Same as SumModel, but the first member evaluated by any worker kills its process. */
+  // -------------------------------------------------------------------------------------
+  static class CrashModel extends SumModel {
+    // -----------------------------------------------------------------------------------
+    public void execute( Metric M, Encoding E ) {
+      try {
+        if ( new java.io.File( System.getProperty( "crash.marker" ) ).createNewFile() ) {
+          Runtime.getRuntime().halt( 3 );
+        }
+      } catch( java.io.IOException e ) {
+        Runtime.getRuntime().halt( 4 );
+      }
+      super.execute( M, E );
+    }
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testProcess() throws java.io.IOException {
+    // -----------------------------------------------------------------------------------
+    java.io.File marker = java.io.File.createTempFile( "crash", ".marker" );
+    marker.delete();
+
+    String[] cmd = {
+      System.getProperty( "java.home" ) + "/bin/java",
+      "-cp", System.getProperty( "java.class.path" ),
+      "-Dcrash.marker=" + marker.getPath(),
+      "org.trncmp.mllib.ea.ProcessWorker",
+      "org.trncmp.mllib.ea.ModelExecutorTest$CrashModel" };
+
+    SumModel             model = new SumModel();
+    ProcessModelExecutor exec  = new ProcessModelExecutor( model, 2, cmd, 3 );
+
+    Population pop = new Population( NPOP, model );
+
+    try {
+      for ( int g=0; g<NGEN; g++ ) {
+        pop.randomize();
+        exec.execute( pop );
+
+        for ( int i=0; i<NPOP; i++ ) {
+          PopulationMember M = pop.get(i);
+          double sum = 0.0e0;
+          for ( int j=0; j<5; j++ ) {
+            sum += ((RealEncoding)M.param).get(j);
+          }
+          assertTrue( ! M.dirty );
+          assertEquals( sum, M.metric.get(0), TOL );
+        }
+      }
+
+      // ----- the worker killed by the first evaluation was replaced once --------------
+      assertEquals( 1, exec.restarts() );
+      assertEquals( 0, model.calls.get() );
+    } finally {
+      exec.shutdown();
+      marker.delete();
+    }
+  }
+
+} // end class ModelExecutorTest
+
+// =======================================================================================
+// **                         M O D E L E X E C U T O R T E S T                         **
+// ======================================================================== END FILE =====
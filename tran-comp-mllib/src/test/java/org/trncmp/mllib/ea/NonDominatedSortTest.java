@@ -0,0 +1,174 @@
+// ====================================================================== BEGIN FILE =====
+// **                      N O N D O M I N A T E D S O R T T E S T                      **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file NonDominatedSortTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.NonDominatedSort class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// =======================================================================================
+public class NonDominatedSortTest {
+  // -------------------------------------------------------------------------------------
+
+  static final double TOL = 1.0e-12;
+
+  
+  // =====================================================================================
+  /** Reference ranks by repeatedly peeling off the non-dominated members, O(MN^3). */
+  // -------------------------------------------------------------------------------------
+  static int[] reference( double[] F, int n, int m ) {
+    // -----------------------------------------------------------------------------------
+    int[] r = new int[n];
+    for ( int i=0; i<n; i++ ) { r[i] = -1; }
+    int left = n;
+    for ( int k=0; 0<left; k++ ) {
+      boolean[] front = new boolean[n];
+      for ( int i=0; i<n; i++ ) {
+        if ( 0 <= r[i] ) { continue; }
+        boolean dom = false;
+        for ( int a=0; a<n && !dom; a++ ) {
+          if ( ( 0 <= r[a] ) || ( a == i ) ) { continue; }
+          boolean le = true;
+          boolean lt = false;
+          for ( int j=0; j<m; j++ ) {
+            if ( F[a*m+j] > F[i*m+j] ) { le = false; }
+            if ( F[a*m+j] < F[i*m+j] ) { lt = true;  }
+          }
+          dom = le && lt;
+        }
+        front[i] = !dom;
+      }
+      for ( int i=0; i<n; i++ ) {
+        if ( front[i] ) { r[i] = k; left--; }
+      }
+    }
+    return r;
+  }
+
+  
+  // =====================================================================================
+  void check( int n, int m, int levels, ForkJoinPool pool ) {
+    // -----------------------------------------------------------------------------------
+    Random   R = new Random( 31 * n + m );
+    double[] F = new double[ n * m ];
+    for ( int i=0; i<n*m; i++ ) {
+      F[i] = ( double ) R.nextInt( levels );
+    }
+
+    NonDominatedSort S = new NonDominatedSort( n, pool );
+    int   nf  = S.sort( F, n, m );
+    int[] ref = reference( F, n, m );
+
+    int total = 0;
+    for ( int k=0; k<nf; k++ ) {
+      total += S.frontSize(k);
+      for ( int j=0; j<S.frontSize(k); j++ ) {
+        assertEquals( k, ref[ S.frontMember( k, j ) ] );
+      }
+    }
+    assertEquals( n, total );
+
+    for ( int i=0; i<n; i++ ) {
+      assertEquals( ref[i], S.rank(i) );
+    }
+
+    // ----- keep half: whole fronts first, then the least crowded -----------------------
+    int[] keep = new int[ n/2 ];
+    int   nk   = S.select( n/2, keep );
+    int   last = S.rank( keep[ n/2 - 1 ] );
+    assertEquals( nk - 1, last );
+    int in_last = 0;
+    for ( int i=0; i<n/2; i++ ) {
+      if ( S.rank( keep[i] ) == last ) { in_last++; }
+    }
+    boolean partial = ( in_last < S.frontSize( last ) );
+    for ( int i=1; i<n/2; i++ ) {
+      assertTrue( S.rank( keep[i-1] ) <= S.rank( keep[i] ) );
+      if ( partial && ( S.rank( keep[i] ) == last ) ) {
+        assertTrue( S.rank( keep[i-1] ) < last || S.crowd( keep[i-1] ) >= S.crowd( keep[i] ) );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  @Test
+  public void testRanks() {
+    // -----------------------------------------------------------------------------------
+    ForkJoinPool pool = new ForkJoinPool( 4 );
+    try {
+      check(  300, 1,  50, null );
+      check(  400, 2,  40, null );
+      check(  400, 2,   6, null );
+      check(  300, 3,  12, null );
+      check(  200, 5,   8, null );
+      check( 1000, 3,  40, pool );
+      check( 9000, 2, 900, pool );
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  
+  // =====================================================================================
+  @Test
+  public void testCrowding() {
+    // -----------------------------------------------------------------------------------
+    double[] F = {
+      0.0, 4.0,
+      1.0, 2.0,
+      2.0, 1.0,
+      4.0, 0.0,
+      3.0, 3.0 };
+
+    NonDominatedSort S = new NonDominatedSort( 5, null );
+    assertEquals( 2, S.sort( F, 5, 2 ) );
+    assertEquals( 4, S.frontSize(0) );
+    assertEquals( 1, S.rank(4) );
+
+    S.crowding( 2 );
+    assertEquals( Double.POSITIVE_INFINITY, S.crowd(0) );
+    assertEquals( Double.POSITIVE_INFINITY, S.crowd(3) );
+    assertEquals( Double.POSITIVE_INFINITY, S.crowd(4) );
+    assertEquals( ( 2.0 + 3.0 ) / 4.0, S.crowd(1), TOL );
+    assertEquals( ( 3.0 + 2.0 ) / 4.0, S.crowd(2), TOL );
+  }
+
+} // end class NonDominatedSortTest
+
+// =======================================================================================
+// **                      N O N D O M I N A T E D S O R T T E S T                      **
+// ======================================================================== END FILE =====
@@ -0,0 +1,134 @@
+// ====================================================================== BEGIN FILE =====
+// **                           P M X E N C O D I N G T E S T                           **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file PMXEncodingTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.PMXEncoding class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// =======================================================================================
+public class PMXEncodingTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int DIM = 200;
+
+  
+  // =====================================================================================
+  /** Undo the recorded swaps, last to first. */
+  // -------------------------------------------------------------------------------------
+  static void undo( PMXEncoding P ) {
+    // -----------------------------------------------------------------------------------
+    for ( int k=P.edits()-1; k>=0; k-- ) {
+      P.exchange( P.swapA(k), P.swapB(k) );
+    }
+  }
+
+  
+  // =====================================================================================
+  @Test
+  public void testSwapLog() {
+    // -----------------------------------------------------------------------------------
+    PMXEncoding src  = new PMXEncoding( DIM );
+    PMXEncoding dst  = new PMXEncoding( DIM );
+
+    assertEquals( -1, dst.edits() );
+
+    int n = dst.mutate( src, 0.05e0, 0.5e0 );
+    assertEquals( n, dst.edits() );
+    assertTrue( 0 < n );
+
+    // ----- replaying the log backwards restores the source ----------------------------
+    undo( dst );
+    assertTrue( dst.sameContent( src ) );
+
+    // ----- the log follows a rotation -------------------------------------------------
+    dst.mutate( src, 0.05e0, 0.5e0 );
+    dst.rotate( 17 );
+    src.rotate( 17 );
+    undo( dst );
+    assertTrue( dst.sameContent( src ) );
+
+    // ----- any other change discards the log ------------------------------------------
+    dst.mutate( src, 0.05e0, 0.5e0 );
+    dst.deltaBase( false );
+    assertEquals( -1, dst.edits() );
+
+    dst.mutate( src, 0.05e0, 0.5e0 );
+    dst.set( 0, dst.get(0) );
+    assertEquals( -1, dst.edits() );
+
+    // ----- too many swaps are not recorded --------------------------------------------
+    dst.mutate( src, 0.5e0, 0.5e0 );
+    assertEquals( -1, dst.edits() );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testKernels() {
+    // -----------------------------------------------------------------------------------
+    PMXEncoding p1 = new PMXEncoding( DIM );
+    PMXEncoding p2 = new PMXEncoding( DIM );
+    PMXEncoding c1 = new PMXEncoding( DIM );
+    PMXEncoding c2 = new PMXEncoding( DIM );
+
+    int[] mark = new int[ DIM ];
+
+    for ( int cut=0; cut<=DIM; cut+=7 ) {
+      PMXEncoding.FrontCross( c1, p1, p2, cut );
+      PMXEncoding.frontCross( c2.data, p1.data, p2.data, DIM, cut, mark, 2*cut+1 );
+      assertTrue( c1.sameContent( c2 ) );
+
+      PMXEncoding.RearCross( c1, p1, p2, cut );
+      PMXEncoding.rearCross( c2.data, p1.data, p2.data, DIM, cut, mark, 2*cut+2 );
+      assertTrue( c1.sameContent( c2 ) );
+    }
+
+    // ----- normalize keeps the cyclic order and starts at zero ------------------------
+    c1.copy( p1 );
+    c1.normalize();
+    assertEquals( 0, c1.get(0) );
+    int z = 0;
+    while ( 0 != p1.get(z) ) {
+      z++;
+    }
+    for ( int i=0; i<DIM; i++ ) {
+      assertEquals( p1.get( (i + z) % DIM ), c1.get(i) );
+    }
+  }
+
+}
+
+// =======================================================================================
+// **                           P M X E N C O D I N G T E S T                           **
+// ======================================================================== END FILE =====
@@ -0,0 +1,141 @@
+// ====================================================================== BEGIN FILE =====
+// **                            P O P U L A T I O N T E S T                            **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file PopulationTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.Population class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// =======================================================================================
+public class PopulationTest {
+  // -------------------------------------------------------------------------------------
+
+  static final double TOL = 1.0e-12;
+
+  // =====================================================================================
+  /** Sum the genes. */
+  // -------------------------------------------------------------------------------------
+  static class SumModel extends Model {
+    // -----------------------------------------------------------------------------------
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( 5 ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public void     display_short( String msg, Metric M, Encoding E ) { }
+    public boolean  meetsThreshold( Metric M ) { return false; }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+
+    public void execute( Metric M, Encoding E ) {
+      RealEncoding R = (RealEncoding)E;
+      double sum = 0.0e0;
+      for ( int i=0; i<R.size(); i++ ) {
+        sum += R.get(i);
+      }
+      M.set( 0, sum );
+    }
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testSelection() {
+    // -----------------------------------------------------------------------------------
+    final int     NEVEN = 100;
+    final int     DRAWS = 20000;
+    SumModel      model = new SumModel();
+    org.trncmp.mllib.Entropy E = org.trncmp.mllib.Entropy.getInstance();
+
+    Population pop = new Population( NEVEN, model );
+    pop.randomize();
+    for ( int i=0; i<NEVEN; i++ ) {
+      model.execute( pop.get(i).metric, pop.get(i).param );
+    }
+
+    // ----- one pass statistics --------------------------------------------------------
+    Population.ScoreReturn SR = pop.genStats( true );
+    double mean = 0.0e0;
+    int    bi   = 0;
+    int    wi   = 0;
+    for ( int i=0; i<NEVEN; i++ ) {
+      double f = pop.get(i).metric.get(0);
+      mean += f;
+      if ( f < pop.get(bi).metric.get(0) ) { bi = i; }
+      if ( f > pop.get(wi).metric.get(0) ) { wi = i; }
+    }
+    assertEquals( mean / ( double ) NEVEN, SR.mean, TOL );
+    assertEquals( bi, SR.bestIndex );
+    assertEquals( pop.get(wi).metric.get(0), SR.worst, TOL );
+    assertEquals( pop.get(wi).metric.get(0), pop.worst().metric.get(0), TOL );
+    assertEquals( pop.get(bi).metric.get(0), pop.best().metric.get(0), TOL );
+    assertTrue( SR == pop.genStats( false ) );
+    assertEquals( pop.get(wi).metric.get(0), SR.worst, TOL );
+
+    // ----- linear ranking: the best is drawn about pressure/N of the time -------------
+    int[] modes = { UGA.RANK, UGA.SUS };
+    for ( int mode : modes ) {
+      pop.selection( mode, 2.0e0 );
+      pop.prepare( E );
+      int nb = 0;
+      int nw = 0;
+      for ( int k=0; k<DRAWS; k++ ) {
+        if ( ( UGA.SUS == mode ) && ( 0 == ( k % NEVEN ) ) ) {
+          pop.prepare( E );
+        }
+        int j = pop.select( 2, E );
+        if ( j == bi ) { nb++; }
+        if ( j == wi ) { nw++; }
+      }
+      assertEquals( 2.0e0 * DRAWS / NEVEN, ( double ) nb, 0.25e0 * DRAWS / NEVEN );
+      assertTrue( nw < nb / 10 );
+    }
+
+    // ----- find uses the recorded indices, set keeps them current ---------------------
+    assertEquals( bi, pop.find( UGA.BEST ) );
+    assertEquals( wi, pop.find( UGA.WORST ) );
+    pop.set( wi, pop.get( bi ) );
+    int w2 = ( 0 == bi ) ? 1 : 0;
+    for ( int i=0; i<NEVEN; i++ ) {
+      if ( pop.get(i).metric.get(0) > pop.get(w2).metric.get(0) ) { w2 = i; }
+    }
+    assertEquals( bi, pop.find( UGA.BEST ) );
+    assertEquals( pop.get(w2).metric.get(0), pop.get( pop.find( UGA.WORST ) ).metric.get(0), TOL );
+  }
+
+} // end class PopulationTest
+
+// =======================================================================================
+// **                            P O P U L A T I O N T E S T                            **
+// ======================================================================== END FILE =====
@@ -303,6 +303,118 @@ public class RealEncodingTest {
   }
 
   
+
+  // =====================================================================================
+  @Test
+  public void testAttach() {
+    // -----------------------------------------------------------------------------------
+    double[] buf = new double[ 3*DIM ];
+
+    RealEncoding p1 = new RealEncoding( DIM );
+    RealEncoding p2 = new RealEncoding( DIM );
+    RealEncoding c1 = new RealEncoding( DIM );
+    RealEncoding c2 = new RealEncoding( DIM );
+
+    RealEncoding q1 = new RealEncoding( DIM );
+    RealEncoding q2 = new RealEncoding( DIM );
+    q1.copy( p1 );
+    q2.copy( p2 );
+
+    p1.attach( buf, 0 );
+    p2.attach( buf, 2*DIM );
+    c1.attach( buf, DIM );
+
+    for ( int i=0; i<DIM; i++ ) {
+      assertEquals( q1.get(i), buf[i],       TOL );
+      assertEquals( q2.get(i), buf[2*DIM+i], TOL );
+    }
+
+    p1.set( 1, 0.25 );
+    assertEquals( 0.25, buf[1], TOL );
+    q1.set( 1, 0.25 );
+
+    // ----- packed and unpacked parents give the same children -------------------------
+    double t = 0.3;
+    RealEncoding.parametric( c1.data, c1.data_off, c2.data, c2.data_off,
+                             p1.data, p1.data_off, p2.data, p2.data_off, DIM, t );
+
+    double[] d1 = new double[ DIM ];
+    double[] d2 = new double[ DIM ];
+    double[] e1 = new double[ DIM ];
+    double[] e2 = new double[ DIM ];
+    q1.store( e1, 0 );
+    q2.store( e2, 0 );
+    RealEncoding.parametric( d1, d2, e1, e2, t );
+
+    for ( int i=0; i<DIM; i++ ) {
+      assertEquals( d1[i], c1.get(i),     TOL );
+      assertEquals( d1[i], buf[DIM+i],    TOL );
+      assertEquals( d2[i], c2.get(i),     TOL );
+    }
+
+    assertTrue( p1.sameContent( q1 ) );
+    assertEquals( q2.contentHash(), p2.contentHash() );
+  }
+
+
+  // =====================================================================================
+  @Test
+  public void testBulk() {
+    // -----------------------------------------------------------------------------------
+    final int    NPAR  = 1001;
+    final double SCALE = 0.5;
+    final double PERC  = 0.05;
+
+    org.trncmp.mllib.Entropy ent = org.trncmp.mllib.Entropy.getInstance();
+    byte[] sm = { 3, 1, 4, 1, 5, 9, 2, 6 };
+
+    RealEncoding A = new RealEncoding( NPAR );
+    RealEncoding B = new RealEncoding( NPAR );
+    A.setKernel( UGA.SCALAR );
+    B.setKernel( UGA.BULK );
+
+    // ----- randomize, bracket and noise draw the same values with either kernel -------
+    ent.seed_set( sm );
+    A.randomize();
+    A.noise( SCALE );
+    A.noise( SCALE );
+
+    ent.seed_set( sm );
+    B.randomize();
+    B.noise( SCALE );
+    B.noise( SCALE );
+
+    assertTrue( A.sameContent( B ) );
+
+    ent.seed_set( sm );
+    A.bracket();
+
+    ent.seed_set( sm );
+    B.bracket();
+
+    assertTrue( A.sameContent( B ) );
+
+    // ----- bulk mutate changes each element with probability perc ---------------------
+    A.randomize();
+    int total = 0;
+    for ( int k=0; k<100; k++ ) {
+      int count = B.mutate( A, PERC, SCALE );
+      int diff  = 0;
+      for ( int i=0; i<NPAR; i++ ) {
+        assertTrue( -1.0e0 <= B.get(i) );
+        assertTrue(  1.0e0 >= B.get(i) );
+        if ( A.get(i) != B.get(i) ) { diff++; }
+      }
+      assertTrue( diff <= count );
+      total += count;
+    }
+    assertEquals( PERC, ( double ) total / ( double ) ( 100 * NPAR ), 0.005 );
+
+    assertEquals( NPAR, B.mutate( A, 1.0e0, SCALE ) );
+    assertEquals( 0,    B.mutate( A, 0.0e0, SCALE ) );
+    assertTrue( A.sameContent( B ) );
+  }
+
 } // end class RealEncodingTest
 
 
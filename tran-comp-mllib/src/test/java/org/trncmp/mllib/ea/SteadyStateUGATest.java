@@ -0,0 +1,164 @@
+// ====================================================================== BEGIN FILE =====
+// **                        S T E A D Y S T A T E U G A T E S T                        **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file SteadyStateUGATest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.ea.SteadyStateUGA class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.ea;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// =======================================================================================
+public class SteadyStateUGATest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NVAR = 4;
+  static final int NPOP = 20;
+  static final int NCPU = 3;
+
+  // =====================================================================================
+  /** Sphere with minimum at 0.1, records calls, reports and every reported best. */
+  // -------------------------------------------------------------------------------------
+  static class Sphere extends Model {
+    // -----------------------------------------------------------------------------------
+    final double threshold;
+    double       first  = Double.MAX_VALUE;
+    double       last   = Double.MAX_VALUE;
+    double       best   = Double.MAX_VALUE;
+    boolean      worse  = false;
+    int          calls  = 0;
+    int          shown  = 0;
+
+    Sphere( double thresh ) { threshold = thresh; }
+
+    public Metric   alloc_metric( )   { return new Metric( 1 ); }
+    public Encoding alloc_encoding( ) { return new RealEncoding( NVAR ); }
+    public boolean  config( )         { return false; }
+    public void     save( Encoding E ) { }
+    public boolean  meetsThreshold( Metric M ) { return threshold > M.get(0); }
+
+    public void display_short( String msg, Metric M, Encoding E ) {
+      if ( M.get(0) > last ) {
+        worse = true;
+      }
+      last = M.get(0);
+      shown++;
+    }
+
+    public void run_before( Metric BM, Encoding BE, Metric WM, Encoding WE ) {
+      first = BM.get(0);
+      last  = first;
+    }
+
+    public void run_after( Metric BM, Encoding BE, Metric WM, Encoding WE ) {
+      best = BM.get(0);
+    }
+
+    public boolean isLeftBetter( Metric lhs, Metric rhs ) {
+      return lhs.get(0) < rhs.get(0);
+    }
+
+    public synchronized void execute( Metric M, Encoding E ) {
+      RealEncoding X = (RealEncoding)E;
+      double sum = 0.0e0;
+      for ( int i=0; i<NVAR; i++ ) {
+        double d = X.get(i) - 0.1e0;
+        sum += d * d;
+      }
+      M.set( 0, sum );
+      calls++;
+    }
+  }
+
+
+  // =====================================================================================
+  static Sphere evolve( double thresh, int maxgen ) {
+    // -----------------------------------------------------------------------------------
+    Sphere model = new Sphere( thresh );
+
+    UGA uga = UGA.factory( model ).nPop( NPOP ).maxgen( maxgen ).report( 1 ).nCPU( NCPU )
+        .evolution( UGA.STEADY ).seed( 17 ).build();
+    uga.randomize();
+    uga.run();
+    uga.shutdown();
+
+    return model;
+  }
+
+
+  // =====================================================================================
+  /** One report per nPop evaluations, so a spent budget gives exactly maxgen reports.
+   *  Children of copied parents are not executed again, and in-flight children may be
+   *  scored but not kept, which bounds the executions from above only. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testBudget() {
+    // -----------------------------------------------------------------------------------
+    int    maxgen = 50;
+    Sphere model  = evolve( -1.0e0, maxgen );
+
+    assertEquals( maxgen, model.shown );
+    assertTrue( model.calls <= NPOP + maxgen * NPOP + 2 * NCPU );
+  }
+
+
+  // =====================================================================================
+  /** The reported best never gets worse and ends where the run reports it. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testMonotone() {
+    // -----------------------------------------------------------------------------------
+    Sphere model = evolve( -1.0e0, 50 );
+
+    assertTrue( ! model.worse );
+    assertTrue( model.last < model.first );
+    assertEquals( model.last, model.best, 0.0e0 );
+  }
+
+
+  // =====================================================================================
+  /** A threshold that is easy to meet stops the run well short of the budget. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testThreshold() {
+    // -----------------------------------------------------------------------------------
+    int    maxgen = 100000;
+    Sphere model  = evolve( 1.0e-2, maxgen );
+
+    assertTrue( 1.0e-2 > model.best );
+    assertTrue( model.calls < maxgen * NPOP / 10 );
+  }
+
+} // end class SteadyStateUGATest
+
+// =======================================================================================
+// **                        S T E A D Y S T A T E U G A T E S T                        **
+// ======================================================================== END FILE =====
@@ -0,0 +1,175 @@
+// ====================================================================== BEGIN FILE =====
+// **                                  B P N N T E S T                                  **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file BPNNTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.nn.BPNN class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+// =======================================================================================
+public class BPNNTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NS  = 203;
+  static final int NI  = 6;
+  static final int NO  = 3;
+  static final int[] NH = { 11, 7 };
+
+  // =====================================================================================
+  /** Train on a fixed data set from fixed weights.
+   *  @param nt number of training threads.
+   *  @return weights of every layer, concatenated.
+   */
+  // -------------------------------------------------------------------------------------
+  static double[] train( int nt ) {
+    // -----------------------------------------------------------------------------------
+    Random     r = new Random( 5 );
+    double[][] X = new double[NS][NI];
+    double[][] Y = new double[NS][NO];
+    for ( int s=0; s<NS; s++ ) {
+      for ( int j=0; j<NI; j++ ) { X[s][j] = r.nextDouble(); }
+      for ( int k=0; k<NO; k++ ) { Y[s][k] = r.nextDouble(); }
+    }
+
+    BPNN net = new BPNN( NI, NH, NO );
+    for ( int l=0; l<net.num_layer; l++ ) {
+      BPNN.Layer T = net.L[l];
+      for ( int i=0; i<T.W.length; i++ ) { T.W[i] = 0.5*( 2.0*r.nextDouble() - 1.0 ); }
+      for ( int i=0; i<T.b.length; i++ ) { T.b[i] = 0.5*( 2.0*r.nextDouble() - 1.0 ); }
+    }
+
+    net.setThreads( nt );
+    net.train( X, Y, 50, 0, 0.5 );
+    net.shutdown();
+
+    int n = 0;
+    for ( int l=0; l<net.num_layer; l++ ) {
+      n += net.L[l].W.length + net.L[l].b.length;
+    }
+    double[] w = new double[n];
+    n = 0;
+    for ( int l=0; l<net.num_layer; l++ ) {
+      BPNN.Layer T = net.L[l];
+      System.arraycopy( T.W, 0, w, n, T.W.length );  n += T.W.length;
+      System.arraycopy( T.b, 0, w, n, T.b.length );  n += T.b.length;
+    }
+    return w;
+  }
+
+  
+  // =====================================================================================
+  /** Sharded training repeats exactly, and agrees with one thread to rounding. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testThreads( ) {
+    // -----------------------------------------------------------------------------------
+    double[] serial = train( 1 );
+    double[] a      = train( 4 );
+    double[] b      = train( 4 );
+
+    assertArrayEquals( a, b, 0.0 );
+
+    for ( int i=0; i<serial.length; i++ ) {
+      assertEquals( serial[i], a[i], 1.0e-10 );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** A failing shard is reported to the trainer. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testShardFailure( ) {
+    // -----------------------------------------------------------------------------------
+    double[][] X = new double[8][NI];
+    double[][] Y = new double[8][NO];
+    X[6] = new double[1];
+
+    BPNN net = new BPNN( NI, NH, NO );
+    net.setThreads( 4 );
+    boolean thrown = false;
+    try {
+      net.accumulate( X, Y, null, 0, 8 );
+    } catch( ArrayIndexOutOfBoundsException e ) {
+      thrown = true;
+    }
+    net.shutdown();
+
+    assertTrue( thrown );
+  }
+
+  
+  // =====================================================================================
+  /** An interrupt stops sharded training before the weights are updated. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testInterrupt( ) {
+    // -----------------------------------------------------------------------------------
+    Random     r = new Random( 7 );
+    double[][] X = new double[NS][NI];
+    double[][] Y = new double[NS][NO];
+    for ( int s=0; s<NS; s++ ) {
+      for ( int j=0; j<NI; j++ ) { X[s][j] = r.nextDouble(); }
+      for ( int k=0; k<NO; k++ ) { Y[s][k] = r.nextDouble(); }
+    }
+
+    BPNN net = new BPNN( NI, NH, NO );
+    net.setThreads( 4 );
+
+    boolean thrown = false;
+    Thread.currentThread().interrupt();
+    try {
+      net.train( X, Y, 10, 0, 0.5 );
+    } catch( IllegalStateException e ) {
+      thrown = true;
+    }
+    boolean flag = Thread.interrupted();
+    net.shutdown();
+
+    assertTrue( thrown );
+    assertTrue( flag );
+    for ( int l=0; l<net.num_layer; l++ ) {
+      for ( double w : net.L[l].W ) { assertTrue( Double.isFinite( w ) ); }
+      for ( double b : net.L[l].b ) { assertTrue( Double.isFinite( b ) ); }
+    }
+  }
+
+} // end class BPNNTest
+
+
+// =======================================================================================
+// **                                  B P N N T E S T                                  **
+// ======================================================================== END FILE =====
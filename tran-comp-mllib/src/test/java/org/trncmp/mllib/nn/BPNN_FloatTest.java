@@ -0,0 +1,155 @@
+// ====================================================================== BEGIN FILE =====
+// **                            B P N N _ F L O A T T E S T                            **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file BPNN_FloatTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.nn.BPNN_Float class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+// =======================================================================================
+public class BPNN_FloatTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NS = 64;
+  static final int NI = 9;
+  static final int NH = 13;
+  static final int NO = 4;
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  static BPNN_Aug network( Random r ) {
+    // -----------------------------------------------------------------------------------
+    BPNN_Aug net = new BPNN_Aug.Builder().io( NI, NO ).hidden( NH ).build();
+    for ( int i=0; i<net.w1.length; i++ ) { net.w1[i] = r.nextGaussian(); }
+    for ( int i=0; i<net.b1.length; i++ ) { net.b1[i] = r.nextGaussian(); }
+    for ( int i=0; i<net.w2.length; i++ ) { net.w2[i] = r.nextGaussian(); }
+    for ( int i=0; i<net.b2.length; i++ ) { net.b2[i] = r.nextGaussian(); }
+    return net;
+  }
+
+  
+  // =====================================================================================
+  /** Conversion and the shared file format. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testConvert( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    Random     r   = new Random( 3 );
+    BPNN_Aug   net = network( r );
+    BPNN_Float f   = BPNN_Float.from( net, false );
+
+    double[] x  = new double[NI];
+    double[] y  = new double[NO];
+    double[] yf = new double[NO];
+    for ( int j=0; j<NI; j++ ) { x[j] = r.nextDouble(); }
+
+    net.execute( y, x );
+    f.execute( yf, x );
+    for ( int k=0; k<NO; k++ ) {
+      assertEquals( y[k], yf[k], 1.0e-5 );
+    }
+
+    File tmp = File.createTempFile( "bpnn_float", ".net" );
+    try {
+      f.write( tmp.getPath() );
+      BPNN_Aug back = new BPNN_Aug.Builder().file( tmp.getPath() ).build();
+      back.execute( y, x );
+      for ( int k=0; k<NO; k++ ) {
+        assertEquals( yf[k], y[k], 1.0e-6 );
+      }
+
+      BPNN_Float again = new BPNN_Float.Builder().file( tmp.getPath() ).build();
+      assertEquals( 0.0, BPNN_Float.sumsq( f.w1, again.w1 ), 0.0 );
+      assertEquals( 0.0, BPNN_Float.sumsq( f.w2, again.w2 ), 0.0 );
+    } finally {
+      tmp.delete();
+    }
+
+    BPNN_Aug d = f.toDouble();
+    for ( int i=0; i<d.w1.length; i++ ) {
+      assertEquals( (double) f.w1[i], d.w1[i], 0.0 );
+    }
+  }
+
+  
+  // =====================================================================================
+  /** Training in float, with and without wide accumulation, tracks the double network. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testTrain( ) {
+    // -----------------------------------------------------------------------------------
+    Random      r   = new Random( 9 );
+    BPNN_Aug    net = network( r );
+    BPNN_Float  f   = BPNN_Float.from( net, false );
+    BPNN_Float  w   = BPNN_Float.from( net, true );
+
+    double[][] X  = new double[NS][NI];
+    double[][] Y  = new double[NS][NO];
+    float[][]  Xf = new float[NS][NI];
+    float[][]  Yf = new float[NS][NO];
+    for ( int s=0; s<NS; s++ ) {
+      for ( int j=0; j<NI; j++ ) { X[s][j] = r.nextDouble(); Xf[s][j] = (float) X[s][j]; }
+      for ( int k=0; k<NO; k++ ) { Y[s][k] = r.nextDouble(); Yf[s][k] = (float) Y[s][k]; }
+    }
+
+    double c0 = 0.0, cd = 0.0, cf = 0.0, cw = 0.0;
+    for ( int it=0; it<100; it++ ) {
+      cd = 0.0;
+      cf = 0.0;
+      cw = 0.0;
+      for ( int s=0; s<NS; s++ ) {
+        net.forward_pass( X[s] );   cd += net.backwards_pass( X[s], Y[s] );
+        f.forward_pass( Xf[s] );    cf += f.backwards_pass( Xf[s], Yf[s] );
+        w.forward_pass( Xf[s] );    cw += w.backwards_pass( Xf[s], Yf[s] );
+      }
+      if ( 0 == it ) { c0 = cd; }
+      net.update( 0.05 );
+      f.update( 0.05 );
+      w.update( 0.05 );
+    }
+
+    assertTrue( cd < c0 );
+    assertEquals( cd, cf, 1.0e-4 * cd );
+    assertEquals( cd, cw, 1.0e-4 * cd );
+  }
+
+} // end class BPNN_FloatTest
+
+
+// =======================================================================================
+// **                            B P N N _ F L O A T T E S T                            **
+// ======================================================================== END FILE =====
@@ -0,0 +1,157 @@
+// ====================================================================== BEGIN FILE =====
+// **                                 D E N S E T E S T                                 **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file DenseTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.nn.Dense class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+// =======================================================================================
+public class DenseTest {
+  // -------------------------------------------------------------------------------------
+
+  static final double TOL = 1.0e-12;
+
+  // =====================================================================================
+  // -------------------------------------------------------------------------------------
+  static double[] fill( Random r, int n ) {
+    // -----------------------------------------------------------------------------------
+    double[] x = new double[n];
+    for ( int i=0; i<n; i++ ) {
+      x[i] = 2.0*r.nextDouble() - 1.0;
+    }
+    return x;
+  }
+
+  
+  // =====================================================================================
+  /** Sizes that are not multiples of the unroll or tile sizes. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testVector( ) {
+    // -----------------------------------------------------------------------------------
+    Random r  = new Random( 7 );
+    int    nx = 13;
+    int    nz = 7;
+
+    double[] W = fill( r, nz*nx );
+    double[] b = fill( r, nz );
+    double[] x = fill( r, nx );
+    double[] d = fill( r, nz );
+
+    double[] z = new double[nz];
+    Dense.gemv( z, W, b, x, nx, nz );
+    for ( int k=0; k<nz; k++ ) {
+      double s = b[k];
+      for ( int j=0; j<nx; j++ ) { s += W[k*nx+j]*x[j]; }
+      assertEquals( s, z[k], TOL );
+    }
+
+    double[] e = new double[nx];
+    Dense.gemv_t( e, W, d, nx, nz );
+    for ( int j=0; j<nx; j++ ) {
+      double s = 0.0e0;
+      for ( int k=0; k<nz; k++ ) { s += d[k]*W[k*nx+j]; }
+      assertEquals( s, e[j], TOL );
+    }
+
+    double[] G  = W.clone();
+    double[] gb = b.clone();
+    Dense.ger( G, gb, d, x, nx, nz, 0.5 );
+    for ( int k=0; k<nz; k++ ) {
+      assertEquals( b[k] + 0.5*d[k], gb[k], TOL );
+      for ( int j=0; j<nx; j++ ) {
+        assertEquals( W[k*nx+j] + 0.5*d[k]*x[j], G[k*nx+j], TOL );
+      }
+    }
+  }
+
+  
+  // =====================================================================================
+  /** Batch kernels across several sample and node tiles. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testBatch( ) {
+    // -----------------------------------------------------------------------------------
+    Random r  = new Random( 11 );
+    int    nx = 19;
+    int    nz = Dense.K_BLOCK + 5;
+    int    ns = 2*Dense.S_BLOCK + 3;
+
+    double[] W = fill( r, nz*nx );
+    double[] b = fill( r, nz );
+    double[] X = fill( r, ns*nx );
+    double[] D = fill( r, ns*nz );
+
+    double[] Z = new double[ns*nz];
+    Dense.gemm_nt( Z, W, b, X, nx, nz, ns );
+    for ( int s=0; s<ns; s++ ) {
+      for ( int k=0; k<nz; k++ ) {
+        double t = b[k];
+        for ( int j=0; j<nx; j++ ) { t += X[s*nx+j]*W[k*nx+j]; }
+        assertEquals( t, Z[s*nz+k], TOL );
+      }
+    }
+
+    double[] E = new double[ns*nx];
+    Dense.gemm_nn( E, D, W, nx, nz, ns );
+    for ( int s=0; s<ns; s++ ) {
+      for ( int j=0; j<nx; j++ ) {
+        double t = 0.0e0;
+        for ( int k=0; k<nz; k++ ) { t += D[s*nz+k]*W[k*nx+j]; }
+        assertEquals( t, E[s*nx+j], TOL );
+      }
+    }
+
+    double[] G  = W.clone();
+    double[] gb = b.clone();
+    Dense.gemm_tn( G, gb, D, X, nx, nz, ns, 0.25 );
+    for ( int k=0; k<nz; k++ ) {
+      double u = 0.0e0;
+      for ( int s=0; s<ns; s++ ) { u += D[s*nz+k]; }
+      assertEquals( b[k] + 0.25*u, gb[k], TOL );
+      for ( int j=0; j<nx; j++ ) {
+        double t = 0.0e0;
+        for ( int s=0; s<ns; s++ ) { t += D[s*nz+k]*X[s*nx+j]; }
+        assertEquals( W[k*nx+j] + 0.25*t, G[k*nx+j], TOL );
+      }
+    }
+  }
+
+} // end class DenseTest
+
+
+// =======================================================================================
+// **                                 D E N S E T E S T                                 **
+// ======================================================================== END FILE =====
@@ -0,0 +1,179 @@
+// ====================================================================== BEGIN FILE =====
+// **                             O P T I M I Z E R T E S T                             **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file OptimizerTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.nn.Optimizer class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+// =======================================================================================
+public class OptimizerTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NS = 40;
+  static final int NI = 4;
+  static final int NH = 8;
+  static final int NO = 2;
+
+  // =====================================================================================
+  /** Full batch training of BPNN_Aug from fixed weights.
+   *  @param o     update rule ( null = plain gradient step ).
+   *  @param alpha learning rate.
+   *  @param epoch number of updates.
+   *  @return cost of the last epoch.
+   */
+  // -------------------------------------------------------------------------------------
+  static double train( Optimizer o, double alpha, int epoch ) {
+    // -----------------------------------------------------------------------------------
+    Random     r = new Random( 13 );
+    double[][] X = new double[NS][NI];
+    double[][] Y = new double[NS][NO];
+    for ( int s=0; s<NS; s++ ) {
+      for ( int j=0; j<NI; j++ ) { X[s][j] = r.nextDouble(); }
+      Y[s][0] = ( X[s][0] > X[s][1] ) ? 0.9 : 0.1;
+      Y[s][1] = 0.5 + 0.4*Math.sin( 3.0*X[s][2] - X[s][3] );
+    }
+
+    BPNN_Aug net = new BPNN_Aug.Builder().io( NI, NO ).hidden( NH ).build();
+    for ( int i=0; i<net.w1.length; i++ ) { net.w1[i] = 0.5*r.nextGaussian(); }
+    for ( int i=0; i<net.w2.length; i++ ) { net.w2[i] = 0.5*r.nextGaussian(); }
+    net.setOptimizer( o );
+
+    double cost = 0.0;
+    for ( int it=0; it<epoch; it++ ) {
+      cost = 0.0;
+      for ( int s=0; s<NS; s++ ) {
+        net.forward_pass( X[s] );
+        cost += net.backwards_pass( X[s], Y[s] );
+      }
+      net.update( alpha );
+    }
+    return cost / (double) NS;
+  }
+
+  
+  // =====================================================================================
+  /** Full batch training of a two hidden layer BPNN from fixed weights.
+   *  @param o     update rule ( null = plain gradient step ).
+   *  @param alpha learning rate.
+   *  @param epoch number of updates.
+   *  @return weights of every layer, concatenated.
+   */
+  // -------------------------------------------------------------------------------------
+  static double[] trainBPNN( Optimizer o, double alpha, int epoch ) {
+    // -----------------------------------------------------------------------------------
+    Random     r = new Random( 17 );
+    double[][] X = new double[NS][NI];
+    double[][] Y = new double[NS][NO];
+    for ( int s=0; s<NS; s++ ) {
+      for ( int j=0; j<NI; j++ ) { X[s][j] = r.nextDouble(); }
+      Y[s][0] = ( X[s][0] > X[s][1] ) ? 0.9 : 0.1;
+      Y[s][1] = 0.5 + 0.4*Math.sin( 3.0*X[s][2] - X[s][3] );
+    }
+
+    BPNN net = new BPNN( NI, new int[] { NH, 5 }, NO );
+    for ( int l=0; l<net.num_layer; l++ ) {
+      BPNN.Layer T = net.L[l];
+      for ( int i=0; i<T.W.length; i++ ) { T.W[i] = 0.5*r.nextGaussian(); }
+      for ( int i=0; i<T.b.length; i++ ) { T.b[i] = 0.5*r.nextGaussian(); }
+    }
+    net.setOptimizer( o );
+    net.train( X, Y, epoch, 0, alpha );
+
+    int n = 0;
+    for ( int l=0; l<net.num_layer; l++ ) {
+      n += net.L[l].W.length + net.L[l].b.length;
+    }
+    double[] w = new double[n];
+    n = 0;
+    for ( int l=0; l<net.num_layer; l++ ) {
+      BPNN.Layer T = net.L[l];
+      System.arraycopy( T.W, 0, w, n, T.W.length );  n += T.W.length;
+      System.arraycopy( T.b, 0, w, n, T.b.length );  n += T.b.length;
+    }
+    return w;
+  }
+
+  
+  // =====================================================================================
+  /** SGD, and momentum with mu = 0, repeat the plain gradient step. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testPlain( ) {
+    // -----------------------------------------------------------------------------------
+    double c = train( null, 0.1, 50 );
+    assertEquals( c, train( new Optimizer.SGD(), 0.1, 50 ), 1.0e-12 );
+    assertEquals( c, train( new Optimizer.Momentum( 0.0, false ), 0.1, 50 ), 1.0e-12 );
+    assertEquals( c, train( new Optimizer.Momentum( 0.0, true ), 0.1, 50 ), 1.0e-12 );
+  }
+
+  
+  // =====================================================================================
+  /** BPNN hands the optimizer -dW/samples, one slot per weight and bias array. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testBPNN( ) {
+    // -----------------------------------------------------------------------------------
+    double[] w = trainBPNN( null, 0.5, 50 );
+    assertArrayEquals( w, trainBPNN( new Optimizer.SGD(), 0.5, 50 ), 1.0e-12 );
+    assertArrayEquals( w, trainBPNN( new Optimizer.Momentum( 0.0, false ), 0.5, 50 ), 1.0e-12 );
+  }
+
+  
+  // =====================================================================================
+  /** The adaptive rules reach a lower cost than plain steps in the same epochs. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testFaster( ) {
+    // -----------------------------------------------------------------------------------
+    double sgd = train( null, 0.1, 300 );
+    double mom = train( new Optimizer.Momentum( 0.9, false ), 0.1, 300 );
+    double nag = train( new Optimizer.Momentum( 0.9, true ),  0.1, 300 );
+    double rms = train( new Optimizer.RMSProp( 0.9, 1.0e-8 ), 0.03, 300 );
+    double adm = train( new Optimizer.Adam(), 0.03, 300 );
+
+    assertTrue( mom < 0.5*sgd );
+    assertTrue( nag < 0.5*sgd );
+    assertTrue( rms < 0.5*sgd );
+    assertTrue( adm < 0.5*sgd );
+  }
+
+} // end class OptimizerTest
+
+
+// =======================================================================================
+// **                             O P T I M I Z E R T E S T                             **
+// ======================================================================== END FILE =====
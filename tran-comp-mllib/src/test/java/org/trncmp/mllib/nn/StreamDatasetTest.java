@@ -0,0 +1,219 @@
+// ====================================================================== BEGIN FILE =====
+// **                         S T R E A M D A T A S E T T E S T                         **
+// =======================================================================================
+// **                                                                                   **
+// **  Copyright (c) 2026, Stephen W. Soliday                                           **
+// **                      stephen.soliday@trncmp.org                                   **
+// **                      http://research.trncmp.org                                   **
+// **                                                                                   **
+// **  -------------------------------------------------------------------------------  **
+// **                                                                                   **
+// **  This program is free software: you can redistribute it and/or modify it under    **
+// **  the terms of the GNU General Public License as published by the Free Software    **
+// **  Foundation, either version 3 of the License, or (at your option)                 **
+// **  any later version.                                                               **
+// **                                                                                   **
+// **  This program is distributed in the hope that it will be useful, but WITHOUT      **
+// **  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS    **
+// **  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.   **
+// **                                                                                   **
+// **  You should have received a copy of the GNU General Public License along with     **
+// **  this program. If not, see <http://www.gnu.org/licenses/>.                        **
+// **                                                                                   **
+// ----- Modification History ------------------------------------------------------------
+/**
+ * @file StreamDatasetTest.java
+ * <p>
+ * Provides unit testing for the org.trncmp.mllib.nn.StreamDataset class.
+ *
+ * @date 2026-10-18
+ */
+// =======================================================================================
+
+package org.trncmp.mllib.nn;
+
+import        org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+// =======================================================================================
+public class StreamDatasetTest {
+  // -------------------------------------------------------------------------------------
+
+  static final int NS = 103;
+  static final int NI = 3;
+  static final int NO = 2;
+
+  // =====================================================================================
+  /** Record s has inputs s, s/NS, 1-s/NS and outputs s/NS, 1-s/NS. */
+  // -------------------------------------------------------------------------------------
+  static File create( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    File tmp = File.createTempFile( "stream", ".dat" );
+    StreamDataset.Writer W = new StreamDataset.Writer( tmp.getPath(), NI, NO );
+    for ( int s=0; s<NS; s++ ) {
+      double f = (double) s / (double) NS;
+      W.add( new double[] { s, f, 1.0-f }, new double[] { f, 1.0-f } );
+    }
+    W.close();
+    return tmp;
+  }
+
+  
+  // =====================================================================================
+  /** Collect the record ids of two epochs. */
+  // -------------------------------------------------------------------------------------
+  static int[] order( File f, long seed ) {
+    // -----------------------------------------------------------------------------------
+    StreamDataset data = new StreamDataset.Builder().file( f.getPath() )
+        .batch( 10 ).block( 16 ).prefetch( 3 ).seed( seed ).build();
+
+    int[] ids = new int[2*NS];
+    int   n   = 0;
+    for ( int e=0; e<2; e++ ) {
+      boolean last = false;
+      while ( ! last ) {
+        StreamDataset.Batch B = data.next();
+        assertTrue( ( 10 == B.count ) || B.last );
+        for ( int i=0; i<B.count; i++ ) {
+          ids[n++] = (int) B.input[i][0];
+          assertEquals( B.input[i][1], B.output[i][0], 0.0 );
+        }
+        last = B.last;
+        data.release( B );
+      }
+      assertEquals( (e+1)*NS, n );
+    }
+    data.close();
+    return ids;
+  }
+
+  
+  // =====================================================================================
+  /** Each epoch visits every record once, in an order fixed by the seed. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testEpoch( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    File f = create();
+    try {
+      int[] a = order( f, 17L );
+      int[] b = order( f, 17L );
+      assertArrayEquals( a, b );
+
+      for ( int e=0; e<2; e++ ) {
+        boolean[] seen = new boolean[NS];
+        for ( int i=0; i<NS; i++ ) {
+          int id = a[e*NS+i];
+          assertFalse( seen[id] );
+          seen[id] = true;
+        }
+      }
+
+      boolean same = true;
+      for ( int i=0; i<NS; i++ ) {
+        same = same && ( a[i] == a[NS+i] );
+      }
+      assertFalse( same );
+    } finally {
+      f.delete();
+    }
+  }
+
+  
+  // =====================================================================================
+  /** Convert the text layout and train a network from the stream. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testTrain( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    File txt = File.createTempFile( "stream", ".txt" );
+    File bin = File.createTempFile( "stream", ".dat" );
+    try {
+      PrintStream ps = new PrintStream( txt );
+      ps.format( "%d %d %d\n", NS, NI, NO );
+      for ( int s=0; s<NS; s++ ) {
+        double f = (double) s / (double) NS;
+        ps.format( "%f %f %f %f %f\n", f, f*f, 1.0-f, f*f, 1.0-f );
+      }
+      ps.close();
+
+      assertEquals( 0, StreamDataset.convert( txt.getPath(), bin.getPath() ) );
+
+      StreamDataset data = new StreamDataset.Builder().file( bin.getPath() )
+          .batch( 8 ).block( 32 ).seed( 5L ).build();
+      assertEquals( NS, data.size() );
+
+      BPNN net = new BPNN( NI, new int[] { 6 }, NO );
+      for ( int l=0; l<net.num_layer; l++ ) {
+        for ( int i=0; i<net.L[l].W.length; i++ ) {
+          net.L[l].W[i] = 0.3*Math.sin( 7.0*i + l );
+        }
+      }
+
+      double before = net.mse( data );
+      double after  = net.batch( data, 30, 0, 1.0 );
+      data.close();
+
+      assertTrue( after < 0.5*before );
+    } finally {
+      txt.delete();
+      bin.delete();
+    }
+  }
+
+  
+  // =====================================================================================
+  /** A bad text file leaves no output, a failed prefetch surfaces in next. */
+  // -------------------------------------------------------------------------------------
+  @Test
+  public void testFailure( ) throws IOException {
+    // -----------------------------------------------------------------------------------
+    File txt = File.createTempFile( "stream", ".txt" );
+    File bin = File.createTempFile( "stream", ".dat" );
+    try {
+      PrintStream ps = new PrintStream( txt );
+      ps.format( "%d %d %d\n", 3, NI, NO );
+      ps.format( "0.1 0.2 0.3 0.4 0.5\n" );
+      ps.format( "0.1 0.2 x 0.4 0.5\n" );
+      ps.close();
+
+      assertEquals( 2, StreamDataset.convert( txt.getPath(), bin.getPath() ) );
+      assertFalse( bin.exists() );
+    } finally {
+      txt.delete();
+      bin.delete();
+    }
+
+    File f = create();
+    try {
+      StreamDataset data = new StreamDataset.Builder().file( f.getPath() )
+          .batch( 10 ).seed( 3L ).build();
+      data.seg[0] = null;
+      for ( int i=0; i<2; i++ ) {
+        boolean thrown = false;
+        try {
+          data.next();
+        } catch( IllegalStateException e ) {
+          thrown = ( null != e.getCause() );
+        }
+        assertTrue( thrown );
+      }
+      data.close();
+    } finally {
+      f.delete();
+    }
+  }
+
+} // end class StreamDatasetTest
+
+
+// =======================================================================================
+// **                         S T R E A M D A T A S E T T E S T                         **
+// ======================================================================== END FILE =====